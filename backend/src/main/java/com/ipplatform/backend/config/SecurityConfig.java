@@ -105,7 +105,8 @@ public class SecurityConfig {
                         // ── Legal Status API ─────────────────────────────
                         .requestMatchers(HttpMethod.GET, "/api/legal-status/summary").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/legal-status/pipeline").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/legal-status/alerts").hasAnyRole("ANALYST", "ADMIN")
+                        .requestMatchers(HttpMethod.GET, "/api/legal-status/alerts", "/api/legal-status/alerts/**")
+                        .hasAnyRole("ANALYST", "ADMIN")
 
                         // ── ROLE_USER ────────────────────────────────
                         .requestMatchers(HttpMethod.POST, "/api/user/logout").hasRole("USER")
@@ -2,6 +2,7 @@ package com.ipplatform.backend.config;
 
 import com.ipplatform.backend.repository.PasswordResetTokenRepository;
 import com.ipplatform.backend.repository.RefreshTokenRepository;
+import com.ipplatform.backend.service.RefreshTokenService;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -20,11 +21,14 @@ public class TokenCleanupScheduler {
 
     private final RefreshTokenRepository    refreshTokenRepository;
     private final PasswordResetTokenRepository resetTokenRepository;
+    private final RefreshTokenService       refreshTokenService;
 
     public TokenCleanupScheduler(RefreshTokenRepository refreshTokenRepository,
-                                  PasswordResetTokenRepository resetTokenRepository) {
+                                  PasswordResetTokenRepository resetTokenRepository,
+                                  RefreshTokenService refreshTokenService) {
         this.refreshTokenRepository = refreshTokenRepository;
         this.resetTokenRepository   = resetTokenRepository;
+        this.refreshTokenService    = refreshTokenService;
     }
 
     /** Runs every day at 2:00 AM. */
@@ -33,6 +37,8 @@ public class TokenCleanupScheduler {
         Instant now = Instant.now();
         refreshTokenRepository.deleteExpiredAndRevoked();
         resetTokenRepository.deleteExpiredAndUsed(now);
+        // Revoked and expired digests are gone from the table — rebuild the filter without them
+        refreshTokenService.reloadFilter();
         System.out.println("🧹 Token cleanup completed at " + now);
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.ipplatform.backend.config;
+
+import com.ipplatform.backend.security.SubjectPrincipalArgumentResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC additions: SubjectPrincipal controller parameters.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final SubjectPrincipalArgumentResolver subjectPrincipalResolver;
+
+    public WebMvcConfig(SubjectPrincipalArgumentResolver subjectPrincipalResolver) {
+        this.subjectPrincipalResolver = subjectPrincipalResolver;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(subjectPrincipalResolver);
+    }
+}
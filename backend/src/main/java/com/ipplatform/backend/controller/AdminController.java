@@ -3,6 +3,7 @@ package com.ipplatform.backend.controller;
 import com.ipplatform.backend.service.AdminService;
 import com.ipplatform.backend.service.AdminService.DocumentFile;
 import com.ipplatform.backend.service.AdminService.TokenPair;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -51,8 +52,9 @@ public class AdminController {
      */
     
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> req) {
-        TokenPair tokens = adminService.login(req.get("username"), req.get("password"));
+    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> req,
+                                                     HttpServletRequest request) {
+        TokenPair tokens = adminService.login(req.get("username"), req.get("password"), request.getRemoteAddr());
         return ResponseEntity.ok(Map.of(
                 "accessToken",  tokens.accessToken(),
                 "refreshToken", tokens.refreshToken(),
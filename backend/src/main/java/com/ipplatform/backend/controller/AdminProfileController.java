@@ -3,12 +3,12 @@ package com.ipplatform.backend.controller;
 import com.ipplatform.backend.exception.AuthException;
 import com.ipplatform.backend.model.Admin;
 import com.ipplatform.backend.repository.AdminRepository;
+import com.ipplatform.backend.security.PasswordHasher;
+import com.ipplatform.backend.security.SubjectPrincipal;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,12 +29,12 @@ import java.util.Map;
 public class AdminProfileController {
 
     private final AdminRepository adminRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
     public AdminProfileController(AdminRepository adminRepository,
-                                   PasswordEncoder passwordEncoder) {
+                                   PasswordHasher passwordHasher) {
         this.adminRepository = adminRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
     }
 
     // ── GET /api/admin/profile ────────────────────────────────────────────────
@@ -54,8 +54,8 @@ public class AdminProfileController {
      * }
      */
     @GetMapping("/profile")
-    public ResponseEntity<Map<String, Object>> getProfile(Principal principal) {
-        Admin admin = getAdmin(principal.getName());
+    public ResponseEntity<Map<String, Object>> getProfile(SubjectPrincipal principal) {
+        Admin admin = getAdmin(principal);
 
         Map<String, Object> resp = new HashMap<>();
         resp.put("id",        admin.getId());
@@ -96,9 +96,9 @@ public class AdminProfileController {
     @PutMapping("/profile")
     public ResponseEntity<Map<String, Object>> updateProfile(
             @RequestBody Map<String, String> req,
-            Principal principal) {
+            SubjectPrincipal principal) {
 
-        Admin admin = getAdmin(principal.getName());
+        Admin admin = getAdmin(principal);
 
         // Update name if provided
         String newName = req.get("name");
@@ -156,9 +156,9 @@ public class AdminProfileController {
     @PostMapping("/change-password")
     public ResponseEntity<Map<String, String>> changePassword(
             @RequestBody Map<String, String> req,
-            Principal principal) {
+            SubjectPrincipal principal) {
 
-        Admin admin = getAdmin(principal.getName());
+        Admin admin = getAdmin(principal);
 
         String currentPassword = req.get("currentPassword");
         String newPassword     = req.get("newPassword");
@@ -166,12 +166,12 @@ public class AdminProfileController {
         if (currentPassword == null || currentPassword.isBlank())
             throw new AuthException("currentPassword is required");
 
-        if (!passwordEncoder.matches(currentPassword, admin.getPassword()))
+        if (!passwordHasher.matches(currentPassword, admin.getPassword()))
             throw new AuthException("Current password is incorrect");
 
         validatePassword(newPassword);
 
-        admin.setPassword(passwordEncoder.encode(newPassword));
+        admin.setPassword(passwordHasher.encode(newPassword));
         adminRepository.save(admin);
 
         return ResponseEntity.ok(Map.of("message", "Password changed successfully."));
@@ -179,8 +179,9 @@ public class AdminProfileController {
 
     // ── Private helpers ───────────────────────────────────────────────────────
 
-    private Admin getAdmin(String username) {
-        return adminRepository.findByUsername(username)
+    // Id from the access token — a primary-key lookup, no username search
+    private Admin getAdmin(SubjectPrincipal principal) {
+        return adminRepository.findById(principal.id())
                 .orElseThrow(() -> new AuthException("Admin not found"));
     }
 
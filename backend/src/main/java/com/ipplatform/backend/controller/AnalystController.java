@@ -4,6 +4,7 @@ import com.ipplatform.backend.model.Analyst;
 import com.ipplatform.backend.repository.AnalystRepository;
 import com.ipplatform.backend.service.AnalystService;
 import com.ipplatform.backend.service.AnalystService.TokenPair;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -116,12 +117,13 @@ public class AnalystController {
      * { "error": "Your analyst application was rejected. Reason: ..." }
      */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, Object> req) {
+    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, Object> req,
+                                                     HttpServletRequest request) {
         String  username   = (String) req.get("username");
         String  password   = (String) req.get("password");
         boolean rememberMe = Boolean.TRUE.equals(req.get("rememberMe"));
 
-        TokenPair tokens = analystService.login(username, password, rememberMe);
+        TokenPair tokens = analystService.login(username, password, rememberMe, request.getRemoteAddr());
         return ResponseEntity.ok(Map.of(
                 "accessToken",  tokens.accessToken(),
                 "refreshToken", tokens.refreshToken(),
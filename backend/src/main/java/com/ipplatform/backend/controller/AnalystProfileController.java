@@ -3,11 +3,12 @@ package com.ipplatform.backend.controller;
 import com.ipplatform.backend.exception.AuthException;
 import com.ipplatform.backend.model.Analyst;
 import com.ipplatform.backend.repository.AnalystRepository;
+import com.ipplatform.backend.security.SubjectPrincipal;
+import com.ipplatform.backend.service.IdentityIndex;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,9 +30,12 @@ import java.util.Map;
 public class AnalystProfileController {
 
     private final AnalystRepository analystRepository;
+    private final IdentityIndex     identityIndex;
 
-    public AnalystProfileController(AnalystRepository analystRepository) {
+    public AnalystProfileController(AnalystRepository analystRepository,
+                                    IdentityIndex identityIndex) {
         this.analystRepository = analystRepository;
+        this.identityIndex     = identityIndex;
     }
 
     // ── GET /api/analyst/profile ──────────────────────────────────────────────
@@ -54,8 +58,8 @@ public class AnalystProfileController {
      * }
      */
     @GetMapping("/profile")
-    public ResponseEntity<Map<String, Object>> getProfile(Principal principal) {
-        Analyst analyst = getAnalyst(principal.getName());
+    public ResponseEntity<Map<String, Object>> getProfile(SubjectPrincipal principal) {
+        Analyst analyst = getAnalyst(principal);
 
         Map<String, Object> resp = new HashMap<>();
         resp.put("id",           analyst.getId());
@@ -103,9 +107,9 @@ public class AnalystProfileController {
     @PutMapping("/profile")
     public ResponseEntity<Map<String, Object>> updateProfile(
             @RequestBody Map<String, String> req,
-            Principal principal) {
+            SubjectPrincipal principal) {
 
-        Analyst analyst = getAnalyst(principal.getName());
+        Analyst analyst = getAnalyst(principal);
 
         // Update name if provided
         String newName = req.get("name");
@@ -118,7 +122,7 @@ public class AnalystProfileController {
         if (newEmail != null && !newEmail.isBlank()) {
             String trimmed = newEmail.trim().toLowerCase();
             if (!trimmed.equals(analyst.getEmail())) {
-                if (analystRepository.existsByEmail(trimmed)) {
+                if (identityIndex.emailTaken(trimmed)) {
                     throw new AuthException("Email already registered");
                 }
                 analyst.setEmail(trimmed);
@@ -137,7 +141,7 @@ public class AnalystProfileController {
             analyst.setPurpose(newPurpose.trim());
         }
 
-        analystRepository.save(analyst);
+        identityIndex.save(() -> analystRepository.save(analyst));
 
         Map<String, Object> resp = new HashMap<>();
         resp.put("message",      "Profile updated successfully.");
@@ -153,8 +157,9 @@ public class AnalystProfileController {
 
     // ── Private helper ────────────────────────────────────────────────────────
 
-    private Analyst getAnalyst(String username) {
-        return analystRepository.findByUsername(username)
+    // Id from the access token — a primary-key lookup, no username search
+    private Analyst getAnalyst(SubjectPrincipal principal) {
+        return analystRepository.findById(principal.id())
                 .orElseThrow(() -> new AuthException("Analyst not found"));
     }
 }
\ No newline at end of file
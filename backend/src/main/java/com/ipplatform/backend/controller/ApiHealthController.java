@@ -1,6 +1,14 @@
 package com.ipplatform.backend.controller;
 
+import com.ipplatform.backend.ip.service.LensApiService;
 import com.ipplatform.backend.ip.service.LensHealthService;
+import com.ipplatform.backend.ip.service.LensResponseCache;
+import com.ipplatform.backend.security.LoginThrottle;
+import com.ipplatform.backend.security.PasswordHasher;
+import com.ipplatform.backend.service.AssetIndexService;
+import com.ipplatform.backend.service.DeadlineNotificationService;
+import com.ipplatform.backend.service.LegalStatusSyncService;
+import com.ipplatform.backend.service.index.AssetSearchIndex;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,6 +23,23 @@ import java.util.Map;
  * GET /api/admin/health
  * Returns real-time Lens.org API reachability for the admin dashboard.
  * Checked live on each request — no DB storage.
+ *
+ * GET /api/admin/health/cache
+ * Returns the Lens.org search cache counters (hits, misses, evictions, size)
+ * and how many calls were coalesced onto an identical in-flight request.
+ *
+ * GET /api/admin/health/index
+ * Returns the state of the in-process asset search index (mode=INDEX).
+ *
+ * GET /api/admin/health/deadlines
+ * Returns the state of the deadline notification wheel.
+ *
+ * GET /api/admin/health/legal-status-sync
+ * Returns the legal-status sync checkpoint and the stats of its last run.
+ *
+ * GET /api/admin/health/auth
+ * Returns password hashing pool metrics (BCrypt count and cost, queue
+ * wait, rejections) and login throttle counters.
  */
 @RestController
 @RequestMapping("/api/admin/health")
@@ -22,9 +47,27 @@ import java.util.Map;
 public class ApiHealthController {
 
     private final LensHealthService lensHealthService;
+    private final LensApiService    lensApiService;
+    private final AssetIndexService assetIndexService;
+    private final DeadlineNotificationService deadlineNotificationService;
+    private final LegalStatusSyncService legalStatusSyncService;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle  loginThrottle;
 
-    public ApiHealthController(LensHealthService lensHealthService) {
+    public ApiHealthController(LensHealthService lensHealthService,
+                               LensApiService lensApiService,
+                               AssetIndexService assetIndexService,
+                               DeadlineNotificationService deadlineNotificationService,
+                               LegalStatusSyncService legalStatusSyncService,
+                               PasswordHasher passwordHasher,
+                               LoginThrottle loginThrottle) {
         this.lensHealthService = lensHealthService;
+        this.lensApiService    = lensApiService;
+        this.assetIndexService = assetIndexService;
+        this.deadlineNotificationService = deadlineNotificationService;
+        this.legalStatusSyncService = legalStatusSyncService;
+        this.passwordHasher = passwordHasher;
+        this.loginThrottle  = loginThrottle;
     }
 
     @GetMapping
@@ -40,4 +83,87 @@ public class ApiHealthController {
 
         return ResponseEntity.ok(body);
     }
-}
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> cache() {
+        LensResponseCache.Stats stats = lensApiService.cacheStats();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled",        stats.enabled());
+        body.put("size",           stats.size());
+        body.put("maxEntries",     stats.maxEntries());
+        body.put("weightBytes",    stats.weightBytes());
+        body.put("maxWeightBytes", stats.maxWeightBytes());
+        body.put("hits",           stats.hits());
+        body.put("misses",         stats.misses());
+        body.put("hitRate",        stats.hitRate());
+        body.put("evictions",      stats.evictions());
+        body.put("expirations",    stats.expirations());
+        body.put("coalescedCalls", lensApiService.coalescedCalls());
+
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/index")
+    public ResponseEntity<Map<String, Object>> index() {
+        AssetSearchIndex.Stats stats = assetIndexService.stats();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("ready", stats != null);
+        if (stats != null) {
+            body.put("liveDocuments", stats.liveDocuments());
+            body.put("docIds",        stats.docIds());
+            body.put("terms",         stats.terms());
+            body.put("postingBytes",  stats.postingBytes());
+        }
+
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/deadlines")
+    public ResponseEntity<Map<String, Object>> deadlines() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("loaded",           deadlineNotificationService.isLoaded());
+        body.put("scheduledEntries", deadlineNotificationService.scheduledEntries());
+        body.put("thresholdsDays",   deadlineNotificationService.thresholds());
+
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/legal-status-sync")
+    public ResponseEntity<Map<String, Object>> legalStatusSync() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", legalStatusSyncService.isEnabled());
+        legalStatusSyncService.checkpoint().ifPresent(c -> {
+            body.put("lastId",        c.getLastId());
+            body.put("passStartedAt", c.getPassStartedAt() != null ? c.getPassStartedAt().toString() : null);
+            body.put("lastPassAt",    c.getLastPassAt() != null ? c.getLastPassAt().toString() : null);
+        });
+        body.put("lastRun", legalStatusSyncService.lastRun());
+
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/auth")
+    public ResponseEntity<Map<String, Object>> auth() {
+        PasswordHasher.Stats hashing = passwordHasher.stats();
+        LoginThrottle.Stats throttle = loginThrottle.stats();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("hashes",           hashing.hashes());
+        body.put("avgHashMs",        hashing.avgHashMs());
+        body.put("maxHashMs",        hashing.maxHashMs());
+        body.put("avgQueueWaitMs",   hashing.avgQueueWaitMs());
+        body.put("rejected",         hashing.rejected());
+        body.put("timedOut",         hashing.timedOut());
+        body.put("threads",          hashing.threads());
+        body.put("active",           hashing.active());
+        body.put("queued",           hashing.queued());
+        body.put("queueCapacity",    hashing.queueCapacity());
+        body.put("throttledLogins",  throttle.throttled());
+        body.put("trackedIps",       throttle.trackedIps());
+        body.put("trackedUsernames", throttle.trackedUsernames());
+
+        return ResponseEntity.ok(body);
+    }
+}
\ No newline at end of file
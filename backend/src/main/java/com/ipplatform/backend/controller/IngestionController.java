@@ -0,0 +1,100 @@
+package com.ipplatform.backend.controller;
+
+import com.ipplatform.backend.service.IngestionService;
+import com.ipplatform.backend.service.ingestion.IngestionJob;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * POST /api/admin/ingestion/jobs
+ * Body: { "query": "solar cell", "jurisdiction": "US", "limit": 50000 }
+ * Queues a bulk load of the Lens.org search results into ip_assets
+ * (upserted on Lens ID). Returns 202 with the job; jurisdiction and limit
+ * are optional.
+ *
+ * GET /api/admin/ingestion/jobs
+ * Recent jobs, newest first.
+ *
+ * GET /api/admin/ingestion/jobs/{id}
+ * Progress of one job: records fetched / target, rows written, duplicates,
+ * throughput in rows per second.
+ *
+ * DELETE /api/admin/ingestion/jobs/{id}
+ * Cancels the job after the page it is writing.
+ */
+@RestController
+@RequestMapping("/api/admin/ingestion/jobs")
+@PreAuthorize("hasRole('ADMIN')")
+public class IngestionController {
+
+    private final IngestionService ingestionService;
+
+    public IngestionController(IngestionService ingestionService) {
+        this.ingestionService = ingestionService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> submit(@RequestBody Map<String, Object> req) {
+        Object query = req.get("query");
+        Object jurisdiction = req.get("jurisdiction");
+        Object limit = req.get("limit");
+
+        IngestionJob job = ingestionService.submit(
+                query != null ? query.toString() : null,
+                jurisdiction != null && !jurisdiction.toString().isBlank() ? jurisdiction.toString() : null,
+                limit != null ? parseLimit(limit) : null
+        );
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(toBody(job));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> list() {
+        return ResponseEntity.ok(ingestionService.listJobs().stream().map(this::toBody).toList());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> get(@PathVariable String id) {
+        return ResponseEntity.ok(toBody(ingestionService.getJob(id)));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> cancel(@PathVariable String id) {
+        return ResponseEntity.ok(toBody(ingestionService.cancel(id)));
+    }
+
+    private Long parseLimit(Object limit) {
+        try {
+            return Long.valueOf(limit.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("limit must be a number");
+        }
+    }
+
+    private Map<String, Object> toBody(IngestionJob job) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id",            job.id());
+        body.put("state",         job.state());
+        body.put("query",         job.query());
+        body.put("jurisdiction",  job.jurisdiction());
+        body.put("limit",         job.limit());
+        body.put("matched",       job.matched() < 0 ? null : job.matched());
+        body.put("target",        job.target());
+        body.put("fetched",       job.fetched());
+        body.put("written",       job.written());
+        body.put("duplicates",    job.duplicates());
+        body.put("skipped",       job.skipped());
+        body.put("pages",         job.pages());
+        body.put("rowsPerSecond", Math.round(job.rowsPerSecond() * 10) / 10.0);
+        body.put("createdAt",     job.createdAt().toString());
+        body.put("startedAt",     job.startedAt() != null ? job.startedAt().toString() : null);
+        body.put("finishedAt",    job.finishedAt() != null ? job.finishedAt().toString() : null);
+        body.put("error",         job.error());
+        return body;
+    }
+}
@@ -2,6 +2,7 @@ package com.ipplatform.backend.controller;
 
 import com.ipplatform.backend.model.IpAsset;
 import com.ipplatform.backend.service.IpAssetService;
+import com.ipplatform.backend.dto.CursorPage;
 import com.ipplatform.backend.dto.IpAssetSummaryDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -19,9 +20,26 @@ public class IpAssetController {
     public Page<IpAssetSummaryDTO> search(
             @RequestParam(defaultValue = "") String keyword,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) IpAssetService.SearchMode mode,
+            @RequestParam(required = false) String jurisdiction,
+            @RequestParam(required = false) String status
     ) {
-        return service.search(keyword, page, size);
+        return service.search(keyword, jurisdiction, status, page, size, mode);
+    }
+
+    // 🔎 Search with cursor (keyset) pagination — pass nextCursor back as cursor
+    @GetMapping("/cursor")
+    public CursorPage<IpAssetSummaryDTO> searchCursor(
+            @RequestParam(defaultValue = "") String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) IpAssetService.SearchMode mode,
+            @RequestParam(required = false) String jurisdiction,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return service.searchAfter(keyword, jurisdiction, status, mode, cursor, size, includeTotal);
     }
 
     // ➕ Store new IP
@@ -1,21 +1,47 @@
 package com.ipplatform.backend.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.ipplatform.backend.dto.AlertItemDTO;
+import com.ipplatform.backend.dto.CursorPage;
 import com.ipplatform.backend.dto.LegalStatusSummaryDTO;
 import com.ipplatform.backend.model.IpAsset;
 import com.ipplatform.backend.service.LegalStatusService;
+import com.ipplatform.backend.service.LegalStatusService.AlertType;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * GET /api/legal-status/summary   → status counts + expiring soon      PUBLIC
+ * GET /api/legal-status/pipeline  → funnel counts                      PUBLIC
+ *
+ * GET /api/legal-status/alerts
+ *     → every expiry and renewal in the next 90 days as full assets (unchanged)
+ * GET /api/legal-status/alerts/{expiries|renewals}?days=&cursor=&size=
+ *     → keyset pages; pass nextCursor back as cursor
+ * GET /api/legal-status/alerts/stream?days=&type=EXPIRY|RENEWAL
+ *     → every alert as NDJSON (one JSON object per line), fetched in batches
+ *
+ * Alerts are ANALYST / ADMIN — see SecurityConfig.
+ */
 @RestController
 @RequestMapping("/api/legal-status")
 public class LegalStatusController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final LegalStatusService legalStatusService;
+    private final ObjectWriter lineWriter;
 
-    public LegalStatusController(LegalStatusService legalStatusService) {
+    public LegalStatusController(LegalStatusService legalStatusService, ObjectMapper objectMapper) {
         this.legalStatusService = legalStatusService;
+        this.lineWriter = objectMapper.writerFor(AlertItemDTO.class);
     }
 
     @GetMapping("/summary")
@@ -28,6 +54,52 @@ public class LegalStatusController {
         return legalStatusService.getAlerts();
     }
 
+    @GetMapping("/alerts/expiries")
+    public CursorPage<AlertItemDTO> getExpiries(
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return legalStatusService.getAlerts(AlertType.EXPIRY, days, cursor, size);
+    }
+
+    @GetMapping("/alerts/renewals")
+    public CursorPage<AlertItemDTO> getRenewals(
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return legalStatusService.getAlerts(AlertType.RENEWAL, days, cursor, size);
+    }
+
+    /**
+     * Written straight to the servlet response on the request thread (no async
+     * dispatch), flushing after every batch so clients can consume it as it arrives.
+     */
+    @GetMapping(value = "/alerts/stream", produces = NDJSON)
+    public void streamAlerts(
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false) AlertType type,
+            HttpServletResponse response) throws IOException {
+
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+
+        // Values separated by "\n"; never closed here — the container owns the stream
+        SequenceWriter lines = lineWriter.withRootValueSeparator("\n").writeValues(response.getOutputStream());
+        try {
+            legalStatusService.forEachAlertBatch(type, days, batch -> {
+                try {
+                    lines.writeAll(batch);
+                    lines.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away mid-stream
+            throw e.getCause();
+        }
+    }
+
     @GetMapping("/pipeline")
     public Map<String, Object> getPipeline() {
         return legalStatusService.getPipeline();
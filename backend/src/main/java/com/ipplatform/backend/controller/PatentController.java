@@ -0,0 +1,57 @@
+package com.ipplatform.backend.controller;
+
+import com.ipplatform.backend.dto.CursorPage;
+import com.ipplatform.backend.dto.PatentMatchDTO;
+import com.ipplatform.backend.service.PatentSearchService;
+import org.springframework.data.domain.Page;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * GET /api/patents?keyword=&inventor=&assignee=&jurisdiction=&mode=LIKE|FUZZY&minSimilarity=&page=&size=
+ * GET /api/patents/cursor?...same filters...&cursor=&size=&includeTotal=
+ *     → keyset pagination; pass the returned nextCursor back as cursor
+ *
+ * Search over the local patents table. FUZZY ranks by trigram similarity
+ * and needs supabase-migration-003-patents-trigram.sql applied.
+ */
+@RestController
+@RequestMapping("/api/patents")
+public class PatentController {
+
+    private final PatentSearchService patentSearchService;
+
+    public PatentController(PatentSearchService patentSearchService) {
+        this.patentSearchService = patentSearchService;
+    }
+
+    @GetMapping
+    public Page<PatentMatchDTO> search(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String inventor,
+            @RequestParam(required = false) String assignee,
+            @RequestParam(required = false) String jurisdiction,
+            @RequestParam(defaultValue = "LIKE") PatentSearchService.Mode mode,
+            @RequestParam(required = false) Double minSimilarity,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return patentSearchService.search(keyword, inventor, assignee, jurisdiction,
+                mode, minSimilarity, page, size);
+    }
+
+    @GetMapping("/cursor")
+    public CursorPage<PatentMatchDTO> searchCursor(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String inventor,
+            @RequestParam(required = false) String assignee,
+            @RequestParam(required = false) String jurisdiction,
+            @RequestParam(defaultValue = "LIKE") PatentSearchService.Mode mode,
+            @RequestParam(required = false) Double minSimilarity,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        return patentSearchService.searchAfter(keyword, inventor, assignee, jurisdiction,
+                mode, minSimilarity, cursor, size, includeTotal);
+    }
+}
@@ -1,16 +1,15 @@
 package com.ipplatform.backend.controller;
 
-import com.ipplatform.backend.model.User;
+import com.ipplatform.backend.exception.AuthException;
 import com.ipplatform.backend.model.UserSubscription;
-import com.ipplatform.backend.repository.UserRepository;
 import com.ipplatform.backend.repository.UserSubscriptionRepository;
+import com.ipplatform.backend.security.SubjectPrincipal;
 import com.ipplatform.backend.service.AdminLogService;
 import jakarta.transaction.Transactional;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.List;
 import java.util.Map;
 
@@ -27,22 +26,20 @@ import java.util.Map;
 public class SubscriptionController {
 
     private final UserSubscriptionRepository subscriptionRepo;
-    private final UserRepository userRepo;
     private final AdminLogService logService;
 
     public SubscriptionController(UserSubscriptionRepository subscriptionRepo,
-                                   UserRepository userRepo,
                                    AdminLogService logService) {
         this.subscriptionRepo = subscriptionRepo;
-        this.userRepo         = userRepo;
         this.logService       = logService;
     }
 
-    // ── Helper: resolve userId from JWT principal ─────────────────────────────
-    private Long getUserId(Principal principal) {
-        User user = userRepo.findByUsername(principal.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return user.getId();
+    // ── Helper: userId straight from the access token ─────────────────────────
+    private Long getUserId(SubjectPrincipal principal) {
+        if (!"USER".equals(principal.subjectType())) {
+            throw new AuthException("Subscriptions are for user accounts only");
+        }
+        return principal.id();
     }
 
     // ── Subscribe ─────────────────────────────────────────────────────────────
@@ -55,7 +52,7 @@ public class SubscriptionController {
     public ResponseEntity<Map<String, Object>> subscribe(
             @PathVariable String lensId,
             @RequestBody Map<String, String> body,
-            Principal principal) {
+            SubjectPrincipal principal) {
 
         Long userId = getUserId(principal);
 
@@ -90,7 +87,7 @@ public class SubscriptionController {
     @DeleteMapping("/{lensId}")
     public ResponseEntity<Map<String, String>> unsubscribe(
             @PathVariable String lensId,
-            Principal principal) {
+            SubjectPrincipal principal) {
 
         Long userId = getUserId(principal);
 
@@ -113,7 +110,7 @@ public class SubscriptionController {
      * GET /api/subscriptions
      */
     @GetMapping
-    public ResponseEntity<List<UserSubscription>> list(Principal principal) {
+    public ResponseEntity<List<UserSubscription>> list(SubjectPrincipal principal) {
         Long userId = getUserId(principal);
         return ResponseEntity.ok(subscriptionRepo.findByUserId(userId));
     }
@@ -127,7 +124,7 @@ public class SubscriptionController {
     @GetMapping("/{lensId}/status")
     public ResponseEntity<Map<String, Boolean>> status(
             @PathVariable String lensId,
-            Principal principal) {
+            SubjectPrincipal principal) {
 
         Long userId = getUserId(principal);
         boolean subscribed = subscriptionRepo.existsByUserIdAndLensId(userId, lensId);
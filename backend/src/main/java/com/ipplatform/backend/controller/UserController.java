@@ -3,6 +3,7 @@ package com.ipplatform.backend.controller;
 import com.ipplatform.backend.model.User;
 import com.ipplatform.backend.service.UserService;
 import com.ipplatform.backend.service.UserService.TokenPair;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -102,12 +103,13 @@ public class UserController {
      * }
      */
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, Object> req) {
+    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, Object> req,
+                                                     HttpServletRequest request) {
         String  username   = (String) req.get("username");
         String  password   = (String) req.get("password");
         boolean rememberMe = Boolean.TRUE.equals(req.get("rememberMe"));
 
-        TokenPair tokens = userService.login(username, password, rememberMe);
+        TokenPair tokens = userService.login(username, password, rememberMe, request.getRemoteAddr());
         return ResponseEntity.ok(Map.of(
                 "accessToken",  tokens.accessToken(),
                 "refreshToken", tokens.refreshToken(),
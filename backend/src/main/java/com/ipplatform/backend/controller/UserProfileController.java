@@ -3,12 +3,13 @@ package com.ipplatform.backend.controller;
 import com.ipplatform.backend.exception.AuthException;
 import com.ipplatform.backend.model.User;
 import com.ipplatform.backend.repository.UserRepository;
+import com.ipplatform.backend.security.SubjectPrincipal;
+import com.ipplatform.backend.service.IdentityIndex;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,11 +28,14 @@ public class UserProfileController {
 
     private final UserRepository  userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final IdentityIndex   identityIndex;
 
     public UserProfileController(UserRepository userRepository,
-                                  PasswordEncoder passwordEncoder) {
+                                  PasswordEncoder passwordEncoder,
+                                  IdentityIndex identityIndex) {
         this.userRepository  = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.identityIndex   = identityIndex;
     }
 
     // ── GET /api/user/profile ─────────────────────────────────────────────────
@@ -52,8 +56,8 @@ public class UserProfileController {
      * }
      */
     @GetMapping("/profile")
-    public ResponseEntity<Map<String, Object>> getProfile(Principal principal) {
-        User user = getUser(principal.getName());
+    public ResponseEntity<Map<String, Object>> getProfile(SubjectPrincipal principal) {
+        User user = getUser(principal);
 
         Map<String, Object> resp = new HashMap<>();
         resp.put("id",       user.getId());
@@ -95,9 +99,9 @@ public class UserProfileController {
     @PutMapping("/profile")
     public ResponseEntity<Map<String, Object>> updateProfile(
             @RequestBody Map<String, String> req,
-            Principal principal) {
+            SubjectPrincipal principal) {
 
-        User user = getUser(principal.getName());
+        User user = getUser(principal);
 
         // Update name if provided
         String newName = req.get("name");
@@ -110,14 +114,14 @@ public class UserProfileController {
         if (newEmail != null && !newEmail.isBlank()) {
             String trimmed = newEmail.trim().toLowerCase();
             if (!trimmed.equals(user.getEmail())) {
-                if (userRepository.existsByEmail(trimmed)) {
+                if (identityIndex.emailTaken(trimmed)) {
                     throw new AuthException("Email already registered");
                 }
                 user.setEmail(trimmed);
             }
         }
 
-        userRepository.save(user);
+        identityIndex.save(() -> userRepository.save(user));
 
         Map<String, Object> resp = new HashMap<>();
         resp.put("message",  "Profile updated successfully.");
@@ -131,8 +135,9 @@ public class UserProfileController {
 
     // ── Private helper ────────────────────────────────────────────────────────
 
-    private User getUser(String username) {
-        return userRepository.findByUsername(username)
+    // Id from the access token — a primary-key lookup, no username search
+    private User getUser(SubjectPrincipal principal) {
+        return userRepository.findById(principal.id())
                 .orElseThrow(() -> new AuthException("User not found"));
     }
 }
\ No newline at end of file
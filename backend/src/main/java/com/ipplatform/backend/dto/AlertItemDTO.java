@@ -0,0 +1,32 @@
+package com.ipplatform.backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One legal-status alert: an asset with an expiry or renewal date inside
+ * the alert horizon. type is "EXPIRY" or "RENEWAL"; date is the matching one.
+ */
+public class AlertItemDTO {
+
+    private String type;
+    private Long id;
+    private String title;
+    private String jurisdiction;
+    private LocalDate date;
+
+    public AlertItemDTO(String type, Long id, String title,
+                        String jurisdiction,
+                        LocalDate date) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.jurisdiction = jurisdiction;
+        this.date = date;
+    }
+
+    public String getType() { return type; }
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getJurisdiction() { return jurisdiction; }
+    public LocalDate getDate() { return date; }
+}
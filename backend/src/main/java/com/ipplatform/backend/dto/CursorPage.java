@@ -0,0 +1,19 @@
+package com.ipplatform.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated result.
+ *
+ * nextCursor → opaque token for the following slice; null on the last one
+ * total      → total match count, only present when the caller asked for it
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore,
+        Long total
+) {}
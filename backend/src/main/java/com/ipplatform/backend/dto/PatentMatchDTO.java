@@ -0,0 +1,32 @@
+package com.ipplatform.backend.dto;
+
+public class PatentMatchDTO {
+
+    private Long id;
+    private String title;
+    private String inventor;
+    private String assignee;
+    private String jurisdiction;
+    // Sum of the trigram word similarities of the fuzzy filters given (null for LIKE mode)
+    private Double score;
+
+    public PatentMatchDTO(Long id, String title,
+                          String inventor,
+                          String assignee,
+                          String jurisdiction,
+                          Double score) {
+        this.id = id;
+        this.title = title;
+        this.inventor = inventor;
+        this.assignee = assignee;
+        this.jurisdiction = jurisdiction;
+        this.score = score;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getInventor() { return inventor; }
+    public String getAssignee() { return assignee; }
+    public String getJurisdiction() { return jurisdiction; }
+    public Double getScore() { return score; }
+}
@@ -0,0 +1,20 @@
+package com.ipplatform.backend.exception;
+
+/**
+ * Thrown when a request is turned away to protect the server — login
+ * attempts over the throttle limit, or password hashing saturated.
+ * GlobalExceptionHandler maps this to HTTP 429 with a Retry-After header.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,40 +1,59 @@
 package com.ipplatform.backend.ip.controller;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.ipplatform.backend.ip.dto.PatentBatch;
 import com.ipplatform.backend.ip.service.LensApiService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 /**
  * Patent detail endpoints.
  *
  * GET /api/assets/{lensId} ← primary (matches frontend workflow spec)
  * GET /api/ip-assets/{lensId} ← alias (backward compat)
+ * GET /api/assets/batch?ids=a,b,c ← many patents in a few Lens.org queries
  *
- * Both are PUBLIC — see SecurityConfig (anonymously browsable after search).
+ * All are PUBLIC — see SecurityConfig (anonymously browsable after search).
  * Secured endpoints (bookmarks, history) can be added later.
  *
  * Response: full Lens.org patent object (biblio, abstract, legal_status,
- * description).
+ * description). Returned as a Mono — the Lens call does not hold a servlet thread.
+ * The batch form returns { found: { lensId: patent }, notFound: [...], failed: [...] }.
  */
 @RestController
 public class IpDetailController {
 
     private final LensApiService lensApiService;
+    private final int maxBatchIds;
 
-    public IpDetailController(LensApiService lensApiService) {
+    public IpDetailController(LensApiService lensApiService,
+                              @Value("${ip.api.lens.batch.max-ids:200}") int maxBatchIds) {
         this.lensApiService = lensApiService;
+        this.maxBatchIds = maxBatchIds;
+    }
+
+    /** Batch lookup — ids is comma-separated (or repeated); duplicates are ignored */
+    @GetMapping("/api/assets/batch")
+    public Mono<ResponseEntity<PatentBatch>> getAssets(@RequestParam List<String> ids) {
+        if (ids.size() > maxBatchIds) {
+            throw new IllegalArgumentException("At most " + maxBatchIds + " ids per request");
+        }
+        return lensApiService.getPatentsByLensIdsAsync(ids).map(ResponseEntity::ok);
     }
 
     /** Primary path — matches frontend workflow */
     @GetMapping("/api/assets/{lensId}")
-    public ResponseEntity<JsonNode> getAsset(@PathVariable String lensId) {
-        return ResponseEntity.ok(lensApiService.getPatentByLensId(lensId));
+    public Mono<ResponseEntity<JsonNode>> getAsset(@PathVariable String lensId) {
+        return lensApiService.getPatentByLensIdAsync(lensId).map(ResponseEntity::ok);
     }
 
     /** Alias for backward compatibility */
     @GetMapping("/api/ip-assets/{lensId}")
-    public ResponseEntity<JsonNode> getIpAsset(@PathVariable String lensId) {
-        return ResponseEntity.ok(lensApiService.getPatentByLensId(lensId));
+    public Mono<ResponseEntity<JsonNode>> getIpAsset(@PathVariable String lensId) {
+        return lensApiService.getPatentByLensIdAsync(lensId).map(ResponseEntity::ok);
     }
 }
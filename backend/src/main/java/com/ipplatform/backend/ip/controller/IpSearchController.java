@@ -1,12 +1,21 @@
 package com.ipplatform.backend.ip.controller;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.JsonNodeFactory;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ipplatform.backend.ip.dto.LensSearchPage;
+import com.ipplatform.backend.ip.dto.SearchHit;
+import com.ipplatform.backend.ip.dto.SearchResponse;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
 import com.ipplatform.backend.ip.service.LensApiService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
 
 /**
  * GET /api/search
@@ -39,149 +48,105 @@ import org.springframework.web.bind.annotation.*;
  * ]
  * }
  *
+ * type=ALL queries patents and scholarly works concurrently under one shared
+ * deadline (ip.search.all-deadline-ms). If one side fails or times out the
+ * other is still returned, with "partial": true and the dropped side listed
+ * in "failedSources". Only when both fail does the request fail.
+ *
+ * The handler returns a Mono: no servlet thread is held while Lens.org is
+ * being called. Results are decoded from the Lens response stream directly
+ * into PatentHit / ScholarlyHit records — no intermediate JSON trees.
+ *
  * This endpoint is PUBLIC — no JWT required (see SecurityConfig).
  */
 @RestController
 @RequestMapping("/api/search")
 public class IpSearchController {
 
+    private static final Logger log = LoggerFactory.getLogger(IpSearchController.class);
+
     private final LensApiService lensApiService;
+    private final Duration allDeadline;
 
-    public IpSearchController(LensApiService lensApiService) {
+    public IpSearchController(LensApiService lensApiService,
+                              @Value("${ip.search.all-deadline-ms:10000}") long allDeadlineMs) {
         this.lensApiService = lensApiService;
+        this.allDeadline = Duration.ofMillis(allDeadlineMs);
     }
 
     @GetMapping
-    public ResponseEntity<ObjectNode> search(
+    public Mono<ResponseEntity<SearchResponse>> search(
             @RequestParam String q,
             @RequestParam(defaultValue = "PATENT") String type,
             @RequestParam(required = false) String jurisdiction,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        size = Math.min(size, 50);
+        int pageSize = Math.min(size, 50);
 
-        ObjectNode response = JsonNodeFactory.instance.objectNode();
-        response.put("page", page);
-        response.put("size", size);
-        ArrayNode results = response.putArray("results");
-
-        switch (type.toUpperCase()) {
-            case "SCHOLARLY" -> {
-                JsonNode raw = lensApiService.searchScholarly(q, page, size);
-                response.put("total", raw.path("total").asLong(0));
-                raw.path("data").forEach(n -> results.add(flattenScholarly(n)));
-            }
+        Mono<SearchResponse> response = switch (type.toUpperCase()) {
+            case "SCHOLARLY" -> lensApiService.searchScholarlyHitsAsync(q, page, pageSize)
+                    .map(hits -> SearchResponse.of(page, pageSize, hits));
             case "ALL" -> {
-                int half = Math.max(1, size / 2);
-                JsonNode patents = lensApiService.searchPatents(q, jurisdiction, page, half);
-                JsonNode scholarly = lensApiService.searchScholarly(q, page, half);
-                response.put("total",
-                        patents.path("total").asLong(0) + scholarly.path("total").asLong(0));
-                patents.path("data").forEach(n -> results.add(flattenPatent(n)));
-                scholarly.path("data").forEach(n -> results.add(flattenScholarly(n)));
-            }
-            default -> { // PATENT
-                JsonNode raw = lensApiService.searchPatents(q, jurisdiction, page, size);
-                response.put("total", raw.path("total").asLong(0));
-                raw.path("data").forEach(n -> results.add(flattenPatent(n)));
+                int half = Math.max(1, pageSize / 2);
+                yield Mono.zip(
+                        withinDeadline("PATENT", lensApiService.searchPatentHitsAsync(q, jurisdiction, page, half)),
+                        withinDeadline("SCHOLARLY", lensApiService.searchScholarlyHitsAsync(q, page, half))
+                ).map(both -> mergeAll(page, pageSize, both.getT1(), both.getT2()));
             }
-        }
+            default -> lensApiService.searchPatentHitsAsync(q, jurisdiction, page, pageSize) // PATENT
+                    .map(hits -> SearchResponse.of(page, pageSize, hits));
+        };
 
-        return ResponseEntity.ok(response);
+        return response.map(ResponseEntity::ok);
     }
 
-    // ── Mappers ───────────────────────────────────────────────────────────────
-
-    /**
-     * Maps a raw Lens.org patent node to a flat, frontend-friendly object.
-     */
-    private ObjectNode flattenPatent(JsonNode n) {
-        ObjectNode out = JsonNodeFactory.instance.objectNode();
-        out.put("lensId", text(n, "lens_id"));
-        out.put("jurisdiction", text(n, "jurisdiction"));
-        out.put("docNumber", text(n, "doc_number"));
-        out.put("kind", text(n, "kind"));
-        out.put("datePublished", text(n, "date_published"));
-        out.put("publicationType", text(n, "publication_type"));
-
-        JsonNode biblio = n.path("biblio");
-
-        // Title — pick first English title, fallback to first available
-        out.put("title", extractTitle(biblio));
+    // ── type=ALL fan-out ──────────────────────────────────────────────────────
 
-        // Applicants
-        ArrayNode applicants = out.putArray("applicants");
-        biblio.path("parties").path("applicants")
-                .forEach(a -> applicants.add(a.path("extracted_name").path("value").asText(
-                        a.path("name").asText(""))));
-
-        // Inventors
-        ArrayNode inventors = out.putArray("inventors");
-        biblio.path("parties").path("inventors")
-                .forEach(i -> inventors.add(i.path("extracted_name").path("value").asText(
-                        i.path("name").asText(""))));
-
-        // Abstract — pick first English abstract, fallback to first
-        out.put("abstract", extractAbstract(n));
-
-        // Legal status
-        JsonNode ls = n.path("legal_status");
-        out.put("patentStatus", ls.path("patent_status").asText(""));
-        out.put("legalStatusCode", ls.path("legal_status_code").asText(""));
-
-        return out;
+    /** Outcome of one side of the fan-out — exactly one of data / error is set. */
+    private record SourceResult(String source, LensSearchPage<? extends SearchHit> data, Throwable error) {
+        boolean failed() {
+            return data == null;
+        }
     }
 
     /**
-     * Maps a raw Lens.org scholarly node to a flat, frontend-friendly object.
+     * Bounds one side by the shared deadline and turns a failure into a
+     * SourceResult, so the other side's result is never lost.
      */
-    private ObjectNode flattenScholarly(JsonNode n) {
-        ObjectNode out = JsonNodeFactory.instance.objectNode();
-        out.put("lensId", text(n, "lens_id"));
-        out.put("type", "SCHOLARLY");
-        out.put("title", text(n, "title"));
-        out.put("datePublished", n.path("year_published").asText(""));
-        out.put("citationsCount", n.path("scholarly_citations_count").asInt(0));
-        out.put("publicationType", text(n, "publication_type"));
-
-        // Authors
-        ArrayNode authors = out.putArray("authors");
-        n.path("authors").forEach(a -> authors.add(a.path("display_name").asText(a.path("name").asText(""))));
-
-        // Abstract
-        out.put("abstract", n.path("abstract").asText(""));
-
-        return out;
+    private Mono<SourceResult> withinDeadline(String source, Mono<? extends LensSearchPage<? extends SearchHit>> call) {
+        return call.timeout(allDeadline)
+                .map(data -> new SourceResult(source, data, null))
+                .onErrorResume(e -> {
+                    log.warn("type=ALL: dropping {} results — {}", source, e.toString());
+                    return Mono.just(new SourceResult(source, null, e));
+                });
     }
 
-    // ── Utility ───────────────────────────────────────────────────────────────
-
-    private String text(JsonNode node, String field) {
-        return node.path(field).asText("");
-    }
+    private SearchResponse mergeAll(int page, int size, SourceResult patents, SourceResult scholarly) {
+        if (patents.failed() && scholarly.failed()) {
+            throw asExternalApiException(patents.error());
+        }
 
-    private String extractTitle(JsonNode biblio) {
-        JsonNode titles = biblio.path("invention_title");
-        if (titles.isMissingNode() || titles.isEmpty())
-            return "";
-        // Prefer English
-        for (JsonNode t : titles) {
-            if ("en".equalsIgnoreCase(t.path("lang").asText(""))) {
-                return t.path("text").asText("");
+        List<SearchHit> results = new ArrayList<>();
+        List<String> failedSources = new ArrayList<>();
+        long total = 0;
+        for (SourceResult side : List.of(patents, scholarly)) {
+            if (side.failed()) {
+                failedSources.add(side.source());
+            } else {
+                total += side.data().total();
+                results.addAll(side.data().results());
             }
         }
-        return titles.get(0).path("text").asText("");
+        return new SearchResponse(total, page, size, results, !failedSources.isEmpty(), failedSources);
     }
 
-    private String extractAbstract(JsonNode patent) {
-        JsonNode abstracts = patent.path("abstract");
-        if (abstracts.isMissingNode() || abstracts.isEmpty())
-            return "";
-        for (JsonNode a : abstracts) {
-            if ("en".equalsIgnoreCase(a.path("lang").asText(""))) {
-                return a.path("text").asText("");
-            }
+    private RuntimeException asExternalApiException(Throwable error) {
+        if (error instanceof ExternalApiException e) return e;
+        if (error instanceof TimeoutException) {
+            return new ExternalApiException("Lens.org", 504,
+                    "Search timed out after " + allDeadline.toMillis() + " ms");
         }
-        return abstracts.get(0).path("text").asText("");
+        return new ExternalApiException("Lens.org", "Failed to contact Lens.org: " + error.getMessage(), error);
     }
 }
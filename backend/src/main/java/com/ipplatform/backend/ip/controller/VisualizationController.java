@@ -1,31 +1,107 @@
 package com.ipplatform.backend.ip.controller;
 
+import com.ipplatform.backend.ip.dto.CitationGraphView;
+import com.ipplatform.backend.ip.dto.FamilyClusters;
+import com.ipplatform.backend.ip.dto.TrendResult;
+import com.ipplatform.backend.ip.dto.VisualizationBundle;
+import com.ipplatform.backend.ip.service.CitationGraphService;
+import com.ipplatform.backend.ip.service.CitationGraphService.Direction;
+import com.ipplatform.backend.ip.service.FamilyClusterService;
+import com.ipplatform.backend.ip.service.FamilyClusterService.FamilyType;
+import com.ipplatform.backend.ip.service.TrendService;
 import com.ipplatform.backend.ip.service.VisualizationService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /api/visualization/bundle?keyword=    → trends + citations + families from one fetch
+ * GET /api/visualization/trends?keyword=    → publication year counts
+ * GET /api/visualization/trends/full?keyword=&jurisdiction=
+ *                                           → year counts over every matching patent
+ * GET /api/visualization/citations?keyword= → direct references per patent
+ * GET /api/visualization/families?keyword=  → patents grouped by family key
+ * GET /api/visualization/citation-graph?keyword=|lensId=&depth=&direction=&top=
+ *                                           → multi-hop citation graph with rankings
+ * GET /api/visualization/family-clusters?keyword=&jurisdiction=&familyType=&top=
+ *                                           → Lens.org families over the whole result set
+ *
+ * The bundle, trends, citations and families endpoints are views over the
+ * same shared fetch. trends/full is computed by TrendService from a Lens.org
+ * aggregation (or a bounded sample) over the whole result set; citation-graph
+ * by CitationGraphService; family-clusters by FamilyClusterService.
+ * PUBLIC — see SecurityConfig.
+ */
 @RestController
 @RequestMapping("/api/visualization")
 public class VisualizationController {
 
     private final VisualizationService service;
+    private final TrendService trendService;
+    private final CitationGraphService citationGraphService;
+    private final FamilyClusterService familyClusterService;
 
-    public VisualizationController(VisualizationService service) {
+    public VisualizationController(VisualizationService service, TrendService trendService,
+                                   CitationGraphService citationGraphService,
+                                   FamilyClusterService familyClusterService) {
         this.service = service;
+        this.trendService = trendService;
+        this.citationGraphService = citationGraphService;
+        this.familyClusterService = familyClusterService;
+    }
+
+    @GetMapping("/bundle")
+    public Mono<ResponseEntity<VisualizationBundle>> bundle(@RequestParam String keyword) {
+        return service.getBundle(keyword).map(ResponseEntity::ok);
     }
 
     @GetMapping("/trends")
-    public ResponseEntity<?> trends(@RequestParam String keyword) {
-        return ResponseEntity.ok(service.getTrends(keyword));
+    public Mono<ResponseEntity<Map<Integer, Long>>> trends(@RequestParam String keyword) {
+        return service.getTrends(keyword).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/trends/full")
+    public Mono<ResponseEntity<TrendResult>> fullTrends(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String jurisdiction) {
+        return trendService.getTrends(keyword, jurisdiction).map(ResponseEntity::ok);
     }
 
     @GetMapping("/citations")
-    public ResponseEntity<?> citations(@RequestParam String keyword) {
-        return ResponseEntity.ok(service.getCitations(keyword));
+    public Mono<ResponseEntity<Map<String, List<String>>>> citations(@RequestParam String keyword) {
+        return service.getCitations(keyword).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/citation-graph")
+    public Mono<ResponseEntity<CitationGraphView>> citationGraph(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String lensId,
+            @RequestParam(defaultValue = "1") int depth,
+            @RequestParam(defaultValue = "BOTH") Direction direction,
+            @RequestParam(defaultValue = "20") int top) {
+
+        if ((keyword == null || keyword.isBlank()) && (lensId == null || lensId.isBlank())) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return citationGraphService.explore(keyword, lensId, depth, direction, top)
+                .map(ResponseEntity::ok);
     }
 
     @GetMapping("/families")
-    public ResponseEntity<?> families(@RequestParam String keyword) {
-        return ResponseEntity.ok(service.getFamilies(keyword));
+    public Mono<ResponseEntity<Map<String, List<String>>>> families(@RequestParam String keyword) {
+        return service.getFamilies(keyword).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/family-clusters")
+    public Mono<ResponseEntity<FamilyClusters>> familyClusters(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String jurisdiction,
+            @RequestParam(defaultValue = "SIMPLE") FamilyType familyType,
+            @RequestParam(defaultValue = "50") int top) {
+        return familyClusterService.cluster(keyword, jurisdiction, familyType, top)
+                .map(ResponseEntity::ok);
     }
-}
\ No newline at end of file
+}
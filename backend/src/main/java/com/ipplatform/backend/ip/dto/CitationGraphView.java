@@ -0,0 +1,29 @@
+package com.ipplatform.backend.ip.dto;
+
+import java.util.List;
+
+/**
+ * Response of GET /api/visualization/citation-graph.
+ *
+ * nodes           → Lens IDs; a node's index in this list is its ID in the edge arrays
+ * edgeSources[i]  → citing node of edge i
+ * edgeTargets[i]  → cited node of edge i
+ * seeds           → Lens IDs the expansion started from
+ * depth           → number of citation hops expanded
+ * truncated       → the node limit was reached or some Lens.org batches failed
+ * mostCited       → nodes with the highest in-degree (cited by most nodes in the graph)
+ * mostInfluential → nodes with the highest PageRank
+ */
+public record CitationGraphView(
+        List<String> nodes,
+        int[] edgeSources,
+        int[] edgeTargets,
+        List<String> seeds,
+        int depth,
+        boolean truncated,
+        List<RankedNode> mostCited,
+        List<RankedNode> mostInfluential
+) {
+
+    public record RankedNode(String lensId, int citedBy, double pageRank) {}
+}
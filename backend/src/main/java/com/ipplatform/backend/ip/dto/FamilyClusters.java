@@ -0,0 +1,37 @@
+package com.ipplatform.backend.ip.dto;
+
+import java.util.List;
+
+/**
+ * Response of GET /api/visualization/family-clusters.
+ *
+ * total              → patents matching the query on Lens.org
+ * documentsProcessed → search hits absorbed before the budget ran out
+ * complete           → every planned page was absorbed
+ * familyType         → SIMPLE | EXTENDED
+ * familyCount        → clusters containing at least one search hit
+ * families           → the largest clusters, biggest first
+ */
+public record FamilyClusters(
+        long total,
+        int documentsProcessed,
+        boolean complete,
+        String familyType,
+        int familyCount,
+        List<FamilyCluster> families
+) {
+
+    /**
+     * representative → earliest-published search hit in the family
+     * size           → distinct family members (search hits or not)
+     * matched        → members that are search hits
+     * jurisdictions  → distinct member jurisdictions
+     */
+    public record FamilyCluster(
+            String representative,
+            int size,
+            int matched,
+            List<String> jurisdictions,
+            List<String> members
+    ) {}
+}
@@ -0,0 +1,16 @@
+package com.ipplatform.backend.ip.dto;
+
+import java.util.List;
+
+/**
+ * One page of decoded Lens.org search results plus the total match count.
+ */
+public record LensSearchPage<T extends SearchHit>(long total, List<T> results) {
+
+    /** Rough retained heap size — the weight of this page in the response cache. */
+    public long approximateBytes() {
+        long size = 32 + 8L * results.size();
+        for (T hit : results) size += hit.approximateBytes();
+        return size;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ipplatform.backend.ip.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a multi-ID patent lookup (GET /api/assets/batch).
+ *
+ * found    → Lens ID → patent, in request order
+ * notFound → requested Lens IDs Lens.org has no patent for
+ * failed   → requested Lens IDs whose chunk query failed (retry them)
+ */
+public record PatentBatch(
+        Map<String, JsonNode> found,
+        List<String> notFound,
+        List<String> failed
+) {}
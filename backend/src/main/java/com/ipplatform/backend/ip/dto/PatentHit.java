@@ -0,0 +1,42 @@
+package com.ipplatform.backend.ip.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+/**
+ * Flattened Lens.org patent as returned by /api/search.
+ * Decoded straight from the Lens response stream by LensSearchDecoder.
+ *
+ * jurisdiction, kind, publicationType, patentStatus and legalStatusCode are
+ * dictionary-encoded: they reference shared canonical String instances.
+ */
+@JsonSerialize(using = SearchHitSerializer.class)
+public record PatentHit(
+        String lensId,
+        String jurisdiction,
+        String docNumber,
+        String kind,
+        String datePublished,
+        String publicationType,
+        String title,
+        List<String> applicants,
+        List<String> inventors,
+        String abstractText,
+        String patentStatus,
+        String legalStatusCode
+) implements SearchHit {
+
+    @Override
+    public long approximateBytes() {
+        // 12 references + header; dictionary-encoded fields are shared and not counted
+        return 64
+                + SearchHit.sizeOf(lensId)
+                + SearchHit.sizeOf(docNumber)
+                + SearchHit.sizeOf(datePublished)
+                + SearchHit.sizeOf(title)
+                + SearchHit.sizeOf(applicants)
+                + SearchHit.sizeOf(inventors)
+                + SearchHit.sizeOf(abstractText);
+    }
+}
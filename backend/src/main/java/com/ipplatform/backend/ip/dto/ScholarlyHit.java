@@ -0,0 +1,38 @@
+package com.ipplatform.backend.ip.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.List;
+
+/**
+ * Flattened Lens.org scholarly work as returned by /api/search.
+ * Decoded straight from the Lens response stream by LensSearchDecoder.
+ *
+ * publicationType is dictionary-encoded (shared canonical String instance).
+ */
+@JsonSerialize(using = SearchHitSerializer.class)
+public record ScholarlyHit(
+        String lensId,
+        String title,
+        String datePublished,
+        int citationsCount,
+        String publicationType,
+        List<String> authors,
+        String abstractText
+) implements SearchHit {
+
+    /** Lets the frontend tell scholarly results apart in type=ALL responses. */
+    public String type() {
+        return "SCHOLARLY";
+    }
+
+    @Override
+    public long approximateBytes() {
+        return 48
+                + SearchHit.sizeOf(lensId)
+                + SearchHit.sizeOf(title)
+                + SearchHit.sizeOf(datePublished)
+                + SearchHit.sizeOf(authors)
+                + SearchHit.sizeOf(abstractText);
+    }
+}
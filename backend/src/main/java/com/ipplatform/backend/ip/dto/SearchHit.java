@@ -0,0 +1,26 @@
+package com.ipplatform.backend.ip.dto;
+
+import java.util.List;
+
+/**
+ * One flattened /api/search result — either a {@link PatentHit} or a {@link ScholarlyHit}.
+ * Both are serialized by {@link SearchHitSerializer}.
+ */
+public interface SearchHit {
+
+    String lensId();
+
+    /** Rough retained heap size, used to weigh cached search pages. */
+    long approximateBytes();
+
+    // Object header + fields of a String and its backing array (Latin-1 compact strings)
+    static long sizeOf(String s) {
+        return s == null || s.isEmpty() ? 0 : 56 + s.length();
+    }
+
+    static long sizeOf(List<String> values) {
+        long size = 16 + 8L * values.size();
+        for (String v : values) size += sizeOf(v);
+        return size;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ipplatform.backend.ip.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes {@link PatentHit} / {@link ScholarlyHit} straight to the response
+ * generator with pre-encoded field names — no bean introspection and no
+ * intermediate tree per result.
+ *
+ * Field names match the historical /api/search output.
+ */
+public class SearchHitSerializer extends StdSerializer<SearchHit> {
+
+    private static final SerializableString LENS_ID          = new SerializedString("lensId");
+    private static final SerializableString TYPE             = new SerializedString("type");
+    private static final SerializableString JURISDICTION     = new SerializedString("jurisdiction");
+    private static final SerializableString DOC_NUMBER       = new SerializedString("docNumber");
+    private static final SerializableString KIND             = new SerializedString("kind");
+    private static final SerializableString DATE_PUBLISHED   = new SerializedString("datePublished");
+    private static final SerializableString PUBLICATION_TYPE = new SerializedString("publicationType");
+    private static final SerializableString TITLE            = new SerializedString("title");
+    private static final SerializableString APPLICANTS       = new SerializedString("applicants");
+    private static final SerializableString INVENTORS        = new SerializedString("inventors");
+    private static final SerializableString AUTHORS          = new SerializedString("authors");
+    private static final SerializableString ABSTRACT         = new SerializedString("abstract");
+    private static final SerializableString PATENT_STATUS    = new SerializedString("patentStatus");
+    private static final SerializableString LEGAL_STATUS     = new SerializedString("legalStatusCode");
+    private static final SerializableString CITATIONS_COUNT  = new SerializedString("citationsCount");
+
+    public SearchHitSerializer() {
+        super(SearchHit.class);
+    }
+
+    @Override
+    public void serialize(SearchHit hit, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (hit instanceof PatentHit p) {
+            writePatent(p, gen);
+        } else if (hit instanceof ScholarlyHit s) {
+            writeScholarly(s, gen);
+        } else {
+            provider.reportMappingProblem("Unsupported search hit: %s", hit.getClass().getName());
+        }
+    }
+
+    private void writePatent(PatentHit p, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        field(gen, LENS_ID, p.lensId());
+        field(gen, JURISDICTION, p.jurisdiction());
+        field(gen, DOC_NUMBER, p.docNumber());
+        field(gen, KIND, p.kind());
+        field(gen, DATE_PUBLISHED, p.datePublished());
+        field(gen, PUBLICATION_TYPE, p.publicationType());
+        field(gen, TITLE, p.title());
+        array(gen, APPLICANTS, p.applicants());
+        array(gen, INVENTORS, p.inventors());
+        field(gen, ABSTRACT, p.abstractText());
+        field(gen, PATENT_STATUS, p.patentStatus());
+        field(gen, LEGAL_STATUS, p.legalStatusCode());
+        gen.writeEndObject();
+    }
+
+    private void writeScholarly(ScholarlyHit s, JsonGenerator gen) throws IOException {
+        gen.writeStartObject();
+        field(gen, LENS_ID, s.lensId());
+        field(gen, TYPE, s.type());
+        field(gen, TITLE, s.title());
+        field(gen, DATE_PUBLISHED, s.datePublished());
+        gen.writeFieldName(CITATIONS_COUNT);
+        gen.writeNumber(s.citationsCount());
+        field(gen, PUBLICATION_TYPE, s.publicationType());
+        array(gen, AUTHORS, s.authors());
+        field(gen, ABSTRACT, s.abstractText());
+        gen.writeEndObject();
+    }
+
+    private void field(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value != null ? value : "");
+    }
+
+    private void array(JsonGenerator gen, SerializableString name, List<String> values) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeStartArray();
+        for (String v : values) {
+            gen.writeString(v);
+        }
+        gen.writeEndArray();
+    }
+}
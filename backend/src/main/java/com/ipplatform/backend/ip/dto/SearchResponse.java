@@ -0,0 +1,24 @@
+package com.ipplatform.backend.ip.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Response body of GET /api/search.
+ * partial / failedSources are only present for type=ALL.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchResponse(
+        long total,
+        int page,
+        int size,
+        List<SearchHit> results,
+        Boolean partial,
+        List<String> failedSources
+) {
+
+    public static SearchResponse of(int page, int size, LensSearchPage<? extends SearchHit> hits) {
+        return new SearchResponse(hits.total(), page, size, List.copyOf(hits.results()), null, null);
+    }
+}
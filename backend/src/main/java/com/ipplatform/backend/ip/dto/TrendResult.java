@@ -0,0 +1,28 @@
+package com.ipplatform.backend.ip.dto;
+
+import java.util.Map;
+
+/**
+ * Response of GET /api/visualization/trends/full — publication year counts
+ * over the whole Lens.org result set for a keyword.
+ *
+ * counts   → publication year → patent count (estimated when accuracy is SAMPLED)
+ * total    → number of patents matching the query
+ * counted  → number of patents whose year was actually counted
+ * accuracy → EXACT (server-side aggregation, or every match was sampled) | SAMPLED
+ * coverage → counted / total, between 0 and 1
+ * method   → AGGREGATION | SAMPLING
+ */
+public record TrendResult(
+        Map<Integer, Long> counts,
+        long total,
+        long counted,
+        Accuracy accuracy,
+        double coverage,
+        Method method
+) {
+
+    public enum Accuracy { EXACT, SAMPLED }
+
+    public enum Method { AGGREGATION, SAMPLING }
+}
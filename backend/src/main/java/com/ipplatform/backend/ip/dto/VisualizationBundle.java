@@ -0,0 +1,18 @@
+package com.ipplatform.backend.ip.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response of GET /api/visualization/bundle — the three aggregates the
+ * visualization page needs, computed from one Lens.org fetch.
+ *
+ * trends    → publication year → patent count
+ * citations → lens_id → lens_ids it cites
+ * families  → family key → member lens_ids
+ */
+public record VisualizationBundle(
+        Map<Integer, Long> trends,
+        Map<String, List<String>> citations,
+        Map<String, List<String>> families
+) {}
@@ -0,0 +1,250 @@
+package com.ipplatform.backend.ip.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable directed citation graph in compressed sparse row (CSR) form.
+ *
+ * Lens IDs are interned to dense int node IDs (0..n-1) by the {@link Builder};
+ * edges point from the citing patent to the cited one. Both directions are
+ * kept as primitive arrays:
+ *
+ *   outOffsets[u] .. outOffsets[u+1]  → range of outTargets holding what u cites
+ *   inOffsets[v]  .. inOffsets[v+1]   → range of inSources holding who cites v
+ *
+ * so a graph of n nodes and m edges costs about 8n + 8m bytes of int arrays
+ * plus the interned ID strings.
+ */
+public final class CitationGraph {
+
+    private final String[] lensIds;
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final int[] inOffsets;
+    private final int[] inSources;
+
+    private CitationGraph(String[] lensIds, int[] outOffsets, int[] outTargets,
+                          int[] inOffsets, int[] inSources) {
+        this.lensIds = lensIds;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+    }
+
+    public int nodeCount() {
+        return lensIds.length;
+    }
+
+    public int edgeCount() {
+        return outTargets.length;
+    }
+
+    public String lensId(int node) {
+        return lensIds[node];
+    }
+
+    public int outDegree(int node) {
+        return outOffsets[node + 1] - outOffsets[node];
+    }
+
+    public int inDegree(int node) {
+        return inOffsets[node + 1] - inOffsets[node];
+    }
+
+    /** Nodes the given node cites. */
+    public int[] cited(int node) {
+        return Arrays.copyOfRange(outTargets, outOffsets[node], outOffsets[node + 1]);
+    }
+
+    /** Nodes citing the given node. */
+    public int[] citedBy(int node) {
+        return Arrays.copyOfRange(inSources, inOffsets[node], inOffsets[node + 1]);
+    }
+
+    /** Edge sources, one entry per edge, in CSR order. */
+    public int[] edgeSources() {
+        int[] sources = new int[outTargets.length];
+        for (int u = 0; u < lensIds.length; u++) {
+            Arrays.fill(sources, outOffsets[u], outOffsets[u + 1], u);
+        }
+        return sources;
+    }
+
+    /** Edge targets, aligned with {@link #edgeSources()}. */
+    public int[] edgeTargets() {
+        return outTargets.clone();
+    }
+
+    public List<String> lensIds() {
+        return List.of(lensIds);
+    }
+
+    // ── Metrics ───────────────────────────────────────────────────────────────
+
+    /**
+     * PageRank by power iteration. Rank of dangling nodes (those citing nothing
+     * inside the graph) is spread evenly over all nodes each round. Stops when
+     * the L1 change drops below tolerance or after maxIterations.
+     */
+    public double[] pageRank(double damping, int maxIterations, double tolerance) {
+        int n = lensIds.length;
+        if (n == 0) return new double[0];
+
+        double[] rank = new double[n];
+        double[] next = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            double dangling = 0;
+            for (int u = 0; u < n; u++) {
+                if (outDegree(u) == 0) dangling += rank[u];
+            }
+
+            Arrays.fill(next, (1 - damping) / n + damping * dangling / n);
+            for (int u = 0; u < n; u++) {
+                int degree = outDegree(u);
+                if (degree == 0) continue;
+                double share = damping * rank[u] / degree;
+                for (int e = outOffsets[u]; e < outOffsets[u + 1]; e++) {
+                    next[outTargets[e]] += share;
+                }
+            }
+
+            double delta = 0;
+            for (int v = 0; v < n; v++) delta += Math.abs(next[v] - rank[v]);
+
+            double[] swap = rank;
+            rank = next;
+            next = swap;
+
+            if (delta < tolerance) break;
+        }
+        return rank;
+    }
+
+    /** Node IDs of the k highest scores, best first. */
+    public static int[] topK(double[] scores, int k) {
+        int limit = Math.min(k, scores.length);
+        if (limit <= 0) return new int[0];
+
+        // Min-heap of the best k seen so far — O(n log k)
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit,
+                (a, b) -> Double.compare(scores[a], scores[b]));
+        for (int node = 0; node < scores.length; node++) {
+            if (heap.size() < limit) {
+                heap.add(node);
+            } else if (scores[node] > scores[heap.peek()]) {
+                heap.poll();
+                heap.add(node);
+            }
+        }
+
+        int[] top = new int[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) top[i] = heap.poll();
+        return top;
+    }
+
+    // ── Builder ───────────────────────────────────────────────────────────────
+
+    /**
+     * Interns Lens IDs and collects edges. Not thread-safe — feed it from a
+     * single thread (or sequential reactive stage) and call {@link #build()} once.
+     */
+    public static final class Builder {
+
+        private final int maxNodes;
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        // Each edge packed as (source << 32 | target) so build() can sort and dedupe in place
+        private long[] edges = new long[256];
+        private int edgeCount;
+        private boolean truncated;
+
+        public Builder(int maxNodes) {
+            this.maxNodes = maxNodes;
+        }
+
+        /** Node ID for the Lens ID, interning it if new; -1 once maxNodes is reached. */
+        public int intern(String lensId) {
+            Integer id = ids.get(lensId);
+            if (id != null) return id;
+            if (names.size() >= maxNodes) {
+                truncated = true;
+                return -1;
+            }
+            int node = names.size();
+            ids.put(lensId, node);
+            names.add(lensId);
+            return node;
+        }
+
+        public boolean contains(String lensId) {
+            return ids.containsKey(lensId);
+        }
+
+        /**
+         * Adds citing → cited, interning both ends. Returns false when either
+         * end could not be interned or the edge is a self-citation.
+         */
+        public boolean addEdge(String citing, String cited) {
+            int source = intern(citing);
+            int target = intern(cited);
+            if (source < 0 || target < 0 || source == target) return false;
+
+            if (edgeCount == edges.length) edges = Arrays.copyOf(edges, edgeCount * 2);
+            edges[edgeCount++] = ((long) source << 32) | (target & 0xFFFFFFFFL);
+            return true;
+        }
+
+        /** True when some node was dropped because maxNodes was reached. */
+        public boolean truncated() {
+            return truncated;
+        }
+
+        public CitationGraph build() {
+            int n = names.size();
+
+            // Sort by (source, target) and drop duplicate edges
+            long[] sorted = Arrays.copyOf(edges, edgeCount);
+            Arrays.sort(sorted);
+            int m = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (m == 0 || sorted[i] != sorted[m - 1]) sorted[m++] = sorted[i];
+            }
+
+            int[] outOffsets = new int[n + 1];
+            int[] outTargets = new int[m];
+            int[] inOffsets = new int[n + 1];
+            for (int e = 0; e < m; e++) {
+                int source = (int) (sorted[e] >>> 32);
+                int target = (int) sorted[e];
+                outOffsets[source + 1]++;
+                inOffsets[target + 1]++;
+                outTargets[e] = target;
+            }
+            for (int u = 0; u < n; u++) {
+                outOffsets[u + 1] += outOffsets[u];
+                inOffsets[u + 1] += inOffsets[u];
+            }
+
+            // Counting sort by target for the reverse (cited-by) direction
+            int[] inSources = new int[m];
+            int[] cursor = Arrays.copyOf(inOffsets, n);
+            for (int e = 0; e < m; e++) {
+                int source = (int) (sorted[e] >>> 32);
+                int target = (int) sorted[e];
+                inSources[cursor[target]++] = source;
+            }
+
+            return new CitationGraph(names.toArray(new String[0]), outOffsets, outTargets,
+                    inOffsets, inSources);
+        }
+    }
+}
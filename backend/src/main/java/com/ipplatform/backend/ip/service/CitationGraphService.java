@@ -0,0 +1,213 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ipplatform.backend.ip.dto.CitationGraphView;
+import com.ipplatform.backend.ip.dto.CitationGraphView.RankedNode;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Builds citation neighbourhoods by breadth-first expansion over Lens.org.
+ *
+ * Starting from the seed patents (one Lens ID, or the top hits for a keyword),
+ * each hop fetches the not-yet-fetched frontier with one multi-ID lookup
+ * ({@link LensApiService#getPatentsByLensIdsAsync}, chunked terms queries run
+ * concurrently), adds their references (FORWARD) and/or citing patents
+ * (BACKWARD) as edges, and makes the newly discovered patents the next frontier.
+ * Seed and frontier fetches bypass the response cache.
+ *
+ * Edges are collected into a {@link CitationGraph} — interned int node IDs in
+ * CSR arrays — capped at max-nodes nodes. Ranking by in-degree and PageRank
+ * runs on the finished graph.
+ */
+@Service
+public class CitationGraphService {
+
+    private static final Logger log = LoggerFactory.getLogger(CitationGraphService.class);
+
+    private static final List<String> GRAPH_INCLUDE = List.of(
+            "lens_id",
+            "biblio.references_cited",
+            "biblio.cited_by"
+    );
+
+    private static final double DAMPING = 0.85;
+    private static final int PAGE_RANK_ITERATIONS = 50;
+    private static final double PAGE_RANK_TOLERANCE = 1e-6;
+
+    public enum Direction { FORWARD, BACKWARD, BOTH }
+
+    private final LensApiService lensApiService;
+    private final int maxDepth;
+    private final int maxNodes;
+    private final int seedSize;
+    private final int chunkSize;
+
+    public CitationGraphService(LensApiService lensApiService,
+                                @Value("${ip.visualization.citations.max-depth:3}") int maxDepth,
+                                @Value("${ip.visualization.citations.max-nodes:5000}") int maxNodes,
+                                @Value("${ip.visualization.citations.seed-size:25}") int seedSize,
+                                @Value("${ip.visualization.citations.chunk-size:25}") int chunkSize) {
+        this.lensApiService = lensApiService;
+        this.maxDepth = Math.max(1, maxDepth);
+        this.maxNodes = Math.max(1, maxNodes);
+        this.seedSize = Math.max(1, seedSize);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Expands the citation graph around a patent (lensId) or around the top
+     * hits for a keyword, depth hops out in the given direction.
+     */
+    public Mono<CitationGraphView> explore(String keyword, String lensId, int depth,
+                                           Direction direction, int top) {
+        int hops = Math.min(Math.max(1, depth), maxDepth);
+
+        return seeds(keyword, lensId)
+                .flatMap(seeds -> {
+                    Expansion expansion = new Expansion(direction);
+                    seeds.forEach(expansion.builder::intern);
+                    return expand(expansion, new LinkedHashSet<>(seeds), hops)
+                            .map(done -> toView(done, seeds, hops, top));
+                })
+                .onErrorMap(e -> !(e instanceof ExternalApiException),
+                        e -> new RuntimeException("Error building citation graph", e));
+    }
+
+    // ── Expansion ─────────────────────────────────────────────────────────────
+
+    private Mono<List<String>> seeds(String keyword, String lensId) {
+        if (lensId != null && !lensId.isBlank()) {
+            return Mono.just(List.of(lensId.trim()));
+        }
+        return lensApiService.fetchPatentFieldsAsync(keyword, null, 0, seedSize, List.of("lens_id"))
+                .map(response -> {
+                    List<String> ids = new ArrayList<>();
+                    for (JsonNode patent : response.path("data")) {
+                        String id = patent.path("lens_id").asText("");
+                        if (!id.isEmpty()) ids.add(id);
+                    }
+                    return ids;
+                });
+    }
+
+    /**
+     * One hop: fetch the frontier, absorb the patents (the builder is
+     * single-threaded, so this runs in one sequential stage) and recurse.
+     * IDs whose chunk failed are skipped and mark the graph as truncated.
+     */
+    private Mono<Expansion> expand(Expansion expansion, Set<String> frontier, int remaining) {
+        if (frontier.isEmpty() || remaining == 0) {
+            return Mono.just(expansion);
+        }
+
+        return lensApiService.getPatentsByLensIdsAsync(frontier, GRAPH_INCLUDE, false, chunkSize)
+                .onErrorResume(e -> {
+                    log.warn("Citation lookup of {} Lens IDs failed: {}", frontier.size(), e.getMessage());
+                    expansion.failedBatch.set(true);
+                    return Mono.empty();
+                })
+                .flatMap(batch -> {
+                    if (!batch.failed().isEmpty()) expansion.failedBatch.set(true);
+
+                    Set<String> next = new LinkedHashSet<>();
+                    for (JsonNode patent : batch.found().values()) {
+                        expansion.absorb(patent, next);
+                    }
+                    next.removeAll(expansion.fetched);
+                    return expand(expansion, next, remaining - 1);
+                })
+                .defaultIfEmpty(expansion);
+    }
+
+    /** Mutable state of one expansion; only touched from sequential reactive stages. */
+    private final class Expansion {
+        final CitationGraph.Builder builder = new CitationGraph.Builder(maxNodes);
+        final Set<String> fetched = new HashSet<>();
+        final AtomicBoolean failedBatch = new AtomicBoolean();
+        final Direction direction;
+
+        Expansion(Direction direction) {
+            this.direction = direction;
+        }
+
+        void absorb(JsonNode patent, Set<String> next) {
+            String id = patent.path("lens_id").asText("");
+            if (id.isEmpty() || builder.intern(id) < 0) return;
+            fetched.add(id);
+
+            if (direction != Direction.BACKWARD) {
+                forEachCited(patent, cited -> {
+                    if (builder.addEdge(id, cited)) next.add(cited);
+                });
+            }
+            if (direction != Direction.FORWARD) {
+                forEachCiting(patent, citing -> {
+                    if (builder.addEdge(citing, id)) next.add(citing);
+                });
+            }
+        }
+    }
+
+    // ── Lens.org citation fields ──────────────────────────────────────────────
+
+    /**
+     * biblio.references_cited is either { "citations": [{ "patcit": { "lens_id" } }, ...] }
+     * or, in older payloads, a plain array of { "lens_id" }. Non-patent citations have no lens_id.
+     */
+    static void forEachCited(JsonNode patent, Consumer<String> consumer) {
+        JsonNode refs = patent.path("biblio").path("references_cited");
+        JsonNode list = refs.isArray() ? refs : refs.path("citations");
+        for (JsonNode ref : list) {
+            String id = ref.path("patcit").path("lens_id").asText("");
+            if (id.isEmpty()) id = ref.path("lens_id").asText("");
+            if (!id.isEmpty()) consumer.accept(id);
+        }
+    }
+
+    /** biblio.cited_by.patents → [{ "lens_id": ... }, ...] */
+    static void forEachCiting(JsonNode patent, Consumer<String> consumer) {
+        for (JsonNode citing : patent.path("biblio").path("cited_by").path("patents")) {
+            String id = citing.path("lens_id").asText("");
+            if (!id.isEmpty()) consumer.accept(id);
+        }
+    }
+
+    // ── Result ────────────────────────────────────────────────────────────────
+
+    private CitationGraphView toView(Expansion expansion, List<String> seeds, int hops, int top) {
+        CitationGraph graph = expansion.builder.build();
+        int n = graph.nodeCount();
+
+        double[] pageRank = graph.pageRank(DAMPING, PAGE_RANK_ITERATIONS, PAGE_RANK_TOLERANCE);
+        double[] inDegree = new double[n];
+        for (int node = 0; node < n; node++) inDegree[node] = graph.inDegree(node);
+
+        return new CitationGraphView(
+                graph.lensIds(),
+                graph.edgeSources(),
+                graph.edgeTargets(),
+                seeds,
+                hops,
+                expansion.builder.truncated() || expansion.failedBatch.get(),
+                ranked(graph, CitationGraph.topK(inDegree, top), pageRank),
+                ranked(graph, CitationGraph.topK(pageRank, top), pageRank)
+        );
+    }
+
+    private List<RankedNode> ranked(CitationGraph graph, int[] nodes, double[] pageRank) {
+        List<RankedNode> ranked = new ArrayList<>(nodes.length);
+        for (int node : nodes) {
+            ranked.add(new RankedNode(graph.lensId(node), graph.inDegree(node), pageRank[node]));
+        }
+        return ranked;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ipplatform.backend.ip.dto.FamilyClusters;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clusters every patent matching a keyword into Lens.org families.
+ *
+ * Result pages (lens_id, jurisdiction, date_published and the family member
+ * list only) are fetched with bounded concurrency, bypassing the response
+ * cache, and absorbed into a {@link FamilyClusterer} in order as they
+ * arrive. When the request budget runs out, fetching stops and the
+ * clusters built so far are returned with complete=false.
+ *
+ * Lens.org serves at most 10,000 hits per query through from/size paging,
+ * so max-documents is capped there.
+ */
+@Service
+public class FamilyClusterService {
+
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    public enum FamilyType {
+        SIMPLE("simple_family"), EXTENDED("extended_family");
+
+        private final String field;
+
+        FamilyType(String field) {
+            this.field = field;
+        }
+    }
+
+    private final LensApiService lensApiService;
+    private final int maxDocuments;
+    private final int pageSize;
+    private final int concurrency;
+    private final Duration budget;
+
+    public FamilyClusterService(LensApiService lensApiService,
+                                @Value("${ip.visualization.families.max-documents:10000}") int maxDocuments,
+                                @Value("${ip.visualization.families.page-size:200}") int pageSize,
+                                @Value("${ip.visualization.families.fetch-concurrency:4}") int concurrency,
+                                @Value("${ip.visualization.families.budget-ms:20000}") long budgetMs) {
+        this.lensApiService = lensApiService;
+        this.maxDocuments = Math.min(Math.max(1, maxDocuments), MAX_RESULT_WINDOW);
+        this.pageSize = Math.max(1, pageSize);
+        this.concurrency = Math.max(1, concurrency);
+        this.budget = Duration.ofMillis(budgetMs);
+    }
+
+    public Mono<FamilyClusters> cluster(String keyword, String jurisdiction, FamilyType type, int top) {
+        List<String> include = List.of(
+                "lens_id",
+                "jurisdiction",
+                "date_published",
+                "families." + type.field + ".members"
+        );
+
+        FamilyClusterer clusterer = new FamilyClusterer(type.field);
+        AtomicInteger plannedPages = new AtomicInteger(1);
+        AtomicInteger absorbedPages = new AtomicInteger();
+        AtomicLong total = new AtomicLong();
+
+        Flux<JsonNode> pages = fetchPage(keyword, jurisdiction, 0, include).flatMapMany(first -> {
+            total.set(first.path("total").asLong(0));
+            long wanted = Math.min(total.get(), maxDocuments);
+            int pageCount = (int) Math.max(1, (wanted + pageSize - 1) / pageSize);
+            plannedPages.set(pageCount);
+
+            Flux<JsonNode> rest = Flux.range(1, pageCount - 1)
+                    .flatMapSequential(page -> fetchPage(keyword, jurisdiction, page, include), concurrency);
+            return Flux.concat(Mono.just(first), rest);
+        });
+
+        return pages
+                .take(budget)
+                .doOnNext(page -> {
+                    clusterer.absorbPage(page);
+                    absorbedPages.incrementAndGet();
+                })
+                .then(Mono.fromCallable(() -> {
+                    FamilyClusterer.Snapshot snapshot = clusterer.snapshot(top);
+                    return new FamilyClusters(
+                            total.get(),
+                            clusterer.documents(),
+                            absorbedPages.get() >= plannedPages.get(),
+                            type.name(),
+                            snapshot.familyCount(),
+                            snapshot.families()
+                    );
+                }))
+                .onErrorMap(e -> !(e instanceof ExternalApiException),
+                        e -> new RuntimeException("Error clustering patent families", e));
+    }
+
+    private Mono<JsonNode> fetchPage(String keyword, String jurisdiction, int page, List<String> include) {
+        return lensApiService.fetchPatentFieldsAsync(keyword, jurisdiction, page, pageSize, include);
+    }
+}
@@ -0,0 +1,218 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ipplatform.backend.ip.dto.FamilyClusters.FamilyCluster;
+
+import java.util.*;
+
+/**
+ * Incremental patent family clustering with a union-find over primitive arrays.
+ *
+ * Every search hit is unioned with each member of its Lens.org family
+ * (families.simple_family or families.extended_family). Members are nodes
+ * too, even when they are not search hits themselves, so two hits whose
+ * families only overlap through a third document still end up in one cluster.
+ *
+ * Pages can be absorbed one at a time as they arrive; {@link #snapshot} can be
+ * taken at any point. Not thread-safe — absorb from one sequential stage.
+ */
+public final class FamilyClusterer {
+
+    private static final int UNKNOWN_DATE = Integer.MAX_VALUE;
+
+    private final String familyField;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> lensIds = new ArrayList<>();
+    private final Map<String, Short> jurisdictionCodes = new HashMap<>();
+    private final List<String> jurisdictionNames = new ArrayList<>();
+
+    // Union-find and per-node attributes, indexed by node ID
+    private int[] parent = new int[1024];
+    private byte[] rank = new byte[1024];
+    private short[] jurisdiction = new short[1024];
+    private int[] published = new int[1024];   // yyyymmdd of search hits, UNKNOWN_DATE otherwise
+    private boolean[] matched = new boolean[1024];
+    private int size;
+
+    private int documents;
+
+    /** familyField is "simple_family" or "extended_family". */
+    public FamilyClusterer(String familyField) {
+        this.familyField = familyField;
+    }
+
+    /** Number of search hits absorbed so far. */
+    public int documents() {
+        return documents;
+    }
+
+    /** Absorbs every hit in a Lens.org search response. */
+    public void absorbPage(JsonNode response) {
+        for (JsonNode patent : response.path("data")) absorb(patent);
+    }
+
+    public void absorb(JsonNode patent) {
+        String lensId = patent.path("lens_id").asText("");
+        if (lensId.isEmpty()) return;
+
+        int node = node(lensId, patent.path("jurisdiction").asText(""));
+        if (!matched[node]) {
+            matched[node] = true;
+            documents++;
+        }
+        published[node] = Math.min(published[node], dateKey(patent.path("date_published").asText("")));
+
+        for (JsonNode member : patent.path("families").path(familyField).path("members")) {
+            String memberId = member.path("lens_id").asText("");
+            if (memberId.isEmpty()) continue;
+            String memberJurisdiction = member.path("document_id").path("jurisdiction").asText("");
+            union(node, node(memberId, memberJurisdiction));
+        }
+    }
+
+    /**
+     * Current clusters that contain at least one search hit, largest first,
+     * limited to top. Returns the total number of such clusters alongside.
+     */
+    public Snapshot snapshot(int top) {
+        int[] members = new int[size];
+        int[] hits = new int[size];
+        int[] representative = new int[size];
+        BitSet[] jurisdictions = new BitSet[size];
+        Arrays.fill(representative, -1);
+
+        for (int node = 0; node < size; node++) {
+            int root = find(node);
+            members[root]++;
+            if (jurisdiction[node] >= 0) {
+                if (jurisdictions[root] == null) jurisdictions[root] = new BitSet();
+                jurisdictions[root].set(jurisdiction[node]);
+            }
+            if (matched[node]) {
+                hits[root]++;
+                int current = representative[root];
+                // Earliest-published hit represents the family; first seen wins ties
+                if (current < 0 || published[node] < published[current]) representative[root] = node;
+            }
+        }
+
+        // Pack (members, root) into longs so one primitive sort orders clusters by size
+        long[] order = new long[size];
+        int clusters = 0;
+        for (int root = 0; root < size; root++) {
+            if (hits[root] > 0 && parent[root] == root) {
+                order[clusters++] = ((long) members[root] << 32) | root;
+            }
+        }
+        Arrays.sort(order, 0, clusters);
+
+        int limit = Math.min(Math.max(0, top), clusters);
+        Map<Integer, List<String>> memberIds = new LinkedHashMap<>();
+        for (int i = 0; i < limit; i++) {
+            memberIds.put((int) order[clusters - 1 - i], new ArrayList<>());
+        }
+        for (int node = 0; node < size; node++) {
+            List<String> list = memberIds.get(find(node));
+            if (list != null) list.add(lensIds.get(node));
+        }
+
+        List<FamilyCluster> result = new ArrayList<>(limit);
+        memberIds.forEach((root, ids) -> {
+            List<String> codes = new ArrayList<>();
+            BitSet set = jurisdictions[root];
+            if (set != null) {
+                for (int c = set.nextSetBit(0); c >= 0; c = set.nextSetBit(c + 1)) {
+                    codes.add(jurisdictionNames.get(c));
+                }
+            }
+            Collections.sort(codes);
+            result.add(new FamilyCluster(lensIds.get(representative[root]), members[root], hits[root],
+                    codes, ids));
+        });
+
+        return new Snapshot(clusters, result);
+    }
+
+    public record Snapshot(int familyCount, List<FamilyCluster> families) {}
+
+    // ── Union-find ────────────────────────────────────────────────────────────
+
+    private int node(String lensId, String jurisdictionCode) {
+        Integer existing = ids.get(lensId);
+        if (existing != null) {
+            if (jurisdiction[existing] < 0) jurisdiction[existing] = jurisdictionCode(jurisdictionCode);
+            return existing;
+        }
+
+        if (size == parent.length) grow();
+        int node = size++;
+        ids.put(lensId, node);
+        lensIds.add(lensId);
+        parent[node] = node;
+        jurisdiction[node] = jurisdictionCode(jurisdictionCode);
+        published[node] = UNKNOWN_DATE;
+        return node;
+    }
+
+    /** Root of the node's set, halving the path on the way. */
+    private int find(int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    /** Union by rank. */
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return;
+
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+    }
+
+    private void grow() {
+        int capacity = parent.length * 2;
+        parent = Arrays.copyOf(parent, capacity);
+        rank = Arrays.copyOf(rank, capacity);
+        jurisdiction = Arrays.copyOf(jurisdiction, capacity);
+        published = Arrays.copyOf(published, capacity);
+        matched = Arrays.copyOf(matched, capacity);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    /** Small dictionary code for a jurisdiction, or -1 when unknown. */
+    private short jurisdictionCode(String code) {
+        if (code == null || code.isEmpty()) return -1;
+        Short existing = jurisdictionCodes.get(code);
+        if (existing != null) return existing;
+        if (jurisdictionNames.size() >= Short.MAX_VALUE) return -1;
+
+        short created = (short) jurisdictionNames.size();
+        jurisdictionCodes.put(code, created);
+        jurisdictionNames.add(code);
+        return created;
+    }
+
+    /** "2019-05-23" → 20190523; anything unparseable sorts last. */
+    private int dateKey(String date) {
+        if (date.length() < 10) return UNKNOWN_DATE;
+        try {
+            return Integer.parseInt(date.substring(0, 4)) * 10_000
+                    + Integer.parseInt(date.substring(5, 7)) * 100
+                    + Integer.parseInt(date.substring(8, 10));
+        } catch (NumberFormatException e) {
+            return UNKNOWN_DATE;
+        }
+    }
+}
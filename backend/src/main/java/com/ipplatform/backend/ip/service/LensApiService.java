@@ -2,6 +2,12 @@ package com.ipplatform.backend.ip.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ipplatform.backend.ip.dto.LensSearchPage;
+import com.ipplatform.backend.ip.dto.PatentBatch;
+import com.ipplatform.backend.ip.dto.PatentHit;
+import com.ipplatform.backend.ip.dto.ScholarlyHit;
 import com.ipplatform.backend.ip.exception.ExternalApiException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,15 +16,40 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 /**
  * Calls Lens.org Patent & Scholarly APIs.
  *
  * POST https://api.lens.org/patent/search
  * POST https://api.lens.org/scholarly/search
+ *
+ * Patent and scholarly searches are served from a bounded in-process
+ * {@link LensResponseCache} keyed on the normalized request body, so repeats
+ * of popular queries don't cost a Lens round trip or quota.
+ *
+ * Every outgoing call is also single-flight: concurrent callers with a
+ * byte-identical body wait on the one in-flight request instead of each
+ * issuing their own.
+ *
+ * The *HitsAsync methods back /api/search: the response bytes are decoded by
+ * {@link LensSearchDecoder} straight into typed records, and only the fields
+ * those records need are requested from Lens.org. Those records are what gets
+ * cached for /api/search, weighed by their estimated heap size.
+ *
+ * The *Async methods are fully non-blocking — nothing on the pipeline parks a
+ * thread, so controllers can return them as-is. The plain methods block on the
+ * same pipeline and are kept for callers that are themselves blocking.
  */
 @Service
 public class LensApiService {
@@ -40,6 +71,21 @@ public class LensApiService {
             "publication_type"
     );
 
+    // Only what PatentHit needs — biblio is by far the largest block, so ask for two sub-fields of it
+    private static final List<String> PATENT_HIT_INCLUDE = List.of(
+            "lens_id",
+            "jurisdiction",
+            "doc_number",
+            "kind",
+            "date_published",
+            "publication_type",
+            "biblio.invention_title",
+            "biblio.parties.applicants",
+            "biblio.parties.inventors",
+            "abstract",
+            "legal_status"
+    );
+
     private static final List<String> SCHOLARLY_INCLUDE = List.of(
             "lens_id",
             "title",
@@ -67,6 +113,12 @@ public class LensApiService {
             "description"
     );
 
+    // Detail fields for multi-ID lookups. The full description runs to tens of
+    // KB per patent, so it is left to the single-ID lookup.
+    private static final List<String> PATENT_BATCH_INCLUDE = PATENT_DETAIL_INCLUDE.stream()
+            .filter(field -> !field.equals("description"))
+            .toList();
+
     @Value("${ip.api.lens.base-url:https://api.lens.org}")
     private String baseUrl;
 
@@ -75,10 +127,40 @@ public class LensApiService {
 
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
-
-    public LensApiService(WebClient.Builder builder, ObjectMapper objectMapper) {
-        this.webClient = builder.build();
+    private final Duration readTimeout;
+    private final ObjectWriter keyWriter;
+    private final LensSearchDecoder decoder;
+    // Holds JsonNode trees and decoded LensSearchPages; the key's view prefix tells them apart
+    private final LensResponseCache<Object> responseCache;
+
+    // Single-flight: request key → the call currently in flight for it
+    private final ConcurrentHashMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+
+    private final int batchChunkSize;
+    private final int batchConcurrency;
+
+    public LensApiService(WebClient.Builder builder, ObjectMapper objectMapper,
+                          @Value("${ip.api.lens.cache.max-entries:500}") int cacheMaxEntries,
+                          @Value("${ip.api.lens.cache.max-weight-bytes:67108864}") long cacheMaxWeightBytes,
+                          @Value("${ip.api.lens.cache.ttl-seconds:300}") long cacheTtlSeconds,
+                          @Value("${ip.api.read-timeout:15000}") long readTimeoutMs,
+                          @Value("${ip.api.lens.batch.chunk-size:100}") int batchChunkSize,
+                          @Value("${ip.api.lens.batch.concurrency:4}") int batchConcurrency,
+                          @Value("${ip.api.lens.max-response-bytes:33554432}") int maxResponseBytes) {
+        // Spring's 256 KB default is far below a 500-record scroll page or a 100-ID detail chunk
+        this.webClient = builder
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxResponseBytes))
+                .build();
         this.objectMapper = objectMapper;
+        this.readTimeout = Duration.ofMillis(readTimeoutMs);
+        // Sorted keys so two equal bodies always serialize to the same cache key
+        this.keyWriter = objectMapper.writer()
+                .with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.decoder = new LensSearchDecoder(objectMapper.getFactory(), new LensValueDictionary(4096));
+        this.responseCache = new LensResponseCache<>(cacheMaxEntries, cacheMaxWeightBytes, cacheTtlSeconds);
+        this.batchChunkSize = Math.max(1, batchChunkSize);
+        this.batchConcurrency = Math.max(1, batchConcurrency);
     }
 
     // ── Patent Search ─────────────────────────────────────────────────────────
@@ -86,43 +168,265 @@ public class LensApiService {
     /**
      * Search patents. Optionally filter by jurisdiction (e.g. "US", "EP", "CN").
      */
-    public JsonNode searchPatents(String query, String jurisdiction, int page, int size) {
-        Map<String, Object> body = buildPatentBody(query, jurisdiction, page, size);
+    public Mono<JsonNode> searchPatentsAsync(String query, String jurisdiction, int page, int size) {
+        Map<String, Object> body = buildPatentBody(normalizeQuery(query), jurisdiction, page, size, PATENT_INCLUDE);
+        return cachedCall("/patent/search", body, "patent", "tree", this::parse, null);
+    }
+
+    /**
+     * Patent search decoded into {@link PatentHit} records — the /api/search path.
+     */
+    public Mono<LensSearchPage<PatentHit>> searchPatentHitsAsync(String query, String jurisdiction, int page, int size) {
+        Map<String, Object> body = buildPatentBody(normalizeQuery(query), jurisdiction, page, size, PATENT_HIT_INCLUDE);
+        return cachedCall("/patent/search", body, "patent", "hits", decoder::decodePatents,
+                LensSearchPage::approximateBytes);
+    }
+
+    /**
+     * Patent search returning only the given include fields — for callers that
+     * page through many results but need one or two fields of each.
+     *
+     * Not cached: these page walks would otherwise flush the user-facing
+     * search entries out of the response cache. Identical in-flight calls are
+     * still coalesced.
+     */
+    public Mono<JsonNode> fetchPatentFieldsAsync(String query, String jurisdiction, int page, int size,
+                                                 List<String> include) {
+        Map<String, Object> body = buildPatentBody(normalizeQuery(query), jurisdiction, page, size, include);
         return callLens("/patent/search", body, "patent");
     }
 
+    /**
+     * Runs Lens.org aggregations over every patent matching the query, without
+     * returning any documents (size 0). The response carries "total" and an
+     * "aggregations" object keyed by the names in the given map.
+     */
+    public Mono<JsonNode> aggregatePatentsAsync(String query, String jurisdiction,
+                                                Map<String, Object> aggregations) {
+        Map<String, Object> body = Map.of(
+                "query", buildPatentQuery(normalizeQuery(query), jurisdiction),
+                "size", 0,
+                "aggregations", aggregations
+        );
+        return cachedCall("/patent/search", body, "patent", "tree", this::parse, null);
+    }
+
+    /** Blocking variant of {@link #searchPatentsAsync}. */
+    public JsonNode searchPatents(String query, String jurisdiction, int page, int size) {
+        return searchPatentsAsync(query, jurisdiction, page, size).block();
+    }
+
     // ── Scholarly Search ──────────────────────────────────────────────────────
 
+    public Mono<JsonNode> searchScholarlyAsync(String query, int page, int size) {
+        return cachedCall("/scholarly/search", buildScholarlyBody(query, page, size), "scholarly",
+                "tree", this::parse, null);
+    }
+
+    /**
+     * Scholarly search decoded into {@link ScholarlyHit} records — the /api/search path.
+     */
+    public Mono<LensSearchPage<ScholarlyHit>> searchScholarlyHitsAsync(String query, int page, int size) {
+        return cachedCall("/scholarly/search", buildScholarlyBody(query, page, size), "scholarly",
+                "hits", decoder::decodeScholarly, LensSearchPage::approximateBytes);
+    }
+
+    /** Blocking variant of {@link #searchScholarlyAsync}. */
     public JsonNode searchScholarly(String query, int page, int size) {
-        Map<String, Object> body = Map.of(
-                "query", Map.of("query_string", Map.of("query", query)),
-                "from", page * size,
-                "size", size,
-                "include", SCHOLARLY_INCLUDE
-        );
-        return callLens("/scholarly/search", body, "scholarly");
+        return searchScholarlyAsync(query, page, size).block();
+    }
+
+    // ── Cache ─────────────────────────────────────────────────────────────────
+
+    /** Hit / miss / eviction counters of the search result cache. */
+    public LensResponseCache.Stats cacheStats() {
+        return responseCache.stats();
+    }
+
+    /** Number of callers that joined an identical in-flight call instead of making their own. */
+    public long coalescedCalls() {
+        return coalescedCalls.get();
     }
 
     // ── Patent Detail ─────────────────────────────────────────────────────────
 
     /**
-     * Fetch full patent by Lens ID. Returns the single patent node (not wrapped in data[]).
+     * Fetch full patent by Lens ID. Emits the single patent node (not wrapped in data[]).
      */
-    public JsonNode getPatentByLensId(String lensId) {
+    public Mono<JsonNode> getPatentByLensIdAsync(String lensId) {
         Map<String, Object> body = Map.of(
                 "query", Map.of("term", Map.of("lens_id", lensId)),
                 "size", 1,
                 "include", PATENT_DETAIL_INCLUDE
         );
 
-        JsonNode result = callLens("/patent/search", body, "patent");
-        JsonNode data = result.path("data");
+        return callLens("/patent/search", body, "patent").map(result -> {
+            JsonNode data = result.path("data");
 
-        if (data.isEmpty()) {
-            throw new ExternalApiException("Lens.org", 404, "Patent not found: " + lensId);
+            if (data.isEmpty()) {
+                throw new ExternalApiException("Lens.org", 404, "Patent not found: " + lensId);
+            }
+
+            return data.get(0);
+        });
+    }
+
+    /**
+     * Fetches the patents with the given Lens IDs in one terms query,
+     * returning only the given include fields. Lens IDs with no match are
+     * simply absent from data[]. Cached like the searches — for lookups a
+     * user asked for; see {@link #fetchPatentsByLensIdsAsync}.
+     */
+    public Mono<JsonNode> searchPatentsByLensIdsAsync(Collection<String> lensIds, List<String> include) {
+        Map<String, Object> body = Map.of(
+                "query", Map.of("terms", Map.of("lens_id", List.copyOf(lensIds))),
+                "size", lensIds.size(),
+                "include", include
+        );
+        return cachedCall("/patent/search", body, "patent", "tree", this::parse, null);
+    }
+
+    /**
+     * Like {@link #searchPatentsByLensIdsAsync} but always asks Lens.org.
+     *
+     * Not cached — graph expansion and background jobs fetch many patents no
+     * user asked for, which would otherwise evict the user-facing search
+     * entries, and jobs need current data anyway.
+     */
+    public Mono<JsonNode> fetchPatentsByLensIdsAsync(Collection<String> lensIds, List<String> include) {
+        Map<String, Object> body = Map.of(
+                "query", Map.of("terms", Map.of("lens_id", List.copyOf(lensIds))),
+                "size", lensIds.size(),
+                "include", include
+        );
+        return callLens("/patent/search", body, "patent");
+    }
+
+    // ── Scroll (bulk export) ──────────────────────────────────────────────────
+
+    /**
+     * Opens a Lens.org scroll over every patent matching the query. Unlike
+     * from/size paging it is not capped at 10,000 results; each response
+     * carries a "scroll_id" for {@link #continuePatentScrollAsync}, valid for
+     * keepAlive (e.g. "1m"). Scroll pages are never cached or coalesced.
+     */
+    public Mono<JsonNode> startPatentScrollAsync(String query, String jurisdiction, int size,
+                                                 List<String> include, String keepAlive) {
+        Map<String, Object> body = Map.of(
+                "query", buildPatentQuery(normalizeQuery(query), jurisdiction),
+                "size", size,
+                "include", include,
+                "scroll", keepAlive
+        );
+        return fetch("/patent/search", body, "patent").map(this::parse);
+    }
+
+    /** Next page of a scroll opened by {@link #startPatentScrollAsync}. */
+    public Mono<JsonNode> continuePatentScrollAsync(String scrollId, String keepAlive) {
+        Map<String, Object> body = Map.of(
+                "scroll_id", scrollId,
+                "scroll", keepAlive
+        );
+        return fetch("/patent/search", body, "patent").map(this::parse);
+    }
+
+    /**
+     * Patent details for many Lens IDs — the multi-ID form of
+     * {@link #getPatentByLensIdAsync}, without the description.
+     */
+    public Mono<PatentBatch> getPatentsByLensIdsAsync(Collection<String> lensIds) {
+        return getPatentsByLensIdsAsync(lensIds, PATENT_BATCH_INCLUDE, true);
+    }
+
+    /**
+     * Looks up many patents by Lens ID. IDs are trimmed and deduplicated,
+     * split into terms queries of at most ip.api.lens.batch.chunk-size IDs,
+     * and the chunks run ip.api.lens.batch.concurrency at a time — through the
+     * response cache when cached is true, straight to Lens.org otherwise.
+     *
+     * A chunk that fails is reported in {@link PatentBatch#failed()} rather
+     * than failing the lookup; only when every chunk fails does the Mono
+     * error, with the first chunk's {@link ExternalApiException}.
+     */
+    public Mono<PatentBatch> getPatentsByLensIdsAsync(Collection<String> lensIds, List<String> include,
+                                                      boolean cached) {
+        return getPatentsByLensIdsAsync(lensIds, include, cached, batchChunkSize);
+    }
+
+    /** As above, with chunks of at most chunkSize IDs — for includes with large per-patent fields. */
+    public Mono<PatentBatch> getPatentsByLensIdsAsync(Collection<String> lensIds, List<String> include,
+                                                      boolean cached, int chunkSize) {
+        int perChunk = Math.max(1, chunkSize);
+        List<String> ids = lensIds.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            return Mono.just(new PatentBatch(Map.of(), List.of(), List.of()));
+        }
+
+        // Results are keyed by lens_id, so it has to be in the response
+        List<String> fields = include.contains("lens_id") ? include
+                : concat(List.of("lens_id"), include);
+
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += perChunk) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + perChunk)));
         }
 
-        return data.get(0);
+        return Flux.fromIterable(chunks)
+                .flatMap(chunk -> (cached ? searchPatentsByLensIdsAsync(chunk, fields)
+                                          : fetchPatentsByLensIdsAsync(chunk, fields))
+                        .map(response -> new ChunkResult(chunk, response, null))
+                        .onErrorResume(ExternalApiException.class,
+                                e -> Mono.just(new ChunkResult(chunk, null, e))), batchConcurrency)
+                .collectList()
+                .flatMap(results -> {
+                    Map<String, JsonNode> byId = new HashMap<>();
+                    Set<String> failed = new HashSet<>();
+                    ExternalApiException firstError = null;
+                    for (ChunkResult result : results) {
+                        if (result.error() != null) {
+                            failed.addAll(result.ids());
+                            if (firstError == null) firstError = result.error();
+                            continue;
+                        }
+                        for (JsonNode patent : result.response().path("data")) {
+                            String id = patent.path("lens_id").asText("");
+                            if (!id.isEmpty()) byId.putIfAbsent(id, patent);
+                        }
+                    }
+                    if (failed.size() == ids.size()) {
+                        return Mono.error(firstError);
+                    }
+
+                    // Back in request order
+                    Map<String, JsonNode> found = new LinkedHashMap<>();
+                    List<String> notFound = new ArrayList<>();
+                    List<String> failedIds = new ArrayList<>();
+                    for (String id : ids) {
+                        JsonNode patent = byId.get(id);
+                        if (patent != null) found.put(id, patent);
+                        else if (failed.contains(id)) failedIds.add(id);
+                        else notFound.add(id);
+                    }
+                    return Mono.just(new PatentBatch(found, notFound, failedIds));
+                });
+    }
+
+    private record ChunkResult(List<String> ids, JsonNode response, ExternalApiException error) {}
+
+    private static List<String> concat(List<String> a, List<String> b) {
+        List<String> all = new ArrayList<>(a);
+        all.addAll(b);
+        return all;
+    }
+
+    /** Blocking variant of {@link #getPatentByLensIdAsync}. */
+    public JsonNode getPatentByLensId(String lensId) {
+        return getPatentByLensIdAsync(lensId).block();
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────────
@@ -131,13 +435,20 @@ public class LensApiService {
      * Builds the Lens.org request body.
      * If jurisdiction is provided (non-blank), wraps the query in a bool/must filter.
      */
-    private Map<String, Object> buildPatentBody(String query, String jurisdiction, int page, int size) {
-
-        Object lensQuery;
+    private Map<String, Object> buildPatentBody(String query, String jurisdiction, int page, int size,
+                                                List<String> include) {
+        return Map.of(
+                "query", buildPatentQuery(query, jurisdiction),
+                "from", page * size,
+                "size", size,
+                "include", include
+        );
+    }
 
+    private Object buildPatentQuery(String query, String jurisdiction) {
         if (jurisdiction != null && !jurisdiction.isBlank()) {
             // bool query: full-text match + jurisdiction term filter
-            lensQuery = Map.of(
+            return Map.of(
                     "bool", Map.of(
                             "must", List.of(
                                     Map.of("query_string", Map.of("query", query)),
@@ -145,62 +456,147 @@ public class LensApiService {
                             )
                     )
             );
-        } else {
-            lensQuery = Map.of("query_string", Map.of("query", query));
         }
+        return Map.of("query_string", Map.of("query", query));
+    }
 
+    private Map<String, Object> buildScholarlyBody(String query, int page, int size) {
         return Map.of(
-                "query", lensQuery,
+                "query", Map.of("query_string", Map.of("query", normalizeQuery(query))),
                 "from", page * size,
                 "size", size,
-                "include", PATENT_INCLUDE
+                "include", SCHOLARLY_INCLUDE
         );
     }
 
-    private JsonNode callLens(String path, Map<String, Object> body, String apiType) {
+    /**
+     * Collapses whitespace so "solar  cell " and "solar cell" share a cache entry.
+     * Lens.org query_string ignores the difference anyway.
+     */
+    private String normalizeQuery(String query) {
+        return query == null ? "" : query.trim().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Serves the request from the response cache, calling Lens.org on a miss.
+     * The key is the view (how the bytes are decoded), the API path and the
+     * body serialized with sorted map keys. Entries are weighed by the weigher,
+     * or by the raw response size when there is none.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> cachedCall(String path, Map<String, Object> body, String apiType,
+                                   String view, Function<byte[], T> decode, ToLongFunction<T> weigher) {
+        if (!responseCache.isEnabled()) {
+            return Mono.defer(() -> coalesced(view + " " + requestKey(path, body),
+                    () -> fetch(path, body, apiType).map(decode)));
+        }
 
-        String url = baseUrl + path;
-        log.info("Lens.org {} search → {}", apiType, url);
+        return Mono.defer(() -> {
+            String key = view + " " + requestKey(path, body);
+            Object cached = responseCache.get(key);
+            if (cached != null) {
+                log.debug("Lens.org {} cache hit → {}", apiType, path);
+                return Mono.just((T) cached);
+            }
+
+            return coalesced(key, () -> fetch(path, body, apiType).map(raw -> {
+                T result = decode.apply(raw);
+                // Raw response size is a cheap, proportional stand-in for a JSON tree's heap size
+                responseCache.put(key, result, weigher != null ? weigher.applyAsLong(result) : raw.length);
+                return result;
+            }));
+        });
+    }
 
+    private String requestKey(String path, Map<String, Object> body) {
         try {
-            String raw = webClient.post()
-                    .uri(url)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(body)
-                    .retrieve()
-                    .onStatus(
-                            s -> !s.is2xxSuccessful(),
-                            response -> response.bodyToMono(String.class).flatMap(err -> {
-                                log.error("Lens.org {} error: {}", response.statusCode(), err);
-                                return Mono.error(new ExternalApiException(
-                                        "Lens.org",
-                                        response.statusCode().value(),
-                                        err
-                                ));
-                            })
-                    )
-                    .bodyToMono(String.class)
-                    .block();
+            return path + " " + keyWriter.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to serialize Lens.org request body", e);
+        }
+    }
 
-            return objectMapper.readTree(raw);
+    private Mono<JsonNode> callLens(String path, Map<String, Object> body, String apiType) {
+        return Mono.defer(() -> coalesced("tree " + requestKey(path, body),
+                () -> fetch(path, body, apiType).map(this::parse)));
+    }
 
-        } catch (ExternalApiException e) {
-            throw e;
+    /**
+     * Runs the call unless an identical one is already in flight, in which case
+     * the caller shares its result. The call is subscribed independently of any
+     * one caller, so a cancelled caller (e.g. a client disconnect) never aborts
+     * it for the others. A failure is handed to every waiter, and the key is
+     * released either way so the next call starts fresh.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> coalesced(String key, Supplier<Mono<T>> call) {
+        CompletableFuture<T> mine = new CompletableFuture<>();
+        CompletableFuture<T> leader = (CompletableFuture<T>) inFlight.putIfAbsent(key, mine);
+
+        if (leader != null) {
+            coalescedCalls.incrementAndGet();
+            return Mono.fromFuture(leader, true);
+        }
 
-        } catch (WebClientResponseException e) {
-            throw new ExternalApiException(
-                    "Lens.org",
-                    e.getStatusCode().value(),
-                    e.getResponseBodyAsString()
-            );
+        Mono.defer(call)
+                .doFinally(signal -> inFlight.remove(key, mine))
+                .subscribe(mine::complete, mine::completeExceptionally, () -> mine.complete(null));
+
+        return Mono.fromFuture(mine, true);
+    }
 
+    private JsonNode parse(byte[] raw) {
+        try {
+            return objectMapper.readTree(raw);
         } catch (Exception e) {
             throw new ExternalApiException(
                     "Lens.org",
-                    "Failed to contact Lens.org: " + e.getMessage(),
+                    "Unreadable response from Lens.org: " + e.getMessage(),
                     e
             );
         }
     }
-}
\ No newline at end of file
+
+    private Mono<byte[]> fetch(String path, Map<String, Object> body, String apiType) {
+
+        String url = baseUrl + path;
+        log.info("Lens.org {} search → {}", apiType, url);
+
+        return webClient.post()
+                .uri(url)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .onStatus(
+                        s -> !s.is2xxSuccessful(),
+                        response -> response.bodyToMono(String.class).flatMap(err -> {
+                            log.error("Lens.org {} error: {}", response.statusCode(), err);
+                            return Mono.error(new ExternalApiException(
+                                    "Lens.org",
+                                    response.statusCode().value(),
+                                    err
+                            ));
+                        })
+                )
+                .bodyToMono(byte[].class)
+                .timeout(readTimeout)
+                .switchIfEmpty(Mono.error(() -> new ExternalApiException("Lens.org", 502, "Empty response body")))
+                .onErrorMap(e -> !(e instanceof ExternalApiException), this::toExternalApiException);
+    }
+
+    private ExternalApiException toExternalApiException(Throwable e) {
+        if (e instanceof WebClientResponseException w) {
+            return new ExternalApiException(
+                    "Lens.org",
+                    w.getStatusCode().value(),
+                    w.getResponseBodyAsString()
+            );
+        }
+        return new ExternalApiException(
+                "Lens.org",
+                "Failed to contact Lens.org: " + e.getMessage(),
+                e
+        );
+    }
+}
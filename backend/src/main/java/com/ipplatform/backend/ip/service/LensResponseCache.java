@@ -0,0 +1,104 @@
+package com.ipplatform.backend.ip.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-process cache for Lens.org responses.
+ *
+ * Entries are kept in access order and evicted least-recently-used as soon as
+ * either the entry count or the total weight (approximate response size in
+ * bytes) exceeds its limit. Every entry also expires after a fixed TTL so
+ * legal-status changes on Lens.org show up within a bounded delay.
+ *
+ * A maxEntries of 0 disables the cache — get() always misses and put() is a no-op.
+ */
+public class LensResponseCache<V> {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long weight;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+
+    public LensResponseCache(int maxEntries, long maxWeight, long ttlSeconds) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.maxWeight  = maxWeight;
+        this.ttlNanos   = ttlSeconds * 1_000_000_000L;
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /** Returns the cached value, or null on a miss or an expired entry. */
+    public synchronized V get(String key) {
+        if (!isEnabled()) return null;
+
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (System.nanoTime() - entry.createdAt > ttlNanos) {
+            entries.remove(key);
+            weight -= entry.weight;
+            expirations++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Stores a value with the given weight. Values heavier than the whole cache
+     * budget are not stored at all.
+     */
+    public synchronized void put(String key, V value, long valueWeight) {
+        if (!isEnabled() || value == null || valueWeight > maxWeight) return;
+
+        Entry<V> previous = entries.put(key, new Entry<>(value, valueWeight, System.nanoTime()));
+        if (previous != null) weight -= previous.weight;
+        weight += valueWeight;
+
+        Iterator<Map.Entry<String, Entry<V>>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && it.hasNext()) {
+            Map.Entry<String, Entry<V>> eldest = it.next();
+            if (eldest.getKey().equals(key)) continue;
+            weight -= eldest.getValue().weight;
+            it.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(isEnabled(), entries.size(), maxEntries, weight, maxWeight,
+                hits, misses, evictions, expirations);
+    }
+
+    private record Entry<V>(V value, long weight, long createdAt) {}
+
+    /** Snapshot of the cache counters — used by the admin health endpoint for sizing. */
+    public record Stats(boolean enabled, int size, int maxEntries,
+                        long weightBytes, long maxWeightBytes,
+                        long hits, long misses, long evictions, long expirations) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+    }
+}
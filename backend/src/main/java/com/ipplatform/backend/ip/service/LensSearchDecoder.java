@@ -0,0 +1,273 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.ipplatform.backend.ip.dto.LensSearchPage;
+import com.ipplatform.backend.ip.dto.PatentHit;
+import com.ipplatform.backend.ip.dto.ScholarlyHit;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes Lens.org search responses token by token straight into
+ * {@link PatentHit} / {@link ScholarlyHit} records.
+ *
+ * No JsonNode tree is built: only "total" and the fields each record needs
+ * are read from data[]; everything else is skipped with skipChildren()
+ * without being materialized.
+ *
+ * Low-cardinality values (jurisdiction, kind, publication type, statuses)
+ * are dictionary-encoded through {@link LensValueDictionary}.
+ */
+class LensSearchDecoder {
+
+    private final JsonFactory jsonFactory;
+    private final LensValueDictionary dictionary;
+
+    LensSearchDecoder(JsonFactory jsonFactory, LensValueDictionary dictionary) {
+        this.jsonFactory = jsonFactory;
+        this.dictionary = dictionary;
+    }
+
+    LensSearchPage<PatentHit> decodePatents(byte[] json) {
+        List<PatentHit> hits = new ArrayList<>();
+        long total = decode(json, p -> hits.add(readPatent(p)));
+        return new LensSearchPage<>(total, hits);
+    }
+
+    LensSearchPage<ScholarlyHit> decodeScholarly(byte[] json) {
+        List<ScholarlyHit> hits = new ArrayList<>();
+        long total = decode(json, p -> hits.add(readScholarly(p)));
+        return new LensSearchPage<>(total, hits);
+    }
+
+    // ── Envelope ──────────────────────────────────────────────────────────────
+
+    @FunctionalInterface
+    private interface DocumentReader {
+        /** Called with the parser positioned on the START_OBJECT of one data[] element. */
+        void read(JsonParser p) throws IOException;
+    }
+
+    /** Walks { "total": n, "data": [ ... ] } and returns total. */
+    private long decode(byte[] json, DocumentReader reader) {
+        try (JsonParser p = jsonFactory.createParser(json)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object");
+            }
+
+            long total = 0;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+
+                if ("total".equals(field)) {
+                    total = p.getValueAsLong(0);
+                } else if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    JsonToken t;
+                    while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+                        if (t == JsonToken.START_OBJECT) reader.read(p);
+                        else p.skipChildren();
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+            return total;
+
+        } catch (IOException e) {
+            throw new ExternalApiException(
+                    "Lens.org",
+                    "Unreadable response from Lens.org: " + e.getMessage(),
+                    e
+            );
+        }
+    }
+
+    // ── Patents ───────────────────────────────────────────────────────────────
+
+    private PatentHit readPatent(JsonParser p) throws IOException {
+        String lensId = "", jurisdiction = "", docNumber = "", kind = "";
+        String datePublished = "", publicationType = "";
+        String title = "", abstractText = "", patentStatus = "", legalStatusCode = "";
+        List<String> applicants = List.of(), inventors = List.of();
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+
+            switch (field) {
+                case "lens_id"          -> lensId = scalar(p);
+                case "jurisdiction"     -> jurisdiction = dictionary.canonical(scalar(p));
+                case "doc_number"       -> docNumber = scalar(p);
+                case "kind"             -> kind = dictionary.canonical(scalar(p));
+                case "date_published"   -> datePublished = scalar(p);
+                case "publication_type" -> publicationType = dictionary.canonical(scalar(p));
+                case "abstract"         -> abstractText = localizedText(p);
+                case "biblio" -> {
+                    if (p.currentToken() != JsonToken.START_OBJECT) { p.skipChildren(); break; }
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String b = p.currentName();
+                        p.nextToken();
+                        if ("invention_title".equals(b)) {
+                            title = localizedText(p);
+                        } else if ("parties".equals(b) && p.currentToken() == JsonToken.START_OBJECT) {
+                            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                                String party = p.currentName();
+                                p.nextToken();
+                                if ("applicants".equals(party)) applicants = partyNames(p);
+                                else if ("inventors".equals(party)) inventors = partyNames(p);
+                                else p.skipChildren();
+                            }
+                        } else {
+                            p.skipChildren();
+                        }
+                    }
+                }
+                case "legal_status" -> {
+                    if (p.currentToken() != JsonToken.START_OBJECT) { p.skipChildren(); break; }
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String ls = p.currentName();
+                        p.nextToken();
+                        if ("patent_status".equals(ls)) patentStatus = dictionary.canonical(scalar(p));
+                        else if ("legal_status_code".equals(ls)) legalStatusCode = dictionary.canonical(scalar(p));
+                        else p.skipChildren();
+                    }
+                }
+                default -> p.skipChildren();
+            }
+        }
+
+        return new PatentHit(lensId, jurisdiction, docNumber, kind, datePublished, publicationType,
+                title, applicants, inventors, abstractText, patentStatus, legalStatusCode);
+    }
+
+    /**
+     * [{ "text": "...", "lang": "en" }, ...] → English text if present, else the first entry's text.
+     */
+    private String localizedText(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return "";
+        }
+
+        String first = null, english = null;
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (t != JsonToken.START_OBJECT) { p.skipChildren(); continue; }
+
+            String text = "", lang = "";
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("text".equals(field)) text = scalar(p);
+                else if ("lang".equals(field)) lang = scalar(p);
+                else p.skipChildren();
+            }
+            if (first == null) first = text;
+            if (english == null && "en".equalsIgnoreCase(lang)) english = text;
+        }
+        return english != null ? english : first != null ? first : "";
+    }
+
+    /** [{ "extracted_name": { "value": "..." }, "name": "..." }, ...] → names */
+    private List<String> partyNames(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return List.of();
+        }
+
+        List<String> names = new ArrayList<>();
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (t != JsonToken.START_OBJECT) { p.skipChildren(); continue; }
+
+            String extracted = null, name = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("extracted_name".equals(field) && p.currentToken() == JsonToken.START_OBJECT) {
+                    while (p.nextToken() == JsonToken.FIELD_NAME) {
+                        String en = p.currentName();
+                        p.nextToken();
+                        if ("value".equals(en)) extracted = scalar(p);
+                        else p.skipChildren();
+                    }
+                } else if ("name".equals(field)) {
+                    name = scalar(p);
+                } else {
+                    p.skipChildren();
+                }
+            }
+            names.add(extracted != null ? extracted : name != null ? name : "");
+        }
+        return List.copyOf(names);
+    }
+
+    // ── Scholarly ─────────────────────────────────────────────────────────────
+
+    private ScholarlyHit readScholarly(JsonParser p) throws IOException {
+        String lensId = "", title = "", datePublished = "", publicationType = "", abstractText = "";
+        int citationsCount = 0;
+        List<String> authors = List.of();
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+
+            switch (field) {
+                case "lens_id"                   -> lensId = scalar(p);
+                case "title"                     -> title = scalar(p);
+                case "year_published"            -> datePublished = scalar(p);
+                case "scholarly_citations_count" -> citationsCount = p.getValueAsInt(0);
+                case "publication_type"          -> publicationType = dictionary.canonical(scalar(p));
+                case "abstract"                  -> abstractText = scalar(p);
+                case "authors"                   -> authors = authorNames(p);
+                default                          -> p.skipChildren();
+            }
+        }
+
+        return new ScholarlyHit(lensId, title, datePublished, citationsCount, publicationType,
+                authors, abstractText);
+    }
+
+    /** [{ "display_name": "...", "name": "..." }, ...] → names */
+    private List<String> authorNames(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return List.of();
+        }
+
+        List<String> names = new ArrayList<>();
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (t != JsonToken.START_OBJECT) { p.skipChildren(); continue; }
+
+            String display = null, name = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("display_name".equals(field)) display = scalar(p);
+                else if ("name".equals(field)) name = scalar(p);
+                else p.skipChildren();
+            }
+            names.add(display != null ? display : name != null ? name : "");
+        }
+        return List.copyOf(names);
+    }
+
+    // ── Utility ───────────────────────────────────────────────────────────────
+
+    /** Text of a scalar value ("" for null); containers are skipped and read as "". */
+    private String scalar(JsonParser p) throws IOException {
+        if (p.currentToken().isScalarValue()) {
+            return p.getValueAsString("");
+        }
+        p.skipChildren();
+        return "";
+    }
+}
@@ -0,0 +1,40 @@
+package com.ipplatform.backend.ip.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary for low-cardinality Lens.org values — jurisdiction, kind,
+ * publication type, patent status, legal status code.
+ *
+ * Every decoded value is swapped for one canonical String instance, so the
+ * thousands of cached search hits reference a few hundred shared strings
+ * instead of each holding its own copy of "US" or "GRANTED_PATENT".
+ * Unlike an enum, values Lens.org adds later pass through unchanged.
+ *
+ * Bounded: once maxEntries distinct values are seen, new ones are returned
+ * as-is rather than added, so unexpected high-cardinality input can't grow it.
+ */
+class LensValueDictionary {
+
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    LensValueDictionary(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    String canonical(String value) {
+        if (value == null || value.isEmpty()) return "";
+
+        String existing = values.get(value);
+        if (existing != null) return existing;
+        if (values.size() >= maxEntries) return value;
+
+        existing = values.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,195 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ipplatform.backend.ip.dto.TrendResult;
+import com.ipplatform.backend.ip.dto.TrendResult.Accuracy;
+import com.ipplatform.backend.ip.dto.TrendResult.Method;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Publication trends over every patent matching a keyword, not just the
+ * first page of hits.
+ *
+ * The preferred path asks Lens.org for a yearly date_histogram aggregation
+ * on date_published (size 0 — no documents are returned), which yields exact
+ * counts in one small response.
+ *
+ * When the aggregation is rejected as unsupported (a 4xx other than 429) or
+ * comes back without buckets, the engine falls back to sampling. Rate limits,
+ * 5xx and timeouts are passed on instead — sampling would only put more load
+ * on a struggling upstream. For sampling, up to sample-pages pages of
+ * sample-page-size hits (only lens_id and date_published included) are
+ * fetched in parallel, at most sample-concurrency at a time and bypassing
+ * the response cache, and the per-year counts are scaled up by
+ * total / counted. Lens.org returns hits in relevance order, so sampled
+ * counts are an estimate — the result says so through its accuracy and
+ * coverage.
+ */
+@Service
+public class TrendService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendService.class);
+
+    private static final String HISTOGRAM = "years";
+    private static final List<String> SAMPLE_INCLUDE = List.of("lens_id", "date_published");
+
+    // Lens.org rejects from + size beyond this window without a scroll
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final LensApiService lensApiService;
+    private final int samplePages;
+    private final int samplePageSize;
+    private final int sampleConcurrency;
+
+    public TrendService(LensApiService lensApiService,
+                        @Value("${ip.visualization.trends.sample-pages:10}") int samplePages,
+                        @Value("${ip.visualization.trends.sample-page-size:100}") int samplePageSize,
+                        @Value("${ip.visualization.trends.sample-concurrency:4}") int sampleConcurrency) {
+        this.lensApiService = lensApiService;
+        this.samplePages = Math.max(1, samplePages);
+        this.samplePageSize = Math.max(1, samplePageSize);
+        this.sampleConcurrency = Math.max(1, sampleConcurrency);
+    }
+
+    public Mono<TrendResult> getTrends(String keyword, String jurisdiction) {
+        return fromAggregation(keyword, jurisdiction)
+                .onErrorResume(TrendService::aggregationUnsupported, e -> {
+                    log.info("Lens.org trend aggregation unavailable ({}) — falling back to sampling",
+                            e.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> fromSampling(keyword, jurisdiction)))
+                .onErrorMap(e -> !(e instanceof ExternalApiException),
+                        e -> new RuntimeException("Error processing trend data", e));
+    }
+
+    // ── Aggregation ───────────────────────────────────────────────────────────
+
+    /** A 4xx other than 429 — Lens.org will not run the aggregation, as opposed to "try later". */
+    private static boolean aggregationUnsupported(Throwable e) {
+        if (!(e instanceof ExternalApiException api)) return false;
+        int status = api.getStatusCode();
+        return status >= 400 && status < 500 && status != 429;
+    }
+
+    /** Exact counts from a server-side date_histogram; empty when Lens.org returns no buckets. */
+    private Mono<TrendResult> fromAggregation(String keyword, String jurisdiction) {
+        Map<String, Object> aggregations = Map.of(
+                HISTOGRAM, Map.of("date_histogram", Map.of(
+                        "field", "date_published",
+                        "interval", "year",
+                        "min_doc_count", 1
+                ))
+        );
+
+        return lensApiService.aggregatePatentsAsync(keyword, jurisdiction, aggregations)
+                .flatMap(response -> {
+                    JsonNode buckets = response.path("aggregations").path(HISTOGRAM).path("buckets");
+                    if (!buckets.isArray()) return Mono.empty();
+
+                    Map<Integer, Long> counts = new TreeMap<>();
+                    long counted = 0;
+                    for (JsonNode bucket : buckets) {
+                        Integer year = bucketYear(bucket);
+                        long count = bucket.path("doc_count").asLong(0);
+                        if (year == null || count == 0) continue;
+                        counts.merge(year, count, Long::sum);
+                        counted += count;
+                    }
+
+                    long total = response.path("total").asLong(counted);
+                    // Hits but no buckets: the histogram was ignored rather than empty
+                    if (counted == 0 && total > 0) return Mono.empty();
+                    double coverage = total == 0 ? 1.0 : Math.min(1.0, (double) counted / total);
+                    return Mono.just(new TrendResult(counts, total, counted, Accuracy.EXACT,
+                            coverage, Method.AGGREGATION));
+                });
+    }
+
+    /**
+     * Year of a histogram bucket — from key_as_string ("2021-01-01…") when
+     * present, else from the numeric key (a year, or epoch millis).
+     */
+    private Integer bucketYear(JsonNode bucket) {
+        String label = bucket.path("key_as_string").asText("");
+        if (label.length() >= 4 && label.chars().limit(4).allMatch(Character::isDigit)) {
+            return Integer.parseInt(label.substring(0, 4));
+        }
+
+        JsonNode key = bucket.path("key");
+        if (!key.isNumber()) return null;
+        long value = key.asLong();
+        if (value > 0 && value < 10_000) return (int) value;
+        return Instant.ofEpochMilli(value).atZone(ZoneOffset.UTC).getYear();
+    }
+
+    // ── Sampling ──────────────────────────────────────────────────────────────
+
+    /**
+     * Fetches the first page to learn the total, then the remaining pages in
+     * parallel with bounded concurrency, and scales the year counts.
+     */
+    private Mono<TrendResult> fromSampling(String keyword, String jurisdiction) {
+        return fetchPage(keyword, jurisdiction, 0).flatMap(first -> {
+            long total = first.path("total").asLong(0);
+
+            long pagesNeeded = (total + samplePageSize - 1) / samplePageSize;
+            int windowPages = Math.max(1, MAX_RESULT_WINDOW / samplePageSize);
+            int pages = (int) Math.max(1, Math.min(pagesNeeded, Math.min(samplePages, windowPages)));
+
+            Flux<JsonNode> rest = Flux.range(1, pages - 1)
+                    .flatMap(page -> fetchPage(keyword, jurisdiction, page), sampleConcurrency);
+
+            return Flux.concat(Mono.just(first), rest)
+                    .reduce(new TreeMap<Integer, Long>(), (counts, response) -> {
+                        countYears(response, counts);
+                        return counts;
+                    })
+                    .map(counts -> sampledResult(counts, total));
+        });
+    }
+
+    private Mono<JsonNode> fetchPage(String keyword, String jurisdiction, int page) {
+        return lensApiService.fetchPatentFieldsAsync(keyword, jurisdiction, page, samplePageSize,
+                SAMPLE_INCLUDE);
+    }
+
+    private void countYears(JsonNode response, Map<Integer, Long> counts) {
+        for (JsonNode patent : response.path("data")) {
+            String date = patent.path("date_published").asText("");
+            if (date.length() >= 4 && date.chars().limit(4).allMatch(Character::isDigit)) {
+                counts.merge(Integer.parseInt(date.substring(0, 4)), 1L, Long::sum);
+            }
+        }
+    }
+
+    private TrendResult sampledResult(Map<Integer, Long> sampled, long total) {
+        long counted = sampled.values().stream().mapToLong(Long::longValue).sum();
+
+        if (counted >= total) {
+            return new TrendResult(sampled, counted, counted, Accuracy.EXACT, 1.0, Method.SAMPLING);
+        }
+        if (counted == 0) {
+            return new TrendResult(sampled, total, 0, Accuracy.SAMPLED, 0.0, Method.SAMPLING);
+        }
+
+        double scale = (double) total / counted;
+        Map<Integer, Long> estimated = new TreeMap<>();
+        sampled.forEach((year, count) -> estimated.put(year, Math.round(count * scale)));
+
+        return new TrendResult(estimated, total, counted, Accuracy.SAMPLED,
+                (double) counted / total, Method.SAMPLING);
+    }
+}
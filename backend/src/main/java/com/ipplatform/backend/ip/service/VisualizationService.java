@@ -1,95 +1,98 @@
 package com.ipplatform.backend.ip.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ipplatform.backend.ip.dto.VisualizationBundle;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.util.*;
 
+/**
+ * Aggregates for the analyst visualization page.
+ *
+ * All aggregates come from one shared fetch (the first 50 patents for the
+ * keyword) and are computed together in a single traversal — see
+ * {@link #getBundle}. The individual trends / citations / families methods
+ * are views over that bundle, so calling all three still costs at most one
+ * Lens.org round trip (the response cache and single-flight in
+ * LensApiService dedupe concurrent and repeated fetches).
+ *
+ * All methods are non-blocking — the aggregation runs on the reactive pipeline
+ * once the Lens.org response arrives.
+ */
 @Service
 public class VisualizationService {
 
+    private static final int SAMPLE_SIZE = 50;
+
     private final LensApiService lensApiService;
-    private final ObjectMapper objectMapper;
 
-    public VisualizationService(LensApiService lensApiService, ObjectMapper objectMapper) {
+    public VisualizationService(LensApiService lensApiService) {
         this.lensApiService = lensApiService;
-        this.objectMapper = objectMapper;
     }
 
-    // ------------------ TRENDS ------------------
-    public Map<Integer, Long> getTrends(String keyword) {
-        try {
-            JsonNode response = lensApiService.searchPatents(keyword, null, 0, 50);
-            JsonNode patents = response.path("data");
-
-            Map<Integer, Long> trends = new TreeMap<>();
-
-            for (JsonNode patent : patents) {
-                String date = patent.path("date_published").asText();
-
-                if (date != null && date.length() >= 4) {
-                    int year = Integer.parseInt(date.substring(0, 4));
-                    trends.put(year, trends.getOrDefault(year, 0L) + 1);
-                }
-            }
-
-            return trends;
+    // ------------------ BUNDLE ------------------
+    public Mono<VisualizationBundle> getBundle(String keyword) {
+        return fetchSample(keyword)
+                .map(this::aggregate)
+                .onErrorMap(e -> !(e instanceof ExternalApiException),
+                        e -> new RuntimeException("Error processing visualization data", e));
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Error processing trends", e);
-        }
+    // ------------------ TRENDS ------------------
+    public Mono<Map<Integer, Long>> getTrends(String keyword) {
+        return getBundle(keyword).map(VisualizationBundle::trends);
     }
 
     // ------------------ CITATIONS ------------------
-    public Map<String, List<String>> getCitations(String keyword) {
-        try {
-            JsonNode response = lensApiService.searchPatents(keyword, null, 0, 50);
-            JsonNode patents = response.path("data");
-
-            Map<String, List<String>> result = new HashMap<>();
-
-            for (JsonNode patent : patents) {
-                String patentId = patent.path("lens_id").asText();
-                List<String> citations = new ArrayList<>();
-
-                JsonNode refs = patent.path("biblio").path("references_cited");
-
-                if (refs.isArray()) {
-                    for (JsonNode ref : refs) {
-                        citations.add(ref.path("lens_id").asText());
-                    }
-                }
+    public Mono<Map<String, List<String>>> getCitations(String keyword) {
+        return getBundle(keyword).map(VisualizationBundle::citations);
+    }
 
-                result.put(patentId, citations);
-            }
+    // ------------------ FAMILIES ------------------
+    public Mono<Map<String, List<String>>> getFamilies(String keyword) {
+        return getBundle(keyword).map(VisualizationBundle::families);
+    }
 
-            return result;
+    // ------------------ HELPERS ------------------
 
-        } catch (Exception e) {
-            throw new RuntimeException("Error processing citations", e);
-        }
+    /** The one Lens.org fetch every aggregate is computed from. */
+    private Mono<JsonNode> fetchSample(String keyword) {
+        return lensApiService.searchPatentsAsync(keyword, null, 0, SAMPLE_SIZE);
     }
 
-    // ------------------ FAMILIES ------------------
-    public Map<String, List<String>> getFamilies(String keyword) {
-        try {
-            JsonNode response = lensApiService.searchPatents(keyword, null, 0, 50);
-            JsonNode patents = response.path("data");
-
-            Map<String, List<String>> families = new HashMap<>();
+    /** Computes trends, citations and families in a single pass over data[]. */
+    private VisualizationBundle aggregate(JsonNode response) {
+        Map<Integer, Long> trends = new TreeMap<>();
+        Map<String, List<String>> citations = new HashMap<>();
+        Map<String, List<String>> families = new HashMap<>();
 
-            for (JsonNode patent : patents) {
-                String familyId = patent.path("doc_key").asText(); // fallback as family_id not always present
-                String patentId = patent.path("lens_id").asText();
+        for (JsonNode patent : response.path("data")) {
+            String patentId = patent.path("lens_id").asText();
 
-                families.computeIfAbsent(familyId, k -> new ArrayList<>()).add(patentId);
+            // Trends — publication year
+            String date = patent.path("date_published").asText();
+            if (date != null && date.length() >= 4) {
+                int year = Integer.parseInt(date.substring(0, 4));
+                trends.merge(year, 1L, Long::sum);
             }
 
-            return families;
+            // Citations — direct references
+            List<String> cited = new ArrayList<>();
+            JsonNode refs = patent.path("biblio").path("references_cited");
+            if (refs.isArray()) {
+                for (JsonNode ref : refs) {
+                    cited.add(ref.path("lens_id").asText());
+                }
+            }
+            citations.put(patentId, cited);
 
-        } catch (Exception e) {
-            throw new RuntimeException("Error processing families", e);
+            // Families
+            String familyId = patent.path("doc_key").asText(); // fallback as family_id not always present
+            families.computeIfAbsent(familyId, k -> new ArrayList<>()).add(patentId);
         }
+
+        return new VisualizationBundle(trends, citations, families);
     }
-}
\ No newline at end of file
+}
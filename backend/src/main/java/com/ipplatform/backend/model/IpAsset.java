@@ -1,14 +1,18 @@
 package com.ipplatform.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
+// Text search is served by the GIN index on search_vector (a generated column,
+// not mapped here) — see supabase-migration-002-ip-assets-fulltext.sql
 @Table(name = "ip_assets", indexes = {
-        @Index(name = "idx_title", columnList = "title"),
-        @Index(name = "idx_inventor", columnList = "inventor"),
         @Index(name = "idx_jurisdiction", columnList = "jurisdiction"),
-        @Index(name = "idx_status", columnList = "status")
+        @Index(name = "idx_status", columnList = "status"),
+        // Alert pages — see supabase-migration-004-ip-assets-deadlines.sql
+        @Index(name = "idx_ip_assets_expiry_date", columnList = "expiry_date, id"),
+        @Index(name = "idx_ip_assets_renewal_date", columnList = "renewal_date, id")
 })
 public class IpAsset {
 
@@ -16,6 +20,13 @@ public class IpAsset {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Natural key of assets ingested from Lens.org (null for manual entries) — unique,
+    // see supabase-migration-005-ip-assets-lens-id.sql. Only ingestion writes it (over
+    // JDBC): never bound from a request body, and a JPA update leaves it as it is.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "lens_id", columnDefinition = "VARCHAR(64)", updatable = false)
+    private String lensId;
+
     @Column(columnDefinition = "VARCHAR(255)")
     private String title;
 
@@ -57,6 +68,14 @@ public class IpAsset {
         this.id = id;
     }
 
+    public String getLensId() {
+        return lensId;
+    }
+
+    public void setLensId(String lensId) {
+        this.lensId = lensId;
+    }
+
     public String getTitle() {
         return title;
     }
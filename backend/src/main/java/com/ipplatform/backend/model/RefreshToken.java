@@ -7,6 +7,7 @@ import java.time.Instant;
  * DB-backed refresh token.
  * Works for all three principal types: USER, ANALYST, ADMIN.
  * subjectType + subjectId identify which table the token belongs to.
+ * Only the SHA-256 digest of the signed token is stored (token_hash).
  */
 @Entity
 @Table(name = "refresh_tokens")
@@ -16,8 +17,9 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, length = 512)
-    private String token;
+    /** SHA-256 of the token — see {@link com.ipplatform.backend.security.TokenDigest} */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
 
     /** "USER" | "ANALYST" | "ADMIN" */
     @Column(nullable = false)
@@ -45,9 +47,9 @@ public class RefreshToken {
 
     public RefreshToken() {}
 
-    public RefreshToken(String token, String subjectType, Long subjectId,
+    public RefreshToken(byte[] tokenHash, String subjectType, Long subjectId,
                         String username, Instant expiresAt, boolean rememberMe) {
-        this.token       = token;
+        this.tokenHash   = tokenHash;
         this.subjectType = subjectType;
         this.subjectId   = subjectId;
         this.username    = username;
@@ -61,7 +63,7 @@ public class RefreshToken {
 
     // ── Getters & Setters ─────────────────────────────────────────────────────
     public Long getId() { return id; }
-    public String getToken() { return token; }
+    public byte[] getTokenHash() { return tokenHash; }
     public String getSubjectType() { return subjectType; }
     public Long getSubjectId() { return subjectId; }
     public String getUsername() { return username; }
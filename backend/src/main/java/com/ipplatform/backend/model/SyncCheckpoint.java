@@ -0,0 +1,45 @@
+package com.ipplatform.backend.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Resume point of a background job that walks ip_assets in id order
+ * (see supabase-migration-006-sync-checkpoints.sql).
+ */
+@Entity
+@Table(name = "sync_checkpoints")
+public class SyncCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    /** Highest asset id finished in the current pass; 0 at the start of a pass */
+    @Column(nullable = false)
+    private long lastId;
+
+    private Instant passStartedAt;
+
+    /** When the last complete pass finished */
+    private Instant lastPassAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt = Instant.now();
+
+    public SyncCheckpoint() {}
+
+    public SyncCheckpoint(String name) {
+        this.name = name;
+    }
+
+    public String getName()                  { return name; }
+    public long getLastId()                  { return lastId; }
+    public void setLastId(long lastId)       { this.lastId = lastId; }
+    public Instant getPassStartedAt()        { return passStartedAt; }
+    public void setPassStartedAt(Instant t)  { this.passStartedAt = t; }
+    public Instant getLastPassAt()           { return lastPassAt; }
+    public void setLastPassAt(Instant t)     { this.lastPassAt = t; }
+    public Instant getUpdatedAt()            { return updatedAt; }
+    public void setUpdatedAt(Instant t)      { this.updatedAt = t; }
+}
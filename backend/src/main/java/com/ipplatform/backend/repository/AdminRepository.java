@@ -2,10 +2,16 @@ package com.ipplatform.backend.repository;
 
 import com.ipplatform.backend.model.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface AdminRepository extends JpaRepository<Admin, Long> {
     Optional<Admin> findByUsername(String username);
+
+    @Query("SELECT a.id FROM Admin a WHERE a.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
     boolean existsByUsername(String username);
 }
\ No newline at end of file
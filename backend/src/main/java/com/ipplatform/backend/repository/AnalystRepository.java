@@ -3,12 +3,18 @@ package com.ipplatform.backend.repository;
 import com.ipplatform.backend.model.Analyst;
 import com.ipplatform.backend.model.Analyst.AnalystStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface AnalystRepository extends JpaRepository<Analyst, Long> {
     Optional<Analyst> findByUsername(String username);
+
+    @Query("SELECT a.id FROM Analyst a WHERE a.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
     Optional<Analyst> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
@@ -1,6 +1,7 @@
 package com.ipplatform.backend.repository;
 
 import com.ipplatform.backend.model.IpAsset;
+import com.ipplatform.backend.dto.AlertItemDTO;
 import com.ipplatform.backend.dto.IpAssetSummaryDTO;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,7 +10,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface IpAssetRepository extends JpaRepository<IpAsset, Long> {
@@ -27,8 +30,243 @@ public interface IpAssetRepository extends JpaRepository<IpAsset, Long> {
             Pageable pageable
     );
 
+    /**
+     * Ranked full-text search over the search_vector column (title, inventor,
+     * description) — served by the GIN index from
+     * supabase-migration-002-ip-assets-fulltext.sql. websearch_to_tsquery
+     * accepts user input as typed: quoted phrases, "or", and -exclusions.
+     */
+    @Query(value = """
+        SELECT i.id AS id, i.title AS title, i.inventor AS inventor,
+               i.jurisdiction AS jurisdiction, i.status AS status
+        FROM ip_assets i
+        WHERE i.search_vector @@ websearch_to_tsquery('english', :keyword)
+        ORDER BY ts_rank_cd(i.search_vector, websearch_to_tsquery('english', :keyword)) DESC, i.id
+    """, countQuery = """
+        SELECT count(*)
+        FROM ip_assets i
+        WHERE i.search_vector @@ websearch_to_tsquery('english', :keyword)
+    """, nativeQuery = true)
+    Page<AssetSummaryRow> fullTextSearch(
+            @Param("keyword") String keyword,
+            Pageable pageable
+    );
+
+    /** Row shape of the native search queries; mapped to IpAssetSummaryDTO by the service. */
+    interface AssetSummaryRow {
+        Long getId();
+        String getTitle();
+        String getInventor();
+        String getJurisdiction();
+        String getStatus();
+    }
+
+    // ── Keyset (cursor) variants ─────────────────────────────────────────────
+    // Fetch the rows after the last one seen instead of skipping OFFSET rows,
+    // and never run a count unless the caller asks for one.
+
+    @Query("""
+        SELECT new com.ipplatform.backend.dto.IpAssetSummaryDTO(
+            i.id, i.title, i.inventor, i.jurisdiction, i.status
+        )
+        FROM IpAsset i
+        WHERE (LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
+            OR LOWER(i.inventor) LIKE LOWER(CONCAT('%', :keyword, '%')))
+          AND i.id > :afterId
+        ORDER BY i.id
+    """)
+    List<IpAssetSummaryDTO> searchAssetsAfter(
+            @Param("keyword") String keyword,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Query("""
+        SELECT COUNT(i) FROM IpAsset i
+        WHERE LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
+           OR LOWER(i.inventor) LIKE LOWER(CONCAT('%', :keyword, '%'))
+    """)
+    long countAssets(@Param("keyword") String keyword);
+
+    /**
+     * Full-text keyset: rows ranked below (afterRank, afterId) in
+     * (rank DESC, id ASC) order. Rank is cast to double precision so the
+     * value round-trips exactly through the cursor.
+     */
+    @Query(value = """
+        SELECT r.id, r.title, r.inventor, r.jurisdiction, r.status, r.rank
+        FROM (
+            SELECT i.id AS id, i.title AS title, i.inventor AS inventor,
+                   i.jurisdiction AS jurisdiction, i.status AS status,
+                   CAST(ts_rank_cd(i.search_vector, websearch_to_tsquery('english', :keyword))
+                        AS double precision) AS rank
+            FROM ip_assets i
+            WHERE i.search_vector @@ websearch_to_tsquery('english', :keyword)
+        ) r
+        WHERE CAST(:afterRank AS double precision) IS NULL
+           OR r.rank < :afterRank
+           OR (r.rank = :afterRank AND r.id > :afterId)
+        ORDER BY r.rank DESC, r.id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<RankedAssetRow> fullTextSearchAfter(
+            @Param("keyword") String keyword,
+            @Param("afterRank") Double afterRank,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
+    @Query(value = """
+        SELECT count(*) FROM ip_assets i
+        WHERE i.search_vector @@ websearch_to_tsquery('english', :keyword)
+    """, nativeQuery = true)
+    long countFullText(@Param("keyword") String keyword);
+
+    interface RankedAssetRow extends AssetSummaryRow {
+        Double getRank();
+    }
+
     long countByStatus(String status);
 
+    // ── Legal status aggregates ──────────────────────────────────────────────
+
+    /** Every status with its asset count, in one GROUP BY. */
+    @Query("SELECT i.status AS status, COUNT(i) AS total FROM IpAsset i GROUP BY i.status")
+    List<StatusCount> countGroupedByStatus();
+
+    long countByExpiryDateBetween(LocalDate start, LocalDate end);
+
+    /** Assets per expiry date from the given day on — seeds the expiry histogram of the counters. */
+    @Query("""
+        SELECT i.expiryDate AS date, COUNT(i) AS total
+        FROM IpAsset i
+        WHERE i.expiryDate >= :from
+        GROUP BY i.expiryDate
+    """)
+    List<DateCount> countGroupedByExpiryDateFrom(@Param("from") LocalDate from);
+
+    /** Status and deadlines of one asset, without loading the entity. */
+    @Query("""
+        SELECT i.status AS status, i.expiryDate AS expiryDate, i.renewalDate AS renewalDate
+        FROM IpAsset i
+        WHERE i.id = :id
+    """)
+    Optional<StatusSnapshot> findStatusSnapshotById(@Param("id") Long id);
+
+    // ── Legal status alerts ──────────────────────────────────────────────────
+    // Keyset pages in (date, id) order inside [from, to]; start with
+    // afterDate = from - 1 day and afterId = 0.
+
+    @Query("""
+        SELECT new com.ipplatform.backend.dto.AlertItemDTO(
+            'EXPIRY', i.id, i.title, i.jurisdiction, i.expiryDate
+        )
+        FROM IpAsset i
+        WHERE i.expiryDate BETWEEN :from AND :to
+          AND (i.expiryDate > :afterDate OR (i.expiryDate = :afterDate AND i.id > :afterId))
+        ORDER BY i.expiryDate, i.id
+    """)
+    List<AlertItemDTO> findExpiryAlerts(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Query("""
+        SELECT new com.ipplatform.backend.dto.AlertItemDTO(
+            'RENEWAL', i.id, i.title, i.jurisdiction, i.renewalDate
+        )
+        FROM IpAsset i
+        WHERE i.renewalDate BETWEEN :from AND :to
+          AND (i.renewalDate > :afterDate OR (i.renewalDate = :afterDate AND i.id > :afterId))
+        ORDER BY i.renewalDate, i.id
+    """)
+    List<AlertItemDTO> findRenewalAlerts(
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    interface StatusCount {
+        String getStatus();
+        long getTotal();
+    }
+
+    interface DateCount {
+        LocalDate getDate();
+        long getTotal();
+    }
+
+    interface StatusSnapshot {
+        String getStatus();
+        LocalDate getExpiryDate();
+        LocalDate getRenewalDate();
+    }
+
+    // ── Deadline tracking ────────────────────────────────────────────────────
+
+    /** Keyset batch in id order of assets with an expiry or renewal date from the given day on. */
+    @Query("""
+        SELECT i.id AS id, i.expiryDate AS expiryDate, i.renewalDate AS renewalDate
+        FROM IpAsset i
+        WHERE i.id > :afterId
+          AND (i.expiryDate >= :from OR i.renewalDate >= :from)
+        ORDER BY i.id
+    """)
+    List<DeadlineDates> findDeadlinesAfter(
+            @Param("afterId") Long afterId,
+            @Param("from") LocalDate from,
+            Pageable pageable
+    );
+
+    /** Current deadlines of the given assets — re-checked before a notification goes out. */
+    @Query("""
+        SELECT i.id AS id, i.title AS title, i.jurisdiction AS jurisdiction,
+               i.expiryDate AS expiryDate, i.renewalDate AS renewalDate
+        FROM IpAsset i
+        WHERE i.id IN :ids
+    """)
+    List<DeadlineRow> findDeadlinesByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface DeadlineDates {
+        Long getId();
+        LocalDate getExpiryDate();
+        LocalDate getRenewalDate();
+    }
+
+    interface DeadlineRow extends DeadlineDates {
+        String getTitle();
+        String getJurisdiction();
+    }
+
+    // ── Legal status sync ────────────────────────────────────────────────────
+
+    /** Keyset batch in id order of assets ingested from Lens.org (lens_id set). */
+    @Query("""
+        SELECT i.id AS id, i.lensId AS lensId, i.status AS status, i.legalStatusCode AS legalStatusCode,
+               i.grantDate AS grantDate, i.expiryDate AS expiryDate
+        FROM IpAsset i
+        WHERE i.lensId IS NOT NULL AND i.id > :afterId
+        ORDER BY i.id
+    """)
+    List<LegalStatusRow> findLegalStatusBatch(@Param("afterId") Long afterId, Pageable pageable);
+
+    interface LegalStatusRow {
+        Long getId();
+        String getLensId();
+        String getStatus();
+        String getLegalStatusCode();
+        LocalDate getGrantDate();
+        LocalDate getExpiryDate();
+    }
+
+    /** Keyset batch in id order — for background scans that must not OFFSET. */
+    List<IpAsset> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
     List<IpAsset> findByExpiryDateBetween(LocalDate start, LocalDate end);
 
     List<IpAsset> findByRenewalDateBetween(LocalDate start, LocalDate end);
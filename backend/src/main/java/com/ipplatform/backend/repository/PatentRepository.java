@@ -1,6 +1,8 @@
 package com.ipplatform.backend.repository;
 
 import com.ipplatform.backend.model.Patent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,10 +21,151 @@ public interface PatentRepository extends JpaRepository<Patent, Long> {
         AND (:assignee IS NULL OR LOWER(p.assignee) LIKE LOWER(CONCAT('%', :assignee, '%')))
         AND (:jurisdiction IS NULL OR LOWER(p.jurisdiction) LIKE LOWER(CONCAT('%', :jurisdiction, '%')))
     """)
-    List<Patent> searchPatents(
+    Page<Patent> searchPatents(
+            @Param("keyword") String keyword,
+            @Param("inventor") String inventor,
+            @Param("assignee") String assignee,
+            @Param("jurisdiction") String jurisdiction,
+            Pageable pageable
+    );
+
+    /**
+     * Fuzzy search ranked by trigram word similarity, served by the GIN
+     * gin_trgm_ops indexes from supabase-migration-003-patents-trigram.sql.
+     *
+     * "q <% lower(col)" is true when q is similar enough to some stretch of
+     * col — so "smith j" matches "JOHN SMITH" and "massachusets inst" matches
+     * "MASSACHUSETTS INST TECHNOLOGY". The cut-off is the transaction-local
+     * pg_trgm.word_similarity_threshold (see {@link #setWordSimilarityThreshold}).
+     * Parameters are expected lower-case; null filters are ignored.
+     */
+    @Query(value = """
+        SELECT p.id AS id, p.title AS title, p.inventor AS inventor,
+               p.assignee AS assignee, p.jurisdiction AS jurisdiction,
+               CAST(COALESCE(word_similarity(:keyword,  lower(p.title)),    0)
+                  + COALESCE(word_similarity(:inventor, lower(p.inventor)), 0)
+                  + COALESCE(word_similarity(:assignee, lower(p.assignee)), 0)
+                    AS double precision) AS score
+        FROM patents p
+        WHERE (CAST(:keyword AS text)  IS NULL OR :keyword  <% lower(p.title))
+          AND (CAST(:inventor AS text) IS NULL OR :inventor <% lower(p.inventor))
+          AND (CAST(:assignee AS text) IS NULL OR :assignee <% lower(p.assignee))
+          AND (CAST(:jurisdiction AS text) IS NULL OR upper(p.jurisdiction) = :jurisdiction)
+        ORDER BY score DESC, p.id
+    """, countQuery = """
+        SELECT count(*)
+        FROM patents p
+        WHERE (CAST(:keyword AS text)  IS NULL OR :keyword  <% lower(p.title))
+          AND (CAST(:inventor AS text) IS NULL OR :inventor <% lower(p.inventor))
+          AND (CAST(:assignee AS text) IS NULL OR :assignee <% lower(p.assignee))
+          AND (CAST(:jurisdiction AS text) IS NULL OR upper(p.jurisdiction) = :jurisdiction)
+    """, nativeQuery = true)
+    Page<PatentMatchRow> fuzzySearch(
+            @Param("keyword") String keyword,
+            @Param("inventor") String inventor,
+            @Param("assignee") String assignee,
+            @Param("jurisdiction") String jurisdiction,
+            Pageable pageable
+    );
+
+    // ── Keyset (cursor) variants ─────────────────────────────────────────────
+
+    @Query("""
+        SELECT p FROM Patent p
+        WHERE
+        (:keyword IS NULL OR LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')))
+        AND (:inventor IS NULL OR LOWER(p.inventor) LIKE LOWER(CONCAT('%', :inventor, '%')))
+        AND (:assignee IS NULL OR LOWER(p.assignee) LIKE LOWER(CONCAT('%', :assignee, '%')))
+        AND (:jurisdiction IS NULL OR LOWER(p.jurisdiction) LIKE LOWER(CONCAT('%', :jurisdiction, '%')))
+        AND p.id > :afterId
+        ORDER BY p.id
+    """)
+    List<Patent> searchPatentsAfter(
+            @Param("keyword") String keyword,
+            @Param("inventor") String inventor,
+            @Param("assignee") String assignee,
+            @Param("jurisdiction") String jurisdiction,
+            @Param("afterId") Long afterId,
+            Pageable pageable
+    );
+
+    @Query("""
+        SELECT COUNT(p) FROM Patent p
+        WHERE
+        (:keyword IS NULL OR LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')))
+        AND (:inventor IS NULL OR LOWER(p.inventor) LIKE LOWER(CONCAT('%', :inventor, '%')))
+        AND (:assignee IS NULL OR LOWER(p.assignee) LIKE LOWER(CONCAT('%', :assignee, '%')))
+        AND (:jurisdiction IS NULL OR LOWER(p.jurisdiction) LIKE LOWER(CONCAT('%', :jurisdiction, '%')))
+    """)
+    long countPatents(
+            @Param("keyword") String keyword,
+            @Param("inventor") String inventor,
+            @Param("assignee") String assignee,
+            @Param("jurisdiction") String jurisdiction
+    );
+
+    /** {@link #fuzzySearch} as a keyset: rows after (afterScore, afterId) in (score DESC, id ASC) order. */
+    @Query(value = """
+        SELECT m.id, m.title, m.inventor, m.assignee, m.jurisdiction, m.score
+        FROM (
+            SELECT p.id AS id, p.title AS title, p.inventor AS inventor,
+                   p.assignee AS assignee, p.jurisdiction AS jurisdiction,
+                   CAST(COALESCE(word_similarity(:keyword,  lower(p.title)),    0)
+                      + COALESCE(word_similarity(:inventor, lower(p.inventor)), 0)
+                      + COALESCE(word_similarity(:assignee, lower(p.assignee)), 0)
+                        AS double precision) AS score
+            FROM patents p
+            WHERE (CAST(:keyword AS text)  IS NULL OR :keyword  <% lower(p.title))
+              AND (CAST(:inventor AS text) IS NULL OR :inventor <% lower(p.inventor))
+              AND (CAST(:assignee AS text) IS NULL OR :assignee <% lower(p.assignee))
+              AND (CAST(:jurisdiction AS text) IS NULL OR upper(p.jurisdiction) = :jurisdiction)
+        ) m
+        WHERE CAST(:afterScore AS double precision) IS NULL
+           OR m.score < :afterScore
+           OR (m.score = :afterScore AND m.id > :afterId)
+        ORDER BY m.score DESC, m.id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<PatentMatchRow> fuzzySearchAfter(
+            @Param("keyword") String keyword,
+            @Param("inventor") String inventor,
+            @Param("assignee") String assignee,
+            @Param("jurisdiction") String jurisdiction,
+            @Param("afterScore") Double afterScore,
+            @Param("afterId") Long afterId,
+            @Param("limit") int limit
+    );
+
+    @Query(value = """
+        SELECT count(*)
+        FROM patents p
+        WHERE (CAST(:keyword AS text)  IS NULL OR :keyword  <% lower(p.title))
+          AND (CAST(:inventor AS text) IS NULL OR :inventor <% lower(p.inventor))
+          AND (CAST(:assignee AS text) IS NULL OR :assignee <% lower(p.assignee))
+          AND (CAST(:jurisdiction AS text) IS NULL OR upper(p.jurisdiction) = :jurisdiction)
+    """, nativeQuery = true)
+    long countFuzzy(
             @Param("keyword") String keyword,
             @Param("inventor") String inventor,
             @Param("assignee") String assignee,
             @Param("jurisdiction") String jurisdiction
     );
-}
\ No newline at end of file
+
+    /**
+     * Sets pg_trgm.word_similarity_threshold for the current transaction only
+     * (set_config(..., true)), so it is safe behind the transaction-mode pooler.
+     */
+    @Query(value = "SELECT set_config('pg_trgm.word_similarity_threshold', CAST(:threshold AS text), true)",
+            nativeQuery = true)
+    String setWordSimilarityThreshold(@Param("threshold") double threshold);
+
+    /** Row shape of {@link #fuzzySearch}; mapped to PatentMatchDTO by the service. */
+    interface PatentMatchRow {
+        Long getId();
+        String getTitle();
+        String getInventor();
+        String getAssignee();
+        String getJurisdiction();
+        Double getScore();
+    }
+}
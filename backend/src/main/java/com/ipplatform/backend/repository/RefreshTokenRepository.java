@@ -5,12 +5,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
-import java.util.Optional;
-
+/**
+ * Lookups and single-token revocation by digest go through
+ * {@link com.ipplatform.backend.service.RefreshTokenService}.
+ */
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByToken(String token);
-
     @Modifying
     @Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.subjectType = :type AND r.subjectId = :id AND r.revoked = false")
     void revokeAllBySubject(String type, Long id);
@@ -18,4 +18,4 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
     @Modifying
     @Query("DELETE FROM RefreshToken r WHERE r.revoked = true OR r.expiresAt < CURRENT_TIMESTAMP")
     void deleteExpiredAndRevoked();
-}
\ No newline at end of file
+}
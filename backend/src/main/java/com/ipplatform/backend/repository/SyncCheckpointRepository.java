@@ -0,0 +1,7 @@
+package com.ipplatform.backend.repository;
+
+import com.ipplatform.backend.model.SyncCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SyncCheckpointRepository extends JpaRepository<SyncCheckpoint, String> {
+}
@@ -0,0 +1,20 @@
+package com.ipplatform.backend.security;
+
+import java.time.Instant;
+
+/**
+ * Claims of an access token whose signature and expiry have been verified.
+ * Built once per token by {@link JwtUtil#verifyAccessToken}.
+ *
+ * subjectId   → id of the user / analyst / admin row; null for tokens
+ *               issued before the "sid" claim existed
+ * role        → e.g. "ROLE_ANALYST" (already prefixed)
+ * subjectType → "USER" | "ANALYST" | "ADMIN"
+ */
+public record AccessTokenClaims(String username, Long subjectId, String role, String subjectType,
+                                Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
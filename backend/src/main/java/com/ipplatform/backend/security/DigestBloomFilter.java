@@ -0,0 +1,66 @@
+package com.ipplatform.backend.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over SHA-256 token digests.
+ *
+ * A digest is already uniformly random, so no further hashing is needed: the
+ * first two 64-bit words of it seed double hashing (h1 + i·h2) for the k bit
+ * positions. mightContain() false means the digest was never added; true may
+ * be a false positive at roughly the configured rate while no more than
+ * expectedEntries have been added.
+ *
+ * Lock-free and thread-safe; entries cannot be removed — build a new filter.
+ */
+public final class DigestBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    public DigestBloomFilter(int expectedEntries, double falsePositiveRate) {
+        int n = Math.max(1, expectedEntries);
+        double p = Math.min(0.5, Math.max(1e-9, falsePositiveRate));
+
+        // m = -n·ln p / (ln 2)², k = m/n · ln 2
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bits = (long) wordCount * 64;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+    }
+
+    public void add(byte[] digest) {
+        long h1 = word(digest, 0), h2 = word(digest, 8);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(index);
+                if ((current & mask) != 0) break;
+            } while (!words.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(byte[] digest) {
+        long h1 = word(digest, 0), h2 = word(digest, 8);
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return bits / 8;
+    }
+
+    private static long word(byte[] digest, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) value = (value << 8) | (digest[offset + i] & 0xFF);
+        return value;
+    }
+}
@@ -41,17 +41,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
 
         try {
-            jwtUtil.validateAccessToken(token);
+            // One parse (or a cache hit) gives every claim we need
+            AccessTokenClaims claims = jwtUtil.verifyAccessToken(token);
 
-            String username    = jwtUtil.extractUsername(token);
-            String role        = jwtUtil.extractRole(token);       // e.g. "ROLE_ANALYST"
-            String subjectType = jwtUtil.extractSubjectType(token); // "USER"|"ANALYST"|"ADMIN"
+            // Principal carries the subject id; its getName() is still the username
+            SubjectPrincipal principal =
+                    new SubjectPrincipal(claims.subjectId(), claims.username(), claims.subjectType());
 
             // Role already contains "ROLE_" prefix — do NOT add it again
             UsernamePasswordAuthenticationToken auth =
                     new UsernamePasswordAuthenticationToken(
-                            username, null,
-                            List.of(new SimpleGrantedAuthority(role))
+                            principal, null,
+                            List.of(new SimpleGrantedAuthority(claims.role()))
                     );
             auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(auth);
@@ -4,11 +4,14 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
@@ -19,22 +22,35 @@ public class JwtUtil {
     @Value("${jwt.access-token-expiry-ms:3600000}")
     private long accessTokenMs;
 
+    @Value("${jwt.verified-cache.max-entries:10000}")
+    private int verifiedCacheMaxEntries;
+
     private Key key;
 
+    // Immutable and thread-safe — built once instead of per parse
+    private JwtParser parser;
+
+    private VerifiedTokenCache verifiedTokens;
+
     // ✅ Initialize key after values are injected
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = new VerifiedTokenCache(verifiedCacheMaxEntries);
     }
 
     /**
      * Generate Access Token
+     * subjectId is the id of the user / analyst / admin row ("sid" claim),
+     * so requests never have to look it up by username.
      */
-    public String generateAccessToken(String username, String role, String subjectType) {
+    public String generateAccessToken(String username, String role, String subjectType, Long subjectId) {
         return Jwts.builder()
                 .setSubject(username)
                 .claim("role", role)
                 .claim("subjectType", subjectType)
+                .claim("sid", subjectId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + accessTokenMs))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -46,6 +62,7 @@ public class JwtUtil {
      */
     public String generateRefreshToken(String username) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())    // unique even when issued twice in one second
                 .setSubject(username)
                 .claim("type", "refresh")
                 .setIssuedAt(new Date())
@@ -58,21 +75,72 @@ public class JwtUtil {
      * Parse Token
      */
     public Claims parseToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /**
-     * Validate Access Token
+     * Verify an access token and read its claims in a single parse.
+     * Tokens verified before are answered from a cache keyed by the token's
+     * SHA-256 digest until their exp, so the signature of a token is checked
+     * once rather than on every request. Throws ExpiredJwtException /
+     * JwtException exactly as {@link #parseToken} would.
      */
-    public void validateAccessToken(String token) {
+    public AccessTokenClaims verifyAccessToken(String token) {
+        Instant now = Instant.now();
+        String digest = null;
+        if (verifiedTokens.isEnabled()) {
+            digest = VerifiedTokenCache.digest(token);
+            AccessTokenClaims cached = verifiedTokens.get(digest, now);
+            if (cached != null) return cached;
+        }
+
         Claims claims = parseToken(token);
         if ("refresh".equals(claims.get("type"))) {
             throw new JwtException("Refresh token used as access token");
         }
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Access token without expiry");
+        }
+
+        AccessTokenClaims verified = new AccessTokenClaims(
+                claims.getSubject(),
+                claims.get("sid", Long.class),
+                claims.get("role", String.class),
+                claims.get("subjectType", String.class),
+                claims.getExpiration().toInstant()
+        );
+        if (digest != null) verifiedTokens.put(digest, verified);
+        return verified;
+    }
+
+    /** Frees room in the verified-token cache by dropping expired tokens. */
+    @Scheduled(fixedDelayString = "${jwt.verified-cache.sweep-ms:60000}")
+    public void sweepVerifiedTokens() {
+        if (verifiedTokens != null && verifiedTokens.isEnabled()) verifiedTokens.sweep(Instant.now());
+    }
+
+    /**
+     * True if the token carries our signature and is a refresh token. An
+     * expired one still counts — its DB row decides how it is rejected.
+     */
+    public boolean isRefreshToken(String token) {
+        if (token == null || token.isBlank()) return false;
+        Claims claims;
+        try {
+            claims = parseToken(token);
+        } catch (ExpiredJwtException e) {
+            claims = e.getClaims();
+        } catch (JwtException | IllegalArgumentException e) {
+            return false;
+        }
+        return "refresh".equals(claims.get("type"));
+    }
+
+    /**
+     * Validate Access Token
+     */
+    public void validateAccessToken(String token) {
+        verifyAccessToken(token);
     }
 
     /**
@@ -0,0 +1,154 @@
+package com.ipplatform.backend.security;
+
+import com.ipplatform.backend.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory sliding-window throttle for the login endpoints.
+ *
+ * Two windows of window-seconds each:
+ *   - per client IP, every attempt counts (max-attempts-per-ip);
+ *   - per username and client IP, failed attempts count
+ *     (max-failures-per-username) and a successful login from that IP clears
+ *     them. Keying failures on the pair means guessing at an account from
+ *     one address locks out that address, not the account's owner.
+ * A window keeps the timestamps of its last N events, so "N within the
+ * window" is exact and Retry-After is when the oldest one leaves it.
+ *
+ * The client IP is request.getRemoteAddr(), which is the X-Forwarded-For
+ * address from a trusted proxy (server.forward-headers-strategy); without
+ * that every caller behind the proxy would share one window.
+ *
+ * Checked before any password hashing, so a throttled attempt costs no
+ * BCrypt and no database query. At most max-keys windows are tracked; past
+ * that, new keys go unthrottled until the sweep frees room.
+ */
+@Component
+public class LoginThrottle {
+
+    private final LongSupplier clock;   // nanoTime
+    private final long windowNanos;
+    private final int maxPerIp;
+    private final int maxFailuresPerUsername;
+    private final int maxKeys;
+
+    private final ConcurrentHashMap<String, Window> byIp = new ConcurrentHashMap<>();
+    // username + client IP → failed attempts
+    private final ConcurrentHashMap<String, Window> byUsername = new ConcurrentHashMap<>();
+    private final LongAdder throttled = new LongAdder();
+
+    @Autowired
+    public LoginThrottle(@Value("${auth.login-throttle.window-seconds:300}") long windowSeconds,
+                         @Value("${auth.login-throttle.max-attempts-per-ip:50}") int maxPerIp,
+                         @Value("${auth.login-throttle.max-failures-per-username:10}") int maxFailuresPerUsername,
+                         @Value("${auth.login-throttle.max-keys:100000}") int maxKeys) {
+        this(windowSeconds, maxPerIp, maxFailuresPerUsername, maxKeys, System::nanoTime);
+    }
+
+    // Tests pass their own clock
+    LoginThrottle(long windowSeconds, int maxPerIp, int maxFailuresPerUsername, int maxKeys, LongSupplier clock) {
+        this.clock = clock;
+        this.windowNanos = TimeUnit.SECONDS.toNanos(Math.max(1, windowSeconds));
+        this.maxPerIp = Math.max(1, maxPerIp);
+        this.maxFailuresPerUsername = Math.max(1, maxFailuresPerUsername);
+        this.maxKeys = maxKeys;
+    }
+
+    /** Throws {@link TooManyRequestsException} if either window is full; otherwise counts the attempt. */
+    public void acquire(String username, String clientIp) {
+        long now = clock.getAsLong();
+
+        Window user = byUsername.get(key(username, clientIp));
+        if (user != null) {
+            long wait = user.waitNanos(now, maxFailuresPerUsername);
+            if (wait > 0) throw throttled("Too many failed sign-in attempts for this account.", wait);
+        }
+
+        if (clientIp != null) {
+            Window ip = window(byIp, clientIp);
+            if (ip != null) {
+                long wait = ip.recordIfBelow(now, maxPerIp);
+                if (wait > 0) throw throttled("Too many sign-in attempts from this address.", wait);
+            }
+        }
+    }
+
+    public void failed(String username, String clientIp) {
+        Window user = window(byUsername, key(username, clientIp));
+        if (user != null) user.recordIfBelow(clock.getAsLong(), maxFailuresPerUsername);
+    }
+
+    public void succeeded(String username, String clientIp) {
+        byUsername.remove(key(username, clientIp));
+    }
+
+    public record Stats(int trackedIps, int trackedUsernames, long throttled) {}
+
+    public Stats stats() {
+        return new Stats(byIp.size(), byUsername.size(), throttled.sum());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.login-throttle.sweep-ms:60000}")
+    public void sweep() {
+        long now = clock.getAsLong();
+        byIp.values().removeIf(w -> w.isIdle(now));
+        byUsername.values().removeIf(w -> w.isIdle(now));
+    }
+
+    // ── Internals ─────────────────────────────────────────────────────────────
+
+    private Window window(ConcurrentHashMap<String, Window> windows, String key) {
+        Window window = windows.get(key);
+        if (window != null || windows.size() >= maxKeys) return window;
+        return windows.computeIfAbsent(key, k -> new Window());
+    }
+
+    private TooManyRequestsException throttled(String message, long waitNanos) {
+        throttled.increment();
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1;
+        return new TooManyRequestsException(message + " Try again in " + seconds + " seconds.", seconds);
+    }
+
+    private static String key(String username, String clientIp) {
+        String user = username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+        return clientIp == null ? user : user + '\n' + clientIp;
+    }
+
+    /** Timestamps of the most recent events, oldest first, at most the limit. */
+    private final class Window {
+
+        private final ArrayDeque<Long> events = new ArrayDeque<>();
+
+        /** Nanos until the window has room for another event; 0 if it has room now. */
+        synchronized long waitNanos(long now, int limit) {
+            evict(now);
+            return events.size() < limit ? 0 : events.peekFirst() + windowNanos - now;
+        }
+
+        /** Records the event if there is room; otherwise returns the wait like {@link #waitNanos}. */
+        synchronized long recordIfBelow(long now, int limit) {
+            long wait = waitNanos(now, limit);
+            if (wait == 0) events.addLast(now);
+            return wait;
+        }
+
+        synchronized boolean isIdle(long now) {
+            evict(now);
+            return events.isEmpty();
+        }
+
+        private void evict(long now) {
+            while (!events.isEmpty() && now - events.peekFirst() >= windowNanos) events.pollFirst();
+        }
+    }
+}
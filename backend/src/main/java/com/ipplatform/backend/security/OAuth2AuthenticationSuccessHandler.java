@@ -1,9 +1,8 @@
 package com.ipplatform.backend.security;
 
-import com.ipplatform.backend.model.RefreshToken;
 import com.ipplatform.backend.model.User;
-import com.ipplatform.backend.repository.RefreshTokenRepository;
 import com.ipplatform.backend.repository.UserRepository;
+import com.ipplatform.backend.service.RefreshTokenService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -36,7 +35,7 @@ public class OAuth2AuthenticationSuccessHandler
 
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
 
     @Value("${oauth2.redirect-uri}")
     private String redirectUri;
@@ -46,10 +45,10 @@ public class OAuth2AuthenticationSuccessHandler
 
     public OAuth2AuthenticationSuccessHandler(JwtUtil jwtUtil,
                                               UserRepository userRepository,
-                                              RefreshTokenRepository refreshTokenRepository) {
+                                              RefreshTokenService refreshTokenService) {
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
-        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @Override
@@ -64,14 +63,13 @@ public class OAuth2AuthenticationSuccessHandler
                 .orElseThrow(() -> new RuntimeException("OAuth user not found after authentication"));
 
         // Generate JWT tokens using the correct signature
-        String accessToken  = jwtUtil.generateAccessToken(user.getUsername(), "ROLE_USER", "USER");
+        String accessToken  = jwtUtil.generateAccessToken(user.getUsername(), "ROLE_USER", "USER", user.getId());
         String rawRefresh   = jwtUtil.generateRefreshToken(user.getUsername());
 
         // Persist refresh token to DB
         Instant expiresAt = Instant.now().plus(refreshDays, ChronoUnit.DAYS);
-        RefreshToken rt = new RefreshToken(rawRefresh, "USER", user.getId(),
+        refreshTokenService.issue(rawRefresh, "USER", user.getId(),
                 user.getUsername(), expiresAt, false);
-        refreshTokenRepository.save(rt);
 
         String targetUrl = redirectUri
                 + "?accessToken="  + URLEncoder.encode(accessToken, StandardCharsets.UTF_8)
@@ -0,0 +1,136 @@
+package com.ipplatform.backend.security;
+
+import com.ipplatform.backend.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt (PasswordEncoder matches / encode) on a small dedicated pool
+ * instead of on Tomcat request threads.
+ *
+ * At most threads hashes run at once and at most queue-capacity wait; a
+ * request that finds the queue full, or waits longer than timeout-ms, gets
+ * a {@link TooManyRequestsException} (429) straight away. A login wave or a
+ * credential-stuffing burst therefore costs a bounded number of CPUs, and
+ * search traffic keeps the rest.
+ *
+ * Callers should not hold a database connection while waiting here — the
+ * pool has two.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final long timeoutMs;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public PasswordHasher(PasswordEncoder encoder,
+                          @Value("${auth.hashing.threads:0}") int threads,
+                          @Value("${auth.hashing.queue-capacity:32}") int queueCapacity,
+                          @Value("${auth.hashing.timeout-ms:5000}") long timeoutMs) {
+        this.encoder = encoder;
+        this.timeoutMs = Math.max(1, timeoutMs);
+
+        // Default: half the CPUs, so hashing can never take all of them
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    public record Stats(long hashes, double avgHashMs, double maxHashMs, double avgQueueWaitMs,
+                        long rejected, long timedOut, int threads, int active, int queued, int queueCapacity) {}
+
+    public Stats stats() {
+        long count = hashes.sum();
+        return new Stats(
+                count,
+                count == 0 ? 0.0 : hashNanos.sum() / 1e6 / count,
+                maxHashNanos.get() / 1e6,
+                count == 0 ? 0.0 : waitNanos.sum() / 1e6 / count,
+                rejected.sum(),
+                timedOut.sum(),
+                pool.getMaximumPoolSize(),
+                pool.getActiveCount(),
+                pool.getQueue().size(),
+                pool.getQueue().size() + pool.getQueue().remainingCapacity());
+    }
+
+    // ── Execution ─────────────────────────────────────────────────────────────
+
+    private <T> T run(Supplier<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                long started = System.nanoTime();
+                try {
+                    return hash.get();
+                } finally {
+                    long took = System.nanoTime() - started;
+                    hashes.increment();
+                    hashNanos.add(took);
+                    waitNanos.add(started - submitted);
+                    maxHashNanos.accumulateAndGet(took, Math::max);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            timedOut.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private TooManyRequestsException busy() {
+        return new TooManyRequestsException("Too many sign-in requests right now. Please try again shortly.",
+                Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ipplatform.backend.security;
+
+import com.ipplatform.backend.exception.AuthException;
+import com.ipplatform.backend.repository.AdminRepository;
+import com.ipplatform.backend.repository.AnalystRepository;
+import com.ipplatform.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fallback for access tokens issued before the "sid" claim: resolves the
+ * subject's id from its username, remembering the answer for a short time.
+ *
+ * Only old tokens get here, and they are gone once the last of them expires
+ * (jwt.access-token-expiry-ms), so the cache is small and short-lived. When
+ * full, expired entries are swept; if it is still full, ids are looked up
+ * without being cached.
+ */
+@Component
+public class SubjectIdResolver {
+
+    private final UserRepository userRepository;
+    private final AnalystRepository analystRepository;
+    private final AdminRepository adminRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+
+    private final ConcurrentHashMap<String, Entry> ids = new ConcurrentHashMap<>();
+
+    private record Entry(long id, long expiresAt) {}
+
+    public SubjectIdResolver(UserRepository userRepository,
+                             AnalystRepository analystRepository,
+                             AdminRepository adminRepository,
+                             @Value("${jwt.subject-id-cache.ttl-ms:300000}") long ttlMs,
+                             @Value("${jwt.subject-id-cache.max-entries:1000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.analystRepository = analystRepository;
+        this.adminRepository = adminRepository;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    /** The principal with its id filled in; throws AuthException if the subject no longer exists. */
+    public SubjectPrincipal resolve(SubjectPrincipal principal) {
+        if (principal.id() != null) return principal;
+
+        String key = principal.subjectType() + ":" + principal.username();
+        long now = System.currentTimeMillis();
+        Entry cached = ids.get(key);
+        if (cached != null && cached.expiresAt() > now) return principal.withId(cached.id());
+
+        long id = lookup(principal.subjectType(), principal.username())
+                .orElseThrow(() -> new AuthException("Account not found"));
+
+        if (ids.size() >= maxEntries) ids.values().removeIf(e -> e.expiresAt() <= now);
+        if (ids.size() < maxEntries) ids.put(key, new Entry(id, now + ttlMs));
+        return principal.withId(id);
+    }
+
+    private Optional<Long> lookup(String subjectType, String username) {
+        if (subjectType == null) return Optional.empty();
+        return switch (subjectType) {
+            case "USER"    -> userRepository.findIdByUsername(username);
+            case "ANALYST" -> analystRepository.findIdByUsername(username);
+            case "ADMIN"   -> adminRepository.findIdByUsername(username);
+            default        -> Optional.empty();
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.ipplatform.backend.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * The authenticated caller of a request, as read from its access token.
+ * Set as the Authentication principal by {@link JwtAuthenticationFilter};
+ * getName() is the username, so Principal#getName() keeps working.
+ *
+ * Declare a SubjectPrincipal parameter on a controller method to receive it
+ * with the id resolved ({@link SubjectPrincipalArgumentResolver}).
+ *
+ * id          → id of the user / analyst / admin row (null only inside the
+ *               filter, for tokens issued before the "sid" claim)
+ * subjectType → "USER" | "ANALYST" | "ADMIN"
+ */
+public record SubjectPrincipal(Long id, String username, String subjectType) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public SubjectPrincipal withId(Long id) {
+        return new SubjectPrincipal(id, username, subjectType);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ipplatform.backend.security;
+
+import com.ipplatform.backend.exception.AuthException;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Supplies SubjectPrincipal controller parameters from the current
+ * Authentication, with the id resolved — from the token's "sid" claim, or
+ * through {@link SubjectIdResolver} for older tokens.
+ */
+@Component
+public class SubjectPrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final SubjectIdResolver subjectIds;
+
+    public SubjectPrincipalArgumentResolver(SubjectIdResolver subjectIds) {
+        this.subjectIds = subjectIds;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == SubjectPrincipal.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof SubjectPrincipal principal)) {
+            throw new AuthException("Not authenticated");
+        }
+        return subjectIds.resolve(principal);
+    }
+}
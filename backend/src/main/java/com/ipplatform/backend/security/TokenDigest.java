@@ -0,0 +1,36 @@
+package com.ipplatform.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * SHA-256 of a token's UTF-8 bytes — how tokens are identified wherever they
+ * are stored or cached, so the token itself never is.
+ */
+public final class TokenDigest {
+
+    public static final int LENGTH = 32;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private TokenDigest() {}
+
+    public static byte[] sha256(String token) {
+        MessageDigest sha = SHA_256.get();
+        sha.reset();
+        return sha.digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** The digest as a Base64 string, for use as a map key. */
+    public static String key(byte[] digest) {
+        return Base64.getEncoder().encodeToString(digest);
+    }
+}
@@ -0,0 +1,59 @@
+package com.ipplatform.backend.security;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens that already passed signature verification, keyed by the
+ * SHA-256 digest of the token (the token itself is never stored).
+ *
+ * An entry is served only until the token's own exp, so a cached token
+ * expires exactly when a freshly parsed one would. The map is bounded:
+ * while full, new tokens are simply not cached. Expired entries are swept
+ * off the request path by {@link #sweep}, which JwtUtil runs on a schedule,
+ * so get and put stay O(1). Reads are lock-free.
+ */
+final class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, AccessTokenClaims> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /** Cached claims for the token, or null when absent or expired. */
+    AccessTokenClaims get(String digest, Instant now) {
+        AccessTokenClaims claims = entries.get(digest);
+        if (claims == null) return null;
+        if (claims.isExpired(now)) {
+            entries.remove(digest, claims);
+            return null;
+        }
+        return claims;
+    }
+
+    void put(String digest, AccessTokenClaims claims) {
+        if (entries.size() >= maxEntries) return;
+        entries.put(digest, claims);
+    }
+
+    /** Drops expired entries; returns how many were removed. */
+    int sweep(Instant now) {
+        int before = entries.size();
+        entries.values().removeIf(c -> c.isExpired(now));
+        return before - entries.size();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    static String digest(String token) {
+        return TokenDigest.key(TokenDigest.sha256(token));
+    }
+}
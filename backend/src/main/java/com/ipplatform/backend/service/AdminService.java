@@ -4,15 +4,15 @@ import com.ipplatform.backend.exception.AuthException;
 import com.ipplatform.backend.model.Admin;
 import com.ipplatform.backend.model.Analyst;
 import com.ipplatform.backend.model.Analyst.AnalystStatus;
-import com.ipplatform.backend.model.RefreshToken;
 import com.ipplatform.backend.repository.AdminRepository;
 import com.ipplatform.backend.repository.AnalystRepository;
-import com.ipplatform.backend.repository.RefreshTokenRepository;
 import com.ipplatform.backend.security.JwtUtil;
+import com.ipplatform.backend.security.LoginThrottle;
+import com.ipplatform.backend.security.PasswordHasher;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
@@ -35,21 +35,24 @@ public class AdminService {
 
     private final AdminRepository        adminRepository;
     private final AnalystRepository      analystRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final PasswordEncoder        passwordEncoder;
+    private final RefreshTokenService    refreshTokenService;
+    private final PasswordHasher         passwordHasher;
+    private final LoginThrottle          loginThrottle;
     private final JwtUtil                jwtUtil;
     private final AdminLogService        logService;
 
     public AdminService(AdminRepository adminRepository,
                         AnalystRepository analystRepository,
-                        RefreshTokenRepository refreshTokenRepository,
-                        PasswordEncoder passwordEncoder,
+                        RefreshTokenService refreshTokenService,
+                        PasswordHasher passwordHasher,
+                        LoginThrottle loginThrottle,
                         JwtUtil jwtUtil,
                         AdminLogService logService) {
         this.adminRepository        = adminRepository;
         this.analystRepository      = analystRepository;
-        this.refreshTokenRepository = refreshTokenRepository;
-        this.passwordEncoder        = passwordEncoder;
+        this.refreshTokenService    = refreshTokenService;
+        this.passwordHasher         = passwordHasher;
+        this.loginThrottle          = loginThrottle;
         this.jwtUtil                = jwtUtil;
         this.logService             = logService;
     }
@@ -59,26 +62,31 @@ public class AdminService {
     /**
      * POST /api/admin/login
      * Admin credentials are seeded on startup — no registration endpoint.
+     * Runs outside a transaction so no connection is held while BCrypt runs.
      */
-    public TokenPair login(String username, String password) {
-        Admin admin = adminRepository.findByUsername(username)
-                .orElseThrow(() -> new AuthException("Invalid admin credentials"));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TokenPair login(String username, String password, String clientIp) {
+        loginThrottle.acquire(username, clientIp);
 
-        if (!passwordEncoder.matches(password, admin.getPassword()))
+        Admin admin = adminRepository.findByUsername(username).orElse(null);
+
+        if (admin == null || !passwordHasher.matches(password, admin.getPassword())) {
+            loginThrottle.failed(username, clientIp);
             throw new AuthException("Invalid admin credentials");
+        }
+        loginThrottle.succeeded(username, clientIp);
 
         if (!admin.isActive())
             throw new AuthException("Admin account is disabled");
 
         String access = jwtUtil.generateAccessToken(
-                admin.getUsername(), "ROLE_ADMIN", "ADMIN");
+                admin.getUsername(), "ROLE_ADMIN", "ADMIN", admin.getId());
 
         String rawRefresh = jwtUtil.generateRefreshToken(admin.getUsername());
         Instant expiresAt = Instant.now().plus(refreshDays, ChronoUnit.DAYS);
 
-        RefreshToken rt = new RefreshToken(rawRefresh, "ADMIN", admin.getId(),
+        refreshTokenService.issue(rawRefresh, "ADMIN", admin.getId(),
                 admin.getUsername(), expiresAt, false);
-        refreshTokenRepository.save(rt);
 
         logService.log("ADMIN_LOGIN", username, "ADMIN", admin.getId().toString(), "Admin logged in");
 
@@ -3,15 +3,15 @@ package com.ipplatform.backend.service;
 import com.ipplatform.backend.exception.AuthException;
 import com.ipplatform.backend.model.Analyst;
 import com.ipplatform.backend.model.Analyst.AnalystStatus;
-import com.ipplatform.backend.model.RefreshToken;
 import com.ipplatform.backend.repository.AnalystRepository;
-import com.ipplatform.backend.repository.RefreshTokenRepository;
-import com.ipplatform.backend.repository.UserRepository;
 import com.ipplatform.backend.security.JwtUtil;
+import com.ipplatform.backend.security.LoginThrottle;
+import com.ipplatform.backend.security.PasswordHasher;
+import com.ipplatform.backend.service.RefreshTokenService.Redemption;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -38,20 +38,23 @@ public class AnalystService {
     private int rememberMeDays;
 
     private final AnalystRepository analystRepository;
-    private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final IdentityIndex identityIndex;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
     private final JwtUtil jwtUtil;
 
     public AnalystService(AnalystRepository analystRepository,
-                          UserRepository userRepository,
-                          RefreshTokenRepository refreshTokenRepository,
-                          PasswordEncoder passwordEncoder,
+                          IdentityIndex identityIndex,
+                          RefreshTokenService refreshTokenService,
+                          PasswordHasher passwordHasher,
+                          LoginThrottle loginThrottle,
                           JwtUtil jwtUtil) {
         this.analystRepository = analystRepository;
-        this.userRepository = userRepository;
-        this.refreshTokenRepository = refreshTokenRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.identityIndex = identityIndex;
+        this.refreshTokenService = refreshTokenService;
+        this.passwordHasher = passwordHasher;
+        this.loginThrottle = loginThrottle;
         this.jwtUtil = jwtUtil;
     }
 
@@ -62,15 +65,8 @@ public class AnalystService {
                          String purpose, String organization,
                          MultipartFile document) throws IOException {
 
-        // Username uniqueness
-        if (analystRepository.existsByUsername(username) ||
-            userRepository.existsByUsername(username))
-            throw new AuthException("Username already taken");
-
-        // Email uniqueness
-        if (analystRepository.existsByEmail(email) ||
-            userRepository.existsByEmail(email))
-            throw new AuthException("Email already registered");
+        // Username / email uniqueness across all account tables — one query
+        identityIndex.requireAvailable(username, email);
 
         validatePassword(password);
 
@@ -113,7 +109,7 @@ public class AnalystService {
         Analyst analyst = new Analyst();
         analyst.setUsername(username);
         analyst.setEmail(email);
-        analyst.setPassword(passwordEncoder.encode(password));
+        analyst.setPassword(passwordHasher.encode(password));
         analyst.setName(name != null && !name.isBlank() ? name : username);
         analyst.setPurpose(purpose);
         analyst.setOrganization(organization);
@@ -124,18 +120,24 @@ public class AnalystService {
         analyst.setDocumentData(document.getBytes());
         analyst.setStatus(AnalystStatus.PENDING);
 
-        analystRepository.save(analyst);
+        identityIndex.save(() -> analystRepository.save(analyst));
     }
 
     // ───────────────── LOGIN ─────────────────
 
-    public TokenPair login(String username, String password, boolean rememberMe) {
+    // No transaction — no connection is held while BCrypt runs
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TokenPair login(String username, String password, boolean rememberMe, String clientIp) {
+
+        loginThrottle.acquire(username, clientIp);
 
-        Analyst analyst = analystRepository.findByUsername(username)
-                .orElseThrow(() -> new AuthException("Invalid username or password"));
+        Analyst analyst = analystRepository.findByUsername(username).orElse(null);
 
-        if (!passwordEncoder.matches(password, analyst.getPassword()))
+        if (analyst == null || !passwordHasher.matches(password, analyst.getPassword())) {
+            loginThrottle.failed(username, clientIp);
             throw new AuthException("Invalid username or password");
+        }
+        loginThrottle.succeeded(username, clientIp);
 
         switch (analyst.getStatus()) {
             case PENDING ->
@@ -154,28 +156,24 @@ public class AnalystService {
 
     public TokenPair refresh(String rawToken) {
 
-        RefreshToken stored = refreshTokenRepository.findByToken(rawToken)
-                .orElseThrow(() -> new AuthException("Invalid refresh token"));
+        Redemption stored = refreshTokenService.redeem(rawToken, "ANALYST");
 
-        if (!stored.isValid())
-            throw new AuthException("Refresh token expired. Please log in again.");
+        if (stored.status() == Redemption.Status.UNKNOWN)
+            throw new AuthException("Invalid refresh token");
 
-        stored.setRevoked(true);
-        refreshTokenRepository.save(stored);
+        if (stored.status() == Redemption.Status.SPENT)
+            throw new AuthException("Refresh token expired. Please log in again.");
 
-        Analyst analyst = analystRepository.findById(stored.getSubjectId())
+        Analyst analyst = analystRepository.findById(stored.subjectId())
                 .orElseThrow(() -> new AuthException("Analyst not found"));
 
-        return issueTokens(analyst, stored.isRememberMe());
+        return issueTokens(analyst, stored.rememberMe());
     }
 
     // ───────────────── LOGOUT ─────────────────
 
     public void logout(String rawToken) {
-        refreshTokenRepository.findByToken(rawToken).ifPresent(t -> {
-            t.setRevoked(true);
-            refreshTokenRepository.save(t);
-        });
+        refreshTokenService.revoke(rawToken);
     }
 
     // ───────────────── PRIVATE HELPERS ─────────────────
@@ -183,19 +181,17 @@ public class AnalystService {
     private TokenPair issueTokens(Analyst analyst, boolean rememberMe) {
 
         String access = jwtUtil.generateAccessToken(
-                analyst.getUsername(), "ROLE_ANALYST", "ANALYST");
+                analyst.getUsername(), "ROLE_ANALYST", "ANALYST", analyst.getId());
 
         int days = rememberMe ? rememberMeDays : refreshDays;
         String rawRefresh = jwtUtil.generateRefreshToken(analyst.getUsername());
         Instant expiresAt = Instant.now().plus(days, ChronoUnit.DAYS);
 
-        RefreshToken rt = new RefreshToken(
+        refreshTokenService.issue(
                 rawRefresh, "ANALYST", analyst.getId(),
                 analyst.getUsername(), expiresAt, rememberMe
         );
 
-        refreshTokenRepository.save(rt);
-
         return new TokenPair(access, rawRefresh,
                 analyst.getUsername(), "ROLE_ANALYST", "ANALYST");
     }
@@ -0,0 +1,178 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.dto.IpAssetSummaryDTO;
+import com.ipplatform.backend.model.IpAsset;
+import com.ipplatform.backend.repository.IpAssetRepository;
+import com.ipplatform.backend.service.index.AssetSearchIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Owns the optional in-process {@link AssetSearchIndex} over ip_assets
+ * (GET /api/ip-assets?mode=INDEX).
+ *
+ * Disabled by default (ip.assets.index.enabled). When enabled, the index is
+ * built in the background once the application is ready, reading the table
+ * in id order in batches, and then kept current from {@link IpAssetSavedEvent}s.
+ * Saves that arrive during a rebuild are queued and replayed into the new
+ * index before it replaces the old one. Once tombstones make up more than
+ * rebuild-tombstone-ratio of the index, it is rebuilt to reclaim them.
+ *
+ * Until the first build finishes {@link #isReady()} is false and searches
+ * fall back to the database.
+ */
+@Service
+public class AssetIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetIndexService.class);
+
+    private final IpAssetRepository repository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final double rebuildTombstoneRatio;
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "asset-index-rebuild");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile AssetSearchIndex index;
+
+    // Saves seen while a rebuild is running; guarded by this
+    private List<IpAsset> pending;
+
+    public AssetIndexService(IpAssetRepository repository,
+                             @Value("${ip.assets.index.enabled:false}") boolean enabled,
+                             @Value("${ip.assets.index.batch-size:1000}") int batchSize,
+                             @Value("${ip.assets.index.rebuild-tombstone-ratio:0.3}") double rebuildTombstoneRatio) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.rebuildTombstoneRatio = rebuildTombstoneRatio;
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    public Page<IpAssetSummaryDTO> search(String keyword, String jurisdiction, String status, int page, int size) {
+        AssetSearchIndex current = index;
+        if (current == null) {
+            throw new IllegalStateException("Asset index is not built yet");
+        }
+
+        AssetSearchIndex.Result result = current.search(keyword, jurisdiction, status, page * size, size);
+        List<IpAssetSummaryDTO> content = result.hits().stream()
+                .map(h -> new IpAssetSummaryDTO(h.assetId(), h.title(), h.inventor(), h.jurisdiction(), h.status()))
+                .toList();
+        return new PageImpl<>(content, PageRequest.of(page, size), result.total());
+    }
+
+    /** Raw offset/limit slice — for cursor paging, where the cursor carries the offset. */
+    public AssetSearchIndex.Result searchSlice(String keyword, String jurisdiction, String status,
+                                               int offset, int limit) {
+        AssetSearchIndex current = index;
+        if (current == null) {
+            throw new IllegalStateException("Asset index is not built yet");
+        }
+        return current.search(keyword, jurisdiction, status, offset, limit);
+    }
+
+    public AssetSearchIndex.Stats stats() {
+        AssetSearchIndex current = index;
+        return current == null ? null : current.stats();
+    }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) rebuildAsync();
+    }
+
+    @EventListener
+    public void onAssetSaved(IpAssetSavedEvent event) {
+        if (!enabled) return;
+
+        synchronized (this) {
+            if (pending != null) pending.add(event.asset());
+        }
+
+        AssetSearchIndex current = index;
+        if (current == null) return;
+        current.upsert(event.asset());
+
+        if (current.tombstoneRatio() > rebuildTombstoneRatio) {
+            rebuildAsync();
+        }
+    }
+
+    /** Bulk writes bypass save events — rebuild to pick them up. */
+    @EventListener
+    public void onAssetsBulkLoaded(IpAssetsBulkLoadedEvent event) {
+        if (enabled) rebuildAsync();
+    }
+
+    /** Starts a background rebuild unless one is already running. */
+    public void rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) return;
+        rebuilder.execute(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Asset index rebuild failed", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    private void rebuild() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+
+        long started = System.nanoTime();
+        AssetSearchIndex fresh = new AssetSearchIndex();
+        long lastId = 0;
+        int count = 0;
+
+        // Keyset walk in id order — no OFFSET, each batch is one short query
+        while (true) {
+            List<IpAsset> batch = repository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) break;
+            for (IpAsset asset : batch) fresh.upsert(asset);
+            count += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        synchronized (this) {
+            for (IpAsset asset : pending) fresh.upsert(asset);
+            pending = null;
+            index = fresh;
+        }
+
+        log.info("Asset index built: {} assets in {} ms", count, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,39 @@
+package com.ipplatform.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Emails the daily {@link DeadlineThresholdEvent} as one digest to each
+ * address in ip.deadlines.notify-emails. Does nothing when the list is empty.
+ */
+@Component
+public class DeadlineEmailNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineEmailNotifier.class);
+
+    private final EmailService emailService;
+    private final List<String> recipients;
+
+    public DeadlineEmailNotifier(EmailService emailService,
+                                 @Value("${ip.deadlines.notify-emails:}") List<String> recipients) {
+        this.emailService = emailService;
+        this.recipients = recipients.stream().map(String::trim).filter(r -> !r.isEmpty()).toList();
+    }
+
+    @EventListener
+    public void onDeadlinesCrossed(DeadlineThresholdEvent event) {
+        for (String recipient : recipients) {
+            try {
+                emailService.sendDeadlineDigestEmail(recipient, event.day(), event.notifications());
+            } catch (Exception e) {
+                log.warn("Deadline digest to {} failed: {}", recipient, e.getMessage());
+            }
+        }
+    }
+}
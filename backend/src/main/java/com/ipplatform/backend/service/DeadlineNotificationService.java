@@ -0,0 +1,342 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.model.IpAsset;
+import com.ipplatform.backend.repository.IpAssetRepository;
+import com.ipplatform.backend.service.LegalStatusService.AlertType;
+import com.ipplatform.backend.service.deadline.DayTimingWheel;
+import com.ipplatform.backend.service.deadline.DeadlineNotification;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Fires expiry and renewal notifications as asset deadlines come within the
+ * configured thresholds (ip.deadlines.thresholds-days, default 90, 30, 7).
+ *
+ * Every tracked deadline has one entry in a {@link DayTimingWheel} — the next
+ * threshold it will cross, packed into a long. The wheel is loaded once in the
+ * background when the application is ready (keyset scan of assets with a
+ * future expiry or renewal date) and from then on only changes through
+ * {@link IpAssetSavedEvent}s: a new or moved deadline schedules a fresh entry,
+ * and the superseded one is left to be dropped when it fires, because fired
+ * entries are re-checked against the row before anything is sent.
+ *
+ * The daily tick advances the wheel to today, publishes one
+ * {@link DeadlineThresholdEvent} with that day's crossings and schedules each
+ * deadline's next threshold. A deadline saved when it is already inside a
+ * threshold is notified at the next tick for the tightest one.
+ *
+ * Nothing is persisted: crossings during downtime are not replayed, and a
+ * restart after the day's tick may repeat that day's notifications.
+ * Disabled by default (ip.deadlines.enabled).
+ */
+@Service
+public class DeadlineNotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadlineNotificationService.class);
+
+    // Entry layout: asset id (36 bits) | type (1) | threshold index (3) | deadline epoch day (24)
+    private static final int DAY_BITS = 24;
+    private static final int INDEX_BITS = 3;
+    private static final int TYPE_SHIFT = DAY_BITS + INDEX_BITS;
+    private static final int ID_SHIFT = TYPE_SHIFT + 1;
+    private static final long DAY_MASK = (1L << DAY_BITS) - 1;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private static final long MAX_ASSET_ID = (1L << (Long.SIZE - ID_SHIFT)) - 1;
+
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final IpAssetRepository repository;
+    private final ApplicationEventPublisher events;
+    private final boolean enabled;
+    private final int[] thresholds;   // distinct, largest first
+    private final int batchSize;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "deadline-wheel-load");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    // Guarded by this
+    private DayTimingWheel wheel;
+    private List<IpAssetSavedEvent> pending;   // saves seen while loading
+
+    public DeadlineNotificationService(IpAssetRepository repository,
+                                       ApplicationEventPublisher events,
+                                       @Value("${ip.deadlines.enabled:false}") boolean enabled,
+                                       @Value("${ip.deadlines.thresholds-days:90,30,7}") int[] thresholds,
+                                       @Value("${ip.deadlines.load-batch-size:5000}") int batchSize) {
+        this.repository = repository;
+        this.events = events;
+        this.enabled = enabled;
+        this.thresholds = IntStream.of(thresholds)
+                .filter(t -> t > 0)
+                .boxed()
+                .distinct()
+                .sorted(Comparator.reverseOrder())
+                .limit(1L << INDEX_BITS)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.batchSize = Math.max(1, batchSize);
+
+        if (this.thresholds.length == 0) {
+            throw new IllegalArgumentException("ip.deadlines.thresholds-days needs at least one positive value");
+        }
+    }
+
+    public synchronized boolean isLoaded() {
+        return wheel != null;
+    }
+
+    /** Entries in the wheel, or -1 while it is not loaded. */
+    public synchronized long scheduledEntries() {
+        return wheel == null ? -1 : wheel.size();
+    }
+
+    public int[] thresholds() {
+        return thresholds.clone();
+    }
+
+    // ── Lifecycle ─────────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) loadAsync();
+    }
+
+    @EventListener
+    public synchronized void onAssetSaved(IpAssetSavedEvent event) {
+        if (!enabled) return;
+        if (pending != null) pending.add(event);
+        if (wheel != null) track(wheel, event);
+    }
+
+    /** Bulk writes bypass save events — reload the wheel to pick them up. */
+    @EventListener
+    public void onAssetsBulkLoaded(IpAssetsBulkLoadedEvent event) {
+        if (enabled) loadAsync();
+    }
+
+    /** Starts a background load unless one is already running. */
+    public void loadAsync() {
+        if (!loading.compareAndSet(false, true)) return;
+        loader.execute(() -> {
+            try {
+                load();
+            } catch (Exception e) {
+                log.error("Deadline wheel load failed", e);
+                synchronized (this) {
+                    pending = null;
+                }
+            } finally {
+                loading.set(false);
+            }
+        });
+    }
+
+    private void load() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        // First load starts on yesterday so today's crossings go out at the first tick;
+        // a reload continues from the current wheel so nothing it already fired repeats
+        int startDay;
+        synchronized (this) {
+            startDay = wheel != null ? wheel.currentDay() : (int) today.toEpochDay() - 1;
+        }
+        DayTimingWheel fresh = new DayTimingWheel(startDay, this::fireDay);
+        long lastId = 0;
+        int count = 0;
+
+        while (true) {
+            List<IpAssetRepository.DeadlineDates> batch =
+                    repository.findDeadlinesAfter(lastId, today, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) break;
+            for (IpAssetRepository.DeadlineDates row : batch) {
+                schedule(fresh, row.getId(), AlertType.EXPIRY, row.getExpiryDate(), false);
+                schedule(fresh, row.getId(), AlertType.RENEWAL, row.getRenewalDate(), false);
+            }
+            count += batch.size();
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+
+        synchronized (this) {
+            // A tick during the load advanced the old wheel past startDay. Catch up
+            // without firing again: what it already sent only needs its next threshold.
+            if (wheel != null && wheel.currentDay() > fresh.currentDay()) {
+                List<Long> alreadyFired = new ArrayList<>();
+                fresh.advanceTo(wheel.currentDay(), alreadyFired::add);
+                for (long entry : alreadyFired) {
+                    schedule(fresh, assetId(entry), type(entry), LocalDate.ofEpochDay(deadlineDay(entry)), false);
+                }
+            }
+            for (IpAssetSavedEvent event : pending) track(fresh, event);
+            pending = null;
+            wheel = fresh;
+        }
+
+        log.info("Deadline wheel loaded: {} assets, {} entries in {} ms",
+                count, fresh.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    // ── Tick ──────────────────────────────────────────────────────────────────
+
+    /**
+     * Advances the wheel to today and publishes the crossings. Fired entries
+     * are checked against the current row first; those whose deadline has
+     * moved or passed are dropped (the move scheduled its own entry).
+     */
+    @Scheduled(cron = "${ip.deadlines.tick-cron:0 0 7 * * *}")
+    public void tick() {
+        if (!enabled) return;
+
+        LocalDate today = LocalDate.now();
+        Set<Long> fired = new LinkedHashSet<>();   // a deadline saved twice may have duplicate entries
+        synchronized (this) {
+            if (wheel == null) return;
+            wheel.advanceTo((int) today.toEpochDay(), fired::add);
+        }
+        if (fired.isEmpty()) return;
+
+        Map<Long, IpAssetRepository.DeadlineRow> rows;
+        try {
+            rows = currentRows(fired);
+        } catch (Exception e) {
+            // Put them back — anything at or before the current day fires on the next tick
+            log.warn("Deadline lookup for {} entries failed, retrying next tick: {}", fired.size(), e.getMessage());
+            synchronized (this) {
+                for (long entry : fired) wheel.schedule(entry);
+            }
+            return;
+        }
+
+        List<DeadlineNotification> notifications = new ArrayList<>();
+        synchronized (this) {
+            for (long entry : fired) {
+                IpAssetRepository.DeadlineRow row = rows.get(assetId(entry));
+                if (row == null) continue;
+
+                AlertType type = type(entry);
+                LocalDate date = type == AlertType.EXPIRY ? row.getExpiryDate() : row.getRenewalDate();
+                if (date == null || date.toEpochDay() != deadlineDay(entry)) continue;
+
+                long remaining = date.toEpochDay() - today.toEpochDay();
+                if (remaining < 0) continue;
+
+                notifications.add(new DeadlineNotification(row.getId(), row.getTitle(), row.getJurisdiction(),
+                        type, date, thresholds[thresholdIndex(entry)], remaining));
+                schedule(wheel, row.getId(), type, date, false);
+            }
+        }
+
+        if (!notifications.isEmpty()) {
+            log.info("{} asset deadlines crossed a notification threshold", notifications.size());
+            events.publishEvent(new DeadlineThresholdEvent(today, List.copyOf(notifications)));
+        }
+    }
+
+    private Map<Long, IpAssetRepository.DeadlineRow> currentRows(Set<Long> entries) {
+        List<Long> ids = entries.stream().map(DeadlineNotificationService::assetId).distinct().toList();
+        Map<Long, IpAssetRepository.DeadlineRow> rows = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + LOOKUP_CHUNK));
+            for (IpAssetRepository.DeadlineRow row : repository.findDeadlinesByIdIn(chunk)) {
+                rows.put(row.getId(), row);
+            }
+        }
+        return rows;
+    }
+
+    // ── Scheduling (caller holds the wheel) ───────────────────────────────────
+
+    /** Schedules whichever deadline of the saved asset is new or has moved. */
+    private void track(DayTimingWheel target, IpAssetSavedEvent event) {
+        IpAsset asset = event.asset();
+        if (asset.getId() == null) return;
+
+        IpAssetSavedEvent.Previous previous = event.previous();
+        if (previous == null || !Objects.equals(previous.expiryDate(), asset.getExpiryDate())) {
+            schedule(target, asset.getId(), AlertType.EXPIRY, asset.getExpiryDate(), true);
+        }
+        if (previous == null || !Objects.equals(previous.renewalDate(), asset.getRenewalDate())) {
+            schedule(target, asset.getId(), AlertType.RENEWAL, asset.getRenewalDate(), true);
+        }
+    }
+
+    /**
+     * Schedules the next threshold the deadline has not crossed yet. With
+     * notifyCrossed, a deadline already inside a threshold is instead scheduled
+     * for the tightest threshold it is inside — due at once; the rest follow
+     * from there as it fires.
+     */
+    private void schedule(DayTimingWheel target, Long assetId, AlertType type, LocalDate date,
+                          boolean notifyCrossed) {
+        if (date == null || assetId == null || assetId > MAX_ASSET_ID) return;
+
+        long deadline = date.toEpochDay();
+        int day = target.currentDay();
+        if (deadline <= day || deadline > DAY_MASK) return;
+
+        int next = 0;
+        while (next < thresholds.length && deadline - thresholds[next] <= day) next++;
+
+        if (notifyCrossed && next > 0) {
+            target.schedule(pack(assetId, type, next - 1, deadline));
+        } else if (next < thresholds.length) {
+            target.schedule(pack(assetId, type, next, deadline));
+        }
+    }
+
+    private int fireDay(long entry) {
+        return (int) (deadlineDay(entry) - thresholds[thresholdIndex(entry)]);
+    }
+
+    // ── Entry packing ─────────────────────────────────────────────────────────
+
+    private static long pack(long assetId, AlertType type, int thresholdIndex, long deadlineDay) {
+        return assetId << ID_SHIFT
+                | (type == AlertType.RENEWAL ? 1L : 0L) << TYPE_SHIFT
+                | (long) thresholdIndex << DAY_BITS
+                | deadlineDay;
+    }
+
+    private static long assetId(long entry) {
+        return entry >>> ID_SHIFT;
+    }
+
+    private static AlertType type(long entry) {
+        return ((entry >>> TYPE_SHIFT) & 1L) == 1L ? AlertType.RENEWAL : AlertType.EXPIRY;
+    }
+
+    private static int thresholdIndex(long entry) {
+        return (int) ((entry >>> DAY_BITS) & INDEX_MASK);
+    }
+
+    private static long deadlineDay(long entry) {
+        return entry & DAY_MASK;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.service.deadline.DeadlineNotification;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published by {@link DeadlineNotificationService} once per tick with every
+ * deadline that crossed a notification threshold that day. Delivery channels
+ * (email digest, push) listen for it.
+ */
+public record DeadlineThresholdEvent(LocalDate day, List<DeadlineNotification> notifications) {}
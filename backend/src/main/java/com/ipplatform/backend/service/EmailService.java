@@ -1,10 +1,14 @@
 package com.ipplatform.backend.service;
 
+import com.ipplatform.backend.service.deadline.DeadlineNotification;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Service
 public class EmailService {
 
@@ -16,6 +20,9 @@ public class EmailService {
     @Value("${app.mail-from:noreply@ipplatform.com}")
     private String mailFrom;
 
+    // Longer digests are cut off with a "… and N more" line
+    private static final int DIGEST_MAX_LINES = 200;
+
     public EmailService(JavaMailSender mailSender) {
         this.mailSender = mailSender;
     }
@@ -78,6 +85,30 @@ public class EmailService {
              "— IP Intelligence Platform Team");
     }
 
+    public void sendDeadlineDigestEmail(String toEmail, LocalDate day, List<DeadlineNotification> notifications) {
+        StringBuilder body = new StringBuilder("Hi,\n\n")
+                .append(notifications.size())
+                .append(" IP asset deadline(s) came within a notification threshold on ")
+                .append(day)
+                .append(":\n\n");
+
+        int listed = Math.min(notifications.size(), DIGEST_MAX_LINES);
+        for (DeadlineNotification n : notifications.subList(0, listed)) {
+            body.append("- ").append(n.type()).append(' ').append(n.date())
+                .append(" (").append(n.daysRemaining()).append(" days) — ")
+                .append(n.title()).append(" [").append(n.jurisdiction()).append("], asset #")
+                .append(n.assetId()).append('\n');
+        }
+        if (notifications.size() > listed) {
+            body.append("… and ").append(notifications.size() - listed).append(" more\n");
+        }
+
+        body.append("\nFull list: ").append(frontendUrl).append("/legal-status\n\n")
+            .append("— IP Intelligence Platform Team");
+
+        send(toEmail, "IP Deadline Alerts — " + day, body.toString());
+    }
+
     private void send(String to, String subject, String text) {
         SimpleMailMessage msg = new SimpleMailMessage();
         msg.setFrom(mailFrom);
@@ -0,0 +1,113 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.exception.AuthException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Username / email availability across users, analysts and admins, answered
+ * from the identities table (supabase-migration-008-identities.sql).
+ *
+ * Triggers on the three account tables keep identities in step and its
+ * unique indexes reject a clashing INSERT / UPDATE, so the checks here are
+ * only for friendly error messages up front — {@link #save} turns a clash
+ * that races past them into the same {@link AuthException}.
+ *
+ * Keys are lower(username) and lower(trim(email)), so uniqueness is
+ * case-insensitive.
+ */
+@Component
+public class IdentityIndex {
+
+    private static final String AVAILABILITY = """
+        SELECT coalesce(bool_or(username_key = ?), false) AS username_taken,
+               coalesce(bool_or(email_key = ?), false)    AS email_taken
+        FROM identities
+        WHERE username_key = ? OR email_key = ?
+        """;
+
+    private static final String EMAIL_OWNER =
+            "SELECT subject_type FROM identities WHERE email_key = ?";
+
+    private static final String USERNAMES_WITH_PREFIX =
+            "SELECT username_key FROM identities WHERE username_key LIKE ? ESCAPE '\\' AND username_key ~ ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdentityIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record Availability(boolean usernameTaken, boolean emailTaken) {}
+
+    /** Whether the username and the email are taken by any account, in one query. */
+    public Availability check(String username, String email) {
+        String u = usernameKey(username), e = emailKey(email);
+        return jdbcTemplate.queryForObject(AVAILABILITY,
+                (rs, i) -> new Availability(rs.getBoolean("username_taken"), rs.getBoolean("email_taken")),
+                u, e, u, e);
+    }
+
+    /** Throws the usual AuthException if the username or email is taken. */
+    public void requireAvailable(String username, String email) {
+        Availability availability = check(username, email);
+        if (availability.usernameTaken()) throw new AuthException("Username already taken");
+        if (availability.emailTaken()) throw new AuthException("Email already registered");
+    }
+
+    public boolean emailTaken(String email) {
+        return emailOwner(email) != null;
+    }
+
+    /** "USER" | "ANALYST" | "ADMIN" owning the email, or null. */
+    public String emailOwner(String email) {
+        List<String> owners = jdbcTemplate.queryForList(EMAIL_OWNER, String.class, emailKey(email));
+        return owners.isEmpty() ? null : owners.get(0);
+    }
+
+    /**
+     * base if free, otherwise base1, base2, … — the first free one. All taken
+     * candidates come back in one prefix query. base must be [A-Za-z0-9_]*.
+     */
+    public String freeUsername(String base) {
+        String key = usernameKey(base);
+        String like = key.replace("\\", "\\\\").replace("_", "\\_").replace("%", "\\%") + "%";
+        Set<String> taken = new HashSet<>(jdbcTemplate.queryForList(
+                USERNAMES_WITH_PREFIX, String.class, like, "^" + key + "[0-9]*$"));
+
+        if (!taken.contains(key)) return base;
+        for (int suffix = 1; ; suffix++) {
+            if (!taken.contains(key + suffix)) return base + suffix;
+        }
+    }
+
+    /**
+     * Runs an account save; a username / email clash caught by the identities
+     * indexes becomes the same AuthException the up-front checks throw.
+     */
+    public <T> T save(Supplier<T> save) {
+        try {
+            return save.get();
+        } catch (DataIntegrityViolationException e) {
+            String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (detail.contains("uq_identities_username")) throw new AuthException("Username already taken");
+            if (detail.contains("uq_identities_email")) throw new AuthException("Email already registered");
+            throw e;
+        }
+    }
+
+    private static String usernameKey(String username) {
+        return username == null ? "" : username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String emailKey(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
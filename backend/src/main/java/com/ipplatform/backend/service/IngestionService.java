@@ -0,0 +1,241 @@
+package com.ipplatform.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import com.ipplatform.backend.ip.service.LensApiService;
+import com.ipplatform.backend.model.IpAsset;
+import com.ipplatform.backend.service.ingestion.IngestionJob;
+import com.ipplatform.backend.service.ingestion.IpAssetBulkWriter;
+import com.ipplatform.backend.service.ingestion.LensAssetMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk ingestion of Lens.org search results into ip_assets.
+ *
+ * A job walks a Lens.org scroll (no 10,000-result cap) page by page, maps
+ * each record with {@link LensAssetMapper}, drops Lens IDs it has already
+ * seen, and upserts the rest in JDBC batches through {@link IpAssetBulkWriter}.
+ * The next page is requested while the current one is being written, and
+ * never before — so at most one page is buffered and a slow database holds
+ * back the fetching rather than piling up pages in memory.
+ *
+ * Jobs run one at a time on a background thread, in submission order; the
+ * last retained-jobs are kept for status requests. When a job has written
+ * rows it publishes {@link IpAssetsBulkLoadedEvent} so in-memory views of
+ * ip_assets reload, since bulk writes bypass {@link IpAssetSavedEvent}.
+ */
+@Service
+public class IngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestionService.class);
+
+    // Lens.org rate limiting (429) and gateway hiccups are worth a few retries
+    private static final int PAGE_RETRIES = 3;
+    private static final Duration PAGE_RETRY_BACKOFF = Duration.ofSeconds(2);
+
+    private final LensApiService lensApiService;
+    private final IpAssetBulkWriter writer;
+    private final ApplicationEventPublisher events;
+    private final int pageSize;
+    private final String keepAlive;
+    private final int writeBatchSize;
+    private final long maxRecords;
+    private final int retainedJobs;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "asset-ingestion");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Newest last; guarded by itself
+    private final LinkedHashMap<String, IngestionJob> jobs = new LinkedHashMap<>();
+
+    public IngestionService(LensApiService lensApiService,
+                            IpAssetBulkWriter writer,
+                            ApplicationEventPublisher events,
+                            @Value("${ip.ingestion.scroll-page-size:500}") int pageSize,
+                            @Value("${ip.ingestion.scroll-keep-alive:1m}") String keepAlive,
+                            @Value("${ip.ingestion.write-batch-size:500}") int writeBatchSize,
+                            @Value("${ip.ingestion.max-records:200000}") long maxRecords,
+                            @Value("${ip.ingestion.retained-jobs:20}") int retainedJobs) {
+        this.lensApiService = lensApiService;
+        this.writer = writer;
+        this.events = events;
+        this.pageSize = Math.max(1, pageSize);
+        this.keepAlive = keepAlive;
+        this.writeBatchSize = Math.max(1, writeBatchSize);
+        this.maxRecords = Math.max(1, maxRecords);
+        this.retainedJobs = Math.max(1, retainedJobs);
+    }
+
+    /**
+     * Queues ingestion of up to limit patents matching the query (null →
+     * max-records). Returns the job at once; poll {@link #getJob} for progress.
+     */
+    public IngestionJob submit(String query, String jurisdiction, Long limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("query is required");
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+
+        long effectiveLimit = limit == null ? maxRecords : Math.min(limit, maxRecords);
+        IngestionJob job = new IngestionJob(query.trim(), jurisdiction, effectiveLimit);
+
+        synchronized (jobs) {
+            jobs.put(job.id(), job);
+            evictFinished();
+        }
+        runner.execute(() -> run(job));
+        return job;
+    }
+
+    public IngestionJob getJob(String id) {
+        synchronized (jobs) {
+            IngestionJob job = jobs.get(id);
+            if (job == null) {
+                throw new IllegalArgumentException("Ingestion job not found: " + id);
+            }
+            return job;
+        }
+    }
+
+    /** Retained jobs, newest first. */
+    public List<IngestionJob> listJobs() {
+        synchronized (jobs) {
+            List<IngestionJob> list = new ArrayList<>(jobs.values());
+            Collections.reverse(list);
+            return list;
+        }
+    }
+
+    /** Stops the job after its current page; a queued job never starts. */
+    public IngestionJob cancel(String id) {
+        IngestionJob job = getJob(id);
+        job.cancel();
+        return job;
+    }
+
+    // ── Execution ─────────────────────────────────────────────────────────────
+
+    private void run(IngestionJob job) {
+        if (job.isCancelRequested()) {
+            job.finish(IngestionJob.State.CANCELLED, null);
+            return;
+        }
+
+        job.start();
+        log.info("Ingestion {} started: query='{}' jurisdiction={} limit={}",
+                job.id(), job.query(), job.jurisdiction(), job.limit());
+
+        Set<String> seen = new HashSet<>();
+        try {
+            CompletableFuture<JsonNode> next = page(lensApiService.startPatentScrollAsync(
+                    job.query(), job.jurisdiction(), pageSize, LensAssetMapper.INCLUDE, keepAlive));
+
+            while (next != null) {
+                JsonNode response = next.join();
+                JsonNode data = response.path("data");
+                if (job.matched() < 0) job.recordMatched(response.path("total").asLong(-1));
+                if (!data.isArray() || data.isEmpty()) break;
+
+                int take = (int) Math.min(data.size(), job.limit() - job.fetched());
+                job.recordPage(take);
+
+                // Overlap: the next page is in flight while this one is written
+                String scrollId = response.path("scroll_id").asText("");
+                boolean more = !scrollId.isEmpty() && job.fetched() < job.target() && !job.isCancelRequested();
+                next = more ? page(lensApiService.continuePatentScrollAsync(scrollId, keepAlive)) : null;
+
+                write(job, data, take, seen);
+                log.debug("Ingestion {}: {} / {} records, {} written",
+                        job.id(), job.fetched(), job.target(), job.written());
+
+                if (job.isCancelRequested()) break;
+            }
+
+            job.finish(job.isCancelRequested() ? IngestionJob.State.CANCELLED : IngestionJob.State.COMPLETED, null);
+            log.info("Ingestion {} {}: {} records, {} written, {} duplicates in {} pages ({} rows/s)",
+                    job.id(), job.state(), job.fetched(), job.written(), job.duplicates(), job.pages(),
+                    String.format("%.1f", job.rowsPerSecond()));
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            job.finish(IngestionJob.State.FAILED, cause.getMessage());
+            log.error("Ingestion {} failed after {} rows: {}", job.id(), job.written(), cause.getMessage());
+        } finally {
+            if (job.written() > 0) {
+                events.publishEvent(new IpAssetsBulkLoadedEvent(job.id(), job.written()));
+            }
+        }
+    }
+
+    /** Maps the first take records, skips repeats, and writes them in batches. */
+    private void write(IngestionJob job, JsonNode data, int take, Set<String> seen) {
+        List<IpAsset> batch = new ArrayList<>(Math.min(take, writeBatchSize));
+        for (int i = 0; i < take; i++) {
+            IpAsset asset = LensAssetMapper.toAsset(data.get(i));
+            if (asset == null) {
+                job.recordSkipped();
+                continue;
+            }
+            if (!seen.add(asset.getLensId())) {
+                job.recordDuplicate();
+                continue;
+            }
+
+            batch.add(asset);
+            if (batch.size() == writeBatchSize) {
+                writer.upsert(batch);
+                job.recordWritten(batch.size());
+                batch = new ArrayList<>(writeBatchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writer.upsert(batch);
+            job.recordWritten(batch.size());
+        }
+    }
+
+    private CompletableFuture<JsonNode> page(Mono<JsonNode> call) {
+        return call
+                .retryWhen(Retry.backoff(PAGE_RETRIES, PAGE_RETRY_BACKOFF)
+                        .filter(IngestionService::retryable)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .toFuture();
+    }
+
+    private static boolean retryable(Throwable e) {
+        return e instanceof ExternalApiException x && (x.getStatusCode() == 429 || x.getStatusCode() >= 500);
+    }
+
+    private void evictFinished() {
+        Iterator<IngestionJob> it = jobs.values().iterator();
+        while (jobs.size() > retainedJobs && it.hasNext()) {
+            if (it.next().isFinished()) it.remove();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (jobs) {
+            jobs.values().forEach(IngestionJob::cancel);
+        }
+        runner.shutdown();
+    }
+}
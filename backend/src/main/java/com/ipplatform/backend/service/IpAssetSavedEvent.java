@@ -0,0 +1,19 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.model.IpAsset;
+
+import java.time.LocalDate;
+
+/**
+ * Published by {@link IpAssetService#save} after an asset has been written,
+ * so in-memory views of ip_assets (search index, counters, deadline tracking)
+ * can update incrementally instead of re-reading the table.
+ *
+ * previous holds the status and deadlines the row had before this save. It
+ * is null when the asset was newly inserted, and also when no listener that
+ * needs it is enabled — the lookup is skipped then.
+ */
+public record IpAssetSavedEvent(IpAsset asset, Previous previous) {
+
+    public record Previous(String status, LocalDate expiryDate, LocalDate renewalDate) {}
+}
@@ -2,29 +2,181 @@ package com.ipplatform.backend.service;
 
 import com.ipplatform.backend.repository.IpAssetRepository;
 import com.ipplatform.backend.model.IpAsset;
+import com.ipplatform.backend.dto.CursorPage;
 import com.ipplatform.backend.dto.IpAssetSummaryDTO;
+import com.ipplatform.backend.service.index.AssetSearchIndex;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class IpAssetService {
 
+    /**
+     * LIKE     → substring match on title / inventor (no index can serve it)
+     * FULLTEXT → ranked tsvector match on title / inventor / description (GIN index)
+     * INDEX    → BM25 match in the in-process AssetIndexService; falls back to
+     *            the default mode while the index is disabled or still building
+     */
+    public enum SearchMode { LIKE, FULLTEXT, INDEX }
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     @Autowired
     private IpAssetRepository repository;
 
+    @Autowired
+    private AssetIndexService assetIndex;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    // Used when the request doesn't name a mode
+    @Value("${ip.assets.search.default-mode:LIKE}")
+    private SearchMode defaultMode;
+
+    // Only the live legal-status counters and deadline tracking need what an update replaced
+    @Value("${ip.legal-status.counters.enabled:false}")
+    private boolean countersEnabled;
+
+    @Value("${ip.deadlines.enabled:false}")
+    private boolean deadlinesEnabled;
+
     // 🔎 Search with pagination
     public Page<IpAssetSummaryDTO> search(String keyword, int page, int size) {
+        return search(keyword, page, size, null);
+    }
+
+    public Page<IpAssetSummaryDTO> search(String keyword, int page, int size, SearchMode mode) {
+        return search(keyword, null, null, page, size, mode);
+    }
+
+    /**
+     * jurisdiction / status filters are only supported by the INDEX mode,
+     * where they are bitmap intersections.
+     */
+    public Page<IpAssetSummaryDTO> search(String keyword, String jurisdiction, String status,
+                                          int page, int size, SearchMode mode) {
         Pageable pageable = PageRequest.of(page, size);
+        boolean filtered = (jurisdiction != null && !jurisdiction.isBlank())
+                || (status != null && !status.isBlank());
+        SearchMode effective = resolveMode(mode != null ? mode : defaultMode, keyword, filtered);
+
+        if (effective == SearchMode.INDEX) {
+            return assetIndex.search(keyword, jurisdiction, status, page, size);
+        }
+        if (effective == SearchMode.FULLTEXT) {
+            return repository.fullTextSearch(keyword.trim(), pageable).map(this::toSummary);
+        }
         return repository.searchAssets(keyword, pageable);
     }
 
+    /**
+     * Keyset-paginated search. cursor is the nextCursor of the previous slice
+     * (absent for the first one); the count query only runs when includeTotal
+     * is set. LIKE pages by id, FULLTEXT by (rank, id); INDEX carries an
+     * offset into the in-memory result, which is cheap to skip there.
+     */
+    public CursorPage<IpAssetSummaryDTO> searchAfter(String keyword, String jurisdiction, String status,
+                                                     SearchMode mode, String cursor, int size,
+                                                     boolean includeTotal) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        boolean filtered = (jurisdiction != null && !jurisdiction.isBlank())
+                || (status != null && !status.isBlank());
+        SearchMode effective = resolveMode(mode != null ? mode : defaultMode, keyword, filtered);
+        String scope = "assets:" + effective;
+        PageCursor after = PageCursor.decode(cursor, scope);
+
+        switch (effective) {
+            case INDEX -> {
+                int offset = after == null ? 0 : (int) after.id();
+                AssetSearchIndex.Result result = assetIndex.searchSlice(keyword, jurisdiction, status, offset, size);
+                List<IpAssetSummaryDTO> items = result.hits().stream()
+                        .map(h -> new IpAssetSummaryDTO(h.assetId(), h.title(), h.inventor(),
+                                h.jurisdiction(), h.status()))
+                        .toList();
+                boolean more = offset + items.size() < result.total();
+                return new CursorPage<>(items,
+                        more ? new PageCursor(scope, null, offset + items.size()).encode() : null,
+                        more, includeTotal ? result.total() : null);
+            }
+            case FULLTEXT -> {
+                String query = keyword.trim();
+                List<IpAssetRepository.RankedAssetRow> rows = repository.fullTextSearchAfter(query,
+                        after == null ? null : after.sortKeyAsDouble(), after == null ? 0L : after.id(), size + 1);
+                boolean more = rows.size() > size;
+                if (more) rows = rows.subList(0, size);
+                String next = null;
+                if (more) {
+                    IpAssetRepository.RankedAssetRow last = rows.get(rows.size() - 1);
+                    next = new PageCursor(scope, Double.toString(last.getRank()), last.getId()).encode();
+                }
+                return new CursorPage<>(rows.stream().map(this::toSummary).toList(), next, more,
+                        includeTotal ? repository.countFullText(query) : null);
+            }
+            default -> {
+                String query = keyword == null ? "" : keyword;
+                List<IpAssetSummaryDTO> rows = repository.searchAssetsAfter(query,
+                        after == null ? 0L : after.id(), PageRequest.of(0, size + 1));
+                boolean more = rows.size() > size;
+                if (more) rows = rows.subList(0, size);
+                String next = more ? new PageCursor(scope, null, rows.get(rows.size() - 1).getId()).encode() : null;
+                return new CursorPage<>(List.copyOf(rows), next, more,
+                        includeTotal ? repository.countAssets(query) : null);
+            }
+        }
+    }
+
+    /**
+     * The mode a request actually runs in. INDEX falls back to the database
+     * while the index is disabled or building; FULLTEXT with a blank keyword
+     * runs as LIKE, since an empty tsquery matches nothing while LIKE '%%'
+     * lists everything.
+     */
+    private SearchMode resolveMode(SearchMode requested, String keyword, boolean filtered) {
+        if (filtered && requested != SearchMode.INDEX) {
+            throw new IllegalArgumentException("jurisdiction and status filters require mode=INDEX");
+        }
+        SearchMode effective = requested;
+        if (effective == SearchMode.INDEX && !assetIndex.isReady()) {
+            if (filtered) {
+                throw new IllegalArgumentException("Asset index is still building — retry without filters");
+            }
+            effective = defaultMode == SearchMode.INDEX ? SearchMode.LIKE : defaultMode;
+        }
+        if (effective == SearchMode.FULLTEXT && (keyword == null || keyword.isBlank())) {
+            effective = SearchMode.LIKE;
+        }
+        return effective;
+    }
+
     // ➕ Save new IP Asset
     public IpAsset save(IpAsset asset) {
-        return repository.save(asset);
+        // Listeners that keep counters or deadlines need to know what an update replaced
+        boolean needsPrevious = countersEnabled || deadlinesEnabled;
+        IpAssetSavedEvent.Previous previous = asset.getId() == null || !needsPrevious ? null
+                : repository.findStatusSnapshotById(asset.getId())
+                        .map(p -> new IpAssetSavedEvent.Previous(p.getStatus(), p.getExpiryDate(),
+                                p.getRenewalDate()))
+                        .orElse(null);
+
+        IpAsset saved = repository.save(asset);
+        events.publishEvent(new IpAssetSavedEvent(saved, previous));
+        return saved;
+    }
+
+    private IpAssetSummaryDTO toSummary(IpAssetRepository.AssetSummaryRow row) {
+        return new IpAssetSummaryDTO(row.getId(), row.getTitle(), row.getInventor(),
+                row.getJurisdiction(), row.getStatus());
     }
 
     // 📄 Get full details by ID
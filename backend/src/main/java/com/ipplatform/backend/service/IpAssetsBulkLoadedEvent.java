@@ -0,0 +1,9 @@
+package com.ipplatform.backend.service;
+
+/**
+ * Published after rows of ip_assets were written directly, not through
+ * {@link IpAssetService#save} — by {@link IngestionService} jobs and the
+ * {@link LegalStatusSyncService} — so in-memory views that follow
+ * {@link IpAssetSavedEvent}s know to reload. jobId names the writer.
+ */
+public record IpAssetsBulkLoadedEvent(String jobId, long rows) {}
@@ -0,0 +1,140 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.repository.IpAssetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * In-memory counters behind /api/legal-status/summary and /pipeline.
+ *
+ * Holds the asset count per status and a histogram of expiry dates (today
+ * onwards). Both are loaded with two GROUP BY queries, then kept current
+ * from {@link IpAssetSavedEvent}s — a save moves one asset from its previous
+ * status / expiry bucket to the new one. "Expiring within N days" is a sum
+ * over at most N+1 histogram buckets, so reads never touch the database.
+ *
+ * Writes that bypass IpAssetService (SQL, other instances) and saves racing
+ * a reload are corrected by the periodic reconcile, which reloads from the
+ * table. Disabled by default (ip.legal-status.counters.enabled); while
+ * disabled or not yet loaded, {@link #isLoaded()} is false and callers query
+ * the table directly.
+ */
+@Component
+public class LegalStatusCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(LegalStatusCounters.class);
+
+    private final IpAssetRepository repository;
+    private final boolean enabled;
+
+    // Guarded by this
+    private Map<String, Long> byStatus = new HashMap<>();
+    private TreeMap<LocalDate, Long> expiries = new TreeMap<>();
+    private boolean loaded;
+
+    public LegalStatusCounters(IpAssetRepository repository,
+                               @Value("${ip.legal-status.counters.enabled:false}") boolean enabled) {
+        this.repository = repository;
+        this.enabled = enabled;
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /** Status counts, their total, and assets expiring between from and to (inclusive). */
+    public synchronized Counts snapshot(LocalDate from, LocalDate to) {
+        long total = 0;
+        for (long count : byStatus.values()) total += count;
+
+        long expiring = 0;
+        for (long count : expiries.subMap(from, true, to, true).values()) expiring += count;
+
+        return new Counts(Map.copyOf(byStatus), total, expiring);
+    }
+
+    public record Counts(Map<String, Long> byStatus, long total, long expiring) {
+
+        public long status(String status) {
+            return byStatus.getOrDefault(status, 0L);
+        }
+    }
+
+    // ── Maintenance ───────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) reload();
+    }
+
+    @Scheduled(fixedDelayString = "${ip.legal-status.counters.reconcile-ms:600000}",
+               initialDelayString = "${ip.legal-status.counters.reconcile-ms:600000}")
+    public void reconcile() {
+        if (enabled) reload();
+    }
+
+    @EventListener
+    public synchronized void onAssetSaved(IpAssetSavedEvent event) {
+        if (!loaded) return;
+
+        IpAssetSavedEvent.Previous previous = event.previous();
+        if (previous != null) {
+            decrement(byStatus, key(previous.status()));
+            if (previous.expiryDate() != null) decrement(expiries, previous.expiryDate());
+        }
+
+        byStatus.merge(key(event.asset().getStatus()), 1L, Long::sum);
+        if (event.asset().getExpiryDate() != null) expiries.merge(event.asset().getExpiryDate(), 1L, Long::sum);
+
+        // Past days can never be asked for again
+        expiries.headMap(LocalDate.now().minusDays(1)).clear();
+    }
+
+    @EventListener
+    public void onAssetsBulkLoaded(IpAssetsBulkLoadedEvent event) {
+        if (enabled) reload();
+    }
+
+    /** Reloads both counters from the table and swaps them in. */
+    public void reload() {
+        try {
+            Map<String, Long> statuses = new HashMap<>();
+            for (IpAssetRepository.StatusCount row : repository.countGroupedByStatus()) {
+                statuses.put(key(row.getStatus()), row.getTotal());
+            }
+
+            TreeMap<LocalDate, Long> dates = new TreeMap<>();
+            for (IpAssetRepository.DateCount row : repository.countGroupedByExpiryDateFrom(LocalDate.now())) {
+                dates.put(row.getDate(), row.getTotal());
+            }
+
+            synchronized (this) {
+                byStatus = statuses;
+                expiries = dates;
+                loaded = true;
+            }
+        } catch (Exception e) {
+            log.warn("Legal status counters reload failed: {}", e.getMessage());
+        }
+    }
+
+    private static <K> void decrement(Map<K, Long> counts, K key) {
+        counts.computeIfPresent(key, (k, v) -> v <= 1 ? null : v - 1);
+    }
+
+    // Assets without a status are counted under "" so the total stays right
+    private static String key(String status) {
+        return Objects.requireNonNullElse(status, "");
+    }
+}
@@ -1,34 +1,55 @@
 package com.ipplatform.backend.service;
 
+import com.ipplatform.backend.dto.AlertItemDTO;
+import com.ipplatform.backend.dto.CursorPage;
 import com.ipplatform.backend.dto.LegalStatusSummaryDTO;
 import com.ipplatform.backend.model.IpAsset;
 import com.ipplatform.backend.repository.IpAssetRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @Service
 public class LegalStatusService {
 
+    private static final int EXPIRING_SOON_DAYS = 90;
+
     private final IpAssetRepository repository;
+    private final LegalStatusCounters counters;
+    private final int defaultHorizonDays;
+    private final int maxHorizonDays;
+    private final int maxAlertPageSize;
+    private final int streamBatchSize;
 
-    public LegalStatusService(IpAssetRepository repository) {
+    public LegalStatusService(IpAssetRepository repository, LegalStatusCounters counters,
+                              @Value("${ip.legal-status.alerts.default-horizon-days:90}") int defaultHorizonDays,
+                              @Value("${ip.legal-status.alerts.max-horizon-days:3650}") int maxHorizonDays,
+                              @Value("${ip.legal-status.alerts.max-page-size:500}") int maxAlertPageSize,
+                              @Value("${ip.legal-status.alerts.stream-batch-size:500}") int streamBatchSize) {
         this.repository = repository;
+        this.counters = counters;
+        this.defaultHorizonDays = defaultHorizonDays;
+        this.maxHorizonDays = maxHorizonDays;
+        this.maxAlertPageSize = maxAlertPageSize;
+        this.streamBatchSize = Math.max(1, streamBatchSize);
     }
 
     public LegalStatusSummaryDTO getSummary() {
-        long apps = repository.countByStatus("APPLICATION");
-        long granted = repository.countByStatus("GRANTED");
-        long renewals = repository.countByStatus("RENEWAL");
-        long discontinued = repository.countByStatus("DISCONTINUED");
-
-        // Alternatively, expiring could be calculated by querying next 90 days
-        LocalDate today = LocalDate.now();
-        long dynamicExpiringSoon = repository.findByExpiryDateBetween(today, today.plusDays(90)).size();
+        LegalStatusCounters.Counts counts = currentCounts();
 
-        return new LegalStatusSummaryDTO(apps, granted, renewals, dynamicExpiringSoon, discontinued);
+        return new LegalStatusSummaryDTO(
+                counts.status("APPLICATION"),
+                counts.status("GRANTED"),
+                counts.status("RENEWAL"),
+                counts.expiring(),
+                counts.status("DISCONTINUED")
+        );
     }
 
     public Map<String, List<IpAsset>> getAlerts() {
@@ -42,20 +63,122 @@ public class LegalStatusService {
         );
     }
 
+    // ── Alert pages ───────────────────────────────────────────────────────────
+    // Projections in (date, id) order, for portfolios too large for getAlerts()
+
+    public enum AlertType { EXPIRY, RENEWAL }
+
+    /** One keyset page of alerts of a type; cursor is the previous page's nextCursor. */
+    public CursorPage<AlertItemDTO> getAlerts(AlertType type, Integer days, String cursor, int size) {
+        if (size < 1 || size > maxAlertPageSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxAlertPageSize);
+        }
+        int horizon = horizonDays(days);
+        LocalDate today = LocalDate.now();
+        String scope = "alerts:" + type + ":" + horizon;
+
+        PageCursor after = PageCursor.decode(cursor, scope);
+        LocalDate afterDate = after == null ? today.minusDays(1) : parseDate(after.sortKey());
+        long afterId = after == null ? 0L : after.id();
+
+        List<AlertItemDTO> rows = fetchAlerts(type, today, today.plusDays(horizon), afterDate, afterId, size + 1);
+        boolean more = rows.size() > size;
+        if (more) rows = rows.subList(0, size);
+
+        String next = null;
+        if (more) {
+            AlertItemDTO last = rows.get(rows.size() - 1);
+            next = new PageCursor(scope, last.getDate().toString(), last.getId()).encode();
+        }
+        return new CursorPage<>(List.copyOf(rows), next, more, null);
+    }
+
+    /**
+     * Walks every alert of the given types (null → both) within the horizon
+     * in keyset batches, handing each batch to the sink. Only one batch is on
+     * the heap at a time and no connection is held between batches.
+     */
+    public void forEachAlertBatch(AlertType type, Integer days, Consumer<List<AlertItemDTO>> sink) {
+        int horizon = horizonDays(days);
+        LocalDate today = LocalDate.now();
+        LocalDate to = today.plusDays(horizon);
+
+        List<AlertType> types = type == null ? List.of(AlertType.values()) : List.of(type);
+        for (AlertType t : types) {
+            LocalDate afterDate = today.minusDays(1);
+            long afterId = 0L;
+            while (true) {
+                List<AlertItemDTO> batch = fetchAlerts(t, today, to, afterDate, afterId, streamBatchSize);
+                if (batch.isEmpty()) break;
+                sink.accept(batch);
+                if (batch.size() < streamBatchSize) break;
+
+                AlertItemDTO last = batch.get(batch.size() - 1);
+                afterDate = last.getDate();
+                afterId = last.getId();
+            }
+        }
+    }
+
+    private List<AlertItemDTO> fetchAlerts(AlertType type, LocalDate from, LocalDate to,
+                                           LocalDate afterDate, long afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return type == AlertType.EXPIRY
+                ? repository.findExpiryAlerts(from, to, afterDate, afterId, page)
+                : repository.findRenewalAlerts(from, to, afterDate, afterId, page);
+    }
+
+    private int horizonDays(Integer days) {
+        int horizon = days != null ? days : defaultHorizonDays;
+        if (horizon < 0 || horizon > maxHorizonDays) {
+            throw new IllegalArgumentException("days must be between 0 and " + maxHorizonDays);
+        }
+        return horizon;
+    }
+
+    private LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
     public Map<String, Object> getPipeline() {
         // Pipeline logic for funnel charts (could be refined further depending on frontend needs)
-        long total = repository.count();
-        long applications = repository.countByStatus("APPLICATION");
-        long granted = repository.countByStatus("GRANTED");
-        long discontinued = repository.countByStatus("DISCONTINUED");
-        
+        LegalStatusCounters.Counts counts = currentCounts();
+
         return Map.of(
-            "total", total,
+            "total", counts.total(),
             "pipeline", Map.of(
-                "applications", applications,
-                "granted", granted,
-                "discontinued", discontinued
+                "applications", counts.status("APPLICATION"),
+                "granted", counts.status("GRANTED"),
+                "discontinued", counts.status("DISCONTINUED")
             )
         );
     }
+
+    /**
+     * Status counts and the expiring-soon count — from the in-memory counters
+     * when they are enabled and loaded, otherwise with one GROUP BY over
+     * status plus one COUNT over the expiry window.
+     */
+    private LegalStatusCounters.Counts currentCounts() {
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = today.plusDays(EXPIRING_SOON_DAYS);
+
+        if (counters.isLoaded()) {
+            return counters.snapshot(today, horizon);
+        }
+
+        Map<String, Long> byStatus = new HashMap<>();
+        long total = 0;
+        for (IpAssetRepository.StatusCount row : repository.countGroupedByStatus()) {
+            if (row.getStatus() != null) byStatus.put(row.getStatus(), row.getTotal());
+            total += row.getTotal();
+        }
+        long expiring = repository.countByExpiryDateBetween(today, horizon);
+
+        return new LegalStatusCounters.Counts(byStatus, total, expiring);
+    }
 }
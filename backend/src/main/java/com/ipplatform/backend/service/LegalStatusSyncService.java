@@ -0,0 +1,247 @@
+package com.ipplatform.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ipplatform.backend.ip.dto.PatentBatch;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import com.ipplatform.backend.ip.service.LensApiService;
+import com.ipplatform.backend.model.SyncCheckpoint;
+import com.ipplatform.backend.repository.IpAssetRepository;
+import com.ipplatform.backend.repository.SyncCheckpointRepository;
+import com.ipplatform.backend.service.ingestion.IpAssetBulkWriter;
+import com.ipplatform.backend.service.ingestion.IpAssetBulkWriter.LegalStatusUpdate;
+import com.ipplatform.backend.service.ingestion.LensAssetMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps status / legalStatusCode / grant and expiry dates of ingested assets
+ * (lens_id set) in line with Lens.org, off the request path.
+ *
+ * Each scheduled run walks ip_assets in id order from the stored checkpoint,
+ * batch-size Lens IDs per Lens.org terms query, and compares the returned
+ * legal_status with the row. Only rows that differ are written, in one JDBC
+ * batch per query. The checkpoint is saved after every batch, so a run that
+ * stops — max-batches-per-run reached, a Lens.org error or rate limit, a
+ * restart — resumes where it left off; a pass that reaches the end starts
+ * over from id 0 on the next run.
+ *
+ * Runs execute on their own thread: the scheduler only hands them off, so
+ * a run paced over many minutes never holds up Spring's single scheduling
+ * thread and the other @Scheduled jobs on it.
+ *
+ * Lens.org calls are spaced to stay under requests-per-minute. The local
+ * status is only replaced when Lens.org's patent_status has changed, so a
+ * manually set status (e.g. RENEWAL) survives as long as Lens.org agrees.
+ * Disabled by default (ip.legal-status.sync.enabled).
+ */
+@Service
+public class LegalStatusSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(LegalStatusSyncService.class);
+
+    static final String CHECKPOINT = "legal-status-sync";
+
+    private static final List<String> SYNC_INCLUDE = List.of("lens_id", "legal_status");
+
+    private final IpAssetRepository repository;
+    private final SyncCheckpointRepository checkpoints;
+    private final LensApiService lensApiService;
+    private final IpAssetBulkWriter writer;
+    private final ApplicationEventPublisher events;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long callIntervalNanos;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "legal-status-sync");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile RunStats lastRun;
+
+    public LegalStatusSyncService(IpAssetRepository repository,
+                                  SyncCheckpointRepository checkpoints,
+                                  LensApiService lensApiService,
+                                  IpAssetBulkWriter writer,
+                                  ApplicationEventPublisher events,
+                                  @Value("${ip.legal-status.sync.enabled:false}") boolean enabled,
+                                  @Value("${ip.legal-status.sync.batch-size:100}") int batchSize,
+                                  @Value("${ip.legal-status.sync.max-batches-per-run:200}") int maxBatchesPerRun,
+                                  @Value("${ip.legal-status.sync.requests-per-minute:30}") int requestsPerMinute) {
+        this.repository = repository;
+        this.checkpoints = checkpoints;
+        this.lensApiService = lensApiService;
+        this.writer = writer;
+        this.events = events;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.callIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requestsPerMinute);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Stats of the last finished run, or null before the first one. */
+    public RunStats lastRun() {
+        return lastRun;
+    }
+
+    public Optional<SyncCheckpoint> checkpoint() {
+        return checkpoints.findById(CHECKPOINT);
+    }
+
+    public record RunStats(Instant startedAt, Instant finishedAt, int batches, int checked, int changed,
+                           int missing, boolean passCompleted, String stoppedBy) {}
+
+    // ── Run ───────────────────────────────────────────────────────────────────
+
+    @Scheduled(fixedDelayString = "${ip.legal-status.sync.interval-ms:3600000}",
+               initialDelayString = "${ip.legal-status.sync.initial-delay-ms:300000}")
+    public void scheduledRun() {
+        if (enabled && !running.get()) runner.execute(this::run);
+    }
+
+    /** One run from the checkpoint; returns null if a run is already in progress. */
+    public RunStats run() {
+        if (!running.compareAndSet(false, true)) return null;
+        try {
+            RunStats stats = sync();
+            lastRun = stats;
+            log.info("Legal status sync: {} batches, {} checked, {} changed, {} missing on Lens.org{}",
+                    stats.batches(), stats.checked(), stats.changed(), stats.missing(),
+                    stats.passCompleted() ? ", pass complete" : "");
+            return stats;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** Interrupts a run that is waiting out the rate limit; the checkpoint is already saved. */
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    private RunStats sync() {
+        Instant started = Instant.now();
+        SyncCheckpoint checkpoint = checkpoints.findById(CHECKPOINT).orElseGet(() -> new SyncCheckpoint(CHECKPOINT));
+        if (checkpoint.getPassStartedAt() == null) checkpoint.setPassStartedAt(started);
+
+        int batches = 0, checked = 0, changed = 0, missing = 0;
+        boolean passCompleted = false;
+        String stoppedBy = null;
+        long lastCall = 0;
+
+        while (batches < maxBatchesPerRun) {
+            List<IpAssetRepository.LegalStatusRow> rows =
+                    repository.findLegalStatusBatch(checkpoint.getLastId(), PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) {
+                checkpoint.setLastId(0);
+                checkpoint.setLastPassAt(Instant.now());
+                checkpoint.setPassStartedAt(null);
+                passCompleted = true;
+                break;
+            }
+
+            if (!pace(lastCall)) {
+                stoppedBy = "interrupted";
+                break;
+            }
+
+            PatentBatch batch;
+            try {
+                lastCall = System.nanoTime();
+                batch = lensApiService.getPatentsByLensIdsAsync(lensIds(rows), SYNC_INCLUDE, false).block();
+            } catch (ExternalApiException e) {
+                // Rate limited or Lens.org down — keep the checkpoint and try again next run
+                stoppedBy = e.getMessage();
+                log.warn("Legal status sync stopped at asset id {}: {}", checkpoint.getLastId(), e.getMessage());
+                break;
+            }
+            if (!batch.failed().isEmpty()) {
+                // Part of the batch failed — don't move the checkpoint past it
+                stoppedBy = batch.failed().size() + " Lens IDs could not be fetched";
+                log.warn("Legal status sync stopped at asset id {}: {}", checkpoint.getLastId(), stoppedBy);
+                break;
+            }
+
+            List<LegalStatusUpdate> updates = new ArrayList<>();
+            for (IpAssetRepository.LegalStatusRow row : rows) {
+                JsonNode patent = batch.found().get(row.getLensId().trim());
+                if (patent == null) {
+                    missing++;
+                    continue;
+                }
+                LegalStatusUpdate update = diff(row, LensAssetMapper.legalStatus(patent));
+                if (update != null) updates.add(update);
+            }
+            writer.updateLegalStatus(updates);
+
+            batches++;
+            checked += rows.size();
+            changed += updates.size();
+
+            checkpoint.setLastId(rows.get(rows.size() - 1).getId());
+            checkpoint.setUpdatedAt(Instant.now());
+            checkpoints.save(checkpoint);
+        }
+
+        checkpoint.setUpdatedAt(Instant.now());
+        checkpoints.save(checkpoint);
+
+        if (changed > 0) {
+            events.publishEvent(new IpAssetsBulkLoadedEvent(CHECKPOINT, changed));
+        }
+        return new RunStats(started, Instant.now(), batches, checked, changed, missing, passCompleted, stoppedBy);
+    }
+
+    /** The update that brings the row in line with Lens.org, or null when nothing differs. */
+    private LegalStatusUpdate diff(IpAssetRepository.LegalStatusRow row, LensAssetMapper.LegalStatus lens) {
+        boolean codeChanged = !Objects.equals(row.getLegalStatusCode(), lens.code());
+        if (!codeChanged
+                && Objects.equals(row.getGrantDate(), lens.grantDate())
+                && Objects.equals(row.getExpiryDate(), lens.expiryDate())) {
+            return null;
+        }
+        return new LegalStatusUpdate(row.getId(),
+                codeChanged ? lens.status() : row.getStatus(),
+                lens.code(), lens.grantDate(), lens.expiryDate());
+    }
+
+    private List<String> lensIds(List<IpAssetRepository.LegalStatusRow> rows) {
+        List<String> ids = new ArrayList<>(rows.size());
+        for (IpAssetRepository.LegalStatusRow row : rows) ids.add(row.getLensId());
+        return ids;
+    }
+
+    /** Sleeps until the next Lens.org call is allowed; false if interrupted. */
+    private boolean pace(long lastCall) {
+        if (lastCall == 0) return true;
+        long wait = callIntervalNanos - (System.nanoTime() - lastCall);
+        if (wait <= 0) return true;
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
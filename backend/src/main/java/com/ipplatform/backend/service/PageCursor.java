@@ -0,0 +1,47 @@
+package com.ipplatform.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated result: the sort key and id of the last
+ * row returned. Handed to clients as an opaque URL-safe token.
+ *
+ * The scope names the query shape the cursor belongs to (e.g. "assets:FULLTEXT"),
+ * so a token from one ordering can't be replayed against another.
+ * sortKey is null when the ordering is by id alone.
+ */
+public record PageCursor(String scope, String sortKey, long id) {
+
+    private static final String VERSION = "1";
+
+    public String encode() {
+        String raw = VERSION + "|" + scope + "|" + (sortKey == null ? "" : sortKey) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Null for a null/blank token (first page); IllegalArgumentException for a malformed or foreign one. */
+    public static PageCursor decode(String token, String expectedScope) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4 || !VERSION.equals(parts[0]) || !parts[1].equals(expectedScope)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(parts[1], parts[2].isEmpty() ? null : parts[2], Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            // Also covers bad Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /** Sort key as a double — for score/rank orderings. */
+    public Double sortKeyAsDouble() {
+        try {
+            return sortKey == null ? null : Double.valueOf(sortKey);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
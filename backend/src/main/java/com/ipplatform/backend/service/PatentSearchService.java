@@ -0,0 +1,150 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.dto.CursorPage;
+import com.ipplatform.backend.dto.PatentMatchDTO;
+import com.ipplatform.backend.model.Patent;
+import com.ipplatform.backend.repository.PatentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search over the local patents table.
+ *
+ * LIKE  → case-insensitive substring filters (the original behaviour)
+ * FUZZY → pg_trgm word-similarity matching on title / inventor / assignee,
+ *         ranked by similarity, with a minimum-similarity cut-off
+ *
+ * Both modes are always paginated — by page number ({@link #search}) or by
+ * cursor ({@link #searchAfter}); size is capped at max-page-size.
+ */
+@Service
+public class PatentSearchService {
+
+    public enum Mode { LIKE, FUZZY }
+
+    private final PatentRepository repository;
+    private final double defaultMinSimilarity;
+    private final int maxPageSize;
+
+    public PatentSearchService(PatentRepository repository,
+                               @Value("${ip.patents.search.min-similarity:0.5}") double defaultMinSimilarity,
+                               @Value("${ip.patents.search.max-page-size:100}") int maxPageSize) {
+        this.repository = repository;
+        this.defaultMinSimilarity = defaultMinSimilarity;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * The threshold is set with set_config(..., true) and the search runs in
+     * the same transaction, so the setting never leaks to other requests
+     * sharing the pooled connection.
+     */
+    @Transactional(readOnly = true)
+    public Page<PatentMatchDTO> search(String keyword, String inventor, String assignee, String jurisdiction,
+                                       Mode mode, Double minSimilarity, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxPageSize);
+        }
+        Pageable pageable = PageRequest.of(page, size);
+
+        if (mode == Mode.FUZZY) {
+            String k = lower(keyword), i = lower(inventor), a = lower(assignee);
+            applyThreshold(k, i, a, minSimilarity);
+
+            return repository.fuzzySearch(k, i, a, upper(jurisdiction), pageable).map(this::fromRow);
+        }
+
+        return repository.searchPatents(blankToNull(keyword), blankToNull(inventor),
+                        blankToNull(assignee), blankToNull(jurisdiction), pageable)
+                .map(this::fromPatent);
+    }
+
+    /**
+     * Keyset-paginated variant of {@link #search}: LIKE pages by id, FUZZY by
+     * (score, id). cursor is the previous slice's nextCursor; the count query
+     * only runs when includeTotal is set.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PatentMatchDTO> searchAfter(String keyword, String inventor, String assignee,
+                                                  String jurisdiction, Mode mode, Double minSimilarity,
+                                                  String cursor, int size, boolean includeTotal) {
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxPageSize);
+        }
+        String scope = "patents:" + mode;
+        PageCursor after = PageCursor.decode(cursor, scope);
+
+        if (mode == Mode.FUZZY) {
+            String k = lower(keyword), i = lower(inventor), a = lower(assignee), j = upper(jurisdiction);
+            applyThreshold(k, i, a, minSimilarity);
+
+            List<PatentRepository.PatentMatchRow> rows = repository.fuzzySearchAfter(k, i, a, j,
+                    after == null ? null : after.sortKeyAsDouble(), after == null ? 0L : after.id(), size + 1);
+            boolean more = rows.size() > size;
+            if (more) rows = rows.subList(0, size);
+            String next = null;
+            if (more) {
+                PatentRepository.PatentMatchRow last = rows.get(rows.size() - 1);
+                next = new PageCursor(scope, Double.toString(last.getScore()), last.getId()).encode();
+            }
+            return new CursorPage<>(rows.stream().map(this::fromRow).toList(), next, more,
+                    includeTotal ? repository.countFuzzy(k, i, a, j) : null);
+        }
+
+        String k = blankToNull(keyword), i = blankToNull(inventor), a = blankToNull(assignee),
+                j = blankToNull(jurisdiction);
+        List<Patent> rows = repository.searchPatentsAfter(k, i, a, j,
+                after == null ? 0L : after.id(), PageRequest.of(0, size + 1));
+        boolean more = rows.size() > size;
+        if (more) rows = rows.subList(0, size);
+        String next = more ? new PageCursor(scope, null, rows.get(rows.size() - 1).getId()).encode() : null;
+        return new CursorPage<>(rows.stream().map(this::fromPatent).toList(), next, more,
+                includeTotal ? repository.countPatents(k, i, a, j) : null);
+    }
+
+    /** Validates the fuzzy filters and sets the transaction-local similarity cut-off. */
+    private void applyThreshold(String keyword, String inventor, String assignee, Double minSimilarity) {
+        if (keyword == null && inventor == null && assignee == null) {
+            throw new IllegalArgumentException("Fuzzy search needs keyword, inventor or assignee");
+        }
+        double threshold = minSimilarity != null ? minSimilarity : defaultMinSimilarity;
+        if (threshold < 0 || threshold > 1) {
+            throw new IllegalArgumentException("minSimilarity must be between 0 and 1");
+        }
+        repository.setWordSimilarityThreshold(threshold);
+    }
+
+    private PatentMatchDTO fromRow(PatentRepository.PatentMatchRow row) {
+        return new PatentMatchDTO(row.getId(), row.getTitle(), row.getInventor(),
+                row.getAssignee(), row.getJurisdiction(), row.getScore());
+    }
+
+    private PatentMatchDTO fromPatent(Patent p) {
+        return new PatentMatchDTO(p.getId(), p.getTitle(), p.getInventor(), p.getAssignee(),
+                p.getJurisdiction(), null);
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private String lower(String value) {
+        String v = blankToNull(value);
+        return v == null ? null : v.toLowerCase(Locale.ROOT);
+    }
+
+    private String upper(String value) {
+        String v = blankToNull(value);
+        return v == null ? null : v.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,243 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.model.RefreshToken;
+import com.ipplatform.backend.repository.RefreshTokenRepository;
+import com.ipplatform.backend.security.DigestBloomFilter;
+import com.ipplatform.backend.security.JwtUtil;
+import com.ipplatform.backend.security.TokenDigest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues, redeems and revokes DB-backed refresh tokens by the SHA-256 digest
+ * of the signed JWT (refresh_tokens.token_hash).
+ *
+ * Redeeming and revoking are single set-based UPDATE … RETURNING statements,
+ * so rotation is one round trip and two concurrent refreshes of the same
+ * token cannot both succeed.
+ *
+ * Before touching the database, tokens are pre-checked in memory:
+ *   - a signature / type check rejects anything that is not our refresh JWT;
+ *   - a Bloom filter of the live digests, loaded at startup and rebuilt after
+ *     the nightly cleanup, rejects tokens that were never issued;
+ *   - digests revoked here since the last rebuild are rejected outright.
+ * The database stays the authority for everything that passes. The filter
+ * only sees tokens issued by this instance, so it must stay disabled when
+ * several instances share the table (jwt.refresh-filter.enabled).
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final String REDEEM = """
+        UPDATE refresh_tokens SET revoked = true
+        WHERE token_hash = ? AND subject_type = ? AND NOT revoked AND expires_at > ?
+        RETURNING subject_id, remember_me
+        """;
+
+    private static final String REVOKE = """
+        UPDATE refresh_tokens SET revoked = true
+        WHERE token_hash = ? AND NOT revoked
+        RETURNING subject_type, subject_id
+        """;
+
+    private static final String FIND_SUBJECT =
+            "SELECT subject_type, subject_id FROM refresh_tokens WHERE token_hash = ?";
+
+    private static final String LIVE_DIGESTS =
+            "SELECT token_hash FROM refresh_tokens WHERE NOT revoked AND expires_at > ?";
+
+    private final RefreshTokenRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JwtUtil jwtUtil;
+    private final boolean filterEnabled;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final int maxRevoked;
+
+    // Null until loaded (or when disabled) — then every token goes to the database
+    private volatile DigestBloomFilter live;
+    // Digests issued while a reload reads the table; guarded by reloadLock
+    private final Object reloadLock = new Object();
+    private List<byte[]> issuedDuringReload;
+    // Digests revoked since the filter was built → subject, for reuse detection
+    private final ConcurrentHashMap<String, Subject> revoked = new ConcurrentHashMap<>();
+
+    public RefreshTokenService(RefreshTokenRepository repository,
+                               JdbcTemplate jdbcTemplate,
+                               JwtUtil jwtUtil,
+                               @Value("${jwt.refresh-filter.enabled:false}") boolean filterEnabled,
+                               @Value("${jwt.refresh-filter.expected-entries:100000}") int expectedEntries,
+                               @Value("${jwt.refresh-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${jwt.refresh-filter.max-revoked:100000}") int maxRevoked) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jwtUtil = jwtUtil;
+        this.filterEnabled = filterEnabled;
+        this.expectedEntries = Math.max(1, expectedEntries);
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxRevoked = maxRevoked;
+    }
+
+    public record Subject(String type, Long id) {}
+
+    /**
+     * Outcome of a refresh:
+     *   REDEEMED → the token was live and is now revoked; subjectId / rememberMe set
+     *   UNKNOWN  → not a refresh token we issued (for this subject type)
+     *   SPENT    → issued, but already revoked or expired; subjectId set if known
+     */
+    public record Redemption(Status status, Long subjectId, boolean rememberMe) {
+
+        public enum Status { REDEEMED, UNKNOWN, SPENT }
+
+        static Redemption unknown() {
+            return new Redemption(Status.UNKNOWN, null, false);
+        }
+    }
+
+    // ── Issue ─────────────────────────────────────────────────────────────────
+
+    public void issue(String rawToken, String subjectType, Long subjectId, String username,
+                      Instant expiresAt, boolean rememberMe) {
+        byte[] digest = TokenDigest.sha256(rawToken);
+        repository.save(new RefreshToken(digest, subjectType, subjectId, username, expiresAt, rememberMe));
+
+        // Before commit is fine — a rolled-back token is just a false positive
+        synchronized (reloadLock) {
+            if (issuedDuringReload != null) issuedDuringReload.add(digest);
+            DigestBloomFilter filter = live;
+            if (filter != null) filter.add(digest);
+        }
+    }
+
+    // ── Redeem / revoke ───────────────────────────────────────────────────────
+
+    /** Revokes the token if it is a live refresh token of subjectType, in one statement. */
+    public Redemption redeem(String rawToken, String subjectType) {
+        if (!jwtUtil.isRefreshToken(rawToken)) return Redemption.unknown();
+
+        byte[] digest = TokenDigest.sha256(rawToken);
+        String key = TokenDigest.key(digest);
+
+        Subject gone = revoked.get(key);
+        if (gone != null) {
+            return subjectType.equals(gone.type())
+                    ? new Redemption(Redemption.Status.SPENT, gone.id(), false)
+                    : Redemption.unknown();
+        }
+        DigestBloomFilter filter = live;
+        if (filter != null && !filter.mightContain(digest)) return Redemption.unknown();
+
+        List<Redemption> rows = jdbcTemplate.query(REDEEM,
+                (rs, i) -> new Redemption(Redemption.Status.REDEEMED, rs.getLong("subject_id"),
+                        rs.getBoolean("remember_me")),
+                digest, subjectType, Timestamp.from(Instant.now()));
+        if (!rows.isEmpty()) {
+            rememberRevoked(key, new Subject(subjectType, rows.get(0).subjectId()));
+            return rows.get(0);
+        }
+
+        // Failure path only: tell "never issued / other subject type" from "already used"
+        List<Subject> found = jdbcTemplate.query(FIND_SUBJECT,
+                (rs, i) -> new Subject(rs.getString("subject_type"), rs.getLong("subject_id")), digest);
+        if (found.isEmpty() || !subjectType.equals(found.get(0).type())) return Redemption.unknown();
+        return new Redemption(Redemption.Status.SPENT, found.get(0).id(), false);
+    }
+
+    /** Revokes the token if it is live; unknown tokens are ignored. */
+    public void revoke(String rawToken) {
+        if (!jwtUtil.isRefreshToken(rawToken)) return;
+
+        byte[] digest = TokenDigest.sha256(rawToken);
+        String key = TokenDigest.key(digest);
+        if (revoked.containsKey(key)) return;
+        DigestBloomFilter filter = live;
+        if (filter != null && !filter.mightContain(digest)) return;
+
+        List<Subject> rows = jdbcTemplate.query(REVOKE,
+                (rs, i) -> new Subject(rs.getString("subject_type"), rs.getLong("subject_id")), digest);
+        if (!rows.isEmpty()) rememberRevoked(key, rows.get(0));
+    }
+
+    /** Revokes every live token of the subject (password change / reset, token reuse). */
+    public void revokeAll(String subjectType, Long subjectId) {
+        repository.revokeAllBySubject(subjectType, subjectId);
+    }
+
+    // Only once the revocation has committed — a rolled-back one must not reject the token
+    private void rememberRevoked(String key, Subject subject) {
+        if (live == null) return;
+        Runnable remember = () -> {
+            if (revoked.size() < maxRevoked) revoked.put(key, subject);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember.run();
+                }
+            });
+        } else {
+            remember.run();
+        }
+    }
+
+    // ── Filter maintenance ────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (filterEnabled) reloadFilter();
+    }
+
+    /**
+     * Rebuilds the filter from the live rows. Tokens issued while the rows are
+     * read are added to the old filter and replayed into the new one.
+     */
+    public void reloadFilter() {
+        if (!filterEnabled) return;
+        synchronized (reloadLock) {
+            issuedDuringReload = new ArrayList<>();
+        }
+        try {
+            List<byte[]> digests = new ArrayList<>();
+            jdbcTemplate.query(LIVE_DIGESTS, rs -> {
+                digests.add(rs.getBytes(1));
+            }, Timestamp.from(Instant.now()));
+
+            DigestBloomFilter filter = new DigestBloomFilter(
+                    Math.max(expectedEntries, digests.size() * 2), falsePositiveRate);
+            for (byte[] digest : digests) filter.add(digest);
+
+            // A revocation racing the read may be lost here; the database still rejects it
+            synchronized (reloadLock) {
+                for (byte[] digest : issuedDuringReload) filter.add(digest);
+                issuedDuringReload = null;
+                live = filter;
+                revoked.clear();
+            }
+            log.info("Refresh token filter loaded: {} live tokens, {} KB", digests.size(), filter.sizeInBytes() / 1024);
+        } catch (Exception e) {
+            synchronized (reloadLock) {
+                issuedDuringReload = null;
+                live = null;
+                revoked.clear();
+            }
+            log.warn("Refresh token filter reload failed, checking tokens in the database: {}", e.getMessage());
+        }
+    }
+}
@@ -2,17 +2,17 @@ package com.ipplatform.backend.service;
 
 import com.ipplatform.backend.exception.AuthException;
 import com.ipplatform.backend.model.PasswordResetToken;
-import com.ipplatform.backend.model.RefreshToken;
 import com.ipplatform.backend.model.User;
-import com.ipplatform.backend.repository.AnalystRepository;
 import com.ipplatform.backend.repository.PasswordResetTokenRepository;
-import com.ipplatform.backend.repository.RefreshTokenRepository;
 import com.ipplatform.backend.repository.UserRepository;
 import com.ipplatform.backend.security.JwtUtil;
+import com.ipplatform.backend.security.LoginThrottle;
+import com.ipplatform.backend.security.PasswordHasher;
+import com.ipplatform.backend.service.RefreshTokenService.Redemption;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
@@ -24,8 +24,8 @@ import java.util.UUID;
  * Handles USER registration, login, and password management exclusively.
  * Users are immediately ACTIVE after registration — no approval needed.
  *
- * Cross-table uniqueness: username and email are checked against BOTH
- * the users AND analysts tables to prevent conflicts.
+ * Cross-table uniqueness: username and email are unique across users,
+ * analysts and admins through the identities table ({@link IdentityIndex}).
  */
 @Service
 @Transactional
@@ -41,30 +41,33 @@ public class UserService {
     private int passwordResetMinutes;
 
     private final UserRepository              userRepository;
-    private final AnalystRepository           analystRepository;
-    private final RefreshTokenRepository      refreshTokenRepository;
+    private final RefreshTokenService         refreshTokenService;
     private final PasswordResetTokenRepository resetTokenRepository;
-    private final PasswordEncoder             passwordEncoder;
+    private final PasswordHasher              passwordHasher;
+    private final LoginThrottle               loginThrottle;
     private final JwtUtil                     jwtUtil;
     private final EmailService                emailService;
     private final AdminLogService             logService;
+    private final IdentityIndex               identityIndex;
 
     public UserService(UserRepository userRepository,
-                       AnalystRepository analystRepository,
-                       RefreshTokenRepository refreshTokenRepository,
+                       RefreshTokenService refreshTokenService,
                        PasswordResetTokenRepository resetTokenRepository,
-                       PasswordEncoder passwordEncoder,
+                       PasswordHasher passwordHasher,
+                       LoginThrottle loginThrottle,
                        JwtUtil jwtUtil,
                        EmailService emailService,
-                       AdminLogService logService) {
+                       AdminLogService logService,
+                       IdentityIndex identityIndex) {
         this.userRepository         = userRepository;
-        this.analystRepository      = analystRepository;
-        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshTokenService    = refreshTokenService;
         this.resetTokenRepository   = resetTokenRepository;
-        this.passwordEncoder        = passwordEncoder;
+        this.passwordHasher         = passwordHasher;
+        this.loginThrottle          = loginThrottle;
         this.jwtUtil                = jwtUtil;
         this.emailService           = emailService;
         this.logService             = logService;
+        this.identityIndex          = identityIndex;
     }
 
     // ── Register ──────────────────────────────────────────────────────────────
@@ -72,26 +75,24 @@ public class UserService {
     /**
      * POST /api/user/register
      * Creates a USER account. Active immediately — no approval needed.
-     * Checks uniqueness across BOTH users and analysts tables.
+     * Username / email must be free across users, analysts and admins —
+     * one identities query up front, enforced again by the database on insert.
      */
     public void register(String username, String email, String password, String name) {
-        if (userRepository.existsByUsername(username) || analystRepository.existsByUsername(username))
-            throw new AuthException("Username already taken");
-        if (userRepository.existsByEmail(email) || analystRepository.existsByEmail(email))
-            throw new AuthException("Email already registered");
+        identityIndex.requireAvailable(username, email);
 
         validatePassword(password);
 
         User user = new User();
         user.setUsername(username);
         user.setEmail(email);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(passwordHasher.encode(password));
         user.setName(name != null && !name.isBlank() ? name : username);
         user.setProvider("LOCAL");
         user.setRoles(List.of("ROLE_USER"));
         user.setStatus("ACTIVE");
 
-        userRepository.save(user);
+        identityIndex.save(() -> userRepository.save(user));
 
         logService.log("USER_REGISTERED", username, "USER",
                 user.getId() != null ? user.getId().toString() : null,
@@ -138,16 +139,15 @@ public class UserService {
 
         if (user == null) {
             // 3a. Auto-register — check cross-table uniqueness on email
-            if (analystRepository.existsByEmail(email))
+            String owner = identityIndex.emailOwner(email);
+            if ("ANALYST".equals(owner))
                 throw new AuthException("This email is already registered as an Analyst account.");
+            if (owner != null)
+                throw new AuthException("This email is already registered to another account.");
 
-            // Derive a unique username from email local-part
+            // Derive a unique username from email local-part (one prefix query)
             String base     = email.split("@")[0].replaceAll("[^a-zA-Z0-9_]", "");
-            String username = base;
-            int suffix = 1;
-            while (userRepository.existsByUsername(username) || analystRepository.existsByUsername(username)) {
-                username = base + suffix++;
-            }
+            String username = identityIndex.freeUsername(base);
 
             user = new User();
             user.setUsername(username);
@@ -158,7 +158,8 @@ public class UserService {
             user.setProviderId(googleId);
             user.setRoles(List.of("ROLE_USER"));
             user.setStatus("ACTIVE");
-            userRepository.save(user);
+            User created = user;
+            identityIndex.save(() -> userRepository.save(created));
 
             try { emailService.sendWelcomeEmail(email, name); } catch (Exception ignored) {}
 
@@ -176,16 +177,26 @@ public class UserService {
     /**
      * POST /api/user/login
      * Issues tokens only if status = ACTIVE.
+     * Runs outside a transaction so no connection is held while BCrypt runs.
      */
-    public TokenPair login(String username, String password, boolean rememberMe) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new AuthException("Invalid username or password"));
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TokenPair login(String username, String password, boolean rememberMe, String clientIp) {
+        loginThrottle.acquire(username, clientIp);
+
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            loginThrottle.failed(username, clientIp);
+            throw new AuthException("Invalid username or password");
+        }
 
         if (user.getPassword() == null)
             throw new AuthException("This account uses Google login. Please sign in with Google.");
 
-        if (!passwordEncoder.matches(password, user.getPassword()))
+        if (!passwordHasher.matches(password, user.getPassword())) {
+            loginThrottle.failed(username, clientIp);
             throw new AuthException("Invalid username or password");
+        }
+        loginThrottle.succeeded(username, clientIp);
 
         if (!"ACTIVE".equals(user.getStatus()))
             throw new AuthException("Your account has been suspended. Contact support.");
@@ -196,33 +207,26 @@ public class UserService {
     // ── Refresh ───────────────────────────────────────────────────────────────
 
     public TokenPair refresh(String rawToken) {
-        RefreshToken stored = refreshTokenRepository.findByToken(rawToken)
-                .orElseThrow(() -> new AuthException("Invalid refresh token"));
+        Redemption stored = refreshTokenService.redeem(rawToken, "USER");
 
-        if (!"USER".equals(stored.getSubjectType()))
-            throw new AuthException("Invalid token for this endpoint");
+        if (stored.status() == Redemption.Status.UNKNOWN)
+            throw new AuthException("Invalid refresh token");
 
-        if (!stored.isValid()) {
-            refreshTokenRepository.revokeAllBySubject("USER", stored.getSubjectId());
+        if (stored.status() == Redemption.Status.SPENT) {
+            refreshTokenService.revokeAll("USER", stored.subjectId());
             throw new AuthException("Refresh token expired. Please log in again.");
         }
 
-        stored.setRevoked(true);
-        refreshTokenRepository.save(stored);
-
-        User user = userRepository.findById(stored.getSubjectId())
+        User user = userRepository.findById(stored.subjectId())
                 .orElseThrow(() -> new AuthException("User not found"));
 
-        return issueTokens(user, stored.isRememberMe());
+        return issueTokens(user, stored.rememberMe());
     }
 
     // ── Logout ────────────────────────────────────────────────────────────────
 
     public void logout(String rawToken) {
-        refreshTokenRepository.findByToken(rawToken).ifPresent(t -> {
-            t.setRevoked(true);
-            refreshTokenRepository.save(t);
-        });
+        refreshTokenService.revoke(rawToken);
     }
 
     // ── Get current user ──────────────────────────────────────────────────────
@@ -264,13 +268,13 @@ public class UserService {
         validatePassword(newPassword);
 
         User user = resetToken.getUser();
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHasher.encode(newPassword));
         userRepository.save(user);
 
         resetToken.setUsed(true);
         resetTokenRepository.save(resetToken);
 
-        refreshTokenRepository.revokeAllBySubject("USER", user.getId());
+        refreshTokenService.revokeAll("USER", user.getId());
     }
 
     // ── Change Password ───────────────────────────────────────────────────────
@@ -280,30 +284,29 @@ public class UserService {
                 .orElseThrow(() -> new AuthException("User not found"));
 
         if (user.getPassword() == null ||
-                !passwordEncoder.matches(currentPassword, user.getPassword())) {
+                !passwordHasher.matches(currentPassword, user.getPassword())) {
             throw new AuthException("Current password is incorrect");
         }
 
         validatePassword(newPassword);
 
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHasher.encode(newPassword));
         userRepository.save(user);
 
-        refreshTokenRepository.revokeAllBySubject("USER", user.getId());
+        refreshTokenService.revokeAll("USER", user.getId());
     }
 
     // ── Private helpers ───────────────────────────────────────────────────────
 
     private TokenPair issueTokens(User user, boolean rememberMe) {
-        String access = jwtUtil.generateAccessToken(user.getUsername(), "ROLE_USER", "USER");
+        String access = jwtUtil.generateAccessToken(user.getUsername(), "ROLE_USER", "USER", user.getId());
 
         int days = rememberMe ? rememberMeDays : refreshDays;
         String rawRefresh = jwtUtil.generateRefreshToken(user.getUsername());
         Instant expiresAt = Instant.now().plus(days, ChronoUnit.DAYS);
 
-        RefreshToken rt = new RefreshToken(rawRefresh, "USER", user.getId(),
+        refreshTokenService.issue(rawRefresh, "USER", user.getId(),
                 user.getUsername(), expiresAt, rememberMe);
-        refreshTokenRepository.save(rt);
 
         return new TokenPair(access, rawRefresh, user.getUsername(), user.getEmail(), "ROLE_USER", "USER");
 }
@@ -0,0 +1,141 @@
+package com.ipplatform.backend.service.deadline;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Hierarchical timing wheel with one-day ticks.
+ *
+ *   level 0 — 64 slots of one day     (the next 64 days)
+ *   level 1 — 64 slots of 64 days     (about the next 11 years)
+ *   overflow — anything further out
+ *
+ * Entries are opaque longs; the fire day (epoch day) of an entry is computed
+ * by the function given to the constructor, so nothing but the long is stored.
+ * Scheduling is O(1); each tick touches one level-0 slot, plus one level-1
+ * slot every 64 days and the overflow list every 4096 days, when their
+ * entries cascade down a level.
+ *
+ * Not thread-safe — the owner synchronizes.
+ */
+public final class DayTimingWheel {
+
+    private static final int SLOTS = 64;
+    private static final int SHIFT = 6;           // log2(SLOTS)
+    private static final int MASK = SLOTS - 1;
+
+    private final LongToIntFunction fireDayOf;
+
+    private final LongList[] days = newSlots();
+    private final LongList[] blocks = newSlots();
+    private final LongList overflow = new LongList();
+    private final LongList due = new LongList();   // scheduled on or before the current day
+
+    private int currentDay;
+    private long size;
+
+    public DayTimingWheel(int startDay, LongToIntFunction fireDayOf) {
+        this.currentDay = startDay;
+        this.fireDayOf = fireDayOf;
+    }
+
+    public int currentDay() {
+        return currentDay;
+    }
+
+    /** Entries held, including ones whose asset has since changed (they are dropped when fired). */
+    public long size() {
+        return size;
+    }
+
+    public void schedule(long entry) {
+        size++;
+        place(entry, fireDayOf.applyAsInt(entry));
+    }
+
+    /**
+     * Advances the wheel to the given day, handing every entry whose fire day
+     * has been reached to the consumer. Missed days are replayed in order.
+     */
+    public void advanceTo(int day, LongConsumer fire) {
+        drain(due, fire);
+
+        while (currentDay < day) {
+            currentDay++;
+
+            if ((currentDay & MASK) == 0) {
+                if (((currentDay >>> SHIFT) & MASK) == 0) cascade(overflow);
+                cascade(blocks[(currentDay >>> SHIFT) & MASK]);
+            }
+
+            LongList slot = days[currentDay & MASK];
+            LongList keep = null;
+            for (int i = 0; i < slot.size; i++) {
+                long entry = slot.values[i];
+                if (fireDayOf.applyAsInt(entry) <= currentDay) {
+                    size--;
+                    fire.accept(entry);
+                } else {
+                    if (keep == null) keep = new LongList();
+                    keep.add(entry);
+                }
+            }
+            slot.clear();
+            if (keep != null) for (int i = 0; i < keep.size; i++) slot.add(keep.values[i]);
+
+            drain(due, fire);
+        }
+    }
+
+    private void place(long entry, int fireDay) {
+        if (fireDay <= currentDay) {
+            due.add(entry);
+        } else if (fireDay - currentDay < SLOTS) {
+            days[fireDay & MASK].add(entry);
+        } else if ((fireDay >>> SHIFT) - (currentDay >>> SHIFT) < SLOTS) {
+            blocks[(fireDay >>> SHIFT) & MASK].add(entry);
+        } else {
+            overflow.add(entry);
+        }
+    }
+
+    /** Re-places every entry of the list one level closer to firing. */
+    private void cascade(LongList list) {
+        if (list.size == 0) return;
+        long[] entries = Arrays.copyOf(list.values, list.size);
+        list.clear();
+        for (long entry : entries) place(entry, fireDayOf.applyAsInt(entry));
+    }
+
+    private void drain(LongList list, LongConsumer fire) {
+        if (list.size == 0) return;
+        long[] entries = Arrays.copyOf(list.values, list.size);
+        list.clear();
+        size -= entries.length;
+        for (long entry : entries) fire.accept(entry);
+    }
+
+    private static LongList[] newSlots() {
+        LongList[] slots = new LongList[SLOTS];
+        for (int i = 0; i < SLOTS; i++) slots[i] = new LongList();
+        return slots;
+    }
+
+    /** Growable long array — one per slot, so entries cost 8 bytes each. */
+    private static final class LongList {
+        long[] values = new long[4];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        void clear() {
+            // Shrink slots that ballooned during a bulk load
+            if (values.length > 1024) values = new long[4];
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ipplatform.backend.service.deadline;
+
+import com.ipplatform.backend.service.LegalStatusService.AlertType;
+
+import java.time.LocalDate;
+
+/**
+ * One asset deadline that has come within thresholdDays — e.g. an expiry
+ * 30 days out. daysRemaining is counted from the day it was fired.
+ */
+public record DeadlineNotification(long assetId,
+                                   String title,
+                                   String jurisdiction,
+                                   AlertType type,
+                                   LocalDate date,
+                                   int thresholdDays,
+                                   long daysRemaining) {}
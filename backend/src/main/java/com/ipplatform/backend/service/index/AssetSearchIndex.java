@@ -0,0 +1,257 @@
+package com.ipplatform.backend.service.index;
+
+import com.ipplatform.backend.model.IpAsset;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over IP assets.
+ *
+ * Each indexed asset gets a dense int doc ID. Title, inventor and description
+ * are tokenized into {@link PostingList}s (title terms count double);
+ * jurisdiction and status go into one BitSet per value, so filters are
+ * bitmap intersections. Keyword queries are scored with BM25 and evaluated
+ * document-at-a-time across the query terms' posting lists.
+ *
+ * Updates are append-only: re-indexing an asset tombstones its old doc ID
+ * (clears it from the live set) and appends it under a new one. Tombstones
+ * are dropped when the owner rebuilds the index ({@link #tombstoneRatio()}).
+ *
+ * Thread-safe: searches share a read lock, updates take the write lock.
+ */
+public final class AssetSearchIndex {
+
+    // BM25 parameters — the usual defaults
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByAssetId = new HashMap<>();
+    private final Map<String, BitSet> byJurisdiction = new HashMap<>();
+    private final Map<String, BitSet> byStatus = new HashMap<>();
+    private final BitSet live = new BitSet();
+
+    // Stored per doc ID so hits can be returned without a database round trip
+    private long[] assetIds = new long[1024];
+    private String[] titles = new String[1024];
+    private String[] inventors = new String[1024];
+    private String[] jurisdictions = new String[1024];
+    private String[] statuses = new String[1024];
+    private int[] lengths = new int[1024];
+
+    private int docCount;
+    private long liveLength;
+
+    /** Indexes the asset, replacing any earlier version of it. */
+    public void upsert(IpAsset asset) {
+        if (asset.getId() == null) return;
+
+        // Tokenize outside the lock — descriptions can be long
+        Map<String, Integer> frequencies = new HashMap<>();
+        Tokenizer.forEachToken(asset.getTitle(), t -> frequencies.merge(t, TITLE_BOOST, Integer::sum));
+        Tokenizer.forEachToken(asset.getInventor(), t -> frequencies.merge(t, 1, Integer::sum));
+        Tokenizer.forEachToken(asset.getDescription(), t -> frequencies.merge(t, 1, Integer::sum));
+        int length = 0;
+        for (int f : frequencies.values()) length += f;
+
+        lock.writeLock().lock();
+        try {
+            tombstone(asset.getId());
+
+            if (docCount == assetIds.length) grow();
+            int doc = docCount++;
+
+            assetIds[doc] = asset.getId();
+            titles[doc] = asset.getTitle();
+            inventors[doc] = asset.getInventor();
+            jurisdictions[doc] = asset.getJurisdiction();
+            statuses[doc] = asset.getStatus();
+            lengths[doc] = length;
+
+            for (Map.Entry<String, Integer> e : frequencies.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), k -> new PostingList()).add(doc, e.getValue());
+            }
+            bitmap(byJurisdiction, asset.getJurisdiction()).set(doc);
+            bitmap(byStatus, asset.getStatus()).set(doc);
+
+            live.set(doc);
+            liveLength += length;
+            docByAssetId.put(asset.getId(), doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long assetId) {
+        lock.writeLock().lock();
+        try {
+            tombstone(assetId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * BM25-ranked hits for the query (any term matches), restricted to the
+     * jurisdiction / status when given. A blank query lists the filtered
+     * assets in index order with score 0.
+     */
+    public Result search(String query, String jurisdiction, String status, int offset, int limit) {
+        List<String> terms = new ArrayList<>();
+        Tokenizer.forEachToken(query, t -> { if (!terms.contains(t)) terms.add(t); });
+
+        lock.readLock().lock();
+        try {
+            BitSet filter = (BitSet) live.clone();
+            if (jurisdiction != null && !jurisdiction.isBlank()) filter.and(lookup(byJurisdiction, jurisdiction));
+            if (status != null && !status.isBlank()) filter.and(lookup(byStatus, status));
+
+            return terms.isEmpty()
+                    ? listFiltered(filter, offset, limit)
+                    : rank(terms, filter, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Share of doc IDs that are tombstones. */
+    public double tombstoneRatio() {
+        lock.readLock().lock();
+        try {
+            return docCount == 0 ? 0.0 : 1.0 - (double) live.cardinality() / docCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            long postingBytes = 0;
+            for (PostingList list : postings.values()) postingBytes += list.sizeInBytes();
+            return new Stats(live.cardinality(), docCount, postings.size(), postingBytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ── Query evaluation (read lock held) ─────────────────────────────────────
+
+    private Result rank(List<String> terms, BitSet filter, int offset, int limit) {
+        int liveDocs = live.cardinality();
+        double averageLength = liveDocs == 0 ? 1.0 : Math.max(1.0, (double) liveLength / liveDocs);
+
+        List<PostingList.Cursor> cursors = new ArrayList<>(terms.size());
+        List<Double> idfs = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list == null) continue;
+            PostingList.Cursor cursor = list.cursor();
+            cursor.next();
+            cursors.add(cursor);
+            double df = list.docFreq();
+            // df still counts tombstoned docs, so keep the idf from going negative
+            idfs.add(Math.max(1e-6, Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5))));
+        }
+
+        int wanted = offset + limit;
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(Math.max(1, wanted), 1024), WORST_FIRST);
+        long total = 0;
+
+        // Document-at-a-time: always score the smallest current doc ID across the cursors
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (PostingList.Cursor c : cursors) doc = Math.min(doc, c.doc);
+            if (doc == Integer.MAX_VALUE) break;
+
+            double score = 0;
+            for (int i = 0; i < cursors.size(); i++) {
+                PostingList.Cursor c = cursors.get(i);
+                if (c.doc != doc) continue;
+                double tf = c.frequency;
+                double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                score += idfs.get(i) * tf * (K1 + 1) / (tf + norm);
+                c.next();
+            }
+
+            if (!filter.get(doc)) continue;
+            total++;
+            if (wanted == 0) continue;
+            if (top.size() < wanted) {
+                top.add(hit(doc, score));
+            } else if (score > top.peek().score()) {
+                top.poll();
+                top.add(hit(doc, score));
+            }
+        }
+
+        List<Hit> ordered = new ArrayList<>(top);
+        ordered.sort(WORST_FIRST.reversed());
+        List<Hit> page = offset >= ordered.size() ? List.of() : ordered.subList(offset, ordered.size());
+        return new Result(total, List.copyOf(page));
+    }
+
+    private Result listFiltered(BitSet filter, int offset, int limit) {
+        List<Hit> page = new ArrayList<>(limit);
+        int skipped = 0;
+        for (int doc = filter.nextSetBit(0); doc >= 0 && page.size() < limit; doc = filter.nextSetBit(doc + 1)) {
+            if (skipped++ < offset) continue;
+            page.add(hit(doc, 0));
+        }
+        return new Result(filter.cardinality(), page);
+    }
+
+    // Lower score first; on equal scores the later doc ID is worse
+    private static final Comparator<Hit> WORST_FIRST = Comparator
+            .comparingDouble(Hit::score)
+            .thenComparing(Comparator.comparingLong(Hit::assetId).reversed());
+
+    private Hit hit(int doc, double score) {
+        return new Hit(assetIds[doc], titles[doc], inventors[doc], jurisdictions[doc], statuses[doc], score);
+    }
+
+    // ── Internals (write lock held) ───────────────────────────────────────────
+
+    private void tombstone(long assetId) {
+        Integer previous = docByAssetId.remove(assetId);
+        if (previous != null && live.get(previous)) {
+            live.clear(previous);
+            liveLength -= lengths[previous];
+        }
+    }
+
+    private BitSet bitmap(Map<String, BitSet> bitmaps, String value) {
+        return bitmaps.computeIfAbsent(key(value), k -> new BitSet());
+    }
+
+    private BitSet lookup(Map<String, BitSet> bitmaps, String value) {
+        BitSet bits = bitmaps.get(key(value));
+        return bits != null ? bits : new BitSet();
+    }
+
+    private String key(String value) {
+        return value == null ? "" : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private void grow() {
+        int capacity = assetIds.length * 2;
+        assetIds = Arrays.copyOf(assetIds, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        inventors = Arrays.copyOf(inventors, capacity);
+        jurisdictions = Arrays.copyOf(jurisdictions, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+    }
+
+    public record Hit(long assetId, String title, String inventor, String jurisdiction, String status,
+                      double score) {}
+
+    public record Result(long total, List<Hit> hits) {}
+
+    public record Stats(int liveDocuments, int docIds, int terms, long postingBytes) {}
+}
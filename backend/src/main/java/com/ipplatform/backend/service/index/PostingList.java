@@ -0,0 +1,89 @@
+package com.ipplatform.backend.service.index;
+
+import java.util.Arrays;
+
+/**
+ * Append-only posting list of (doc ID, term frequency) pairs.
+ *
+ * Doc IDs must be added in increasing order; each pair is stored as two
+ * unsigned varints — the gap to the previous doc ID and the frequency — so
+ * a dense posting costs two bytes instead of the eight of an int pair.
+ */
+final class PostingList {
+
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int lastDoc = -1;
+    private int docFreq;
+
+    void add(int doc, int termFrequency) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Doc IDs must increase: " + doc + " after " + lastDoc);
+        }
+        ensureCapacity(10);
+        writeVarint(doc - lastDoc);
+        writeVarint(termFrequency);
+        lastDoc = doc;
+        docFreq++;
+    }
+
+    /** Number of documents in the list, tombstoned ones included. */
+    int docFreq() {
+        return docFreq;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+
+    private void writeVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[length++] = (byte) value;
+    }
+
+    /**
+     * Forward-only reader. Call {@link #next()} before reading doc / frequency.
+     * Only used under the index's read lock, so the list can't grow underneath it.
+     */
+    final class Cursor {
+        private final int end = length;
+        private int position;
+        int doc = -1;
+        int frequency;
+
+        boolean next() {
+            if (position >= end) {
+                doc = Integer.MAX_VALUE;
+                return false;
+            }
+            doc += readVarint();
+            frequency = readVarint();
+            return true;
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ipplatform.backend.service.index;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Splits text into lower-case alphanumeric tokens for the asset index.
+ * Tokens shorter than two characters and common English stop words are
+ * dropped; there is no stemming, so queries match whole words.
+ */
+final class Tokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into",
+            "is", "it", "of", "on", "or", "that", "the", "this", "to", "with"
+    );
+
+    private Tokenizer() {}
+
+    static void forEachToken(String text, Consumer<String> consumer) {
+        if (text == null || text.isEmpty()) return;
+
+        StringBuilder token = new StringBuilder(16);
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (!token.isEmpty()) {
+                emit(token, consumer);
+                token.setLength(0);
+            }
+        }
+    }
+
+    private static void emit(StringBuilder token, Consumer<String> consumer) {
+        if (token.length() < 2) return;
+        String value = token.toString();
+        if (!STOP_WORDS.contains(value)) consumer.accept(value);
+    }
+}
@@ -0,0 +1,119 @@
+package com.ipplatform.backend.service.ingestion;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one bulk ingestion run. Counters are written by the ingesting
+ * thread and read by status requests, so all of them are atomic or volatile.
+ */
+public final class IngestionJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String query;
+    private final String jurisdiction;
+    private final long limit;
+    private final Instant createdAt = Instant.now();
+
+    private final AtomicLong fetched = new AtomicLong();     // records received from Lens.org
+    private final AtomicLong written = new AtomicLong();     // rows upserted
+    private final AtomicLong duplicates = new AtomicLong();  // Lens IDs already seen in this job
+    private final AtomicLong skipped = new AtomicLong();     // records without a Lens ID
+    private final AtomicLong pages = new AtomicLong();
+
+    private volatile State state = State.QUEUED;
+    private volatile long matched = -1;                      // Lens.org total, once known
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+
+    public IngestionJob(String query, String jurisdiction, long limit) {
+        this.query = query;
+        this.jurisdiction = jurisdiction;
+        this.limit = limit;
+    }
+
+    // ── Updates (ingesting thread) ────────────────────────────────────────────
+
+    public void start() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    public void finish(State finalState, String message) {
+        error = message;
+        finishedAt = Instant.now();
+        state = finalState;
+    }
+
+    public void recordMatched(long total) {
+        matched = total;
+    }
+
+    public void recordPage(int records) {
+        pages.incrementAndGet();
+        fetched.addAndGet(records);
+    }
+
+    public void recordWritten(int rows) {
+        written.addAndGet(rows);
+    }
+
+    public void recordDuplicate() {
+        duplicates.incrementAndGet();
+    }
+
+    public void recordSkipped() {
+        skipped.incrementAndGet();
+    }
+
+    /** Asks the job to stop after the page it is writing. */
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    // ── Reads ─────────────────────────────────────────────────────────────────
+
+    public String id()                { return id; }
+    public String query()             { return query; }
+    public String jurisdiction()      { return jurisdiction; }
+    public long limit()               { return limit; }
+    public State state()              { return state; }
+    public long matched()             { return matched; }
+    public long fetched()             { return fetched.get(); }
+    public long written()             { return written.get(); }
+    public long duplicates()          { return duplicates.get(); }
+    public long skipped()             { return skipped.get(); }
+    public long pages()               { return pages.get(); }
+    public Instant createdAt()        { return createdAt; }
+    public Instant startedAt()        { return startedAt; }
+    public Instant finishedAt()       { return finishedAt; }
+    public String error()             { return error; }
+
+    public boolean isFinished() {
+        return state != State.QUEUED && state != State.RUNNING;
+    }
+
+    /** Records to process: the smaller of the limit and the Lens.org total. */
+    public long target() {
+        return matched < 0 ? limit : Math.min(limit, matched);
+    }
+
+    /** Rows written per second since the job started. */
+    public double rowsPerSecond() {
+        Instant start = startedAt;
+        if (start == null) return 0;
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(1, Duration.between(start, end).toMillis());
+        return written.get() * 1000.0 / millis;
+    }
+}
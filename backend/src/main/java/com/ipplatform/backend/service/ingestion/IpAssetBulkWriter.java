@@ -0,0 +1,93 @@
+package com.ipplatform.backend.service.ingestion;
+
+import com.ipplatform.backend.model.IpAsset;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Upserts ingested assets into ip_assets on their Lens ID, and applies
+ * legal-status sync updates, with one JDBC batch per call. IpAsset uses IDENTITY keys, which stops Hibernate from
+ * batching inserts, so this bypasses JPA. pgjdbc's reWriteBatchedInserts
+ * (application.properties) turns the batch into multi-row INSERTs.
+ *
+ * An existing row keeps its id and renewal_date; the Lens.org fields are
+ * overwritten. Callers must not pass the same Lens ID twice in one batch —
+ * a multi-row upsert cannot touch a row twice.
+ */
+@Component
+public class IpAssetBulkWriter {
+
+    private static final String UPSERT = """
+        INSERT INTO ip_assets (lens_id, title, inventor, jurisdiction, status, description,
+                               filing_date, grant_date, expiry_date, legal_status_code)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (lens_id) WHERE lens_id IS NOT NULL DO UPDATE SET
+            title             = EXCLUDED.title,
+            inventor          = EXCLUDED.inventor,
+            jurisdiction      = EXCLUDED.jurisdiction,
+            status            = EXCLUDED.status,
+            description       = EXCLUDED.description,
+            filing_date       = EXCLUDED.filing_date,
+            grant_date        = EXCLUDED.grant_date,
+            expiry_date       = EXCLUDED.expiry_date,
+            legal_status_code = EXCLUDED.legal_status_code
+        """;
+
+    private static final String UPDATE_LEGAL_STATUS = """
+        UPDATE ip_assets
+        SET status = ?, legal_status_code = ?, grant_date = ?, expiry_date = ?
+        WHERE id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IpAssetBulkWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Writes the batch in one round trip. */
+    public void upsert(List<IpAsset> assets) {
+        if (assets.isEmpty()) return;
+        jdbcTemplate.batchUpdate(UPSERT, assets, assets.size(), IpAssetBulkWriter::bind);
+    }
+
+    /** Applies legal-status changes found by the sync, in one batch. */
+    public void updateLegalStatus(List<LegalStatusUpdate> updates) {
+        if (updates.isEmpty()) return;
+        jdbcTemplate.batchUpdate(UPDATE_LEGAL_STATUS, updates, updates.size(), (ps, u) -> {
+            ps.setString(1, u.status());
+            ps.setString(2, u.legalStatusCode());
+            setDate(ps, 3, u.grantDate());
+            setDate(ps, 4, u.expiryDate());
+            ps.setLong(5, u.id());
+        });
+    }
+
+    public record LegalStatusUpdate(long id, String status, String legalStatusCode,
+                                    LocalDate grantDate, LocalDate expiryDate) {}
+
+    private static void bind(PreparedStatement ps, IpAsset asset) throws SQLException {
+        ps.setString(1, asset.getLensId());
+        ps.setString(2, asset.getTitle());
+        ps.setString(3, asset.getInventor());
+        ps.setString(4, asset.getJurisdiction());
+        ps.setString(5, asset.getStatus());
+        ps.setString(6, asset.getDescription());
+        setDate(ps, 7, asset.getFilingDate());
+        setDate(ps, 8, asset.getGrantDate());
+        setDate(ps, 9, asset.getExpiryDate());
+        ps.setString(10, asset.getLegalStatusCode());
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate date) throws SQLException {
+        if (date == null) ps.setNull(index, Types.DATE);
+        else ps.setDate(index, Date.valueOf(date));
+    }
+}
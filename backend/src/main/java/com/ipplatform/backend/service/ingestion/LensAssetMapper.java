@@ -0,0 +1,136 @@
+package com.ipplatform.backend.service.ingestion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ipplatform.backend.model.IpAsset;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maps a Lens.org patent record onto an {@link IpAsset}.
+ *
+ *   lens_id                              → lensId (natural key)
+ *   biblio.invention_title (English)     → title
+ *   biblio.parties.inventors             → inventor ("; "-joined)
+ *   abstract (English)                   → description
+ *   biblio.application_reference.date    → filingDate
+ *   legal_status.grant_date              → grantDate
+ *   legal_status.anticipated_term_date   → expiryDate
+ *   legal_status.patent_status           → legalStatusCode, and status via {@link #status}
+ *
+ * renewalDate is not in Lens.org data and is left for the portfolio owner.
+ */
+public final class LensAssetMapper {
+
+    /** The include list a scroll needs for {@link #toAsset}. */
+    public static final List<String> INCLUDE = List.of(
+            "lens_id",
+            "jurisdiction",
+            "biblio.invention_title",
+            "biblio.parties.inventors",
+            "biblio.application_reference",
+            "abstract",
+            "legal_status"
+    );
+
+    private static final int VARCHAR = 255;
+
+    private LensAssetMapper() {
+    }
+
+    /** The mapped asset, or null when the record has no Lens ID. */
+    public static IpAsset toAsset(JsonNode patent) {
+        String lensId = patent.path("lens_id").asText("");
+        if (lensId.isEmpty()) return null;
+
+        JsonNode biblio = patent.path("biblio");
+
+        IpAsset asset = new IpAsset();
+        asset.setLensId(lensId);
+        asset.setTitle(truncate(englishText(biblio.path("invention_title"))));
+        asset.setInventor(truncate(inventors(biblio.path("parties").path("inventors"))));
+        asset.setJurisdiction(blankToNull(patent.path("jurisdiction").asText("")));
+        asset.setDescription(englishText(patent.path("abstract")));
+        asset.setFilingDate(date(biblio.path("application_reference").path("date")));
+
+        LegalStatus status = legalStatus(patent);
+        asset.setGrantDate(status.grantDate());
+        asset.setExpiryDate(status.expiryDate());
+        asset.setLegalStatusCode(status.code());
+        asset.setStatus(status.status());
+        return asset;
+    }
+
+    /** The legal_status block of a record — what the legal-status sync compares. */
+    public static LegalStatus legalStatus(JsonNode patent) {
+        JsonNode legal = patent.path("legal_status");
+        String code = truncate(blankToNull(legal.path("patent_status").asText("")));
+        LocalDate grantDate = date(legal.path("grant_date"));
+        return new LegalStatus(code, status(code, grantDate), grantDate, date(legal.path("anticipated_term_date")));
+    }
+
+    /** code is Lens.org's patent_status; status is its dashboard mapping. */
+    public record LegalStatus(String code, String status, LocalDate grantDate, LocalDate expiryDate) {}
+
+    /**
+     * Lens.org patent_status → the statuses the legal-status dashboard counts
+     * (APPLICATION, GRANTED, DISCONTINUED, EXPIRED).
+     */
+    public static String status(String patentStatus, LocalDate grantDate) {
+        String code = patentStatus == null ? "" : patentStatus.toUpperCase(Locale.ROOT);
+        return switch (code) {
+            case "PENDING" -> "APPLICATION";
+            case "ACTIVE", "PATENTED" -> "GRANTED";
+            case "EXPIRED" -> "EXPIRED";
+            case "DISCONTINUED", "INACTIVE", "CEASED", "REVOKED", "WITHDRAWN" -> "DISCONTINUED";
+            default -> grantDate != null ? "GRANTED" : "APPLICATION";
+        };
+    }
+
+    // ── Field helpers ─────────────────────────────────────────────────────────
+
+    /** [{ "text", "lang" }, ...] → the English text, else the first one. */
+    private static String englishText(JsonNode texts) {
+        if (texts.isTextual()) return blankToNull(texts.asText());
+        String first = null;
+        for (JsonNode t : texts) {
+            String text = t.path("text").asText("");
+            if (text.isEmpty()) continue;
+            if ("en".equalsIgnoreCase(t.path("lang").asText(""))) return text;
+            if (first == null) first = text;
+        }
+        return first;
+    }
+
+    private static String inventors(JsonNode inventors) {
+        List<String> names = new ArrayList<>();
+        for (JsonNode inventor : inventors) {
+            String name = inventor.path("extracted_name").path("value").asText("");
+            if (name.isEmpty()) name = inventor.path("name").asText("");
+            if (!name.isEmpty()) names.add(name);
+        }
+        return names.isEmpty() ? null : String.join("; ", names);
+    }
+
+    /** "2019-05-23" (or a longer timestamp) → LocalDate; anything else → null. */
+    private static LocalDate date(JsonNode node) {
+        String text = node.asText("");
+        if (text.length() < 10) return null;
+        try {
+            return LocalDate.parse(text.substring(0, 10));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= VARCHAR ? value : value.substring(0, VARCHAR);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ipplatform.backend.ip.controller;
+
+import com.ipplatform.backend.ip.dto.LensSearchPage;
+import com.ipplatform.backend.ip.dto.PatentHit;
+import com.ipplatform.backend.ip.dto.ScholarlyHit;
+import com.ipplatform.backend.ip.dto.SearchResponse;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import com.ipplatform.backend.ip.service.LensApiService;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IpSearchControllerTest {
+
+    private final LensApiService lens = mock(LensApiService.class);
+    private final IpSearchController controller = new IpSearchController(lens, 200);
+
+    // ── type=ALL fan-out ──────────────────────────────────────────────────────
+
+    @Test
+    void mergesBothSidesWhenBothAnswer() {
+        when(lens.searchPatentHitsAsync(anyString(), any(), anyInt(), anyInt())).thenReturn(Mono.just(patents(3)));
+        when(lens.searchScholarlyHitsAsync(anyString(), anyInt(), anyInt())).thenReturn(Mono.just(scholarly(4)));
+
+        SearchResponse body = controller.search("graphene", "ALL", null, 0, 10).block().getBody();
+
+        assertThat(body.total()).isEqualTo(7);
+        assertThat(body.partial()).isFalse();
+        assertThat(body.failedSources()).isEmpty();
+    }
+
+    @Test
+    void keepsTheOtherSideWhenOneFails() {
+        when(lens.searchPatentHitsAsync(anyString(), any(), anyInt(), anyInt()))
+                .thenReturn(Mono.error(new ExternalApiException("Lens.org", 500, "boom")));
+        when(lens.searchScholarlyHitsAsync(anyString(), anyInt(), anyInt())).thenReturn(Mono.just(scholarly(4)));
+
+        SearchResponse body = controller.search("graphene", "ALL", null, 0, 10).block().getBody();
+
+        assertThat(body.total()).isEqualTo(4);
+        assertThat(body.partial()).isTrue();
+        assertThat(body.failedSources()).containsExactly("PATENT");
+    }
+
+    @Test
+    void dropsASideThatMissesTheDeadline() {
+        when(lens.searchPatentHitsAsync(anyString(), any(), anyInt(), anyInt())).thenReturn(Mono.just(patents(3)));
+        when(lens.searchScholarlyHitsAsync(anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(scholarly(4)).delayElement(Duration.ofSeconds(10)));
+
+        SearchResponse body = controller.search("graphene", "ALL", null, 0, 10).block().getBody();
+
+        assertThat(body.total()).isEqualTo(3);
+        assertThat(body.failedSources()).containsExactly("SCHOLARLY");
+    }
+
+    @Test
+    void failsOnlyWhenBothSidesFail() {
+        when(lens.searchPatentHitsAsync(anyString(), any(), anyInt(), anyInt()))
+                .thenReturn(Mono.error(new ExternalApiException("Lens.org", 503, "down")));
+        when(lens.searchScholarlyHitsAsync(anyString(), anyInt(), anyInt()))
+                .thenReturn(Mono.error(new ExternalApiException("Lens.org", 503, "down")));
+
+        assertThatThrownBy(() -> controller.search("graphene", "ALL", null, 0, 10).block())
+                .isInstanceOfSatisfying(ExternalApiException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(503));
+    }
+
+    private static LensSearchPage<PatentHit> patents(long total) {
+        return new LensSearchPage<>(total, List.of());
+    }
+
+    private static LensSearchPage<ScholarlyHit> scholarly(long total) {
+        return new LensSearchPage<>(total, List.of());
+    }
+}
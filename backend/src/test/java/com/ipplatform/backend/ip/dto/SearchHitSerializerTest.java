@@ -0,0 +1,77 @@
+package com.ipplatform.backend.ip.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchHitSerializerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // ── Output shape ──────────────────────────────────────────────────────────
+
+    @Test
+    void writesPatentsWithTheHistoricalFieldNames() {
+        PatentHit hit = new PatentHit("001", "US", "123", "B2", "2020-05-01", "GRANTED_PATENT",
+                "Solar cell", List.of("Acme Corp"), List.of("Jane Doe", "John Roe"),
+                "Summary", "ACTIVE", "A");
+
+        JsonNode json = MAPPER.valueToTree(hit);
+
+        assertThat(fieldNames(json)).containsExactly(
+                "lensId", "jurisdiction", "docNumber", "kind", "datePublished", "publicationType",
+                "title", "applicants", "inventors", "abstract", "patentStatus", "legalStatusCode");
+        assertThat(json.path("abstract").asText()).isEqualTo("Summary");
+        assertThat(json.path("inventors").get(1).asText()).isEqualTo("John Roe");
+    }
+
+    @Test
+    void writesScholarlyWorksWithATypeMarker() {
+        ScholarlyHit hit = new ScholarlyHit("S1", "On graphene", "2019", 7, "journal article",
+                List.of("A. Author"), "Text");
+
+        JsonNode json = MAPPER.valueToTree(hit);
+
+        assertThat(fieldNames(json)).containsExactly(
+                "lensId", "type", "title", "datePublished", "citationsCount", "publicationType",
+                "authors", "abstract");
+        assertThat(json.path("type").asText()).isEqualTo("SCHOLARLY");
+        assertThat(json.path("citationsCount").isInt()).isTrue();
+    }
+
+    @Test
+    void nullStringsAreWrittenAsEmpty() {
+        PatentHit hit = new PatentHit("001", null, null, null, null, null, null,
+                List.of(), List.of(), null, null, null);
+
+        JsonNode json = MAPPER.valueToTree(hit);
+
+        assertThat(json.path("title").isTextual()).isTrue();
+        assertThat(json.path("title").asText()).isEmpty();
+        assertThat(json.path("applicants").isArray()).isTrue();
+    }
+
+    @Test
+    void mixedResultListsSerializeEachHitByItsType() throws Exception {
+        SearchResponse response = new SearchResponse(2, 0, 10, List.of(
+                new PatentHit("P1", "US", "", "", "", "", "", List.of(), List.of(), "", "", ""),
+                new ScholarlyHit("S1", "", "", 0, "", List.of(), "")), true, List.of());
+
+        JsonNode json = MAPPER.readTree(MAPPER.writeValueAsString(response));
+
+        assertThat(json.path("results").get(0).has("type")).isFalse();
+        assertThat(json.path("results").get(1).path("type").asText()).isEqualTo("SCHOLARLY");
+        assertThat(json.path("partial").asBoolean()).isTrue();
+    }
+
+    private static List<String> fieldNames(JsonNode json) {
+        List<String> names = new ArrayList<>();
+        json.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ipplatform.backend.ip.dto.CitationGraphView;
+import com.ipplatform.backend.ip.dto.PatentBatch;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CitationGraphServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** A cites B and C; B cites C. */
+    private static final Map<String, List<String>> REFERENCES = Map.of(
+            "A", List.of("B", "C"),
+            "B", List.of("C"),
+            "C", List.of());
+
+    private final LensApiService lens = mock(LensApiService.class);
+
+    @Test
+    void expandsTheFrontierHopByHop() {
+        when(lens.getPatentsByLensIdsAsync(anyCollection(), any(), eq(false), anyInt()))
+                .thenAnswer(call -> Mono.just(batch(call.getArgument(0), List.of())));
+        CitationGraphService service = new CitationGraphService(lens, 3, 100, 10, 1);
+
+        CitationGraphView view = service.explore(null, "A", 2, CitationGraphService.Direction.FORWARD, 3).block();
+
+        assertThat(view.nodes()).containsExactlyInAnyOrder("A", "B", "C");
+        assertThat(view.edgeSources()).hasSize(3);
+        assertThat(view.truncated()).isFalse();
+        assertThat(view.mostCited().get(0).lensId()).isEqualTo("C");
+    }
+
+    @Test
+    void aFailedChunkTruncatesInsteadOfFailing() {
+        when(lens.getPatentsByLensIdsAsync(anyCollection(), any(), eq(false), anyInt())).thenAnswer(call -> {
+            Collection<String> ids = call.getArgument(0);
+            return Mono.just(ids.contains("B") ? batch(List.of(), List.copyOf(ids)) : batch(ids, List.of()));
+        });
+        CitationGraphService service = new CitationGraphService(lens, 3, 100, 10, 1);
+
+        CitationGraphView view = service.explore(null, "A", 3, CitationGraphService.Direction.FORWARD, 3).block();
+
+        assertThat(view.truncated()).isTrue();
+        assertThat(view.nodes()).contains("A", "B", "C");
+    }
+
+    @Test
+    void aFailedLookupTruncatesInsteadOfFailing() {
+        when(lens.getPatentsByLensIdsAsync(anyCollection(), any(), eq(false), anyInt()))
+                .thenReturn(Mono.error(new ExternalApiException("Lens.org", 503, "down")));
+        CitationGraphService service = new CitationGraphService(lens, 3, 100, 10, 1);
+
+        CitationGraphView view = service.explore(null, "A", 2, CitationGraphService.Direction.FORWARD, 3).block();
+
+        assertThat(view.truncated()).isTrue();
+        assertThat(view.nodes()).containsExactly("A");
+    }
+
+    private static PatentBatch batch(Collection<String> found, List<String> failed) {
+        Map<String, JsonNode> patents = new LinkedHashMap<>();
+        for (String id : found) {
+            ObjectNode patent = MAPPER.createObjectNode().put("lens_id", id);
+            ArrayNode refs = patent.putObject("biblio").putArray("references_cited");
+            REFERENCES.getOrDefault(id, List.of()).forEach(ref -> refs.addObject().put("lens_id", ref));
+            patents.put(id, patent);
+        }
+        return new PatentBatch(patents, List.of(), failed);
+    }
+}
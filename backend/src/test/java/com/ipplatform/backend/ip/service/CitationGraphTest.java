@@ -0,0 +1,132 @@
+package com.ipplatform.backend.ip.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CitationGraphTest {
+
+    // ── CSR construction ──────────────────────────────────────────────────────
+
+    @Test
+    void buildsBothDirectionsAndDropsDuplicateEdges() {
+        CitationGraph.Builder builder = new CitationGraph.Builder(10);
+        builder.addEdge("A", "B");
+        builder.addEdge("A", "C");
+        builder.addEdge("B", "C");
+        builder.addEdge("A", "B");   // duplicate
+        builder.addEdge("C", "A");
+
+        CitationGraph graph = builder.build();
+
+        assertThat(graph.nodeCount()).isEqualTo(3);
+        assertThat(graph.edgeCount()).isEqualTo(4);
+        assertThat(graph.lensIds()).containsExactly("A", "B", "C");
+
+        assertThat(graph.cited(0)).containsExactly(1, 2);
+        assertThat(graph.cited(1)).containsExactly(2);
+        assertThat(graph.cited(2)).containsExactly(0);
+        assertThat(graph.citedBy(0)).containsExactly(2);
+        assertThat(graph.citedBy(1)).containsExactly(0);
+        assertThat(graph.citedBy(2)).containsExactlyInAnyOrder(0, 1);
+
+        assertThat(graph.edgeSources()).containsExactly(0, 0, 1, 2);
+        assertThat(graph.edgeTargets()).containsExactly(1, 2, 2, 0);
+    }
+
+    @Test
+    void rejectsSelfCitationsAndIdsPastMaxNodes() {
+        CitationGraph.Builder builder = new CitationGraph.Builder(2);
+
+        assertThat(builder.addEdge("A", "A")).isFalse();
+        assertThat(builder.addEdge("A", "B")).isTrue();
+        assertThat(builder.truncated()).isFalse();
+
+        // "C" cannot be interned — the edge is dropped and the graph marked truncated
+        assertThat(builder.addEdge("A", "C")).isFalse();
+        assertThat(builder.intern("C")).isEqualTo(-1);
+        assertThat(builder.contains("C")).isFalse();
+        assertThat(builder.truncated()).isTrue();
+
+        CitationGraph graph = builder.build();
+        assertThat(graph.nodeCount()).isEqualTo(2);
+        assertThat(graph.edgeCount()).isEqualTo(1);
+        assertThat(graph.outDegree(0)).isEqualTo(1);
+        assertThat(graph.inDegree(1)).isEqualTo(1);
+    }
+
+    @Test
+    void nodesWithoutEdgesHaveEmptyRanges() {
+        CitationGraph.Builder builder = new CitationGraph.Builder(10);
+        builder.intern("lonely");
+        builder.addEdge("A", "B");
+
+        CitationGraph graph = builder.build();
+
+        assertThat(graph.nodeCount()).isEqualTo(3);
+        assertThat(graph.cited(0)).isEmpty();
+        assertThat(graph.citedBy(0)).isEmpty();
+        assertThat(graph.outDegree(1)).isEqualTo(1);
+        assertThat(graph.inDegree(2)).isEqualTo(1);
+    }
+
+    // ── PageRank ──────────────────────────────────────────────────────────────
+
+    @Test
+    void pageRankOfACycleIsUniform() {
+        CitationGraph graph = graph("A", "B", "B", "C", "C", "A");
+
+        double[] rank = graph.pageRank(0.85, 100, 1e-9);
+
+        for (double r : rank) assertThat(r).isCloseTo(1.0 / 3, within(1e-9));
+    }
+
+    @Test
+    void pageRankConvergesOnAStarWithADanglingHub() {
+        // B → A, C → A; A cites nothing, so its rank is spread over all three
+        CitationGraph graph = graph("B", "A", "C", "A");
+
+        double[] rank = graph.pageRank(0.85, 100, 1e-10);
+
+        // Solving a = 0.05 + 0.85a/3 + 0.85·2b with a + 2b = 1
+        double hub = 0.9 / (1 + 0.85 * 2 / 3);
+        double leaf = (1 - hub) / 2;
+        assertThat(rank[0]).isCloseTo(leaf, within(1e-6));   // B
+        assertThat(rank[1]).isCloseTo(hub, within(1e-6));    // A
+        assertThat(rank[2]).isCloseTo(leaf, within(1e-6));   // C
+        assertThat(Arrays.stream(rank).sum()).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    void pageRankOfAnEmptyGraphIsEmpty() {
+        assertThat(new CitationGraph.Builder(10).build().pageRank(0.85, 50, 1e-6)).isEmpty();
+    }
+
+    // ── topK ──────────────────────────────────────────────────────────────────
+
+    @Test
+    void topKReturnsTheBestScoresBestFirst() {
+        double[] scores = {0.1, 0.7, 0.3, 0.9, 0.5};
+
+        assertThat(CitationGraph.topK(scores, 3)).containsExactly(3, 1, 4);
+        assertThat(CitationGraph.topK(scores, 1)).containsExactly(3);
+    }
+
+    @Test
+    void topKIsCappedByTheNumberOfScores() {
+        double[] scores = {0.2, 0.8};
+
+        assertThat(CitationGraph.topK(scores, 5)).containsExactly(1, 0);
+        assertThat(CitationGraph.topK(scores, 0)).isEmpty();
+        assertThat(CitationGraph.topK(new double[0], 3)).isEmpty();
+    }
+
+    private static CitationGraph graph(String... edges) {
+        CitationGraph.Builder builder = new CitationGraph.Builder(100);
+        for (int i = 0; i < edges.length; i += 2) builder.addEdge(edges[i], edges[i + 1]);
+        return builder.build();
+    }
+}
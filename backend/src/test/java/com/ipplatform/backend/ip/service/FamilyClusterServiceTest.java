@@ -0,0 +1,72 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ipplatform.backend.ip.dto.FamilyClusters;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FamilyClusterServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final LensApiService lens = mock(LensApiService.class);
+
+    @Test
+    void absorbsEveryPlannedPageWithinTheBudget() {
+        when(lens.fetchPatentFieldsAsync(eq("graphene"), any(), anyInt(), anyInt(), any()))
+                .thenAnswer(call -> Mono.just(page(call.getArgument(2), 300)));
+        FamilyClusterService service = new FamilyClusterService(lens, 10_000, 100, 2, 5_000);
+
+        FamilyClusters clusters = service.cluster("graphene", null, FamilyClusterService.FamilyType.SIMPLE, 10)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(clusters.complete()).isTrue();
+        assertThat(clusters.total()).isEqualTo(300);
+        assertThat(clusters.documentsProcessed()).isEqualTo(3);
+        assertThat(clusters.familyCount()).isEqualTo(3);
+    }
+
+    @Test
+    void stopsAtTheBudgetAndReturnsWhatWasAbsorbed() {
+        // The first page answers at once; the rest would take far longer than the budget
+        when(lens.fetchPatentFieldsAsync(eq("graphene"), any(), anyInt(), anyInt(), any()))
+                .thenAnswer(call -> {
+                    int page = call.getArgument(2);
+                    Mono<JsonNode> response = Mono.just(page(page, 300));
+                    return page == 0 ? response : response.delayElement(Duration.ofSeconds(30));
+                });
+        FamilyClusterService service = new FamilyClusterService(lens, 10_000, 100, 2, 200);
+
+        FamilyClusters clusters = service.cluster("graphene", null, FamilyClusterService.FamilyType.SIMPLE, 10)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(clusters.complete()).isFalse();
+        assertThat(clusters.total()).isEqualTo(300);
+        assertThat(clusters.documentsProcessed()).isEqualTo(1);
+        assertThat(clusters.families()).hasSize(1);
+        assertThat(clusters.families().get(0).representative()).isEqualTo("P0");
+    }
+
+    /** One hit per page, each in its own family. */
+    private static JsonNode page(int page, long total) {
+        ObjectNode response = MAPPER.createObjectNode().put("total", total);
+        ObjectNode hit = response.putArray("data").addObject()
+                .put("lens_id", "P" + page)
+                .put("jurisdiction", "US")
+                .put("date_published", "2020-01-01");
+        hit.putObject("families").putObject("simple_family").putArray("members")
+                .addObject().put("lens_id", "M" + page);
+        return response;
+    }
+}
@@ -0,0 +1,125 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ipplatform.backend.ip.dto.FamilyClusters.FamilyCluster;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FamilyClustererTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    void hitsSharingAFamilyMemberMergeIntoOneCluster() {
+        FamilyClusterer clusterer = new FamilyClusterer("simple_family");
+        clusterer.absorb(hit("A", "US", "2020-03-01", "M1"));
+        clusterer.absorb(hit("B", "EP", "2018-07-15", "M1", "M2"));
+        clusterer.absorb(hit("C", "CN", "2021-01-01", "M3"));
+
+        FamilyClusterer.Snapshot snapshot = clusterer.snapshot(10);
+
+        assertThat(clusterer.documents()).isEqualTo(3);
+        assertThat(snapshot.familyCount()).isEqualTo(2);
+
+        FamilyCluster merged = snapshot.families().get(0);
+        assertThat(merged.size()).isEqualTo(4);
+        assertThat(merged.matched()).isEqualTo(2);
+        assertThat(merged.representative()).isEqualTo("B");   // earliest published hit
+        assertThat(merged.members()).containsExactlyInAnyOrder("A", "B", "M1", "M2");
+        assertThat(merged.jurisdictions()).containsExactly("EP", "JP", "US");
+
+        FamilyCluster single = snapshot.families().get(1);
+        assertThat(single.representative()).isEqualTo("C");
+        assertThat(single.members()).containsExactlyInAnyOrder("C", "M3");
+    }
+
+    @Test
+    void clustersStraddlingPagesAreJoinedWhenTheLinkArrives() {
+        FamilyClusterer clusterer = new FamilyClusterer("simple_family");
+        clusterer.absorbPage(page(hit("A", "US", "2020-01-01", "M1"), hit("B", "US", "2020-01-02", "M2")));
+
+        assertThat(clusterer.snapshot(10).familyCount()).isEqualTo(2);
+
+        // A later page links the two families through a shared member
+        clusterer.absorbPage(page(hit("C", "EP", "2019-12-31", "M1", "M2")));
+
+        FamilyClusterer.Snapshot snapshot = clusterer.snapshot(10);
+        assertThat(snapshot.familyCount()).isEqualTo(1);
+        assertThat(snapshot.families().get(0).members())
+                .containsExactlyInAnyOrder("A", "B", "C", "M1", "M2");
+        assertThat(snapshot.families().get(0).representative()).isEqualTo("C");
+    }
+
+    @Test
+    void longMergeChainsStayInOneClusterAcrossRepeatedFinds() {
+        // Enough nodes to grow the arrays past their initial 1024 slots
+        FamilyClusterer clusterer = new FamilyClusterer("simple_family");
+        int hits = 1500;
+        for (int i = 0; i < hits; i++) {
+            clusterer.absorb(hit("P" + i, "US", "2020-01-01", "P" + (i + 1)));
+        }
+
+        // find() halves paths as it goes; a second snapshot walks the compressed trees
+        FamilyClusterer.Snapshot first = clusterer.snapshot(5);
+        FamilyClusterer.Snapshot second = clusterer.snapshot(5);
+
+        assertThat(first.familyCount()).isEqualTo(1);
+        assertThat(first.families().get(0).size()).isEqualTo(hits + 1);
+        assertThat(first.families().get(0).matched()).isEqualTo(hits);
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    void repeatedHitsAreCountedOnceAndFamiliesWithoutHitsAreSkipped() {
+        FamilyClusterer clusterer = new FamilyClusterer("simple_family");
+        clusterer.absorb(hit("A", "US", "2020-01-01", "M1"));
+        clusterer.absorb(hit("A", "US", "2020-01-01", "M1"));
+        clusterer.absorb(hit("", "US", "2020-01-01", "M9"));   // no lens_id — ignored
+
+        FamilyClusterer.Snapshot snapshot = clusterer.snapshot(10);
+        assertThat(clusterer.documents()).isEqualTo(1);
+        assertThat(snapshot.familyCount()).isEqualTo(1);
+        assertThat(snapshot.families().get(0).members()).containsExactlyInAnyOrder("A", "M1");
+    }
+
+    @Test
+    void snapshotKeepsTheLargestClustersUpToTop() {
+        FamilyClusterer clusterer = new FamilyClusterer("simple_family");
+        clusterer.absorb(hit("A", "US", "2020-01-01", "A1"));
+        clusterer.absorb(hit("B", "US", "2020-01-01", "B1", "B2", "B3"));
+        clusterer.absorb(hit("C", "US", "2020-01-01", "C1", "C2"));
+
+        FamilyClusterer.Snapshot snapshot = clusterer.snapshot(2);
+
+        assertThat(snapshot.familyCount()).isEqualTo(3);
+        assertThat(snapshot.families()).extracting(FamilyCluster::representative).containsExactly("B", "C");
+    }
+
+    // ── Fixtures ──────────────────────────────────────────────────────────────
+
+    private static JsonNode hit(String lensId, String jurisdiction, String published, String... members) {
+        ObjectNode patent = MAPPER.createObjectNode()
+                .put("lens_id", lensId)
+                .put("jurisdiction", jurisdiction)
+                .put("date_published", published);
+        ArrayNode list = patent.putObject("families").putObject("simple_family").putArray("members");
+        for (String member : members) {
+            ObjectNode node = list.addObject().put("lens_id", member);
+            // Members carry their own jurisdiction; give the M* ones a distinct one
+            node.putObject("document_id").put("jurisdiction", member.startsWith("M") ? "JP" : jurisdiction);
+        }
+        return patent;
+    }
+
+    private static JsonNode page(JsonNode... hits) {
+        ObjectNode response = MAPPER.createObjectNode();
+        ArrayNode data = response.putArray("data");
+        for (JsonNode hit : hits) data.add(hit);
+        response.put("total", hits.length);
+        return response;
+    }
+}
@@ -0,0 +1,132 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ipplatform.backend.ip.dto.PatentBatch;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class LensApiServiceBatchTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** Chunks of two IDs; the terms queries themselves are stubbed. */
+    private final LensApiService lens =
+            spy(new LensApiService(WebClient.builder(), MAPPER, 0, 0, 0, 5_000, 2, 2, 1 << 20));
+    private final List<List<String>> chunks = new ArrayList<>();
+
+    // ── Chunking ──────────────────────────────────────────────────────────────
+
+    @Test
+    void trimsDeduplicatesAndSplitsIntoChunks() {
+        answerWith(Set.of());
+
+        lens.getPatentsByLensIdsAsync(Arrays.asList(" A ", "B", null, "A", "", "C"), List.of("title"), false).block();
+
+        assertThat(chunks).containsExactlyInAnyOrder(List.of("A", "B"), List.of("C"));
+    }
+
+    @Test
+    void resultsComeBackInRequestOrderWithMissesReported() {
+        answerWith(Set.of());
+
+        PatentBatch batch = lens.getPatentsByLensIdsAsync(List.of("C", "X", "A", "B"), List.of("title"), false).block();
+
+        assertThat(batch.found().keySet()).containsExactly("C", "A", "B");
+        assertThat(batch.notFound()).containsExactly("X");
+        assertThat(batch.failed()).isEmpty();
+    }
+
+    @Test
+    void lensIdIsAlwaysRequested() {
+        List<List<String>> includes = new ArrayList<>();
+        doAnswer(call -> {
+            includes.add(call.getArgument(1));
+            return Mono.just(response(call.getArgument(0)));
+        }).when(lens).fetchPatentsByLensIdsAsync(anyCollection(), any());
+
+        lens.getPatentsByLensIdsAsync(List.of("A"), List.of("title"), false).block();
+
+        assertThat(includes).containsExactly(List.of("lens_id", "title"));
+    }
+
+    @Test
+    void emptyRequestMakesNoCalls() {
+        PatentBatch batch = lens.getPatentsByLensIdsAsync(List.of(" "), List.of("title"), false).block();
+
+        assertThat(batch.found()).isEmpty();
+        verify(lens, never()).fetchPatentsByLensIdsAsync(anyCollection(), any());
+    }
+
+    @Test
+    void cachedLookupsGoThroughTheCachedQuery() {
+        doAnswer(call -> Mono.just(response(call.getArgument(0))))
+                .when(lens).searchPatentsByLensIdsAsync(anyCollection(), any());
+
+        lens.getPatentsByLensIdsAsync(List.of("A"), List.of("title"), true).block();
+
+        verify(lens, never()).fetchPatentsByLensIdsAsync(anyCollection(), any());
+    }
+
+    // ── Failures ──────────────────────────────────────────────────────────────
+
+    @Test
+    void aFailedChunkIsReportedWithoutFailingTheLookup() {
+        answerWith(Set.of("C"));
+
+        PatentBatch batch = lens.getPatentsByLensIdsAsync(List.of("A", "B", "C", "D"), List.of("title"), false).block();
+
+        assertThat(batch.found().keySet()).containsExactly("A", "B");
+        assertThat(batch.failed()).containsExactly("C", "D");
+        assertThat(batch.notFound()).isEmpty();
+    }
+
+    @Test
+    void failsOnlyWhenEveryChunkFails() {
+        answerWith(Set.of("A", "C"));
+
+        assertThatThrownBy(() -> lens.getPatentsByLensIdsAsync(List.of("A", "B", "C"), List.of("title"), false).block())
+                .isInstanceOf(ExternalApiException.class);
+    }
+
+    /** Uncached chunk queries find every ID except X; a chunk holding a failing ID errors. */
+    private void answerWith(Set<String> failing) {
+        doAnswer(call -> {
+            List<String> chunk = List.copyOf(call.<Collection<String>>getArgument(0));
+            synchronized (chunks) {
+                chunks.add(chunk);
+            }
+            return chunk.stream().anyMatch(failing::contains)
+                    ? Mono.error(new ExternalApiException("Lens.org", 503, "down"))
+                    : Mono.just(response(chunk));
+        }).when(lens).fetchPatentsByLensIdsAsync(anyCollection(), any());
+    }
+
+    private static JsonNode response(Collection<String> ids) {
+        ObjectNode response = MAPPER.createObjectNode();
+        ArrayNode data = response.putArray("data");
+        for (String id : ids) {
+            if (!id.equals("X")) data.addObject().put("lens_id", id);
+        }
+        return response;
+    }
+}
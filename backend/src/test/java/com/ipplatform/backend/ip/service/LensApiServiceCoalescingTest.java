@@ -0,0 +1,120 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LensApiServiceCoalescingTest {
+
+    private final AtomicInteger exchanges = new AtomicInteger();
+    private final CompletableFuture<Void> gate = new CompletableFuture<>();
+    private volatile HttpStatus status = HttpStatus.OK;
+
+    /** Cache disabled so every call reaches the single-flight path. */
+    private final LensApiService service = service();
+
+    // ── Single flight ─────────────────────────────────────────────────────────
+
+    @Test
+    void concurrentIdenticalCallsShareOneExchange() throws Exception {
+        CompletableFuture<JsonNode> leader = CompletableFuture.supplyAsync(this::search);
+        awaitUntil(() -> exchanges.get() == 1);
+        CompletableFuture<JsonNode> follower = CompletableFuture.supplyAsync(this::search);
+        awaitUntil(() -> service.coalescedCalls() == 1);
+
+        gate.complete(null);
+
+        assertThat(leader.get(5, TimeUnit.SECONDS).path("total").asInt()).isEqualTo(1);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(leader.get());
+        assertThat(exchanges.get()).isEqualTo(1);
+    }
+
+    @Test
+    void releasesTheKeyOnceTheCallCompletes() {
+        gate.complete(null);
+        search();
+        search();
+
+        assertThat(exchanges.get()).isEqualTo(2);
+        assertThat(service.coalescedCalls()).isZero();
+    }
+
+    @Test
+    void failureIsHandedToEveryWaiterAndThenReleased() throws Exception {
+        status = HttpStatus.BAD_GATEWAY;
+        CompletableFuture<JsonNode> leader = CompletableFuture.supplyAsync(this::search);
+        awaitUntil(() -> exchanges.get() == 1);
+        CompletableFuture<JsonNode> follower = CompletableFuture.supplyAsync(this::search);
+        awaitUntil(() -> service.coalescedCalls() == 1);
+
+        gate.complete(null);
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ExternalApiException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ExternalApiException.class);
+
+        status = HttpStatus.OK;
+        search();
+        assertThat(exchanges.get()).isEqualTo(2);
+    }
+
+    @Test
+    void cancelledCallerDoesNotAbortTheSharedCall() throws Exception {
+        Disposable leader = service.searchPatentsAsync("graphene", null, 0, 10).subscribe();
+        awaitUntil(() -> exchanges.get() == 1);
+        CompletableFuture<JsonNode> follower = CompletableFuture.supplyAsync(this::search);
+        awaitUntil(() -> service.coalescedCalls() == 1);
+
+        leader.dispose();
+        gate.complete(null);
+
+        assertThat(follower.get(5, TimeUnit.SECONDS).path("total").asInt()).isEqualTo(1);
+        assertThat(exchanges.get()).isEqualTo(1);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private JsonNode search() {
+        return service.searchPatents("graphene", null, 0, 10);
+    }
+
+    /** Every exchange stays in flight until the gate opens. */
+    private LensApiService service() {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> Mono.defer(() -> {
+            exchanges.incrementAndGet();
+            return Mono.fromFuture(gate.thenApply(open -> ClientResponse.create(status)
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .body(status.is2xxSuccessful() ? "{\"total\":1,\"data\":[]}" : "upstream down")
+                    .build()));
+        }));
+        LensApiService lens = new LensApiService(builder, new ObjectMapper(), 0, 0, 0, 5_000, 100, 4, 1 << 20);
+        ReflectionTestUtils.setField(lens, "baseUrl", "http://lens.test");
+        ReflectionTestUtils.setField(lens, "apiKey", "test-key");
+        return lens;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) throw new AssertionError("condition not reached");
+            Thread.sleep(5);
+        }
+    }
+}
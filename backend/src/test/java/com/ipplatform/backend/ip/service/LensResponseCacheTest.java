@@ -0,0 +1,125 @@
+package com.ipplatform.backend.ip.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LensResponseCacheTest {
+
+    // ── LRU by entry count ────────────────────────────────────────────────────
+
+    @Test
+    void evictsLeastRecentlyUsedWhenFull() {
+        LensResponseCache<String> cache = new LensResponseCache<>(2, 1_000, 60);
+        cache.put("a", "A", 1);
+        cache.put("b", "B", 1);
+        cache.get("a");                 // b is now the eldest
+        cache.put("c", "C", 1);
+
+        assertThat(cache.get("a")).isEqualTo("A");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo("C");
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void replacingAKeyDoesNotEvict() {
+        LensResponseCache<String> cache = new LensResponseCache<>(2, 1_000, 60);
+        cache.put("a", "A", 10);
+        cache.put("b", "B", 10);
+        cache.put("a", "A2", 30);
+
+        assertThat(cache.get("a")).isEqualTo("A2");
+        assertThat(cache.get("b")).isEqualTo("B");
+        assertThat(cache.stats().weightBytes()).isEqualTo(40);
+        assertThat(cache.stats().evictions()).isZero();
+    }
+
+    // ── Weight budget ─────────────────────────────────────────────────────────
+
+    @Test
+    void evictsByWeightBeforeTheEntryLimit() {
+        LensResponseCache<String> cache = new LensResponseCache<>(10, 100, 60);
+        cache.put("a", "A", 40);
+        cache.put("b", "B", 40);
+        cache.put("c", "C", 40);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("B");
+        assertThat(cache.get("c")).isEqualTo("C");
+        assertThat(cache.stats().weightBytes()).isEqualTo(80);
+    }
+
+    @Test
+    void neverEvictsTheEntryJustStored() {
+        LensResponseCache<String> cache = new LensResponseCache<>(10, 100, 60);
+        cache.put("a", "A", 30);
+        cache.put("b", "B", 30);
+        cache.put("big", "BIG", 100);
+
+        assertThat(cache.get("big")).isEqualTo("BIG");
+        assertThat(cache.stats().size()).isEqualTo(1);
+        assertThat(cache.stats().weightBytes()).isEqualTo(100);
+    }
+
+    @Test
+    void skipsValuesHeavierThanTheWholeBudget() {
+        LensResponseCache<String> cache = new LensResponseCache<>(10, 100, 60);
+        cache.put("a", "A", 10);
+        cache.put("huge", "HUGE", 101);
+
+        assertThat(cache.get("huge")).isNull();
+        assertThat(cache.get("a")).isEqualTo("A");
+    }
+
+    // ── TTL ───────────────────────────────────────────────────────────────────
+
+    @Test
+    void expiredEntriesMissAndReleaseTheirWeight() throws InterruptedException {
+        LensResponseCache<String> cache = new LensResponseCache<>(10, 100, 0);
+        cache.put("a", "A", 10);
+        Thread.sleep(2);
+
+        assertThat(cache.get("a")).isNull();
+        LensResponseCache.Stats stats = cache.stats();
+        assertThat(stats.expirations()).isEqualTo(1);
+        assertThat(stats.size()).isZero();
+        assertThat(stats.weightBytes()).isZero();
+    }
+
+    // ── Disabled / stats ──────────────────────────────────────────────────────
+
+    @Test
+    void zeroEntriesDisablesTheCache() {
+        LensResponseCache<String> cache = new LensResponseCache<>(0, 100, 60);
+        cache.put("a", "A", 1);
+
+        assertThat(cache.isEnabled()).isFalse();
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.stats().misses()).isZero();
+    }
+
+    @Test
+    void hitRateCountsHitsAndMisses() {
+        LensResponseCache<String> cache = new LensResponseCache<>(10, 100, 60);
+        assertThat(cache.stats().hitRate()).isZero();
+
+        cache.put("a", "A", 1);
+        cache.get("a");
+        cache.get("a");
+        cache.get("a");
+        cache.get("missing");
+
+        assertThat(cache.stats().hitRate()).isEqualTo(0.75);
+    }
+
+    @Test
+    void clearDropsEntriesAndWeight() {
+        LensResponseCache<String> cache = new LensResponseCache<>(10, 100, 60);
+        cache.put("a", "A", 10);
+        cache.clear();
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.stats().weightBytes()).isZero();
+    }
+}
@@ -0,0 +1,138 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.ipplatform.backend.ip.dto.LensSearchPage;
+import com.ipplatform.backend.ip.dto.PatentHit;
+import com.ipplatform.backend.ip.dto.ScholarlyHit;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LensSearchDecoderTest {
+
+    private final LensSearchDecoder decoder = new LensSearchDecoder(new JsonFactory(), new LensValueDictionary(1_000));
+
+    // ── Patents ───────────────────────────────────────────────────────────────
+
+    @Test
+    void decodesEveryPatentField() {
+        LensSearchPage<PatentHit> page = decoder.decodePatents(json("""
+                {"total": 42, "data": [{
+                  "lens_id": "001-002", "jurisdiction": "US", "doc_number": "123", "kind": "B2",
+                  "date_published": "2020-05-01", "publication_type": "GRANTED_PATENT",
+                  "abstract": [{"text": "Résumé", "lang": "fr"}, {"text": "Summary", "lang": "en"}],
+                  "biblio": {
+                    "invention_title": [{"text": "Solar cell", "lang": "en"}],
+                    "parties": {
+                      "applicants": [{"extracted_name": {"value": "Acme Corp"}}, {"name": "Beta Ltd"}],
+                      "inventors": [{"extracted_name": {"value": "Jane Doe"}}]
+                    }
+                  },
+                  "legal_status": {"patent_status": "ACTIVE", "legal_status_code": "A"}
+                }]}
+                """));
+
+        assertThat(page.total()).isEqualTo(42);
+        assertThat(page.results()).containsExactly(new PatentHit(
+                "001-002", "US", "123", "B2", "2020-05-01", "GRANTED_PATENT",
+                "Solar cell", List.of("Acme Corp", "Beta Ltd"), List.of("Jane Doe"),
+                "Summary", "ACTIVE", "A"));
+    }
+
+    @Test
+    void missingFieldsDecodeAsEmpty() {
+        PatentHit hit = decoder.decodePatents(json("""
+                {"data": [{"lens_id": "001", "biblio": {}, "legal_status": null}]}
+                """)).results().get(0);
+
+        assertThat(hit.lensId()).isEqualTo("001");
+        assertThat(hit.title()).isEmpty();
+        assertThat(hit.abstractText()).isEmpty();
+        assertThat(hit.applicants()).isEmpty();
+        assertThat(hit.patentStatus()).isEmpty();
+    }
+
+    @Test
+    void unknownAndNestedFieldsAreSkipped() {
+        LensSearchPage<PatentHit> page = decoder.decodePatents(json("""
+                {"max_score": 1.5,
+                 "data": [{"claims": [{"claims": [{"claim_text": ["x"]}]}],
+                           "lens_id": "001",
+                           "biblio": {"references_cited": {"citations": [{"patcit": {}}]},
+                                      "invention_title": [{"text": "Only title"}]},
+                           "jurisdiction": {"unexpected": "object"}}],
+                 "total": 1,
+                 "scroll_id": "abc"}
+                """));
+
+        assertThat(page.total()).isEqualTo(1);
+        PatentHit hit = page.results().get(0);
+        assertThat(hit.lensId()).isEqualTo("001");
+        assertThat(hit.title()).isEqualTo("Only title");
+        assertThat(hit.jurisdiction()).isEmpty();
+    }
+
+    @Test
+    void fallsBackToTheFirstTextWhenThereIsNoEnglishOne() {
+        PatentHit hit = decoder.decodePatents(json("""
+                {"data": [{"abstract": [{"text": "Erste", "lang": "de"}, {"text": "Zweite", "lang": "de"}]}]}
+                """)).results().get(0);
+
+        assertThat(hit.abstractText()).isEqualTo("Erste");
+    }
+
+    @Test
+    void emptyResponseHasNoHits() {
+        LensSearchPage<PatentHit> page = decoder.decodePatents(json("{}"));
+
+        assertThat(page.total()).isZero();
+        assertThat(page.results()).isEmpty();
+    }
+
+    @Test
+    void repeatedValuesShareOneInstance() {
+        LensSearchPage<PatentHit> page = decoder.decodePatents(json("""
+                {"data": [{"jurisdiction": "US", "kind": "B2"}, {"jurisdiction": "US", "kind": "B2"}]}
+                """));
+
+        PatentHit first = page.results().get(0), second = page.results().get(1);
+        assertThat(second.jurisdiction()).isSameAs(first.jurisdiction());
+        assertThat(second.kind()).isSameAs(first.kind());
+    }
+
+    // ── Scholarly ─────────────────────────────────────────────────────────────
+
+    @Test
+    void decodesScholarlyWorks() {
+        ScholarlyHit hit = decoder.decodeScholarly(json("""
+                {"total": 1, "data": [{
+                  "lens_id": "S1", "title": "On graphene", "year_published": 2019,
+                  "scholarly_citations_count": 7, "publication_type": "journal article",
+                  "authors": [{"display_name": "A. Author"}, {"name": "B. Author"}],
+                  "abstract": "Text", "source": {"title": "Nature"}
+                }]}
+                """)).results().get(0);
+
+        assertThat(hit).isEqualTo(new ScholarlyHit("S1", "On graphene", "2019", 7, "journal article",
+                List.of("A. Author", "B. Author"), "Text"));
+    }
+
+    // ── Errors ────────────────────────────────────────────────────────────────
+
+    @Test
+    void malformedJsonIsAnExternalApiError() {
+        assertThatThrownBy(() -> decoder.decodePatents(json("[1, 2]")))
+                .isInstanceOf(ExternalApiException.class);
+        assertThatThrownBy(() -> decoder.decodePatents(json("{\"data\": [")))
+                .isInstanceOf(ExternalApiException.class);
+    }
+
+    private static byte[] json(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ipplatform.backend.ip.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LensValueDictionaryTest {
+
+    @Test
+    void returnsOneCanonicalInstancePerValue() {
+        LensValueDictionary dictionary = new LensValueDictionary(10);
+        String first = dictionary.canonical(new String("GRANTED_PATENT"));
+        String second = dictionary.canonical(new String("GRANTED_PATENT"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(dictionary.size()).isEqualTo(1);
+    }
+
+    @Test
+    void stopsGrowingAtTheLimitButStillPassesValuesThrough() {
+        LensValueDictionary dictionary = new LensValueDictionary(2);
+        dictionary.canonical("US");
+        dictionary.canonical("EP");
+        String overflow = new String("CN");
+
+        assertThat(dictionary.canonical(overflow)).isSameAs(overflow);
+        assertThat(dictionary.size()).isEqualTo(2);
+    }
+
+    @Test
+    void nullAndEmptyBecomeEmpty() {
+        LensValueDictionary dictionary = new LensValueDictionary(10);
+
+        assertThat(dictionary.canonical(null)).isEmpty();
+        assertThat(dictionary.canonical("")).isEmpty();
+        assertThat(dictionary.size()).isZero();
+    }
+}
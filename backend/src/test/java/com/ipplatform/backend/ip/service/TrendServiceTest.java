@@ -0,0 +1,146 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ipplatform.backend.ip.dto.TrendResult;
+import com.ipplatform.backend.ip.dto.TrendResult.Accuracy;
+import com.ipplatform.backend.ip.dto.TrendResult.Method;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TrendServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final LensApiService lens = mock(LensApiService.class);
+    private final TrendService service = new TrendService(lens, 3, 2, 2);
+
+    // ── Aggregation ───────────────────────────────────────────────────────────
+
+    @Test
+    void readsYearsFromEveryBucketKeyFormat() {
+        ObjectNode response = MAPPER.createObjectNode().put("total", 6);
+        ArrayNode buckets = response.putObject("aggregations").putObject("years").putArray("buckets");
+        buckets.addObject().put("key_as_string", "2019-01-01T00:00:00.000Z").put("doc_count", 1);
+        buckets.addObject().put("key", 2020).put("doc_count", 2);
+        buckets.addObject().put("key", epochMillis(2021)).put("doc_count", 3);
+        buckets.addObject().put("key", 2022).put("doc_count", 0);
+        aggregationReturns(Mono.just(response));
+
+        TrendResult result = service.getTrends("graphene", null).block();
+
+        assertThat(result.counts()).containsExactly(entry(2019, 1L), entry(2020, 2L), entry(2021, 3L));
+        assertThat(result.accuracy()).isEqualTo(Accuracy.EXACT);
+        assertThat(result.method()).isEqualTo(Method.AGGREGATION);
+        assertThat(result.coverage()).isEqualTo(1.0);
+        verify(lens, never()).fetchPatentFieldsAsync(any(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void noMatchesIsAnExactEmptyResult() {
+        ObjectNode response = MAPPER.createObjectNode().put("total", 0);
+        response.putObject("aggregations").putObject("years").putArray("buckets");
+        aggregationReturns(Mono.just(response));
+
+        TrendResult result = service.getTrends("graphene", null).block();
+
+        assertThat(result.counts()).isEmpty();
+        assertThat(result.method()).isEqualTo(Method.AGGREGATION);
+    }
+
+    // ── Fallback policy ───────────────────────────────────────────────────────
+
+    @Test
+    void samplesWhenTheAggregationIsRejected() {
+        aggregationReturns(Mono.error(new ExternalApiException("Lens.org", 400, "unsupported")));
+        samplePagesOf(4, "2020-01-01", "2021-01-01");
+
+        TrendResult result = service.getTrends("graphene", null).block();
+
+        assertThat(result.method()).isEqualTo(Method.SAMPLING);
+        assertThat(result.accuracy()).isEqualTo(Accuracy.EXACT);
+        assertThat(result.counts()).containsExactly(entry(2020, 2L), entry(2021, 2L));
+    }
+
+    @Test
+    void samplesWhenHitsComeBackWithoutBuckets() {
+        aggregationReturns(Mono.just(MAPPER.createObjectNode().put("total", 4)));
+        samplePagesOf(4, "2020-01-01", "2021-01-01");
+
+        assertThat(service.getTrends("graphene", null).block().method()).isEqualTo(Method.SAMPLING);
+    }
+
+    @Test
+    void rateLimitsAreNotRetriedAsSampling() {
+        aggregationReturns(Mono.error(new ExternalApiException("Lens.org", 429, "slow down")));
+
+        assertThatThrownBy(() -> service.getTrends("graphene", null).block())
+                .isInstanceOfSatisfying(ExternalApiException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(429));
+        verify(lens, never()).fetchPatentFieldsAsync(any(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void serverErrorsAreNotRetriedAsSampling() {
+        aggregationReturns(Mono.error(new ExternalApiException("Lens.org", 503, "down")));
+
+        assertThatThrownBy(() -> service.getTrends("graphene", null).block())
+                .isInstanceOf(ExternalApiException.class);
+        verify(lens, never()).fetchPatentFieldsAsync(any(), any(), anyInt(), anyInt(), any());
+    }
+
+    // ── Sampling ──────────────────────────────────────────────────────────────
+
+    @Test
+    void scalesSampledCountsUpToTheTotal() {
+        aggregationReturns(Mono.error(new ExternalApiException("Lens.org", 400, "unsupported")));
+        // 3 pages of 2 hits are sampled out of 60 matches
+        samplePagesOf(60, "2020-01-01", "2021-01-01");
+
+        TrendResult result = service.getTrends("graphene", null).block();
+
+        assertThat(result.accuracy()).isEqualTo(Accuracy.SAMPLED);
+        assertThat(result.counted()).isEqualTo(6);
+        assertThat(result.total()).isEqualTo(60);
+        assertThat(result.coverage()).isEqualTo(0.1);
+        assertThat(result.counts()).containsExactly(entry(2020, 30L), entry(2021, 30L));
+        verify(lens, times(3)).fetchPatentFieldsAsync(eq("graphene"), any(), anyInt(), eq(2), any());
+    }
+
+    private void aggregationReturns(Mono<JsonNode> response) {
+        when(lens.aggregatePatentsAsync(eq("graphene"), any(), any())).thenReturn(response);
+    }
+
+    /** Every page holds one hit per given date and reports the given total. */
+    private void samplePagesOf(long total, String... dates) {
+        when(lens.fetchPatentFieldsAsync(eq("graphene"), any(), anyInt(), anyInt(), any()))
+                .thenAnswer(call -> {
+                    ObjectNode page = MAPPER.createObjectNode().put("total", total);
+                    ArrayNode data = page.putArray("data");
+                    for (String date : dates) data.addObject().put("date_published", date);
+                    return Mono.just(page);
+                });
+    }
+
+    private static long epochMillis(int year) {
+        return LocalDate.of(year, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
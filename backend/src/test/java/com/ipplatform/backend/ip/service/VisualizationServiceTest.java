@@ -0,0 +1,89 @@
+package com.ipplatform.backend.ip.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.ipplatform.backend.ip.dto.VisualizationBundle;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VisualizationServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final LensApiService lens = mock(LensApiService.class);
+    private final VisualizationService service = new VisualizationService(lens);
+
+    // ── Bundle ────────────────────────────────────────────────────────────────
+
+    @Test
+    void computesEveryAggregateFromOneFetch() {
+        when(lens.searchPatentsAsync(eq("graphene"), any(), anyInt(), anyInt())).thenReturn(Mono.just(sample()));
+
+        VisualizationBundle bundle = service.getBundle("graphene").block();
+
+        assertThat(bundle.trends()).containsExactly(
+                entry(2019, 1L),
+                entry(2020, 2L));
+        assertThat(bundle.citations()).containsEntry("P1", List.of("R1", "R2")).containsEntry("P2", List.of());
+        assertThat(bundle.families()).containsEntry("F1", List.of("P1", "P2")).containsEntry("F2", List.of("P3"));
+        verify(lens, times(1)).searchPatentsAsync(eq("graphene"), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void viewsKeepTheirResponseShapes() {
+        when(lens.searchPatentsAsync(eq("graphene"), any(), anyInt(), anyInt())).thenReturn(Mono.just(sample()));
+
+        assertThat(service.getTrends("graphene").block()).containsOnlyKeys(2019, 2020);
+        assertThat(service.getCitations("graphene").block()).containsOnlyKeys("P1", "P2", "P3");
+        assertThat(service.getFamilies("graphene").block()).containsOnlyKeys("F1", "F2");
+    }
+
+    // ── Errors ────────────────────────────────────────────────────────────────
+
+    @Test
+    void lensErrorsPassThroughUnchanged() {
+        ExternalApiException error = new ExternalApiException("Lens.org", 429, "slow down");
+        when(lens.searchPatentsAsync(eq("graphene"), any(), anyInt(), anyInt())).thenReturn(Mono.error(error));
+
+        assertThatThrownBy(() -> service.getBundle("graphene").block()).isSameAs(error);
+    }
+
+    @Test
+    void malformedDataIsAProcessingError() {
+        ObjectNode response = MAPPER.createObjectNode();
+        response.putArray("data").addObject().put("lens_id", "P1").put("date_published", "20xx-01-01");
+        when(lens.searchPatentsAsync(eq("graphene"), any(), anyInt(), anyInt())).thenReturn(Mono.just(response));
+
+        assertThatThrownBy(() -> service.getBundle("graphene").block())
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Error processing visualization data");
+    }
+
+    private static JsonNode sample() {
+        ObjectNode response = MAPPER.createObjectNode().put("total", 3);
+        ArrayNode data = response.putArray("data");
+        ObjectNode p1 = data.addObject().put("lens_id", "P1").put("date_published", "2020-01-01").put("doc_key", "F1");
+        ArrayNode refs = p1.putObject("biblio").putArray("references_cited");
+        refs.addObject().put("lens_id", "R1");
+        refs.addObject().put("lens_id", "R2");
+        data.addObject().put("lens_id", "P2").put("date_published", "2020-06-01").put("doc_key", "F1");
+        data.addObject().put("lens_id", "P3").put("date_published", "2019-03-01").put("doc_key", "F2");
+        return response;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ipplatform.backend.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IpAssetJsonTest {
+
+    private final ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void lensIdIsNotBoundFromARequestBody() throws Exception {
+        IpAsset asset = json.readValue("{\"title\": \"Manual\", \"lensId\": \"001-002\"}", IpAsset.class);
+
+        assertThat(asset.getTitle()).isEqualTo("Manual");
+        assertThat(asset.getLensId()).isNull();
+    }
+
+    @Test
+    void lensIdIsStillReturnedInResponses() throws Exception {
+        IpAsset asset = new IpAsset();
+        asset.setLensId("001-002");
+
+        assertThat(json.writeValueAsString(asset)).contains("\"lensId\":\"001-002\"");
+    }
+}
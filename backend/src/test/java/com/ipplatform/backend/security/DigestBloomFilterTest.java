@@ -0,0 +1,47 @@
+package com.ipplatform.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DigestBloomFilterTest {
+
+    @Test
+    void hasNoFalseNegatives() {
+        DigestBloomFilter filter = new DigestBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.add(TokenDigest.sha256("token-" + i));
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain(TokenDigest.sha256("token-" + i))).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTargetAtCapacity() {
+        DigestBloomFilter filter = new DigestBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.add(TokenDigest.sha256("token-" + i));
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(TokenDigest.sha256("other-" + i))) falsePositives++;
+        }
+
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        DigestBloomFilter filter = new DigestBloomFilter(100, 0.01);
+
+        assertThat(filter.mightContain(TokenDigest.sha256("anything"))).isFalse();
+    }
+
+    @Test
+    void sizeFollowsExpectedEntriesAndRate() {
+        // m = -n·ln p / (ln 2)² ≈ 9.59 bits per entry at 1 %
+        DigestBloomFilter filter = new DigestBloomFilter(100_000, 0.01);
+
+        assertThat(filter.sizeInBytes()).isBetween(119_000L, 121_000L);
+    }
+}
@@ -0,0 +1,68 @@
+package com.ipplatform.backend.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private final JwtUtil jwt = jwtUtil(100);
+
+    @Test
+    void verifiesAnAccessTokenIntoItsClaims() {
+        String token = jwt.generateAccessToken("alice", "ROLE_ANALYST", "ANALYST", 42L);
+
+        AccessTokenClaims claims = jwt.verifyAccessToken(token);
+
+        assertThat(claims.username()).isEqualTo("alice");
+        assertThat(claims.subjectId()).isEqualTo(42L);
+        assertThat(claims.role()).isEqualTo("ROLE_ANALYST");
+        assertThat(claims.subjectType()).isEqualTo("ANALYST");
+    }
+
+    @Test
+    void tokenWithoutASubjectIdHasANullId() {
+        String token = jwt.generateAccessToken("alice", "ROLE_USER", "USER", null);
+
+        assertThat(jwt.verifyAccessToken(token).subjectId()).isNull();
+    }
+
+    @Test
+    void aVerifiedTokenIsAnsweredFromTheCache() {
+        String token = jwt.generateAccessToken("alice", "ROLE_USER", "USER", 7L);
+
+        assertThat(jwt.verifyAccessToken(token)).isSameAs(jwt.verifyAccessToken(token));
+    }
+
+    @Test
+    void withoutTheCacheEveryCallParses() {
+        JwtUtil uncached = jwtUtil(0);
+        String token = uncached.generateAccessToken("alice", "ROLE_USER", "USER", 7L);
+
+        assertThat(uncached.verifyAccessToken(token)).isNotSameAs(uncached.verifyAccessToken(token))
+                .isEqualTo(uncached.verifyAccessToken(token));
+    }
+
+    @Test
+    void rejectsRefreshAndTamperedTokensWithoutCachingThem() {
+        String refresh = jwt.generateRefreshToken("alice");
+        String access = jwt.generateAccessToken("alice", "ROLE_USER", "USER", 7L);
+        String tampered = access.substring(0, access.length() - 2) + "xx";
+
+        assertThatThrownBy(() -> jwt.verifyAccessToken(refresh)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwt.verifyAccessToken(refresh)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwt.verifyAccessToken(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    private static JwtUtil jwtUtil(int cacheEntries) {
+        JwtUtil jwt = new JwtUtil();
+        ReflectionTestUtils.setField(jwt, "secret", "test-secret-test-secret-test-secret-1234");
+        ReflectionTestUtils.setField(jwt, "accessTokenMs", 60_000L);
+        ReflectionTestUtils.setField(jwt, "verifiedCacheMaxEntries", cacheEntries);
+        jwt.init();
+        return jwt;
+    }
+}
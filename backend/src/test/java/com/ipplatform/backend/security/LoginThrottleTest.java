@@ -0,0 +1,108 @@
+package com.ipplatform.backend.security;
+
+import com.ipplatform.backend.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    private static final long WINDOW_SECONDS = 300;
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final LoginThrottle throttle = new LoginThrottle(WINDOW_SECONDS, 3, 2, 1000, now::get);
+
+    // ── Per IP ────────────────────────────────────────────────────────────────
+
+    @Test
+    void limitsAttemptsPerIpWithinTheWindow() {
+        for (int i = 0; i < 3; i++) throttle.acquire("user" + i, "10.0.0.1");
+
+        assertThatThrownBy(() -> throttle.acquire("other", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> throttle.acquire("other", "10.0.0.2")).doesNotThrowAnyException();
+        assertThat(throttle.stats().throttled()).isEqualTo(1);
+    }
+
+    @Test
+    void retryAfterIsWhenTheOldestAttemptLeavesTheWindow() {
+        throttle.acquire("a", "10.0.0.1");
+        advanceSeconds(100);
+        throttle.acquire("b", "10.0.0.1");
+        throttle.acquire("c", "10.0.0.1");
+
+        // Oldest attempt leaves in 200 s; rounded up to a whole second past it
+        assertThatThrownBy(() -> throttle.acquire("d", "10.0.0.1"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(201));
+    }
+
+    @Test
+    void slidingWindowEvictsOldAttempts() {
+        throttle.acquire("a", "10.0.0.1");
+        advanceSeconds(100);
+        throttle.acquire("b", "10.0.0.1");
+        throttle.acquire("c", "10.0.0.1");
+
+        advanceSeconds(200);   // the first attempt is now exactly a window old
+        assertThatCode(() -> throttle.acquire("d", "10.0.0.1")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> throttle.acquire("e", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void sweepDropsIdleWindows() {
+        throttle.acquire("a", "10.0.0.1");
+        throttle.failed("a", "10.0.0.1");
+        assertThat(throttle.stats().trackedIps()).isEqualTo(1);
+        assertThat(throttle.stats().trackedUsernames()).isEqualTo(1);
+
+        advanceSeconds(WINDOW_SECONDS);
+        throttle.sweep();
+
+        assertThat(throttle.stats().trackedIps()).isZero();
+        assertThat(throttle.stats().trackedUsernames()).isZero();
+    }
+
+    // ── Per username + IP ─────────────────────────────────────────────────────
+
+    @Test
+    void failuresLockTheUsernameForThatAddressOnly() {
+        throttle.failed("alice", "10.0.0.1");
+        throttle.failed("Alice ", "10.0.0.1");   // same account, differently typed
+
+        assertThatThrownBy(() -> throttle.acquire("alice", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("this account");
+        // The owner signing in from elsewhere is not locked out
+        assertThatCode(() -> throttle.acquire("alice", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void successClearsTheUsernameFailures() {
+        throttle.failed("alice", "10.0.0.1");
+        throttle.succeeded("alice", "10.0.0.1");
+        throttle.failed("alice", "10.0.0.1");
+
+        assertThatCode(() -> throttle.acquire("alice", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void usernameFailuresExpireWithTheWindow() {
+        throttle.failed("alice", "10.0.0.1");
+        throttle.failed("alice", "10.0.0.1");
+
+        advanceSeconds(WINDOW_SECONDS);
+
+        assertThatCode(() -> throttle.acquire("alice", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    private void advanceSeconds(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
@@ -0,0 +1,105 @@
+package com.ipplatform.backend.security;
+
+import com.ipplatform.backend.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (hasher != null) hasher.shutdown();
+    }
+
+    @Test
+    void runsHashesOnThePool() {
+        hasher = new PasswordHasher(new PlainEncoder(), 2, 4, 5000);
+
+        assertThat(hasher.encode("secret")).isEqualTo("{plain}secret");
+        assertThat(hasher.matches("secret", "{plain}secret")).isTrue();
+        assertThat(hasher.matches("wrong", "{plain}secret")).isFalse();
+        assertThat(hasher.stats().hashes()).isEqualTo(3);
+        assertThat(hasher.stats().threads()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsWith429WhenTheQueueIsFull() throws Exception {
+        hasher = new PasswordHasher(new BlockingEncoder(), 1, 1, 10_000);
+
+        // One hash running, one queued — the pool is saturated
+        CompletableFuture.runAsync(() -> hasher.encode("running"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(() -> hasher.encode("queued"));
+        awaitQueued(1);
+
+        assertThatThrownBy(() -> hasher.encode("rejected"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isEqualTo(10));
+        assertThat(hasher.stats().rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void timesOutWith429() {
+        hasher = new PasswordHasher(new BlockingEncoder(), 1, 4, 100);
+
+        assertThatThrownBy(() -> hasher.encode("slow"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .satisfies(e -> assertThat(((TooManyRequestsException) e).getRetryAfterSeconds()).isEqualTo(1));
+        assertThat(hasher.stats().timedOut()).isEqualTo(1);
+    }
+
+    @Test
+    void encoderExceptionsPassThrough() {
+        hasher = new PasswordHasher(new PlainEncoder(), 1, 1, 5000);
+
+        assertThatThrownBy(() -> hasher.matches("secret", null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void awaitQueued(int queued) throws InterruptedException {
+        for (int i = 0; i < 500 && hasher.stats().queued() < queued; i++) Thread.sleep(10);
+        assertThat(hasher.stats().queued()).isEqualTo(queued);
+    }
+
+    private static class PlainEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "{plain}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null) throw new IllegalArgumentException("No encoded password");
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+
+    /** Holds every hash until the test ends. */
+    private class BlockingEncoder extends PlainEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.encode(rawPassword);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ipplatform.backend.security;
+
+import com.ipplatform.backend.exception.AuthException;
+import com.ipplatform.backend.repository.AdminRepository;
+import com.ipplatform.backend.repository.AnalystRepository;
+import com.ipplatform.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SubjectIdResolverTest {
+
+    private final UserRepository users = mock(UserRepository.class);
+    private final AnalystRepository analysts = mock(AnalystRepository.class);
+    private final AdminRepository admins = mock(AdminRepository.class);
+    private final SubjectIdResolver resolver = new SubjectIdResolver(users, analysts, admins, 60_000, 2);
+
+    @Test
+    void principalWithAnIdIsReturnedAsIs() {
+        SubjectPrincipal principal = new SubjectPrincipal(5L, "alice", "USER");
+
+        assertThat(resolver.resolve(principal)).isSameAs(principal);
+        verifyNoInteractions(users, analysts, admins);
+    }
+
+    @Test
+    void looksUpTheIdInTheSubjectTypesTable() {
+        when(analysts.findIdByUsername("alice")).thenReturn(Optional.of(9L));
+        when(admins.findIdByUsername("alice")).thenReturn(Optional.of(3L));
+
+        assertThat(resolver.resolve(new SubjectPrincipal(null, "alice", "ANALYST")).id()).isEqualTo(9L);
+        assertThat(resolver.resolve(new SubjectPrincipal(null, "alice", "ADMIN")).id()).isEqualTo(3L);
+        verify(users, never()).findIdByUsername(any());
+    }
+
+    @Test
+    void remembersAResolvedIdForTheTtl() {
+        when(users.findIdByUsername("alice")).thenReturn(Optional.of(5L));
+
+        resolver.resolve(new SubjectPrincipal(null, "alice", "USER"));
+        SubjectPrincipal again = resolver.resolve(new SubjectPrincipal(null, "alice", "USER"));
+
+        assertThat(again).isEqualTo(new SubjectPrincipal(5L, "alice", "USER"));
+        verify(users, times(1)).findIdByUsername("alice");
+    }
+
+    @Test
+    void keepsLookingUpWithoutCachingWhileFull() {
+        when(users.findIdByUsername(any())).thenReturn(Optional.of(1L));
+
+        resolver.resolve(new SubjectPrincipal(null, "a", "USER"));
+        resolver.resolve(new SubjectPrincipal(null, "b", "USER"));
+        resolver.resolve(new SubjectPrincipal(null, "c", "USER"));
+        resolver.resolve(new SubjectPrincipal(null, "c", "USER"));
+
+        verify(users, times(2)).findIdByUsername("c");
+        verify(users, times(1)).findIdByUsername("a");
+    }
+
+    @Test
+    void unknownSubjectIsRejected() {
+        when(users.findIdByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> resolver.resolve(new SubjectPrincipal(null, "ghost", "USER")))
+                .isInstanceOf(AuthException.class);
+        assertThatThrownBy(() -> resolver.resolve(new SubjectPrincipal(null, "alice", null)))
+                .isInstanceOf(AuthException.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.ipplatform.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(2);
+
+    // ── Entries ───────────────────────────────────────────────────────────────
+
+    @Test
+    void servesAnEntryUntilTheTokensOwnExpiry() {
+        AccessTokenClaims claims = claims("alice", NOW.plusSeconds(60));
+        cache.put("d1", claims);
+
+        assertThat(cache.get("d1", NOW)).isSameAs(claims);
+        assertThat(cache.get("d1", NOW.plusSeconds(59))).isSameAs(claims);
+        assertThat(cache.get("d1", NOW.plusSeconds(60))).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void skipsNewTokensWhileFull() {
+        cache.put("d1", claims("alice", NOW.plusSeconds(60)));
+        cache.put("d2", claims("bob", NOW.plusSeconds(60)));
+        cache.put("d3", claims("carol", NOW.plusSeconds(60)));
+
+        assertThat(cache.get("d3", NOW)).isNull();
+        assertThat(cache.get("d1", NOW)).isNotNull();
+    }
+
+    @Test
+    void sweepDropsOnlyExpiredEntries() {
+        cache.put("d1", claims("alice", NOW.plusSeconds(10)));
+        cache.put("d2", claims("bob", NOW.plusSeconds(60)));
+
+        assertThat(cache.sweep(NOW.plusSeconds(30))).isEqualTo(1);
+        assertThat(cache.get("d2", NOW.plusSeconds(30))).isNotNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void zeroEntriesDisablesTheCache() {
+        assertThat(new VerifiedTokenCache(0).isEnabled()).isFalse();
+        assertThat(cache.isEnabled()).isTrue();
+    }
+
+    // ── Digest ────────────────────────────────────────────────────────────────
+
+    @Test
+    void digestIsStableAndDoesNotContainTheToken() {
+        String token = "header.payload.signature";
+
+        assertThat(VerifiedTokenCache.digest(token)).isEqualTo(VerifiedTokenCache.digest(token));
+        assertThat(VerifiedTokenCache.digest(token)).isNotEqualTo(VerifiedTokenCache.digest(token + "x"));
+        assertThat(VerifiedTokenCache.digest(token)).doesNotContain("payload").hasSize(44);
+    }
+
+    private static AccessTokenClaims claims(String username, Instant expiresAt) {
+        return new AccessTokenClaims(username, 1L, "ROLE_USER", "USER", expiresAt);
+    }
+}
@@ -0,0 +1,92 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.dto.IpAssetSummaryDTO;
+import com.ipplatform.backend.model.IpAsset;
+import com.ipplatform.backend.repository.IpAssetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AssetIndexServiceTest {
+
+    private final IpAssetRepository repository = mock(IpAssetRepository.class);
+    private final AssetIndexService service = new AssetIndexService(repository, true, 100, 0.3);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void savesDuringTheFirstBuildAreReplayedIntoTheIndex() throws Exception {
+        IpAsset stored = asset(1, "Graphene battery");
+        IpAsset edited = asset(1, "Graphene supercapacitor");
+        IpAsset created = asset(2, "Solar cell");
+
+        // Both saves land while the table is being read
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenAnswer(call -> {
+            service.onAssetSaved(new IpAssetSavedEvent(edited, null));
+            service.onAssetSaved(new IpAssetSavedEvent(created, null));
+            return List.of(stored);
+        });
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(1L), any())).thenReturn(List.of());
+
+        service.rebuildAsync();
+        awaitReady();
+
+        assertThat(ids("supercapacitor")).containsExactly(1L);
+        assertThat(ids("battery")).isEmpty();
+        assertThat(ids("solar")).containsExactly(2L);
+    }
+
+    @Test
+    void savesDuringARebuildReachTheNewIndex() throws Exception {
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any()))
+                .thenReturn(List.of(asset(1, "Graphene battery")));
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(1L), any())).thenReturn(List.of());
+        service.rebuildAsync();
+        awaitReady();
+
+        // Second rebuild: a save of asset 1 arrives after its row was read; asset 3
+        // exists only in the new read, so the new index is told apart by its size
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(0L), any())).thenAnswer(call -> {
+            service.onAssetSaved(new IpAssetSavedEvent(asset(1, "Graphene anode"), null));
+            return List.of(asset(1, "Graphene battery"), asset(3, "Wind turbine"));
+        });
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(3L), any())).thenReturn(List.of());
+        service.rebuildAsync();
+        for (int i = 0; i < 500 && service.stats().liveDocuments() < 2; i++) Thread.sleep(10);
+
+        assertThat(service.stats().liveDocuments()).isEqualTo(2);
+        assertThat(ids("anode")).containsExactly(1L);
+        assertThat(ids("battery")).isEmpty();
+        assertThat(ids("turbine")).containsExactly(3L);
+    }
+
+    private List<Long> ids(String keyword) {
+        return service.search(keyword, null, null, 0, 10).getContent().stream()
+                .map(IpAssetSummaryDTO::getId)
+                .toList();
+    }
+
+    private void awaitReady() throws InterruptedException {
+        for (int i = 0; i < 500 && !service.isReady(); i++) Thread.sleep(10);
+        assertThat(service.isReady()).isTrue();
+    }
+
+    private static IpAsset asset(long id, String title) {
+        IpAsset asset = new IpAsset();
+        asset.setId(id);
+        asset.setTitle(title);
+        asset.setJurisdiction("US");
+        asset.setStatus("ACTIVE");
+        return asset;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.exception.AuthException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdentityIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final IdentityIndex identities = new IdentityIndex(jdbcTemplate);
+
+    // ── Free usernames ────────────────────────────────────────────────────────
+
+    @Test
+    void freeBaseIsReturnedAsIs() {
+        taken();
+
+        assertThat(identities.freeUsername("Alice")).isEqualTo("Alice");
+    }
+
+    @Test
+    void takenBaseGetsTheFirstFreeSuffix() {
+        taken("alice", "alice1", "alice3");
+
+        assertThat(identities.freeUsername("Alice")).isEqualTo("Alice2");
+    }
+
+    @Test
+    void prefixQueryMatchesCaseInsensitivelyAndEscapesLikeWildcards() {
+        taken();
+
+        identities.freeUsername("John_Doe");
+
+        verify(jdbcTemplate).queryForList(anyString(), eq(String.class), eq("john\\_doe%"), eq("^john_doe[0-9]*$"));
+    }
+
+    // ── Email owner ───────────────────────────────────────────────────────────
+
+    @Test
+    void emailIsLookedUpTrimmedAndLowerCased() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("jane@example.com")))
+                .thenReturn(List.of("ANALYST"));
+
+        assertThat(identities.emailOwner("  Jane@Example.com ")).isEqualTo("ANALYST");
+        assertThat(identities.emailTaken("nobody@example.com")).isFalse();
+    }
+
+    // ── Save ──────────────────────────────────────────────────────────────────
+
+    @Test
+    void identityIndexViolationsBecomeTheUsualAuthErrors() {
+        assertThatThrownBy(() -> identities.save(() -> { throw violation("uq_identities_username"); }))
+                .isInstanceOf(AuthException.class).hasMessage("Username already taken");
+        assertThatThrownBy(() -> identities.save(() -> { throw violation("uq_identities_email"); }))
+                .isInstanceOf(AuthException.class).hasMessage("Email already registered");
+    }
+
+    @Test
+    void otherViolationsPassThrough() {
+        assertThatThrownBy(() -> identities.save(() -> { throw violation("fk_something_else"); }))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(identities.save(() -> "saved")).isEqualTo("saved");
+    }
+
+    private void taken(String... usernames) {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), anyString(), anyString()))
+                .thenReturn(List.of(usernames));
+    }
+
+    private static DataIntegrityViolationException violation(String constraint) {
+        return new DataIntegrityViolationException("duplicate key",
+                new SQLException("duplicate key value violates unique constraint \"" + constraint + "\""));
+    }
+}
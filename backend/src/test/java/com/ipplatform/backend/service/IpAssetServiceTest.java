@@ -0,0 +1,147 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.dto.IpAssetSummaryDTO;
+import com.ipplatform.backend.model.IpAsset;
+import com.ipplatform.backend.repository.IpAssetRepository;
+import com.ipplatform.backend.service.IpAssetService.SearchMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IpAssetServiceTest {
+
+    private final IpAssetRepository repository = mock(IpAssetRepository.class);
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    private final IpAssetService service = service(SearchMode.LIKE);
+
+    // ── Search mode ───────────────────────────────────────────────────────────
+
+    @Test
+    void fullTextModeUsesTheRankedQueryWithATrimmedKeyword() {
+        IpAssetRepository.AssetSummaryRow row = row(7L, "Solar cell");
+        when(repository.fullTextSearch(eq("solar cell"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(row)));
+
+        Page<IpAssetSummaryDTO> page = service.search("  solar cell ", 0, 10, SearchMode.FULLTEXT);
+
+        assertThat(page.getContent()).singleElement().satisfies(dto -> {
+            assertThat(dto.getId()).isEqualTo(7L);
+            assertThat(dto.getTitle()).isEqualTo("Solar cell");
+        });
+        verify(repository, never()).searchAssets(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void blankKeywordStaysOnTheLikePathSoEverythingIsListed() {
+        when(repository.searchAssets(eq(" "), any(Pageable.class))).thenReturn(Page.empty());
+
+        service.search(" ", 0, 10, SearchMode.FULLTEXT);
+
+        verify(repository, never()).fullTextSearch(anyString(), any(Pageable.class));
+    }
+
+    @Test
+    void requestWithoutAModeUsesTheConfiguredDefault() {
+        IpAssetService fullTextByDefault = service(SearchMode.FULLTEXT);
+        when(repository.fullTextSearch(anyString(), any(Pageable.class))).thenReturn(Page.empty());
+        when(repository.searchAssets(anyString(), any(Pageable.class))).thenReturn(Page.empty());
+
+        fullTextByDefault.search("graphene", 0, 10, null);
+        service.search("graphene", 0, 10, null);
+
+        verify(repository).fullTextSearch(eq("graphene"), any(Pageable.class));
+        verify(repository).searchAssets(eq("graphene"), any(Pageable.class));
+    }
+
+    // ── Save ──────────────────────────────────────────────────────────────────
+
+    @Test
+    void updateCarriesThePreviousStatusWhenCountersAreEnabled() {
+        ReflectionTestUtils.setField(service, "countersEnabled", true);
+        IpAssetRepository.StatusSnapshot snapshot = mock(IpAssetRepository.StatusSnapshot.class);
+        when(snapshot.getStatus()).thenReturn("PENDING");
+        when(snapshot.getExpiryDate()).thenReturn(LocalDate.of(2030, 1, 1));
+        when(snapshot.getRenewalDate()).thenReturn(LocalDate.of(2026, 6, 1));
+        when(repository.findStatusSnapshotById(5L)).thenReturn(Optional.of(snapshot));
+        IpAsset asset = asset(5L);
+        when(repository.save(asset)).thenReturn(asset);
+
+        service.save(asset);
+
+        verify(events).publishEvent(new IpAssetSavedEvent(asset,
+                new IpAssetSavedEvent.Previous("PENDING", LocalDate.of(2030, 1, 1), LocalDate.of(2026, 6, 1))));
+    }
+
+    @Test
+    void deadlineTrackingAlsoNeedsThePreviousState() {
+        ReflectionTestUtils.setField(service, "deadlinesEnabled", true);
+        IpAsset asset = asset(5L);
+        when(repository.findStatusSnapshotById(5L)).thenReturn(Optional.empty());
+        when(repository.save(asset)).thenReturn(asset);
+
+        service.save(asset);
+
+        verify(repository).findStatusSnapshotById(5L);
+    }
+
+    @Test
+    void updateSkipsTheSnapshotLookupWhenNoListenerNeedsIt() {
+        IpAsset asset = asset(5L);
+        when(repository.save(asset)).thenReturn(asset);
+
+        service.save(asset);
+
+        verify(repository, never()).findStatusSnapshotById(any());
+        verify(events).publishEvent(new IpAssetSavedEvent(asset, null));
+    }
+
+    @Test
+    void insertHasNoPreviousState() {
+        ReflectionTestUtils.setField(service, "countersEnabled", true);
+        IpAsset asset = asset(null);
+        when(repository.save(asset)).thenReturn(asset);
+
+        service.save(asset);
+
+        verify(repository, never()).findStatusSnapshotById(any());
+        verify(events).publishEvent(new IpAssetSavedEvent(asset, null));
+    }
+
+    private IpAssetService service(SearchMode defaultMode) {
+        IpAssetService service = new IpAssetService();
+        ReflectionTestUtils.setField(service, "repository", repository);
+        ReflectionTestUtils.setField(service, "events", events);
+        ReflectionTestUtils.setField(service, "defaultMode", defaultMode);
+        return service;
+    }
+
+    private static IpAsset asset(Long id) {
+        IpAsset asset = new IpAsset();
+        asset.setId(id);
+        asset.setStatus("ACTIVE");
+        return asset;
+    }
+
+    private static IpAssetRepository.AssetSummaryRow row(Long id, String title) {
+        IpAssetRepository.AssetSummaryRow row = mock(IpAssetRepository.AssetSummaryRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getTitle()).thenReturn(title);
+        return row;
+    }
+}
@@ -0,0 +1,129 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.model.IpAsset;
+import com.ipplatform.backend.repository.IpAssetRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LegalStatusCountersTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final IpAssetRepository repository = mock(IpAssetRepository.class);
+    private final LegalStatusCounters counters = new LegalStatusCounters(repository, true);
+
+    // ── Loading ───────────────────────────────────────────────────────────────
+
+    @Test
+    void loadsStatusCountsAndTheExpiryHistogram() {
+        load();
+
+        LegalStatusCounters.Counts counts = counters.snapshot(TODAY, TODAY.plusDays(30));
+
+        assertThat(counters.isLoaded()).isTrue();
+        assertThat(counts.status("ACTIVE")).isEqualTo(3);
+        assertThat(counts.status("EXPIRED")).isEqualTo(1);
+        assertThat(counts.status("UNKNOWN")).isZero();
+        assertThat(counts.total()).isEqualTo(4);
+        assertThat(counts.expiring()).isEqualTo(2);
+    }
+
+    @Test
+    void disabledCountersNeverLoad() {
+        LegalStatusCounters disabled = new LegalStatusCounters(repository, false);
+
+        disabled.onApplicationReady();
+        disabled.reconcile();
+
+        assertThat(disabled.isLoaded()).isFalse();
+        verify(repository, never()).countGroupedByStatus();
+    }
+
+    @Test
+    void aFailedReloadKeepsThePreviousCounts() {
+        load();
+        when(repository.countGroupedByStatus()).thenThrow(new IllegalStateException("db down"));
+
+        counters.reload();
+
+        assertThat(counters.snapshot(TODAY, TODAY).status("ACTIVE")).isEqualTo(3);
+    }
+
+    // ── Incremental updates ───────────────────────────────────────────────────
+
+    @Test
+    void anUpdateMovesOneAssetBetweenBuckets() {
+        load();
+
+        counters.onAssetSaved(new IpAssetSavedEvent(asset("EXPIRED", TODAY.plusDays(100)),
+                new IpAssetSavedEvent.Previous("ACTIVE", TODAY.plusDays(5), null)));
+
+        LegalStatusCounters.Counts counts = counters.snapshot(TODAY, TODAY.plusDays(30));
+        assertThat(counts.status("ACTIVE")).isEqualTo(2);
+        assertThat(counts.status("EXPIRED")).isEqualTo(2);
+        assertThat(counts.total()).isEqualTo(4);
+        assertThat(counts.expiring()).isEqualTo(1);
+    }
+
+    @Test
+    void anInsertOnlyAdds() {
+        load();
+
+        counters.onAssetSaved(new IpAssetSavedEvent(asset(null, TODAY.plusDays(1)), null));
+
+        LegalStatusCounters.Counts counts = counters.snapshot(TODAY, TODAY.plusDays(30));
+        assertThat(counts.status("")).isEqualTo(1);
+        assertThat(counts.total()).isEqualTo(5);
+        assertThat(counts.expiring()).isEqualTo(3);
+    }
+
+    @Test
+    void savesBeforeTheFirstLoadAreIgnored() {
+        counters.onAssetSaved(new IpAssetSavedEvent(asset("ACTIVE", null), null));
+
+        assertThat(counters.isLoaded()).isFalse();
+        assertThat(counters.snapshot(TODAY, TODAY).total()).isZero();
+    }
+
+    /** 3 ACTIVE + 1 EXPIRED; two expire within 30 days, one later. */
+    private void load() {
+        List<IpAssetRepository.StatusCount> statuses = List.of(
+                statusCount("ACTIVE", 3), statusCount("EXPIRED", 1));
+        List<IpAssetRepository.DateCount> expiries = List.of(
+                dateCount(TODAY.plusDays(5), 1), dateCount(TODAY.plusDays(20), 1),
+                dateCount(TODAY.plusDays(200), 1));
+        when(repository.countGroupedByStatus()).thenReturn(statuses);
+        when(repository.countGroupedByExpiryDateFrom(any())).thenReturn(expiries);
+        counters.reload();
+    }
+
+    private static IpAssetRepository.StatusCount statusCount(String status, long total) {
+        IpAssetRepository.StatusCount row = mock(IpAssetRepository.StatusCount.class);
+        when(row.getStatus()).thenReturn(status);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+
+    private static IpAssetRepository.DateCount dateCount(LocalDate date, long total) {
+        IpAssetRepository.DateCount row = mock(IpAssetRepository.DateCount.class);
+        when(row.getDate()).thenReturn(date);
+        when(row.getTotal()).thenReturn(total);
+        return row;
+    }
+
+    private static IpAsset asset(String status, LocalDate expiry) {
+        IpAsset asset = new IpAsset();
+        asset.setStatus(status);
+        asset.setExpiryDate(expiry);
+        return asset;
+    }
+}
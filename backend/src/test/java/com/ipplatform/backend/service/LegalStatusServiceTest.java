@@ -0,0 +1,131 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.dto.AlertItemDTO;
+import com.ipplatform.backend.dto.CursorPage;
+import com.ipplatform.backend.model.IpAsset;
+import com.ipplatform.backend.repository.IpAssetRepository;
+import com.ipplatform.backend.service.LegalStatusService.AlertType;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LegalStatusServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final IpAssetRepository repository = mock(IpAssetRepository.class);
+    private final LegalStatusService service =
+            new LegalStatusService(repository, mock(LegalStatusCounters.class), 90, 365, 10, 2);
+
+    // ── Alerts ────────────────────────────────────────────────────────────────
+
+    @Test
+    void alertsKeepTheirEntityListShape() {
+        List<IpAsset> expiries = List.of(new IpAsset());
+        when(repository.findByExpiryDateBetween(TODAY, TODAY.plusDays(90))).thenReturn(expiries);
+        when(repository.findByRenewalDateBetween(TODAY, TODAY.plusDays(90))).thenReturn(List.of());
+
+        Map<String, List<IpAsset>> alerts = service.getAlerts();
+
+        assertThat(alerts.get("expiries")).isSameAs(expiries);
+        assertThat(alerts.get("renewals")).isEmpty();
+    }
+
+    // ── Alert pages ───────────────────────────────────────────────────────────
+
+    @Test
+    void firstPageStartsBeforeTodayAndHandsOutACursorWhenMoreRemain() {
+        List<AlertItemDTO> rows = List.of(alert(1L, 3), alert(2L, 5), alert(3L, 8));
+        when(repository.findExpiryAlerts(eq(TODAY), eq(TODAY.plusDays(30)), eq(TODAY.minusDays(1)), eq(0L),
+                any(Pageable.class))).thenReturn(rows);
+
+        CursorPage<AlertItemDTO> page = service.getAlerts(AlertType.EXPIRY, 30, null, 2);
+
+        assertThat(page.items()).extracting(AlertItemDTO::getId).containsExactly(1L, 2L);
+        assertThat(page.hasMore()).isTrue();
+        PageCursor next = PageCursor.decode(page.nextCursor(), "alerts:EXPIRY:30");
+        assertThat(next.sortKey()).isEqualTo(TODAY.plusDays(5).toString());
+        assertThat(next.id()).isEqualTo(2L);
+    }
+
+    @Test
+    void cursorResumesAfterTheLastDateAndId() {
+        String cursor = new PageCursor("alerts:RENEWAL:90", TODAY.plusDays(5).toString(), 2L).encode();
+        List<AlertItemDTO> rows = List.of(alert(3L, 8));
+        when(repository.findRenewalAlerts(eq(TODAY), eq(TODAY.plusDays(90)), eq(TODAY.plusDays(5)), eq(2L),
+                any(Pageable.class))).thenReturn(rows);
+
+        CursorPage<AlertItemDTO> page = service.getAlerts(AlertType.RENEWAL, null, cursor, 2);
+
+        assertThat(page.items()).extracting(AlertItemDTO::getId).containsExactly(3L);
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void aCursorFromAnotherHorizonIsRejected() {
+        String cursor = new PageCursor("alerts:EXPIRY:30", TODAY.toString(), 2L).encode();
+
+        assertThatThrownBy(() -> service.getAlerts(AlertType.EXPIRY, 60, cursor, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsSizesAndHorizonsOutsideTheLimits() {
+        assertThatThrownBy(() -> service.getAlerts(AlertType.EXPIRY, 30, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getAlerts(AlertType.EXPIRY, 30, null, 11))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getAlerts(AlertType.EXPIRY, 366, null, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getAlerts(AlertType.EXPIRY, -1, null, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ── Stream ────────────────────────────────────────────────────────────────
+
+    @Test
+    void streamWalksBatchesUntilAShortOne() {
+        List<AlertItemDTO> first = List.of(alert(1L, 1), alert(2L, 4));
+        List<AlertItemDTO> second = List.of(alert(3L, 9));
+        when(repository.findExpiryAlerts(any(), any(), eq(TODAY.minusDays(1)), eq(0L), any(Pageable.class)))
+                .thenReturn(first);
+        when(repository.findExpiryAlerts(any(), any(), eq(TODAY.plusDays(4)), eq(2L), any(Pageable.class)))
+                .thenReturn(second);
+
+        List<List<AlertItemDTO>> batches = new ArrayList<>();
+        service.forEachAlertBatch(AlertType.EXPIRY, null, batches::add);
+
+        assertThat(batches).containsExactly(first, second);
+        verify(repository, never()).findRenewalAlerts(any(), any(), any(), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void streamWithoutATypeCoversBoth() {
+        when(repository.findExpiryAlerts(any(), any(), any(), anyLong(), any(Pageable.class))).thenReturn(List.of());
+        when(repository.findRenewalAlerts(any(), any(), any(), anyLong(), any(Pageable.class))).thenReturn(List.of());
+
+        service.forEachAlertBatch(null, 30, batch -> {});
+
+        verify(repository).findExpiryAlerts(any(), any(), any(), anyLong(), any(Pageable.class));
+        verify(repository).findRenewalAlerts(any(), any(), any(), anyLong(), any(Pageable.class));
+    }
+
+    private static AlertItemDTO alert(Long id, int daysFromToday) {
+        return new AlertItemDTO("EXPIRY", id, "Asset " + id, "US", TODAY.plusDays(daysFromToday));
+    }
+}
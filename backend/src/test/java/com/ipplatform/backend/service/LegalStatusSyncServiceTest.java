@@ -0,0 +1,179 @@
+package com.ipplatform.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ipplatform.backend.ip.dto.PatentBatch;
+import com.ipplatform.backend.ip.exception.ExternalApiException;
+import com.ipplatform.backend.ip.service.LensApiService;
+import com.ipplatform.backend.model.SyncCheckpoint;
+import com.ipplatform.backend.repository.IpAssetRepository;
+import com.ipplatform.backend.repository.SyncCheckpointRepository;
+import com.ipplatform.backend.service.ingestion.IpAssetBulkWriter;
+import com.ipplatform.backend.service.ingestion.IpAssetBulkWriter.LegalStatusUpdate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LegalStatusSyncServiceTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final IpAssetRepository repository = mock(IpAssetRepository.class);
+    private final SyncCheckpointRepository checkpoints = mock(SyncCheckpointRepository.class);
+    private final LensApiService lens = mock(LensApiService.class);
+    private final IpAssetBulkWriter writer = mock(IpAssetBulkWriter.class);
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    private final SyncCheckpoint checkpoint = new SyncCheckpoint(LegalStatusSyncService.CHECKPOINT);
+    private final LegalStatusSyncService sync = service(true);
+
+    @AfterEach
+    void stopRunner() {
+        sync.shutdown();
+    }
+
+    // ── Diffing ───────────────────────────────────────────────────────────────
+
+    @Test
+    void writesOnlyRowsThatDifferFromLens() throws Exception {
+        List<IpAssetRepository.LegalStatusRow> rows = List.of(
+                row(1L, "L1", "GRANTED", "ACTIVE", LocalDate.of(2030, 1, 1)),
+                row(2L, "L2", "GRANTED", "ACTIVE", LocalDate.of(2030, 1, 1)),
+                row(3L, "L3", "RENEWAL", "ACTIVE", LocalDate.of(2030, 1, 1)),
+                row(4L, "L4", "GRANTED", "ACTIVE", null));
+        batches(rows);
+        Map<String, JsonNode> found = Map.of(
+                "L1", json("{\"legal_status\": {\"patent_status\": \"ACTIVE\", \"anticipated_term_date\": \"2030-01-01\"}}"),
+                "L2", json("{\"legal_status\": {\"patent_status\": \"EXPIRED\", \"anticipated_term_date\": \"2030-01-01\"}}"),
+                "L3", json("{\"legal_status\": {\"patent_status\": \"ACTIVE\", \"anticipated_term_date\": \"2031-01-01\"}}"));
+        when(lens.getPatentsByLensIdsAsync(anyList(), anyList(), eq(false)))
+                .thenReturn(Mono.just(new PatentBatch(found, List.of("L4"), List.of())));
+
+        LegalStatusSyncService.RunStats stats = sync.run();
+
+        verify(writer).updateLegalStatus(List.of(
+                new LegalStatusUpdate(2L, "EXPIRED", "EXPIRED", null, LocalDate.of(2030, 1, 1)),
+                // Same code on Lens.org — the manually set status is kept
+                new LegalStatusUpdate(3L, "RENEWAL", "ACTIVE", null, LocalDate.of(2031, 1, 1))));
+        assertThat(stats.checked()).isEqualTo(4);
+        assertThat(stats.changed()).isEqualTo(2);
+        assertThat(stats.missing()).isEqualTo(1);
+        assertThat(stats.passCompleted()).isTrue();
+        verify(events).publishEvent(new IpAssetsBulkLoadedEvent(LegalStatusSyncService.CHECKPOINT, 2));
+    }
+
+    // ── Checkpoint ────────────────────────────────────────────────────────────
+
+    @Test
+    void aCompletedPassStartsOverFromTheFirstId() {
+        checkpoint.setLastId(40L);
+        batches(List.of());
+
+        LegalStatusSyncService.RunStats stats = sync.run();
+
+        assertThat(stats.passCompleted()).isTrue();
+        assertThat(checkpoint.getLastId()).isZero();
+        assertThat(checkpoint.getLastPassAt()).isNotNull();
+        verify(repository).findLegalStatusBatch(eq(40L), any(Pageable.class));
+        verify(events, never()).publishEvent(any());
+    }
+
+    @Test
+    void aLensErrorKeepsTheCheckpointForTheNextRun() {
+        checkpoint.setLastId(40L);
+        List<IpAssetRepository.LegalStatusRow> rows = List.of(row(41L, "L41", "GRANTED", "ACTIVE", null));
+        when(repository.findLegalStatusBatch(eq(40L), any(Pageable.class))).thenReturn(rows);
+        when(lens.getPatentsByLensIdsAsync(anyList(), anyList(), eq(false)))
+                .thenReturn(Mono.error(new ExternalApiException("Lens.org", 429, "slow down")));
+
+        LegalStatusSyncService.RunStats stats = sync.run();
+
+        assertThat(stats.stoppedBy()).contains("429");
+        assertThat(stats.passCompleted()).isFalse();
+        assertThat(checkpoint.getLastId()).isEqualTo(40L);
+        verify(writer, never()).updateLegalStatus(anyList());
+    }
+
+    @Test
+    void aPartlyFailedBatchKeepsTheCheckpoint() {
+        checkpoint.setLastId(40L);
+        List<IpAssetRepository.LegalStatusRow> rows = List.of(row(41L, "L41", "GRANTED", "ACTIVE", null));
+        when(repository.findLegalStatusBatch(eq(40L), any(Pageable.class))).thenReturn(rows);
+        when(lens.getPatentsByLensIdsAsync(anyList(), anyList(), eq(false)))
+                .thenReturn(Mono.just(new PatentBatch(Map.of(), List.of(), List.of("L41"))));
+
+        LegalStatusSyncService.RunStats stats = sync.run();
+
+        assertThat(stats.stoppedBy()).isNotNull();
+        assertThat(checkpoint.getLastId()).isEqualTo(40L);
+        verify(writer, never()).updateLegalStatus(anyList());
+    }
+
+    // ── Scheduling ────────────────────────────────────────────────────────────
+
+    @Test
+    void scheduledRunHandsTheWorkToItsOwnThread() throws Exception {
+        CompletableFuture<String> thread = new CompletableFuture<>();
+        when(checkpoints.findById(LegalStatusSyncService.CHECKPOINT)).thenAnswer(inv -> {
+            thread.complete(Thread.currentThread().getName());
+            return Optional.of(checkpoint);
+        });
+        batches(List.of());
+
+        sync.scheduledRun();
+
+        assertThat(thread.get(5, TimeUnit.SECONDS)).isEqualTo("legal-status-sync");
+    }
+
+    @Test
+    void disabledSyncNeverRunsOnSchedule() {
+        LegalStatusSyncService disabled = service(false);
+
+        disabled.scheduledRun();
+        disabled.shutdown();
+
+        verify(checkpoints, never()).findById(any());
+    }
+
+    private LegalStatusSyncService service(boolean enabled) {
+        when(checkpoints.findById(LegalStatusSyncService.CHECKPOINT)).thenReturn(Optional.of(checkpoint));
+        return new LegalStatusSyncService(repository, checkpoints, lens, writer, events, enabled, 10, 5, 60_000);
+    }
+
+    /** One batch of rows, then the end of the table. */
+    private void batches(List<IpAssetRepository.LegalStatusRow> rows) {
+        when(repository.findLegalStatusBatch(any(), any(Pageable.class))).thenReturn(rows, List.of());
+    }
+
+    private static IpAssetRepository.LegalStatusRow row(Long id, String lensId, String status, String code,
+                                                        LocalDate expiry) {
+        IpAssetRepository.LegalStatusRow row = mock(IpAssetRepository.LegalStatusRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getLensId()).thenReturn(lensId);
+        when(row.getStatus()).thenReturn(status);
+        when(row.getLegalStatusCode()).thenReturn(code);
+        when(row.getExpiryDate()).thenReturn(expiry);
+        return row;
+    }
+
+    private static JsonNode json(String text) throws Exception {
+        return JSON.readTree(text);
+    }
+}
@@ -0,0 +1,81 @@
+package com.ipplatform.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    // ── Round trip ────────────────────────────────────────────────────────────
+
+    @Test
+    void roundTripsScopeSortKeyAndId() {
+        PageCursor cursor = new PageCursor("assets:FULLTEXT", "0.123456789", 42);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode(), "assets:FULLTEXT");
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.sortKeyAsDouble()).isEqualTo(0.123456789);
+    }
+
+    @Test
+    void roundTripsAnIdOnlyCursor() {
+        PageCursor cursor = new PageCursor("assets:LIKE", null, 7);
+
+        PageCursor decoded = PageCursor.decode(cursor.encode(), "assets:LIKE");
+
+        assertThat(decoded.sortKey()).isNull();
+        assertThat(decoded.sortKeyAsDouble()).isNull();
+        assertThat(decoded.id()).isEqualTo(7);
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new PageCursor("patents:FUZZY", "0.99", Long.MAX_VALUE).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void blankTokenMeansTheFirstPage() {
+        assertThat(PageCursor.decode(null, "assets:LIKE")).isNull();
+        assertThat(PageCursor.decode("  ", "assets:LIKE")).isNull();
+    }
+
+    // ── Rejection ─────────────────────────────────────────────────────────────
+
+    @Test
+    void rejectsACursorFromAnotherOrdering() {
+        String token = new PageCursor("assets:LIKE", null, 7).encode();
+
+        assertThatThrownBy(() -> PageCursor.decode(token, "assets:FULLTEXT"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsTamperedTokens() {
+        assertThatThrownBy(() -> PageCursor.decode("not base64!", "assets:LIKE"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(token("2|assets:LIKE||7"), "assets:LIKE"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(token("1|assets:LIKE||seven"), "assets:LIKE"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.decode(token("1|assets:LIKE|7"), "assets:LIKE"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsANonNumericSortKey() {
+        PageCursor cursor = PageCursor.decode(token("1|assets:FULLTEXT|high|7"), "assets:FULLTEXT");
+
+        assertThatThrownBy(cursor::sortKeyAsDouble).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,80 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.repository.PatentRepository;
+import com.ipplatform.backend.service.PatentSearchService.Mode;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PatentSearchServiceTest {
+
+    private final PatentRepository repository = mock(PatentRepository.class);
+    private final PatentSearchService service = new PatentSearchService(repository, 0.5, 100);
+
+    // ── Paging ────────────────────────────────────────────────────────────────
+
+    @Test
+    void rejectsPagesOutsideTheLimits() {
+        assertThatThrownBy(() -> service.search("solar", null, null, null, Mode.LIKE, null, -1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search("solar", null, null, null, Mode.LIKE, null, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search("solar", null, null, null, Mode.LIKE, null, 0, 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // ── LIKE ──────────────────────────────────────────────────────────────────
+
+    @Test
+    void likeModePassesTrimmedFiltersAndDropsBlankOnes() {
+        when(repository.searchPatents(any(), any(), any(), any(), any(Pageable.class))).thenReturn(Page.empty());
+
+        service.search(" solar ", "  ", null, "US", Mode.LIKE, null, 0, 10);
+
+        verify(repository).searchPatents(eq("solar"), isNull(), isNull(), eq("US"), any(Pageable.class));
+        verify(repository, never()).setWordSimilarityThreshold(anyDouble());
+    }
+
+    // ── FUZZY ─────────────────────────────────────────────────────────────────
+
+    @Test
+    void fuzzyModeSetsTheThresholdBeforeSearchingWithNormalizedFilters() {
+        when(repository.fuzzySearch(any(), any(), any(), any(), any(Pageable.class))).thenReturn(Page.empty());
+
+        service.search("Solar Cell", null, " ACME ", "us", Mode.FUZZY, 0.3, 0, 10);
+
+        InOrder order = inOrder(repository);
+        order.verify(repository).setWordSimilarityThreshold(0.3);
+        order.verify(repository).fuzzySearch(eq("solar cell"), isNull(), eq("acme"), eq("US"), any(Pageable.class));
+    }
+
+    @Test
+    void fuzzyModeFallsBackToTheDefaultThreshold() {
+        when(repository.fuzzySearch(any(), any(), any(), any(), any(Pageable.class))).thenReturn(Page.empty());
+
+        service.search(null, "doe", null, null, Mode.FUZZY, null, 0, 10);
+
+        verify(repository).setWordSimilarityThreshold(0.5);
+    }
+
+    @Test
+    void fuzzyModeNeedsATextFilterAndAValidThreshold() {
+        assertThatThrownBy(() -> service.search(" ", null, null, "US", Mode.FUZZY, null, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.search("solar", null, null, null, Mode.FUZZY, 1.5, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(repository, never()).setWordSimilarityThreshold(anyDouble());
+    }
+}
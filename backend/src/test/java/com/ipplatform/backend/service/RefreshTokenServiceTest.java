@@ -0,0 +1,212 @@
+package com.ipplatform.backend.service;
+
+import com.ipplatform.backend.model.RefreshToken;
+import com.ipplatform.backend.repository.RefreshTokenRepository;
+import com.ipplatform.backend.security.JwtUtil;
+import com.ipplatform.backend.security.TokenDigest;
+import com.ipplatform.backend.service.RefreshTokenService.Redemption;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private final RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+    private final JwtUtil jwtUtil = mock(JwtUtil.class);
+    private final TableJdbcTemplate table = new TableJdbcTemplate();
+
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtUtil.isRefreshToken(anyString())).thenReturn(true);
+        when(repository.save(any(RefreshToken.class))).thenAnswer(call -> {
+            table.insert(call.getArgument(0));
+            return call.getArgument(0);
+        });
+        service = service(true);
+        service.reloadFilter();
+    }
+
+    @Test
+    void redeemsALiveTokenOnceThenReportsItSpent() {
+        issue("token-1", "USER", 7L, true);
+
+        Redemption first = service.redeem("token-1", "USER");
+        assertThat(first.status()).isEqualTo(Redemption.Status.REDEEMED);
+        assertThat(first.subjectId()).isEqualTo(7L);
+        assertThat(first.rememberMe()).isTrue();
+
+        int queries = table.queries;
+        Redemption reuse = service.redeem("token-1", "USER");
+        assertThat(reuse.status()).isEqualTo(Redemption.Status.SPENT);
+        assertThat(reuse.subjectId()).isEqualTo(7L);
+        // Answered from the revoked set — no database round trip
+        assertThat(table.queries).isEqualTo(queries);
+    }
+
+    @Test
+    void reuseIsReportedSpentFromTheDatabaseWithoutTheFilter() {
+        service = service(false);
+        issue("token-1", "ANALYST", 3L, false);
+
+        assertThat(service.redeem("token-1", "ANALYST").status()).isEqualTo(Redemption.Status.REDEEMED);
+
+        Redemption reuse = service.redeem("token-1", "ANALYST");
+        assertThat(reuse.status()).isEqualTo(Redemption.Status.SPENT);
+        assertThat(reuse.subjectId()).isEqualTo(3L);
+    }
+
+    @Test
+    void tokensNeverIssuedAreUnknownWithoutTouchingTheDatabase() {
+        issue("token-1", "USER", 7L, false);
+        int queries = table.queries;
+
+        assertThat(service.redeem("forged", "USER").status()).isEqualTo(Redemption.Status.UNKNOWN);
+        assertThat(table.queries).isEqualTo(queries);
+    }
+
+    @Test
+    void tokensOfAnotherSubjectTypeAreUnknown() {
+        issue("token-1", "USER", 7L, false);
+
+        assertThat(service.redeem("token-1", "ADMIN").status()).isEqualTo(Redemption.Status.UNKNOWN);
+        // Still live for its own subject type
+        assertThat(service.redeem("token-1", "USER").status()).isEqualTo(Redemption.Status.REDEEMED);
+        // And once spent, the other type still learns nothing about it
+        assertThat(service.redeem("token-1", "ADMIN").status()).isEqualTo(Redemption.Status.UNKNOWN);
+    }
+
+    @Test
+    void anythingButOurRefreshJwtIsUnknown() {
+        when(jwtUtil.isRefreshToken("access-token")).thenReturn(false);
+
+        assertThat(service.redeem("access-token", "USER").status()).isEqualTo(Redemption.Status.UNKNOWN);
+    }
+
+    @Test
+    void revokedTokensAreSpent() {
+        issue("token-1", "USER", 7L, false);
+
+        service.revoke("token-1");
+
+        assertThat(service.redeem("token-1", "USER").status()).isEqualTo(Redemption.Status.SPENT);
+    }
+
+    @Test
+    void tokensIssuedDuringAReloadAreStillAccepted() {
+        issue("token-1", "USER", 7L, false);
+
+        // The reload reads the table as it was; token-2 is issued mid-read
+        table.duringLiveScan = () -> issue("token-2", "USER", 8L, false);
+        service.reloadFilter();
+
+        assertThat(service.redeem("token-2", "USER").status()).isEqualTo(Redemption.Status.REDEEMED);
+        assertThat(service.redeem("token-1", "USER").status()).isEqualTo(Redemption.Status.REDEEMED);
+    }
+
+    @Test
+    void spentTokensLeaveTheFilterOnReload() {
+        issue("token-1", "USER", 7L, false);
+        service.redeem("token-1", "USER");
+
+        service.reloadFilter();
+
+        // No longer in the filter, so rejected up front
+        int queries = table.queries;
+        assertThat(service.redeem("token-1", "USER").status()).isEqualTo(Redemption.Status.UNKNOWN);
+        assertThat(table.queries).isEqualTo(queries);
+    }
+
+    private RefreshTokenService service(boolean filterEnabled) {
+        return new RefreshTokenService(repository, table, jwtUtil, filterEnabled, 1000, 0.01, 1000);
+    }
+
+    private void issue(String token, String subjectType, Long subjectId, boolean rememberMe) {
+        service.issue(token, subjectType, subjectId, "someone", Instant.now().plus(1, ChronoUnit.DAYS), rememberMe);
+    }
+
+    /**
+     * refresh_tokens in memory, answering the statements RefreshTokenService
+     * runs. Rows go through the service's own RowMappers via mocked ResultSets.
+     */
+    private static final class TableJdbcTemplate extends JdbcTemplate {
+
+        private final Map<String, RefreshToken> rows = new LinkedHashMap<>();
+        int queries;
+        Runnable duringLiveScan;
+
+        void insert(RefreshToken token) {
+            rows.put(TokenDigest.key(token.getTokenHash()), token);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            queries++;
+            RefreshToken row = rows.get(TokenDigest.key((byte[]) args[0]));
+            List<T> result = new ArrayList<>();
+            try {
+                if (sql.startsWith("UPDATE") && sql.contains("subject_type = ?")) {
+                    Instant now = ((Timestamp) args[2]).toInstant();
+                    if (row != null && row.getSubjectType().equals(args[1]) && !row.isRevoked()
+                            && row.getExpiresAt().isAfter(now)) {
+                        row.setRevoked(true);
+                        result.add(rowMapper.mapRow(resultSet(row), 0));
+                    }
+                } else if (sql.startsWith("UPDATE")) {
+                    if (row != null && !row.isRevoked()) {
+                        row.setRevoked(true);
+                        result.add(rowMapper.mapRow(resultSet(row), 0));
+                    }
+                } else if (row != null) {
+                    result.add(rowMapper.mapRow(resultSet(row), 0));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return result;
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler handler, Object... args) {
+            queries++;
+            Instant now = ((Timestamp) args[0]).toInstant();
+            List<RefreshToken> snapshot = new ArrayList<>(rows.values());
+            if (duringLiveScan != null) duringLiveScan.run();
+            try {
+                for (RefreshToken row : snapshot) {
+                    if (!row.isRevoked() && row.getExpiresAt().isAfter(now)) handler.processRow(resultSet(row));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static ResultSet resultSet(RefreshToken row) throws SQLException {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getBytes(1)).thenReturn(row.getTokenHash());
+            when(rs.getLong("subject_id")).thenReturn(row.getSubjectId());
+            when(rs.getString("subject_type")).thenReturn(row.getSubjectType());
+            when(rs.getBoolean("remember_me")).thenReturn(row.isRememberMe());
+            return rs;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ipplatform.backend.service.deadline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DayTimingWheelTest {
+
+    // Entries carry their fire day in the high bits and a tag in the low ones
+    private static final int TAG_BITS = 8;
+
+    // Day, block (level 1) and overflow boundaries, and well past the first overflow cascade
+    private static final int[] OFFSETS = {1, 2, 63, 64, 65, 127, 128, 4095, 4096, 4097, 8191, 8192, 10_000};
+
+    @Test
+    void everyEntryFiresExactlyOnceOnItsDayWhenTickingDaily() {
+        // Aligned, mid-block and just-before-boundary starting days
+        for (int start : new int[]{0, 20_000, 4095, 4096 * 5 - 1, 63}) {
+            DayTimingWheel wheel = new DayTimingWheel(start, DayTimingWheelTest::fireDay);
+            for (int i = 0; i < OFFSETS.length; i++) wheel.schedule(entry(start + OFFSETS[i], i));
+            assertThat(wheel.size()).isEqualTo(OFFSETS.length);
+
+            Map<Long, Integer> firedOn = new HashMap<>();
+            int last = start + OFFSETS[OFFSETS.length - 1] + 1;
+            for (int day = start + 1; day <= last; day++) {
+                int today = day;
+                wheel.advanceTo(day, entry -> assertThat(firedOn.put(entry, today)).isNull());
+            }
+
+            assertThat(firedOn).hasSize(OFFSETS.length);
+            firedOn.forEach((entry, day) -> assertThat(day).isEqualTo(fireDay(entry)));
+            assertThat(wheel.size()).isZero();
+        }
+    }
+
+    @Test
+    void jumpsReplayMissedDaysInOrder() {
+        int start = 20_000;
+        DayTimingWheel wheel = new DayTimingWheel(start, DayTimingWheelTest::fireDay);
+        for (int i = 0; i < OFFSETS.length; i++) wheel.schedule(entry(start + OFFSETS[i], i));
+
+        Map<Long, Integer> firedOn = new HashMap<>();
+        // Uneven jumps that land on both sides of block and overflow boundaries
+        for (int target : new int[]{start + 50, start + 64, start + 4000, start + 4096, start + 9000, start + 10_000}) {
+            wheel.advanceTo(target, entry -> assertThat(firedOn.put(entry, wheel.currentDay())).isNull());
+            assertThat(wheel.currentDay()).isEqualTo(target);
+            firedOn.forEach((entry, day) -> assertThat(fireDay(entry)).isLessThanOrEqualTo(target));
+        }
+
+        assertThat(firedOn).hasSize(OFFSETS.length);
+        firedOn.forEach((entry, day) -> assertThat(day).isEqualTo(fireDay(entry)));
+    }
+
+    @Test
+    void entriesScheduledAfterTheWheelMovedOnStillFireOnTheirDay() {
+        DayTimingWheel wheel = new DayTimingWheel(0, DayTimingWheelTest::fireDay);
+        wheel.advanceTo(4000, entry -> {});
+
+        // Placed relative to day 4000, across the next overflow cascade at 4096
+        wheel.schedule(entry(4050, 0));
+        wheel.schedule(entry(4100, 1));
+        wheel.schedule(entry(4000 + 4096, 2));
+        wheel.schedule(entry(4000 + 5000, 3));
+
+        Map<Long, Integer> firedOn = new HashMap<>();
+        for (int day = 4001; day <= 9001; day++) {
+            int today = day;
+            wheel.advanceTo(day, entry -> assertThat(firedOn.put(entry, today)).isNull());
+        }
+
+        assertThat(firedOn).hasSize(4);
+        firedOn.forEach((entry, day) -> assertThat(day).isEqualTo(fireDay(entry)));
+    }
+
+    @Test
+    void dueAndPastEntriesFireOnTheNextAdvance() {
+        DayTimingWheel wheel = new DayTimingWheel(100, DayTimingWheelTest::fireDay);
+        wheel.schedule(entry(100, 0));
+        wheel.schedule(entry(40, 1));
+
+        Map<Long, Integer> firedOn = new HashMap<>();
+        wheel.advanceTo(100, entry -> firedOn.put(entry, wheel.currentDay()));
+
+        assertThat(firedOn).containsOnlyKeys(entry(100, 0), entry(40, 1));
+        assertThat(wheel.currentDay()).isEqualTo(100);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void entriesForTheSameDayAllFire() {
+        DayTimingWheel wheel = new DayTimingWheel(0, DayTimingWheelTest::fireDay);
+        for (int tag = 0; tag < 200; tag++) wheel.schedule(entry(4096, tag));
+
+        int[] fired = new int[1];
+        wheel.advanceTo(4095, entry -> fired[0]++);
+        assertThat(fired[0]).isZero();
+        wheel.advanceTo(4096, entry -> fired[0]++);
+        assertThat(fired[0]).isEqualTo(200);
+    }
+
+    private static long entry(int fireDay, int tag) {
+        return (long) fireDay << TAG_BITS | tag;
+    }
+
+    private static int fireDay(long entry) {
+        return (int) (entry >>> TAG_BITS);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ipplatform.backend.service.index;
+
+import com.ipplatform.backend.model.IpAsset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AssetSearchIndexTest {
+
+    private AssetSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AssetSearchIndex();
+        // Lengths (title terms count double): 1 → 8, 2 → 9, 3 → 6
+        index.upsert(asset(1, "Graphene battery", "graphene anode for lithium battery", "US", "ACTIVE"));
+        index.upsert(asset(2, "Solar cell", "perovskite solar cell with graphene electrode", "EP", "ACTIVE"));
+        index.upsert(asset(3, "Battery housing", "steel housing", "US", "EXPIRED"));
+    }
+
+    // ── BM25 ranking ──────────────────────────────────────────────────────────
+
+    @Test
+    void ranksByTermFrequencyAndLength() {
+        assertThat(ids(index.search("graphene", null, null, 0, 10))).containsExactly(1L, 2L);
+
+        // battery in the short doc 3 (tf 2) outscores graphene once in the longer doc 2
+        assertThat(ids(index.search("graphene battery", null, null, 0, 10))).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    void scoresMatchTheBm25Formula() {
+        AssetSearchIndex.Result result = index.search("steel", null, null, 0, 10);
+
+        double idf = Math.log(1 + (3 - 1 + 0.5) / (1 + 0.5));
+        double norm = 1.2 * (1 - 0.75 + 0.75 * 6 / (23.0 / 3));
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.hits().get(0).assetId()).isEqualTo(3L);
+        assertThat(result.hits().get(0).score()).isCloseTo(idf * 2.2 / (1 + norm), within(1e-9));
+    }
+
+    @Test
+    void pagesThroughRankedHits() {
+        AssetSearchIndex.Result page = index.search("graphene battery", null, null, 1, 1);
+
+        assertThat(page.total()).isEqualTo(3);
+        assertThat(ids(page)).containsExactly(3L);
+        assertThat(index.search("graphene battery", null, null, 5, 10).hits()).isEmpty();
+    }
+
+    @Test
+    void unknownTermsMatchNothing() {
+        AssetSearchIndex.Result result = index.search("quantum", null, null, 0, 10);
+
+        assertThat(result.total()).isZero();
+        assertThat(result.hits()).isEmpty();
+    }
+
+    // ── Filters ───────────────────────────────────────────────────────────────
+
+    @Test
+    void filtersIntersectJurisdictionAndStatusBitmaps() {
+        assertThat(ids(index.search("battery", "US", null, 0, 10))).containsExactly(1L, 3L);
+        assertThat(ids(index.search("battery", "us", "expired", 0, 10))).containsExactly(3L);
+        assertThat(ids(index.search("graphene", "EP", "ACTIVE", 0, 10))).containsExactly(2L);
+        assertThat(index.search("graphene", "JP", null, 0, 10).total()).isZero();
+    }
+
+    @Test
+    void blankQueryListsFilteredAssetsInIndexOrder() {
+        AssetSearchIndex.Result result = index.search("  ", "US", null, 0, 10);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(ids(result)).containsExactly(1L, 3L);
+        assertThat(result.hits()).allSatisfy(hit -> assertThat(hit.score()).isZero());
+    }
+
+    // ── Updates ───────────────────────────────────────────────────────────────
+
+    @Test
+    void upsertReplacesTheEarlierVersion() {
+        index.upsert(asset(3, "Wind turbine blade", "composite blade", "DE", "ACTIVE"));
+
+        assertThat(ids(index.search("battery", null, null, 0, 10))).containsExactly(1L);
+        assertThat(ids(index.search("turbine", "DE", "ACTIVE", 0, 10))).containsExactly(3L);
+        assertThat(index.search("", "US", null, 0, 10).total()).isEqualTo(1);
+        assertThat(index.tombstoneRatio()).isCloseTo(0.25, within(1e-9));
+        assertThat(index.stats().liveDocuments()).isEqualTo(3);
+        assertThat(index.stats().docIds()).isEqualTo(4);
+    }
+
+    @Test
+    void removedAssetsDropOutOfResults() {
+        index.remove(1L);
+
+        assertThat(ids(index.search("graphene", null, null, 0, 10))).containsExactly(2L);
+        assertThat(index.search("", null, null, 0, 10).total()).isEqualTo(2);
+    }
+
+    static IpAsset asset(long id, String title, String description, String jurisdiction, String status) {
+        IpAsset asset = new IpAsset();
+        asset.setId(id);
+        asset.setTitle(title);
+        asset.setDescription(description);
+        asset.setJurisdiction(jurisdiction);
+        asset.setStatus(status);
+        return asset;
+    }
+
+    private static Long[] ids(AssetSearchIndex.Result result) {
+        return result.hits().stream().map(AssetSearchIndex.Hit::assetId).toArray(Long[]::new);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ipplatform.backend.service.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostingListTest {
+
+    @Test
+    void roundTripsGapsAndFrequenciesAcrossVarintWidths() {
+        // Gaps and frequencies of 1, 2, 3, 4 and 5 varint bytes
+        int[] docs = {0, 1, 128, 16_512, 2_113_664, Integer.MAX_VALUE - 1};
+        int[] frequencies = {1, 127, 128, 16_384, 2_097_152, 268_435_456};
+
+        PostingList list = new PostingList();
+        for (int i = 0; i < docs.length; i++) list.add(docs[i], frequencies[i]);
+
+        List<int[]> read = new ArrayList<>();
+        PostingList.Cursor cursor = list.cursor();
+        while (cursor.next()) read.add(new int[]{cursor.doc, cursor.frequency});
+
+        assertThat(read).hasSize(docs.length);
+        for (int i = 0; i < docs.length; i++) {
+            assertThat(read.get(i)).containsExactly(docs[i], frequencies[i]);
+        }
+        assertThat(list.docFreq()).isEqualTo(docs.length);
+    }
+
+    @Test
+    void densePostingsTakeTwoBytesEach() {
+        PostingList list = new PostingList();
+        for (int doc = 0; doc < 1000; doc++) list.add(doc, 3);
+
+        assertThat(list.sizeInBytes()).isEqualTo(2000);
+    }
+
+    @Test
+    void exhaustedCursorParksAtMaxValue() {
+        PostingList list = new PostingList();
+        list.add(5, 1);
+
+        PostingList.Cursor cursor = list.cursor();
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.doc).isEqualTo(5);
+        assertThat(cursor.next()).isFalse();
+        assertThat(cursor.doc).isEqualTo(Integer.MAX_VALUE);
+        assertThat(new PostingList().cursor().next()).isFalse();
+    }
+
+    @Test
+    void cursorOnlySeesPostingsAddedBeforeItWasOpened() {
+        PostingList list = new PostingList();
+        list.add(1, 1);
+        PostingList.Cursor cursor = list.cursor();
+        list.add(2, 1);
+
+        assertThat(cursor.next()).isTrue();
+        assertThat(cursor.next()).isFalse();
+    }
+
+    @Test
+    void rejectsDocIdsThatDoNotIncrease() {
+        PostingList list = new PostingList();
+        list.add(10, 1);
+
+        assertThatThrownBy(() -> list.add(10, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> list.add(3, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,35 @@
+package com.ipplatform.backend.service.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenizerTest {
+
+    @Test
+    void lowerCasesAndSplitsOnNonAlphanumerics() {
+        assertThat(tokens("Lithium-Ion BATTERY, 2nd gen (v2)"))
+                .containsExactly("lithium", "ion", "battery", "2nd", "gen", "v2");
+    }
+
+    @Test
+    void dropsStopWordsAndSingleCharacters() {
+        assertThat(tokens("A method for the coating of x and y")).containsExactly("method", "coating");
+    }
+
+    @Test
+    void emptyAndNullTextYieldNothing() {
+        assertThat(tokens(null)).isEmpty();
+        assertThat(tokens("")).isEmpty();
+        assertThat(tokens(" -- ")).isEmpty();
+    }
+
+    private static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        Tokenizer.forEachToken(text, tokens::add);
+        return tokens;
+    }
+}
@@ -0,0 +1,118 @@
+package com.ipplatform.backend.service.ingestion;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ipplatform.backend.model.IpAsset;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LensAssetMapperTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    // ── Records ───────────────────────────────────────────────────────────────
+
+    @Test
+    void mapsEveryField() throws Exception {
+        IpAsset asset = LensAssetMapper.toAsset(json("""
+                {"lens_id": "001-002-003", "jurisdiction": "US",
+                 "abstract": [{"text": "Résumé", "lang": "fr"}, {"text": "Summary", "lang": "en"}],
+                 "biblio": {
+                   "invention_title": [{"text": "Titre", "lang": "fr"}, {"text": "Solar cell", "lang": "en"}],
+                   "parties": {"inventors": [{"extracted_name": {"value": "Jane Doe"}}, {"name": "John Roe"}]},
+                   "application_reference": {"date": "2015-03-04"}
+                 },
+                 "legal_status": {"patent_status": "ACTIVE", "grant_date": "2018-07-01",
+                                  "anticipated_term_date": "2035-03-04T00:00:00Z"}}
+                """));
+
+        assertThat(asset.getLensId()).isEqualTo("001-002-003");
+        assertThat(asset.getJurisdiction()).isEqualTo("US");
+        assertThat(asset.getTitle()).isEqualTo("Solar cell");
+        assertThat(asset.getDescription()).isEqualTo("Summary");
+        assertThat(asset.getInventor()).isEqualTo("Jane Doe; John Roe");
+        assertThat(asset.getFilingDate()).isEqualTo(LocalDate.of(2015, 3, 4));
+        assertThat(asset.getGrantDate()).isEqualTo(LocalDate.of(2018, 7, 1));
+        assertThat(asset.getExpiryDate()).isEqualTo(LocalDate.of(2035, 3, 4));
+        assertThat(asset.getLegalStatusCode()).isEqualTo("ACTIVE");
+        assertThat(asset.getStatus()).isEqualTo("GRANTED");
+        assertThat(asset.getRenewalDate()).isNull();
+    }
+
+    @Test
+    void recordWithoutALensIdIsSkipped() throws Exception {
+        assertThat(LensAssetMapper.toAsset(json("{\"jurisdiction\": \"US\"}"))).isNull();
+        assertThat(LensAssetMapper.toAsset(json("{\"lens_id\": \"\"}"))).isNull();
+    }
+
+    @Test
+    void fallsBackToTheFirstTextWithoutAnEnglishOne() throws Exception {
+        IpAsset asset = LensAssetMapper.toAsset(json("""
+                {"lens_id": "1", "abstract": [{"text": "", "lang": "de"}, {"text": "Erste", "lang": "de"}],
+                 "biblio": {"invention_title": [{"text": "Titel", "lang": "de"}]}}
+                """));
+
+        assertThat(asset.getTitle()).isEqualTo("Titel");
+        assertThat(asset.getDescription()).isEqualTo("Erste");
+    }
+
+    @Test
+    void unparseableOrMissingDatesAreNull() throws Exception {
+        IpAsset asset = LensAssetMapper.toAsset(json("""
+                {"lens_id": "1", "biblio": {"application_reference": {"date": "2015"}},
+                 "legal_status": {"grant_date": "not-a-date-at-all"}}
+                """));
+
+        assertThat(asset.getFilingDate()).isNull();
+        assertThat(asset.getGrantDate()).isNull();
+        assertThat(asset.getExpiryDate()).isNull();
+    }
+
+    @Test
+    void varcharColumnsAreTruncatedButTheDescriptionIsNot() throws Exception {
+        String longText = "x".repeat(300);
+        IpAsset asset = LensAssetMapper.toAsset(json("""
+                {"lens_id": "1", "abstract": "%s",
+                 "biblio": {"invention_title": [{"text": "%s"}]}}
+                """.formatted(longText, longText)));
+
+        assertThat(asset.getTitle()).hasSize(255);
+        assertThat(asset.getDescription()).hasSize(300);
+    }
+
+    // ── Status ────────────────────────────────────────────────────────────────
+
+    @Test
+    void mapsLensStatusesOntoDashboardStatuses() {
+        assertThat(LensAssetMapper.status("PENDING", null)).isEqualTo("APPLICATION");
+        assertThat(LensAssetMapper.status("active", null)).isEqualTo("GRANTED");
+        assertThat(LensAssetMapper.status("PATENTED", null)).isEqualTo("GRANTED");
+        assertThat(LensAssetMapper.status("EXPIRED", null)).isEqualTo("EXPIRED");
+        assertThat(LensAssetMapper.status("REVOKED", null)).isEqualTo("DISCONTINUED");
+        assertThat(LensAssetMapper.status("WITHDRAWN", null)).isEqualTo("DISCONTINUED");
+    }
+
+    @Test
+    void unknownStatusFollowsTheGrantDate() {
+        assertThat(LensAssetMapper.status(null, LocalDate.of(2020, 1, 1))).isEqualTo("GRANTED");
+        assertThat(LensAssetMapper.status("UNKNOWN", null)).isEqualTo("APPLICATION");
+    }
+
+    @Test
+    void legalStatusReadsOnlyTheLegalStatusBlock() throws Exception {
+        LensAssetMapper.LegalStatus status = LensAssetMapper.legalStatus(json("""
+                {"lens_id": "1", "legal_status": {"patent_status": "EXPIRED", "grant_date": "2001-02-03",
+                                                  "anticipated_term_date": "2021-02-03"}}
+                """));
+
+        assertThat(status).isEqualTo(new LensAssetMapper.LegalStatus("EXPIRED", "EXPIRED",
+                LocalDate.of(2001, 2, 3), LocalDate.of(2021, 2, 3)));
+    }
+
+    private static JsonNode json(String text) throws Exception {
+        return JSON.readTree(text);
+    }
+}
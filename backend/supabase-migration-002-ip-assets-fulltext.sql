@@ -0,0 +1,30 @@
+-- ============================================================
+-- supabase-migration-002-ip-assets-fulltext.sql
+-- Full-text search over ip_assets (GET /api/ip-assets?mode=FULLTEXT).
+-- Run once after supabase-migration.sql, in the Supabase SQL Editor (or psql).
+-- ============================================================
+
+-- ── ip_assets.search_vector ─────────────────────────────────
+-- Maintained by PostgreSQL itself: a STORED generated column is
+-- recomputed on every INSERT/UPDATE, so JPA never writes it.
+-- Weights: title A, inventor B, description C (ts_rank_cd favours A).
+-- description is truncated so a huge text can't exceed the 1 MB
+-- tsvector limit and fail the write.
+
+ALTER TABLE ip_assets
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(inventor, '')), 'B') ||
+        setweight(to_tsvector('english', left(coalesce(description, ''), 100000)), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_ip_assets_search_vector
+    ON ip_assets USING GIN (search_vector);
+
+-- The b-tree indexes on title / inventor can't serve LIKE '%kw%'
+-- and only cost write time; the GIN index replaces them for search.
+DROP INDEX IF EXISTS idx_title;
+DROP INDEX IF EXISTS idx_inventor;
+
+ANALYZE ip_assets;
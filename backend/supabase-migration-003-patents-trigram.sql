@@ -0,0 +1,27 @@
+-- ============================================================
+-- supabase-migration-003-patents-trigram.sql
+-- Fuzzy (trigram) search over patents (GET /api/patents?mode=FUZZY).
+-- Run once, in the Supabase SQL Editor (or psql).
+-- ============================================================
+
+-- pg_trgm ships with Supabase; this only enables it for the database.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- ── patents trigram indexes ─────────────────────────────────
+-- Expression indexes on lower(...) so they match the predicates
+-- PatentRepository uses. GIN gin_trgm_ops serves LIKE '%x%',
+-- ILIKE and the similarity operators (%, <%).
+
+CREATE INDEX IF NOT EXISTS idx_patents_title_trgm
+    ON patents USING GIN (lower(title) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_patents_inventor_trgm
+    ON patents USING GIN (lower(inventor) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_patents_assignee_trgm
+    ON patents USING GIN (lower(assignee) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_patents_jurisdiction
+    ON patents (upper(jurisdiction));
+
+ANALYZE patents;
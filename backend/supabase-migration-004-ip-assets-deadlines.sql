@@ -0,0 +1,14 @@
+-- ============================================================
+-- supabase-migration-004-ip-assets-deadlines.sql
+-- Indexes for the legal-status alert pages (/api/legal-status/alerts/**).
+-- Run once, in the Supabase SQL Editor (or psql).
+-- ============================================================
+
+-- Alerts are keyset-paginated in (date, id) order within a date window,
+-- so each page is one short index range scan.
+
+CREATE INDEX IF NOT EXISTS idx_ip_assets_expiry_date
+    ON ip_assets (expiry_date, id) WHERE expiry_date IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_ip_assets_renewal_date
+    ON ip_assets (renewal_date, id) WHERE renewal_date IS NOT NULL;
@@ -0,0 +1,16 @@
+-- ============================================================
+-- supabase-migration-005-ip-assets-lens-id.sql
+-- Natural key for assets bulk-ingested from Lens.org
+-- (POST /api/admin/ingestion/jobs).
+-- Run once, in the Supabase SQL Editor (or psql).
+-- ============================================================
+
+-- Manually entered assets keep lens_id NULL; the partial unique
+-- index only covers ingested rows, and is the arbiter of the
+-- ingestion upsert: ON CONFLICT (lens_id) WHERE lens_id IS NOT NULL.
+
+ALTER TABLE ip_assets
+    ADD COLUMN IF NOT EXISTS lens_id VARCHAR(64);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_ip_assets_lens_id
+    ON ip_assets (lens_id) WHERE lens_id IS NOT NULL;
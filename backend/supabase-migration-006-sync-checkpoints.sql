@@ -0,0 +1,21 @@
+-- ============================================================
+-- supabase-migration-006-sync-checkpoints.sql
+-- Resume point of the background legal-status sync from Lens.org.
+-- Run once, in the Supabase SQL Editor (or psql).
+-- ============================================================
+
+-- One row per background job. last_id is the highest ip_assets.id
+-- finished in the current pass; the job resumes after it and resets
+-- it to 0 when a pass completes.
+
+CREATE TABLE IF NOT EXISTS sync_checkpoints (
+    name              VARCHAR(64) PRIMARY KEY,
+    last_id           BIGINT      NOT NULL DEFAULT 0,
+    pass_started_at   TIMESTAMPTZ,
+    last_pass_at      TIMESTAMPTZ,
+    updated_at        TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- The sync walks ingested assets (lens_id set) in id order
+CREATE INDEX IF NOT EXISTS idx_ip_assets_lens_id_id
+    ON ip_assets (id) WHERE lens_id IS NOT NULL;
@@ -0,0 +1,31 @@
+-- ============================================================
+-- supabase-migration-007-refresh-token-hash.sql
+-- Refresh tokens are stored and looked up by the SHA-256 digest
+-- of the signed JWT instead of the JWT itself.
+-- Run once, in the Supabase SQL Editor (or psql), before
+-- deploying the matching backend.
+-- ============================================================
+
+ALTER TABLE refresh_tokens
+    ADD COLUMN IF NOT EXISTS token_hash BYTEA;
+
+-- Existing sessions keep working: same digest the backend computes
+-- (SHA-256 of the token's UTF-8 bytes)
+UPDATE refresh_tokens
+SET token_hash = sha256(convert_to(token, 'UTF8'))
+WHERE token_hash IS NULL;
+
+ALTER TABLE refresh_tokens
+    ALTER COLUMN token_hash SET NOT NULL;
+
+-- 32-byte keys instead of a unique index over ~200-char JWTs
+CREATE UNIQUE INDEX IF NOT EXISTS uq_refresh_tokens_token_hash
+    ON refresh_tokens (token_hash);
+
+-- Drops the old unique index on token along with the column
+ALTER TABLE refresh_tokens
+    DROP COLUMN IF EXISTS token;
+
+-- Subject-wide revocation (password change / reset, token reuse)
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_subject_live
+    ON refresh_tokens (subject_type, subject_id) WHERE NOT revoked;
@@ -0,0 +1,90 @@
+-- ============================================================
+-- supabase-migration-008-identities.sql
+-- One index of every username and email across users, analysts
+-- and admins, so availability is a single indexed query and
+-- uniqueness is enforced by the database on insert / update.
+-- Run once, in the Supabase SQL Editor (or psql).
+-- ============================================================
+
+-- Keys are normalized: lower(username), lower(trim(email)).
+-- text_pattern_ops also serves the prefix scan used to find a
+-- free username for Google sign-ups.
+
+CREATE TABLE IF NOT EXISTS identities (
+    subject_type  VARCHAR(16)  NOT NULL,     -- USER | ANALYST | ADMIN
+    subject_id    BIGINT       NOT NULL,
+    username_key  VARCHAR(255) NOT NULL,
+    email_key     VARCHAR(255),
+    PRIMARY KEY (subject_type, subject_id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_identities_username
+    ON identities (username_key text_pattern_ops);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_identities_email
+    ON identities (email_key) WHERE email_key IS NOT NULL;
+
+-- Keeps identities in step with the three account tables. A clash
+-- raises unique_violation inside the INSERT / UPDATE of the account,
+-- so the account row is never written.
+CREATE OR REPLACE FUNCTION sync_identity() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM identities WHERE subject_type = TG_ARGV[0] AND subject_id = OLD.id;
+        RETURN OLD;
+    END IF;
+
+    INSERT INTO identities (subject_type, subject_id, username_key, email_key)
+    VALUES (TG_ARGV[0], NEW.id, lower(NEW.username), lower(btrim(NEW.email)))
+    ON CONFLICT (subject_type, subject_id) DO UPDATE
+        SET username_key = EXCLUDED.username_key,
+            email_key    = EXCLUDED.email_key;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    t RECORD;
+BEGIN
+    FOR t IN SELECT * FROM (VALUES ('users', 'USER'), ('analysts', 'ANALYST'), ('admins', 'ADMIN'))
+             AS v(tbl, kind)
+    LOOP
+        EXECUTE format('DROP TRIGGER IF EXISTS trg_%1$s_identity_write ON %1$I', t.tbl);
+        EXECUTE format('DROP TRIGGER IF EXISTS trg_%1$s_identity_update ON %1$I', t.tbl);
+
+        EXECUTE format(
+            'CREATE TRIGGER trg_%1$s_identity_write AFTER INSERT OR DELETE ON %1$I '
+            'FOR EACH ROW EXECUTE FUNCTION sync_identity(%2$L)', t.tbl, t.kind);
+
+        -- Hibernate updates every column; only fire when a key really changed
+        EXECUTE format(
+            'CREATE TRIGGER trg_%1$s_identity_update AFTER UPDATE OF username, email ON %1$I '
+            'FOR EACH ROW WHEN (OLD.username IS DISTINCT FROM NEW.username '
+            'OR OLD.email IS DISTINCT FROM NEW.email) '
+            'EXECUTE FUNCTION sync_identity(%2$L)', t.tbl, t.kind);
+    END LOOP;
+END $$;
+
+-- Backfill. Accounts that already clash (same name or email in two
+-- tables, or differing only in case) are skipped; list them with the
+-- query below and resolve by hand — until then they keep working but
+-- are not protected by the index.
+INSERT INTO identities (subject_type, subject_id, username_key, email_key)
+SELECT 'ADMIN', id, lower(username), lower(btrim(email)) FROM admins
+ON CONFLICT DO NOTHING;
+
+INSERT INTO identities (subject_type, subject_id, username_key, email_key)
+SELECT 'USER', id, lower(username), lower(btrim(email)) FROM users ORDER BY id
+ON CONFLICT DO NOTHING;
+
+INSERT INTO identities (subject_type, subject_id, username_key, email_key)
+SELECT 'ANALYST', id, lower(username), lower(btrim(email)) FROM analysts ORDER BY id
+ON CONFLICT DO NOTHING;
+
+-- Accounts left out of the backfill:
+-- SELECT 'USER' AS type, id, username, email FROM users u
+--  WHERE NOT EXISTS (SELECT 1 FROM identities i WHERE i.subject_type = 'USER' AND i.subject_id = u.id)
+-- UNION ALL
+-- SELECT 'ANALYST', id, username, email FROM analysts a
+--  WHERE NOT EXISTS (SELECT 1 FROM identities i WHERE i.subject_type = 'ANALYST' AND i.subject_id = a.id);
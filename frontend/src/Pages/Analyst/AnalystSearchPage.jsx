@@ -183,19 +183,17 @@ export default function AnalystSearchPage() {
 
       const keyword = filters.keyword;
 
-      // ✅ CALL ALL 3 APIs
-      const [trendRes, citationRes, familyRes] = await Promise.all([
-        api.get(`/api/visualization/trends?keyword=${keyword}`),
-        api.get(`/api/visualization/citations?keyword=${keyword}`),
-        api.get(`/api/visualization/families?keyword=${keyword}`)
-      ]);
+      // ✅ ONE CALL — trends, citations and families from a single fetch
+      const { data } = await api.get("/api/visualization/bundle", {
+        params: { keyword }
+      });
 
       navigate("/analyst/visualization", {
         state: {
           results,
-          trendData: trendRes.data,
-          citationData: citationRes.data,
-          familyData: familyRes.data
+          trendData: data.trends,
+          citationData: data.citations,
+          familyData: data.families
         }
       });
 